@@ -25,6 +25,8 @@ import io.lettuce.core.protocol.DecodeBufferPolicies;
 import io.lettuce.core.protocol.DecodeBufferPolicy;
 import io.lettuce.core.protocol.ProtocolVersion;
 import io.lettuce.core.protocol.ReadOnlyCommands;
+import io.lettuce.core.pubsub.PubSubDispatchOptions;
+import io.lettuce.core.pubsub.ResubscribeOptions;
 import io.lettuce.core.resource.ClientResources;
 
 /**
@@ -49,12 +51,16 @@ public class ClientOptions implements Serializable {
 
     public static final boolean DEFAULT_PING_BEFORE_ACTIVATE_CONNECTION = true;
 
+    public static final PubSubDispatchOptions DEFAULT_PUBSUB_DISPATCH_OPTIONS = PubSubDispatchOptions.create();
+
     public static final ProtocolVersion DEFAULT_PROTOCOL_VERSION = ProtocolVersion.newestSupported();
 
     public static final ReadOnlyCommands.ReadOnlyPredicate DEFAULT_READ_ONLY_COMMANDS = ReadOnlyCommands.asPredicate();
 
     public static final int DEFAULT_REQUEST_QUEUE_SIZE = Integer.MAX_VALUE;
 
+    public static final ResubscribeOptions DEFAULT_RESUBSCRIBE_OPTIONS = ResubscribeOptions.create();
+
     public static final Charset DEFAULT_SCRIPT_CHARSET = StandardCharsets.UTF_8;
 
     public static final SocketOptions DEFAULT_SOCKET_OPTIONS = SocketOptions.create();
@@ -79,10 +85,14 @@ public class ClientOptions implements Serializable {
 
     private final ProtocolVersion protocolVersion;
 
+    private final PubSubDispatchOptions pubSubDispatchOptions;
+
     private final ReadOnlyCommands.ReadOnlyPredicate readOnlyCommands;
 
     private final int requestQueueSize;
 
+    private final ResubscribeOptions resubscribeOptions;
+
     private final Charset scriptCharset;
 
     private final SocketOptions socketOptions;
@@ -102,8 +112,10 @@ public class ClientOptions implements Serializable {
         this.publishOnScheduler = builder.publishOnScheduler;
         this.pingBeforeActivateConnection = builder.pingBeforeActivateConnection;
         this.protocolVersion = builder.protocolVersion;
+        this.pubSubDispatchOptions = builder.pubSubDispatchOptions;
         this.readOnlyCommands = builder.readOnlyCommands;
         this.requestQueueSize = builder.requestQueueSize;
+        this.resubscribeOptions = builder.resubscribeOptions;
         this.scriptCharset = builder.scriptCharset;
         this.socketOptions = builder.socketOptions;
         this.sslOptions = builder.sslOptions;
@@ -119,8 +131,10 @@ public class ClientOptions implements Serializable {
         this.publishOnScheduler = original.isPublishOnScheduler();
         this.pingBeforeActivateConnection = original.isPingBeforeActivateConnection();
         this.protocolVersion = original.getConfiguredProtocolVersion();
+        this.pubSubDispatchOptions = original.getPubSubDispatchOptions();
         this.readOnlyCommands = original.getReadOnlyCommands();
         this.requestQueueSize = original.getRequestQueueSize();
+        this.resubscribeOptions = original.getResubscribeOptions();
         this.scriptCharset = original.getScriptCharset();
         this.socketOptions = original.getSocketOptions();
         this.sslOptions = original.getSslOptions();
@@ -175,10 +189,14 @@ public class ClientOptions implements Serializable {
 
         private boolean publishOnScheduler = DEFAULT_PUBLISH_ON_SCHEDULER;
 
+        private PubSubDispatchOptions pubSubDispatchOptions = DEFAULT_PUBSUB_DISPATCH_OPTIONS;
+
         private ReadOnlyCommands.ReadOnlyPredicate readOnlyCommands = DEFAULT_READ_ONLY_COMMANDS;
 
         private int requestQueueSize = DEFAULT_REQUEST_QUEUE_SIZE;
 
+        private ResubscribeOptions resubscribeOptions = DEFAULT_RESUBSCRIBE_OPTIONS;
+
         private Charset scriptCharset = DEFAULT_SCRIPT_CHARSET;
 
         private SocketOptions socketOptions = DEFAULT_SOCKET_OPTIONS;
@@ -405,6 +423,36 @@ public class ClientOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Sets the {@link PubSubDispatchOptions} to control how Pub/Sub messages are dispatched to listeners. See
+         * {@link #DEFAULT_PUBSUB_DISPATCH_OPTIONS}.
+         *
+         * @param pubSubDispatchOptions must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder pubSubDispatchOptions(PubSubDispatchOptions pubSubDispatchOptions) {
+
+            LettuceAssert.notNull(pubSubDispatchOptions, "PubSubDispatchOptions must not be null");
+            this.pubSubDispatchOptions = pubSubDispatchOptions;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ResubscribeOptions} to control how subscriptions are restored after reconnecting a Pub/Sub
+         * connection. See {@link #DEFAULT_RESUBSCRIBE_OPTIONS}.
+         *
+         * @param resubscribeOptions must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder resubscribeOptions(ResubscribeOptions resubscribeOptions) {
+
+            LettuceAssert.notNull(resubscribeOptions, "ResubscribeOptions must not be null");
+            this.resubscribeOptions = resubscribeOptions;
+            return this;
+        }
+
         /**
          * Sets the {@link TimeoutOptions} to expire and cancel commands. See {@link #DEFAULT_TIMEOUT_OPTIONS}.
          *
@@ -446,8 +494,8 @@ public class ClientOptions implements Serializable {
                 .decodeBufferPolicy(getDecodeBufferPolicy()).disconnectedBehavior(getDisconnectedBehavior())
                 .readOnlyCommands(getReadOnlyCommands())
                 .publishOnScheduler(isPublishOnScheduler()).pingBeforeActivateConnection(isPingBeforeActivateConnection())
-                .protocolVersion(getConfiguredProtocolVersion()).requestQueueSize(getRequestQueueSize())
-                .scriptCharset(getScriptCharset()).socketOptions(getSocketOptions()).sslOptions(getSslOptions())
+                .protocolVersion(getConfiguredProtocolVersion()).pubSubDispatchOptions(getPubSubDispatchOptions())
+                .requestQueueSize(getRequestQueueSize()).resubscribeOptions(getResubscribeOptions()).scriptCharset(getScriptCharset()).socketOptions(getSocketOptions()).sslOptions(getSslOptions())
                 .suspendReconnectOnProtocolFailure(isSuspendReconnectOnProtocolFailure()).timeoutOptions(getTimeoutOptions());
 
         return builder;
@@ -624,6 +672,26 @@ public class ClientOptions implements Serializable {
         return sslOptions;
     }
 
+    /**
+     * Returns the {@link PubSubDispatchOptions}.
+     *
+     * @return the {@link PubSubDispatchOptions}.
+     * @since 7.0
+     */
+    public PubSubDispatchOptions getPubSubDispatchOptions() {
+        return pubSubDispatchOptions;
+    }
+
+    /**
+     * Returns the {@link ResubscribeOptions}.
+     *
+     * @return the {@link ResubscribeOptions}.
+     * @since 7.0
+     */
+    public ResubscribeOptions getResubscribeOptions() {
+        return resubscribeOptions;
+    }
+
     /**
      * Returns the {@link TimeoutOptions}.
      *
@@ -42,4 +42,26 @@ public abstract class OrderingReadFromAccessor {
         return readFrom.isOrderSensitive();
     }
 
+    /**
+     * Returns whether this {@link ReadFrom} chooses among the selected nodes by their number of outstanding commands.
+     *
+     * @return {@code true} to choose the node with the least number of outstanding commands.
+     * @since 7.0
+     * @see ReadFrom#isLeastOutstanding()
+     */
+    public static boolean isLeastOutstanding(ReadFrom readFrom) {
+        return readFrom.isLeastOutstanding();
+    }
+
+    /**
+     * Returns whether this {@link ReadFrom} applies power-of-two-choices when choosing by outstanding commands.
+     *
+     * @return {@code true} to apply power-of-two-choices.
+     * @since 7.0
+     * @see ReadFrom#isPowerOfTwoChoices()
+     */
+    public static boolean isPowerOfTwoChoices(ReadFrom readFrom) {
+        return readFrom.isPowerOfTwoChoices();
+    }
+
 }
@@ -121,6 +121,16 @@ public abstract class ReadFrom {
      */
     public static final ReadFrom ANY_REPLICA = new ReadFromImpl.ReadFromAnyReplica();
 
+    /**
+     * Setting to read from the node with the least number of outstanding commands. Outstanding commands are commands that are
+     * queued for writing or awaiting a response on the connection to a node. In contrast to {@link #LOWEST_LATENCY}, the
+     * selection reflects the current load of each node connection and adapts immediately to slow or busy nodes.
+     *
+     * @since 7.0
+     * @see #leastOutstanding(ReadFrom, boolean)
+     */
+    public static final ReadFrom LEAST_OUTSTANDING = new ReadFromImpl.ReadFromLeastOutstanding(ANY, false);
+
     /**
      * Setting to read from any node in the subnets.
      *
@@ -157,6 +167,21 @@ public abstract class ReadFrom {
         return new ReadFromImpl.ReadFromRegex(pattern, orderSensitive);
     }
 
+    /**
+     * Read from the node with the least number of outstanding commands among the nodes selected by {@code candidates}. Using
+     * power-of-two-choices compares the outstanding commands of two randomly chosen nodes instead of all selected nodes which
+     * avoids herding when many clients select the same least-loaded node.
+     *
+     * @param candidates the {@link ReadFrom} to select candidate nodes, e.g. {@link #ANY_REPLICA}. Must not be {@code null}.
+     * @param powerOfTwoChoices {@code true} to select the less loaded node of two randomly chosen nodes; {@code false} to
+     *        select the least loaded node of all candidates.
+     * @return an instance of {@link ReadFromImpl.ReadFromLeastOutstanding}.
+     * @since 7.0
+     */
+    public static ReadFrom leastOutstanding(ReadFrom candidates, boolean powerOfTwoChoices) {
+        return new ReadFromImpl.ReadFromLeastOutstanding(candidates, powerOfTwoChoices);
+    }
+
     /**
      * Chooses the nodes from the matching Redis nodes that match this read selector.
      *
@@ -176,6 +201,28 @@ public abstract class ReadFrom {
         return false;
     }
 
+    /**
+     * Returns whether code using this {@link ReadFrom} should choose among the {@link #select(Nodes) selected nodes} by their
+     * number of outstanding commands.
+     *
+     * @return {@code true} to choose the node with the least number of outstanding commands.
+     * @since 7.0
+     */
+    protected boolean isLeastOutstanding() {
+        return false;
+    }
+
+    /**
+     * Returns whether code using this {@link ReadFrom} should compare the outstanding commands of two randomly chosen nodes
+     * instead of all {@link #select(Nodes) selected nodes}. Applies only if {@link #isLeastOutstanding()} is {@code true}.
+     *
+     * @return {@code true} to apply power-of-two-choices.
+     * @since 7.0
+     */
+    protected boolean isPowerOfTwoChoices() {
+        return false;
+    }
+
     /**
      * Retrieve the {@link ReadFrom} preset by name.
      *
@@ -225,6 +272,10 @@ public abstract class ReadFrom {
             return ANY_REPLICA;
         }
 
+        if (name.equalsIgnoreCase("leastOutstanding")) {
+            return LEAST_OUTSTANDING;
+        }
+
         if (name.equalsIgnoreCase("subnet")) {
             throw new IllegalArgumentException("subnet must be created via ReadFrom#subnet");
         }
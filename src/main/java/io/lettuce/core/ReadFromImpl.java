@@ -374,6 +374,44 @@ class ReadFromImpl {
 
     }
 
+    /**
+     * Read from the node with the least number of outstanding commands among the nodes selected by a delegate {@link ReadFrom}.
+     * The selection by outstanding commands is applied by the connection provider as it requires access to the node
+     * connections.
+     *
+     * @since 7.0
+     */
+    static final class ReadFromLeastOutstanding extends ReadFrom {
+
+        private final ReadFrom delegate;
+
+        private final boolean powerOfTwoChoices;
+
+        ReadFromLeastOutstanding(ReadFrom delegate, boolean powerOfTwoChoices) {
+
+            LettuceAssert.notNull(delegate, "ReadFrom must not be null");
+
+            this.delegate = delegate;
+            this.powerOfTwoChoices = powerOfTwoChoices;
+        }
+
+        @Override
+        public List<RedisNodeDescription> select(Nodes nodes) {
+            return delegate.select(nodes);
+        }
+
+        @Override
+        protected boolean isLeastOutstanding() {
+            return true;
+        }
+
+        @Override
+        protected boolean isPowerOfTwoChoices() {
+            return powerOfTwoChoices;
+        }
+
+    }
+
     /**
      * {@link Predicate}-based {@link ReadFrom} implementation.
      *
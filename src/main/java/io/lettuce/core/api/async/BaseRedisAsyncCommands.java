@@ -43,6 +43,16 @@ public interface BaseRedisAsyncCommands<K, V> {
      */
     RedisFuture<Long> publish(K channel, V message);
 
+    /**
+     * Post a message to a shard channel.
+     *
+     * @param shardChannel the shard channel type: key.
+     * @param message the message type: value.
+     * @return Long integer-reply the number of clients that received the message.
+     * @since 7.0
+     */
+    RedisFuture<Long> spublish(K shardChannel, V message);
+
     /**
      * Lists the currently *active channels*.
      *
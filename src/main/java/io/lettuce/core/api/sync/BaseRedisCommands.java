@@ -42,6 +42,16 @@ public interface BaseRedisCommands<K, V> {
      */
     Long publish(K channel, V message);
 
+    /**
+     * Post a message to a shard channel.
+     *
+     * @param shardChannel the shard channel type: key.
+     * @param message the message type: value.
+     * @return Long integer-reply the number of clients that received the message.
+     * @since 7.0
+     */
+    Long spublish(K shardChannel, V message);
+
     /**
      * Lists the currently *active channels*.
      *
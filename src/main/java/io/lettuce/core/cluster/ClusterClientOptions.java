@@ -28,6 +28,8 @@ import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.protocol.DecodeBufferPolicy;
 import io.lettuce.core.protocol.ProtocolVersion;
 import io.lettuce.core.protocol.ReadOnlyCommands;
+import io.lettuce.core.pubsub.PubSubDispatchOptions;
+import io.lettuce.core.pubsub.ResubscribeOptions;
 
 /**
  * Client Options to control the behavior of {@link RedisClusterClient}.
@@ -53,6 +55,10 @@ public class ClusterClientOptions extends ClientOptions {
 
     public static final Predicate<RedisClusterNode> DEFAULT_NODE_FILTER = node -> true;
 
+    public static final int DEFAULT_CONNECTIONS_PER_NODE = 1;
+
+    public static final TopologySnapshotStore DEFAULT_TOPOLOGY_SNAPSHOT_STORE = TopologySnapshotStore.none();
+
     private final int maxRedirects;
 
     private final ClusterTopologyRefreshOptions topologyRefreshOptions;
@@ -61,6 +67,12 @@ public class ClusterClientOptions extends ClientOptions {
 
     private final Predicate<RedisClusterNode> nodeFilter;
 
+    private final int connectionsPerNode;
+
+    private final ClusterConnectionWarmupOptions connectionWarmupOptions;
+
+    private final TopologySnapshotStore topologySnapshotStore;
+
     protected ClusterClientOptions(Builder builder) {
 
         super(builder);
@@ -79,6 +91,9 @@ public class ClusterClientOptions extends ClientOptions {
         this.maxRedirects = builder.maxRedirects;
         this.validateClusterNodeMembership = builder.validateClusterNodeMembership;
         this.nodeFilter = builder.nodeFilter;
+        this.connectionsPerNode = builder.connectionsPerNode;
+        this.connectionWarmupOptions = builder.connectionWarmupOptions;
+        this.topologySnapshotStore = builder.topologySnapshotStore;
     }
 
     protected ClusterClientOptions(ClusterClientOptions original) {
@@ -89,6 +104,9 @@ public class ClusterClientOptions extends ClientOptions {
         this.topologyRefreshOptions = original.topologyRefreshOptions;
         this.validateClusterNodeMembership = original.validateClusterNodeMembership;
         this.nodeFilter = original.nodeFilter;
+        this.connectionsPerNode = original.connectionsPerNode;
+        this.connectionWarmupOptions = original.connectionWarmupOptions;
+        this.topologySnapshotStore = original.topologySnapshotStore;
     }
 
     /**
@@ -133,7 +151,9 @@ public class ClusterClientOptions extends ClientOptions {
                 .pingBeforeActivateConnection(clientOptions.isPingBeforeActivateConnection())
                 .publishOnScheduler(clientOptions.isPublishOnScheduler())
                 .protocolVersion(clientOptions.getConfiguredProtocolVersion())
-                .requestQueueSize(clientOptions.getRequestQueueSize()).scriptCharset(clientOptions.getScriptCharset())
+                .pubSubDispatchOptions(clientOptions.getPubSubDispatchOptions())
+                .requestQueueSize(clientOptions.getRequestQueueSize())
+                .resubscribeOptions(clientOptions.getResubscribeOptions()).scriptCharset(clientOptions.getScriptCharset())
                 .socketOptions(clientOptions.getSocketOptions()).sslOptions(clientOptions.getSslOptions())
                 .suspendReconnectOnProtocolFailure(clientOptions.isSuspendReconnectOnProtocolFailure())
                 .timeoutOptions(clientOptions.getTimeoutOptions());
@@ -163,6 +183,12 @@ public class ClusterClientOptions extends ClientOptions {
 
         private Predicate<RedisClusterNode> nodeFilter = DEFAULT_NODE_FILTER;
 
+        private int connectionsPerNode = DEFAULT_CONNECTIONS_PER_NODE;
+
+        private ClusterConnectionWarmupOptions connectionWarmupOptions = ClusterConnectionWarmupOptions.create();
+
+        private TopologySnapshotStore topologySnapshotStore = DEFAULT_TOPOLOGY_SNAPSHOT_STORE;
+
         private ClusterTopologyRefreshOptions topologyRefreshOptions = null;
 
         protected Builder() {
@@ -281,6 +307,18 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        @Override
+        public Builder pubSubDispatchOptions(PubSubDispatchOptions pubSubDispatchOptions) {
+            super.pubSubDispatchOptions(pubSubDispatchOptions);
+            return this;
+        }
+
+        @Override
+        public Builder resubscribeOptions(ResubscribeOptions resubscribeOptions) {
+            super.resubscribeOptions(resubscribeOptions);
+            return this;
+        }
+
         @Override
         public Builder timeoutOptions(TimeoutOptions timeoutOptions) {
             super.timeoutOptions(timeoutOptions);
@@ -325,6 +363,58 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        /**
+         * Number of connections to maintain per cluster node and {@link io.lettuce.core.protocol.ConnectionIntent}. Defaults to
+         * {@literal 1}. See {@link ClusterClientOptions#DEFAULT_CONNECTIONS_PER_NODE}.
+         * <p>
+         * Using multiple connections spreads the load of a single node across multiple channels and event loop threads.
+         * Key-based commands retain their ordering as commands for the same slot are always routed to the same connection.
+         * Reads from replicas (see {@link io.lettuce.core.ReadFrom}) are routed to the connection with the least number of
+         * in-flight commands.
+         *
+         * @param connectionsPerNode number of connections per node, must be greater than zero.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder connectionsPerNode(int connectionsPerNode) {
+
+            LettuceAssert.isTrue(connectionsPerNode > 0, "Connections per node must be greater than zero");
+            this.connectionsPerNode = connectionsPerNode;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ClusterConnectionWarmupOptions} to control eager connection warm-up of cluster node connections.
+         * Connection warm-up is disabled by default.
+         *
+         * @param connectionWarmupOptions must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder connectionWarmupOptions(ClusterConnectionWarmupOptions connectionWarmupOptions) {
+
+            LettuceAssert.notNull(connectionWarmupOptions, "ClusterConnectionWarmupOptions must not be null");
+            this.connectionWarmupOptions = connectionWarmupOptions;
+            return this;
+        }
+
+        /**
+         * Sets the {@link TopologySnapshotStore} to persist the cluster topology. A stored snapshot is used to initialize the
+         * topology when connecting so that commands can be routed without awaiting topology discovery. The snapshot is
+         * verified by a topology refresh in the background. Defaults to {@link TopologySnapshotStore#none()}. See
+         * {@link ClusterClientOptions#DEFAULT_TOPOLOGY_SNAPSHOT_STORE}.
+         *
+         * @param topologySnapshotStore must not be {@code null}.
+         * @return {@code this}
+         * @since 7.0
+         */
+        public Builder topologySnapshotStore(TopologySnapshotStore topologySnapshotStore) {
+
+            LettuceAssert.notNull(topologySnapshotStore, "TopologySnapshotStore must not be null");
+            this.topologySnapshotStore = topologySnapshotStore;
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClusterClientOptions}
          *
@@ -354,12 +444,15 @@ public class ClusterClientOptions extends ClientOptions {
                 .decodeBufferPolicy(getDecodeBufferPolicy())
                 .disconnectedBehavior(getDisconnectedBehavior()).maxRedirects(getMaxRedirects())
                 .publishOnScheduler(isPublishOnScheduler()).pingBeforeActivateConnection(isPingBeforeActivateConnection())
-                .protocolVersion(getConfiguredProtocolVersion()).readOnlyCommands(getReadOnlyCommands())
-                .requestQueueSize(getRequestQueueSize())
+                .protocolVersion(getConfiguredProtocolVersion()).pubSubDispatchOptions(getPubSubDispatchOptions())
+                .readOnlyCommands(getReadOnlyCommands())
+                .requestQueueSize(getRequestQueueSize()).resubscribeOptions(getResubscribeOptions())
                 .scriptCharset(getScriptCharset()).socketOptions(getSocketOptions()).sslOptions(getSslOptions())
                 .suspendReconnectOnProtocolFailure(isSuspendReconnectOnProtocolFailure()).timeoutOptions(getTimeoutOptions())
                 .topologyRefreshOptions(getTopologyRefreshOptions())
-                .validateClusterNodeMembership(isValidateClusterNodeMembership()).nodeFilter(getNodeFilter());
+                .validateClusterNodeMembership(isValidateClusterNodeMembership()).nodeFilter(getNodeFilter())
+                .connectionsPerNode(getConnectionsPerNode()).connectionWarmupOptions(getConnectionWarmupOptions())
+                .topologySnapshotStore(getTopologySnapshotStore());
 
         return builder;
     }
@@ -437,4 +530,35 @@ public class ClusterClientOptions extends ClientOptions {
         return nodeFilter;
     }
 
+    /**
+     * Number of connections to maintain per cluster node and {@link io.lettuce.core.protocol.ConnectionIntent}. Defaults to
+     * {@literal 1}.
+     *
+     * @return the number of connections per node.
+     * @since 7.0
+     */
+    public int getConnectionsPerNode() {
+        return connectionsPerNode;
+    }
+
+    /**
+     * The {@link ClusterConnectionWarmupOptions} to control eager connection warm-up of cluster node connections.
+     *
+     * @return the {@link ClusterConnectionWarmupOptions}.
+     * @since 7.0
+     */
+    public ClusterConnectionWarmupOptions getConnectionWarmupOptions() {
+        return connectionWarmupOptions;
+    }
+
+    /**
+     * The {@link TopologySnapshotStore} to persist the cluster topology.
+     *
+     * @return the {@link TopologySnapshotStore}.
+     * @since 7.0
+     */
+    public TopologySnapshotStore getTopologySnapshotStore() {
+        return topologySnapshotStore;
+    }
+
 }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options to control eager connection warm-up of cluster node connections of {@link RedisClusterClient}.
+ * <p>
+ * Node connections are established lazily by default when a command is routed to a node for the first time. Connection
+ * warm-up connects node connections in parallel when connecting to Redis Cluster and optionally after topology changes so that
+ * the first commands do not pay the connection and handshake latency.
+ *
+ * @since 7.0
+ */
+public class ClusterConnectionWarmupOptions {
+
+    public static final boolean DEFAULT_WARMUP_UPSTREAMS = false;
+
+    public static final boolean DEFAULT_WARMUP_REPLICAS = false;
+
+    public static final boolean DEFAULT_WARMUP_ON_TOPOLOGY_CHANGE = true;
+
+    public static final ReadinessPolicy DEFAULT_READINESS_POLICY = ReadinessPolicy.NONE;
+
+    private final boolean warmupUpstreams;
+
+    private final boolean warmupReplicas;
+
+    private final boolean warmupOnTopologyChange;
+
+    private final ReadinessPolicy readinessPolicy;
+
+    protected ClusterConnectionWarmupOptions(Builder builder) {
+
+        this.warmupUpstreams = builder.warmupUpstreams;
+        this.warmupReplicas = builder.warmupReplicas;
+        this.warmupOnTopologyChange = builder.warmupOnTopologyChange;
+        this.readinessPolicy = builder.readinessPolicy;
+    }
+
+    protected ClusterConnectionWarmupOptions(ClusterConnectionWarmupOptions original) {
+
+        this.warmupUpstreams = original.warmupUpstreams;
+        this.warmupReplicas = original.warmupReplicas;
+        this.warmupOnTopologyChange = original.warmupOnTopologyChange;
+        this.readinessPolicy = original.readinessPolicy;
+    }
+
+    /**
+     * Create a copy of {@literal options}.
+     *
+     * @param options the original
+     * @return A new instance of {@link ClusterConnectionWarmupOptions} containing the values of {@literal options}
+     */
+    public static ClusterConnectionWarmupOptions copyOf(ClusterConnectionWarmupOptions options) {
+        return new ClusterConnectionWarmupOptions(options);
+    }
+
+    /**
+     * Returns a new {@link ClusterConnectionWarmupOptions.Builder} to construct {@link ClusterConnectionWarmupOptions}.
+     *
+     * @return a new {@link ClusterConnectionWarmupOptions.Builder} to construct {@link ClusterConnectionWarmupOptions}.
+     */
+    public static ClusterConnectionWarmupOptions.Builder builder() {
+        return new ClusterConnectionWarmupOptions.Builder();
+    }
+
+    /**
+     * Create a new {@link ClusterConnectionWarmupOptions} using default settings. Connection warm-up is disabled by default.
+     *
+     * @return a new instance of default connection warm-up options.
+     */
+    public static ClusterConnectionWarmupOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new {@link ClusterConnectionWarmupOptions} with enabled upstream connection warm-up.
+     *
+     * @return a new instance of connection warm-up options.
+     */
+    public static ClusterConnectionWarmupOptions enabled() {
+        return builder().warmupUpstreams(true).build();
+    }
+
+    /**
+     * Builder for {@link ClusterConnectionWarmupOptions}.
+     */
+    public static class Builder {
+
+        private boolean warmupUpstreams = DEFAULT_WARMUP_UPSTREAMS;
+
+        private boolean warmupReplicas = DEFAULT_WARMUP_REPLICAS;
+
+        private boolean warmupOnTopologyChange = DEFAULT_WARMUP_ON_TOPOLOGY_CHANGE;
+
+        private ReadinessPolicy readinessPolicy = DEFAULT_READINESS_POLICY;
+
+        private Builder() {
+        }
+
+        /**
+         * Connect to all upstream nodes that serve slots. Defaults to {@code false}. See {@link #DEFAULT_WARMUP_UPSTREAMS}.
+         *
+         * @param warmupUpstreams {@code true} to connect to upstream nodes eagerly.
+         * @return {@code this}
+         */
+        public Builder warmupUpstreams(boolean warmupUpstreams) {
+            this.warmupUpstreams = warmupUpstreams;
+            return this;
+        }
+
+        /**
+         * Connect to all replica nodes eagerly. Replica connections are used for reads when using a
+         * {@link io.lettuce.core.ReadFrom} setting that reads from replicas. Defaults to {@code false}. See
+         * {@link #DEFAULT_WARMUP_REPLICAS}.
+         *
+         * @param warmupReplicas {@code true} to connect to replica nodes eagerly.
+         * @return {@code this}
+         */
+        public Builder warmupReplicas(boolean warmupReplicas) {
+            this.warmupReplicas = warmupReplicas;
+            return this;
+        }
+
+        /**
+         * Warm up connections after a topology change, i.e. after failover or when nodes were added. Comes only into effect if
+         * warm-up is enabled. Defaults to {@code true}. See {@link #DEFAULT_WARMUP_ON_TOPOLOGY_CHANGE}.
+         *
+         * @param warmupOnTopologyChange {@code true} to warm up connections after topology changes.
+         * @return {@code this}
+         */
+        public Builder warmupOnTopologyChange(boolean warmupOnTopologyChange) {
+            this.warmupOnTopologyChange = warmupOnTopologyChange;
+            return this;
+        }
+
+        /**
+         * Set the {@link ReadinessPolicy} to determine whether connecting to Redis Cluster awaits connection warm-up. Defaults
+         * to {@link ReadinessPolicy#NONE}. See {@link #DEFAULT_READINESS_POLICY}.
+         *
+         * @param readinessPolicy must not be {@code null}.
+         * @return {@code this}
+         */
+        public Builder readinessPolicy(ReadinessPolicy readinessPolicy) {
+
+            LettuceAssert.notNull(readinessPolicy, "ReadinessPolicy must not be null");
+
+            this.readinessPolicy = readinessPolicy;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link ClusterConnectionWarmupOptions}
+         *
+         * @return new instance of {@link ClusterConnectionWarmupOptions}
+         */
+        public ClusterConnectionWarmupOptions build() {
+            return new ClusterConnectionWarmupOptions(this);
+        }
+
+    }
+
+    /**
+     * @return {@code true} if upstream or replica connection warm-up is enabled.
+     */
+    public boolean isEnabled() {
+        return warmupUpstreams || warmupReplicas;
+    }
+
+    /**
+     * Flag, whether to connect to all upstream nodes eagerly. Defaults to {@code false}.
+     *
+     * @return {@code true} if upstream connections are connected eagerly.
+     */
+    public boolean isWarmupUpstreams() {
+        return warmupUpstreams;
+    }
+
+    /**
+     * Flag, whether to connect to all replica nodes eagerly. Defaults to {@code false}.
+     *
+     * @return {@code true} if replica connections are connected eagerly.
+     */
+    public boolean isWarmupReplicas() {
+        return warmupReplicas;
+    }
+
+    /**
+     * Flag, whether to warm up connections after topology changes. Defaults to {@code true}.
+     *
+     * @return {@code true} if connections are warmed up after topology changes.
+     */
+    public boolean isWarmupOnTopologyChange() {
+        return warmupOnTopologyChange;
+    }
+
+    /**
+     * The {@link ReadinessPolicy} to determine whether connecting to Redis Cluster awaits connection warm-up. Defaults to
+     * {@link ReadinessPolicy#NONE}.
+     *
+     * @return the {@link ReadinessPolicy}.
+     */
+    public ReadinessPolicy getReadinessPolicy() {
+        return readinessPolicy;
+    }
+
+    /**
+     * Policy to determine when a cluster connection is considered ready after connection warm-up was initiated. Failed warm-up
+     * connection attempts do not fail the cluster connection. Node connections are retried lazily on their first use.
+     */
+    public enum ReadinessPolicy {
+
+        /**
+         * Do not await connection warm-up. Node connections are connected in the background.
+         */
+        NONE,
+
+        /**
+         * Await completion of all upstream connection attempts.
+         */
+        UPSTREAMS,
+
+        /**
+         * Await completion of all connection attempts including replica connections.
+         */
+        ALL
+    }
+
+}
@@ -41,7 +41,8 @@ interface ClusterNodeConnectionFactory<K, V>
     void setPartitions(Partitions partitions);
 
     /**
-     * Connection to identify a connection either by nodeId or host/port.
+     * Connection to identify a connection either by nodeId or host/port. The {@code index} distinguishes multiple connections
+     * to the same node.
      */
     class ConnectionKey {
 
@@ -53,18 +54,26 @@ interface ClusterNodeConnectionFactory<K, V>
 
         final int port;
 
+        final int index;
+
         public ConnectionKey(ConnectionIntent connectionIntent, String nodeId) {
             this.connectionIntent = connectionIntent;
             this.nodeId = nodeId;
             this.host = null;
             this.port = 0;
+            this.index = 0;
         }
 
         public ConnectionKey(ConnectionIntent connectionIntent, String host, int port) {
+            this(connectionIntent, host, port, 0);
+        }
+
+        public ConnectionKey(ConnectionIntent connectionIntent, String host, int port, int index) {
             this.connectionIntent = connectionIntent;
             this.host = host;
             this.port = port;
             this.nodeId = null;
+            this.index = index;
         }
 
         @Override
@@ -79,6 +88,8 @@ interface ClusterNodeConnectionFactory<K, V>
 
             if (port != key.port)
                 return false;
+            if (index != key.index)
+                return false;
             if (connectionIntent != key.connectionIntent)
                 return false;
             if (nodeId != null ? !nodeId.equals(key.nodeId) : key.nodeId != null)
@@ -93,6 +104,7 @@ interface ClusterNodeConnectionFactory<K, V>
             result = 31 * result + (nodeId != null ? nodeId.hashCode() : 0);
             result = 31 * result + (host != null ? host.hashCode() : 0);
             result = 31 * result + port;
+            result = 31 * result + index;
             return result;
         }
 
@@ -105,6 +117,7 @@ interface ClusterNodeConnectionFactory<K, V>
             sb.append(", nodeId='").append(nodeId).append('\'');
             sb.append(", host='").append(host).append('\'');
             sb.append(", port=").append(port);
+            sb.append(", index=").append(index);
             sb.append(']');
             return sb.toString();
         }
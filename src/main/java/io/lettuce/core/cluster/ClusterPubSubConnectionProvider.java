@@ -182,6 +182,21 @@ class ClusterPubSubConnectionProvider<K, V> extends PooledClusterConnectionProvi
             notifications.punsubscribed(getNode(), pattern, count);
         }
 
+        @Override
+        public void smessage(K shardChannel, V message) {
+            notifications.smessage(getNode(), shardChannel, message);
+        }
+
+        @Override
+        public void ssubscribed(K shardChannel, long count) {
+            notifications.ssubscribed(getNode(), shardChannel, count);
+        }
+
+        @Override
+        public void sunsubscribed(K shardChannel, long count) {
+            notifications.sunsubscribed(getNode(), shardChannel, count);
+        }
+
         private RedisClusterNode getNode() {
             return nodeId != null ? getPartitions().getPartitionByNodeId(nodeId) : getPartitions().getPartition(host, port);
         }
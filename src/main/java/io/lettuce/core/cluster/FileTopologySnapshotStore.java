@@ -0,0 +1,255 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.cluster.models.partitions.ClusterPartitionParser;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode.NodeFlag;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * {@link TopologySnapshotStore} using a file. The topology is stored in the {@code CLUSTER NODES} format. The replication
+ * offset is not part of {@code CLUSTER NODES} and stored as comment line ({@code # repl-offset <node-id> <offset>}) so that
+ * the file can be parsed with {@link ClusterPartitionParser} after removing comment lines.
+ * <p>
+ * The file is written to a temporary file first and then moved to its target location to not expose partially written
+ * snapshots. Failures to read or write the snapshot are logged and do not propagate.
+ *
+ * @since 7.0
+ */
+class FileTopologySnapshotStore implements TopologySnapshotStore {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(FileTopologySnapshotStore.class);
+
+    private static final String COMMENT = "#";
+
+    private static final String REPL_OFFSET = COMMENT + " repl-offset ";
+
+    private final Path file;
+
+    FileTopologySnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public Partitions load() {
+
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            StringBuilder nodes = new StringBuilder();
+            Map<String, Long> replOffsets = new HashMap<>();
+
+            for (String line : lines) {
+
+                if (line.startsWith(REPL_OFFSET)) {
+                    String[] parts = line.substring(REPL_OFFSET.length()).split(" ");
+                    replOffsets.put(parts[0], Long.parseLong(parts[1]));
+                    continue;
+                }
+
+                if (line.startsWith(COMMENT) || line.isEmpty()) {
+                    continue;
+                }
+
+                nodes.append(line).append('\n');
+            }
+
+            Partitions partitions = ClusterPartitionParser.parse(nodes.toString());
+
+            for (RedisClusterNode node : partitions) {
+
+                Long replOffset = replOffsets.get(node.getNodeId());
+                if (replOffset != null) {
+                    node.setReplOffset(replOffset);
+                }
+            }
+
+            return partitions.isEmpty() ? null : partitions;
+        } catch (Exception e) {
+            logger.warn("Cannot load Redis Cluster topology snapshot from " + file, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void save(Partitions partitions) {
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(COMMENT).append(" Redis Cluster topology snapshot").append('\n');
+
+        for (RedisClusterNode node : partitions) {
+            appendNode(builder, node);
+        }
+
+        for (RedisClusterNode node : partitions) {
+            if (node.getReplOffset() != 0) {
+                builder.append(REPL_OFFSET).append(node.getNodeId()).append(' ').append(node.getReplOffset()).append('\n');
+            }
+        }
+
+        try {
+
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+
+            Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+            try {
+                Files.write(tmp, builder.toString().getBytes(StandardCharsets.UTF_8));
+                move(tmp);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot save Redis Cluster topology snapshot to " + file, e);
+        }
+    }
+
+    private void move(Path tmp) throws IOException {
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void appendNode(StringBuilder builder, RedisClusterNode node) {
+
+        RedisURI uri = node.getUri();
+
+        builder.append(node.getNodeId()).append(' ');
+
+        if (uri != null) {
+            builder.append(uri.getHost()).append(':').append(uri.getPort());
+        } else {
+            builder.append(':').append(0);
+        }
+
+        builder.append(' ');
+        appendFlags(builder, node);
+        builder.append(' ').append(node.getSlaveOf() != null ? node.getSlaveOf() : "-");
+        builder.append(' ').append(node.getPingSentTimestamp());
+        builder.append(' ').append(node.getPongReceivedTimestamp());
+        builder.append(' ').append(node.getConfigEpoch());
+        builder.append(' ').append(node.isConnected() ? ClusterPartitionParser.CONNECTED : "disconnected");
+
+        appendSlots(builder, node);
+        builder.append('\n');
+    }
+
+    private static void appendFlags(StringBuilder builder, RedisClusterNode node) {
+
+        List<String> flags = new ArrayList<>();
+
+        if (node.is(NodeFlag.MYSELF)) {
+            flags.add("myself");
+        }
+
+        if (node.is(NodeFlag.UPSTREAM)) {
+            flags.add("master");
+        }
+
+        if (node.is(NodeFlag.REPLICA)) {
+            flags.add("slave");
+        }
+
+        for (NodeFlag flag : node.getFlags()) {
+
+            String flagString = getStatusFlag(flag);
+
+            if (flagString != null) {
+                flags.add(flagString);
+            }
+        }
+
+        builder.append(flags.isEmpty() ? "noflags" : String.join(",", flags));
+    }
+
+    private static String getStatusFlag(NodeFlag flag) {
+
+        switch (flag) {
+            case EVENTUAL_FAIL:
+                return "fail?";
+            case FAIL:
+                return "fail";
+            case HANDSHAKE:
+                return "handshake";
+            case NOADDR:
+                return "noaddr";
+            case LOADING:
+                return "loading";
+            case ONLINE:
+                return "online";
+            default:
+                return null;
+        }
+    }
+
+    private static void appendSlots(StringBuilder builder, RedisClusterNode node) {
+
+        int[] range = { -1, -1 };
+
+        node.forEachSlot(slot -> {
+
+            if (range[1] == slot - 1 && range[0] != -1) {
+                range[1] = slot;
+                return;
+            }
+
+            appendSlotRange(builder, range);
+            range[0] = slot;
+            range[1] = slot;
+        });
+
+        appendSlotRange(builder, range);
+    }
+
+    private static void appendSlotRange(StringBuilder builder, int[] range) {
+
+        if (range[0] == -1) {
+            return;
+        }
+
+        builder.append(' ').append(range[0]);
+
+        if (range[1] != range[0]) {
+            builder.append('-').append(range[1]);
+        }
+    }
+
+}
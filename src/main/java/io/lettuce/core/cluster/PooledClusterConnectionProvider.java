@@ -48,6 +48,7 @@ import io.lettuce.core.internal.Exceptions;
 import io.lettuce.core.internal.Futures;
 import io.lettuce.core.internal.HostAndPort;
 import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.metrics.ConnectionMetrics;
 import io.lettuce.core.models.role.RedisNodeDescription;
 import io.lettuce.core.protocol.ConnectionIntent;
 import io.netty.util.internal.logging.InternalLogger;
@@ -82,6 +83,8 @@ class PooledClusterConnectionProvider<K, V>
 
     private final ClusterClientOptions options;
 
+    private final int connectionsPerNode;
+
     private final ClusterNodeConnectionFactory<K, V> connectionFactory;
 
     private final RedisChannelWriter clusterWriter;
@@ -98,12 +101,16 @@ class PooledClusterConnectionProvider<K, V>
 
     private ReadFrom readFrom;
 
+    private volatile boolean connectionWarmupActive = false;
+
     public PooledClusterConnectionProvider(RedisClusterClient redisClusterClient, RedisChannelWriter clusterWriter,
             RedisCodec<K, V> redisCodec, ClusterEventListener clusterEventListener) {
 
         this.redisCodec = redisCodec;
         this.redisClusterClient = redisClusterClient;
         this.options = redisClusterClient.getClusterClientOptions();
+        this.connectionsPerNode = options != null ? options.getConnectionsPerNode()
+                : ClusterClientOptions.DEFAULT_CONNECTIONS_PER_NODE;
         this.clusterWriter = clusterWriter;
         this.clusterEventListener = clusterEventListener;
         this.connectionFactory = new NodeConnectionPostProcessor(getConnectionFactory(redisClusterClient));
@@ -166,8 +173,10 @@ class PooledClusterConnectionProvider<K, V>
 
             // Use always host and port for slot-oriented operations. We don't want to get reconnected on a different
             // host because the nodeId can be handled by a different host.
+            // Commands for the same slot are always routed through the same connection to retain command ordering.
             RedisURI uri = master.getUri();
-            ConnectionKey key = new ConnectionKey(ConnectionIntent.WRITE, uri.getHost(), uri.getPort());
+            ConnectionKey key = new ConnectionKey(ConnectionIntent.WRITE, uri.getHost(), uri.getPort(),
+                    slot % connectionsPerNode);
 
             ConnectionFuture<StatefulRedisConnection<K, V>> future = getConnectionAsync(key);
 
@@ -235,29 +244,8 @@ class PooledClusterConnectionProvider<K, V>
 
         if (cached) {
 
-            return CompletableFuture.allOf(readerCandidates).thenCompose(v -> {
-
-                boolean orderSensitive = isOrderSensitive(selectedReaderCandidates);
-
-                if (!orderSensitive) {
-
-                    CompletableFuture<StatefulRedisConnection<K, V>> candidate = findRandomActiveConnection(
-                            selectedReaderCandidates, Function.identity());
-
-                    if (candidate != null) {
-                        return candidate;
-                    }
-                }
-
-                for (CompletableFuture<StatefulRedisConnection<K, V>> candidate : selectedReaderCandidates) {
-
-                    if (candidate.join().isOpen()) {
-                        return candidate;
-                    }
-                }
-
-                return selectedReaderCandidates[0];
-            });
+            return CompletableFuture.allOf(readerCandidates)
+                    .thenCompose(v -> selectReadConnection(selectedReaderCandidates));
         }
 
         CompletableFuture<StatefulRedisConnection<K, V>[]> filteredReaderCandidates = new CompletableFuture<>();
@@ -282,8 +270,6 @@ class PooledClusterConnectionProvider<K, V>
 
         return filteredReaderCandidates.thenApply(statefulRedisConnections -> {
 
-            boolean orderSensitive = isOrderSensitive(statefulRedisConnections);
-
             CompletableFuture<StatefulRedisConnection<K, V>> toCache[] = new CompletableFuture[statefulRedisConnections.length];
 
             for (int i = 0; i < toCache.length; i++) {
@@ -293,49 +279,158 @@ class PooledClusterConnectionProvider<K, V>
                 readers[slot] = toCache;
             }
 
-            if (!orderSensitive) {
+            return selectReadConnection(toCache).join();
+        });
+    }
+
+    /**
+     * Select a read connection from {@code candidates}. Candidates are grouped by node with {@link #connectionsPerNode}
+     * connections per node.
+     *
+     * @param candidates the candidate connections, must be completed.
+     * @return the selected connection.
+     */
+    private CompletableFuture<StatefulRedisConnection<K, V>> selectReadConnection(
+            CompletableFuture<StatefulRedisConnection<K, V>>[] candidates) {
+
+        int nodes = candidates.length / connectionsPerNode;
+        boolean orderSensitive = OrderingReadFromAccessor.isOrderSensitive(readFrom) || nodes == 1;
+
+        if (nodes > 1 && OrderingReadFromAccessor.isLeastOutstanding(readFrom)) {
+
+            CompletableFuture<StatefulRedisConnection<K, V>> candidate = findLeastOutstandingConnection(candidates, nodes);
+
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+
+        if (!orderSensitive) {
+
+            // Perform up to two attempts for random nodes.
+            for (int i = 0; i < Math.min(2, nodes); i++) {
 
-                StatefulRedisConnection<K, V> candidate = findRandomActiveConnection(selectedReaderCandidates,
-                        CompletableFuture::join);
+                CompletableFuture<StatefulRedisConnection<K, V>> candidate = findActiveConnection(candidates,
+                        ThreadLocalRandom.current().nextInt(nodes));
 
                 if (candidate != null) {
                     return candidate;
                 }
             }
+        }
 
-            for (StatefulRedisConnection<K, V> candidate : statefulRedisConnections) {
-                if (candidate.isOpen()) {
-                    return candidate;
-                }
+        for (int node = 0; node < nodes; node++) {
+
+            CompletableFuture<StatefulRedisConnection<K, V>> candidate = findActiveConnection(candidates, node);
+
+            if (candidate != null) {
+                return candidate;
             }
+        }
 
-            return statefulRedisConnections[0];
-        });
+        return candidates[0];
     }
 
-    private boolean isOrderSensitive(Object[] connections) {
-        return OrderingReadFromAccessor.isOrderSensitive(readFrom) || connections.length == 1;
+    /**
+     * Find the active connection with the least number of in-flight commands across all nodes. Compares only two randomly
+     * chosen nodes if the {@link ReadFrom} setting applies power-of-two-choices.
+     *
+     * @param candidates the candidate connections.
+     * @param nodes the number of nodes.
+     * @return the active connection or {@code null} if no node has an active connection.
+     */
+    private CompletableFuture<StatefulRedisConnection<K, V>> findLeastOutstandingConnection(
+            CompletableFuture<StatefulRedisConnection<K, V>>[] candidates, int nodes) {
+
+        if (nodes == 2 || !OrderingReadFromAccessor.isPowerOfTwoChoices(readFrom)) {
+            return findActiveConnection(candidates, 0, nodes);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(nodes);
+        int second = random.nextInt(nodes - 1);
+
+        if (second >= first) {
+            second++;
+        }
+
+        CompletableFuture<StatefulRedisConnection<K, V>> firstCandidate = findActiveConnection(candidates, first);
+        CompletableFuture<StatefulRedisConnection<K, V>> secondCandidate = findActiveConnection(candidates, second);
+
+        if (firstCandidate == null || secondCandidate == null) {
+            return firstCandidate != null ? firstCandidate : secondCandidate;
+        }
+
+        int firstInFlight = ConnectionMetrics.getInFlightCommands(firstCandidate.join());
+        int secondInFlight = ConnectionMetrics.getInFlightCommands(secondCandidate.join());
+
+        return secondInFlight < firstInFlight ? secondCandidate : firstCandidate;
     }
 
-    private static <T, E extends StatefulConnection<?, ?>> T findRandomActiveConnection(
-            CompletableFuture<E>[] selectedReaderCandidates, Function<CompletableFuture<E>, T> mappingFunction) {
+    /**
+     * Find an active connection of the node at {@code node}. Selects the connection with the least number of in-flight
+     * commands if multiple connections per node are used.
+     *
+     * @param candidates the candidate connections.
+     * @param node the node index.
+     * @return the active connection or {@code null} if the node has no active connection.
+     */
+    private CompletableFuture<StatefulRedisConnection<K, V>> findActiveConnection(
+            CompletableFuture<StatefulRedisConnection<K, V>>[] candidates, int node) {
+        return findActiveConnection(candidates, node, node + 1);
+    }
 
-        // Perform up to two attempts for random nodes.
-        for (int i = 0; i < Math.min(2, selectedReaderCandidates.length); i++) {
+    /**
+     * Find the active connection with the least number of in-flight commands of the nodes from {@code fromNode} (inclusive) to
+     * {@code toNode} (exclusive).
+     *
+     * @param candidates the candidate connections.
+     * @param fromNode the first node index.
+     * @param toNode the node index after the last node.
+     * @return the active connection or {@code null} if the nodes have no active connection.
+     */
+    private CompletableFuture<StatefulRedisConnection<K, V>> findActiveConnection(
+            CompletableFuture<StatefulRedisConnection<K, V>>[] candidates, int fromNode, int toNode) {
 
-            int index = ThreadLocalRandom.current().nextInt(selectedReaderCandidates.length);
-            CompletableFuture<E> candidateFuture = selectedReaderCandidates[index];
+        CompletableFuture<StatefulRedisConnection<K, V>> result = null;
+        int leastInFlight = Integer.MAX_VALUE;
+        boolean singleConnection = toNode - fromNode == 1 && connectionsPerNode == 1;
 
-            if (candidateFuture.isDone() && !candidateFuture.isCompletedExceptionally()) {
+        int from = fromNode * connectionsPerNode;
+        int count = (toNode - fromNode) * connectionsPerNode;
 
-                E candidate = candidateFuture.join();
+        // start at a random node when scanning multiple nodes to spread ties
+        int offset = toNode - fromNode > 1 ? ThreadLocalRandom.current().nextInt(count) : 0;
 
-                if (candidate.isOpen()) {
-                    return mappingFunction.apply(candidateFuture);
-                }
+        for (int j = 0; j < count; j++) {
+
+            int i = from + (j + offset) % count;
+
+            CompletableFuture<StatefulRedisConnection<K, V>> candidateFuture = candidates[i];
+
+            if (!candidateFuture.isDone() || candidateFuture.isCompletedExceptionally()) {
+                continue;
+            }
+
+            StatefulRedisConnection<K, V> candidate = candidateFuture.join();
+
+            if (!candidate.isOpen()) {
+                continue;
+            }
+
+            if (singleConnection) {
+                return candidateFuture;
+            }
+
+            int inFlight = ConnectionMetrics.getInFlightCommands(candidate);
+
+            if (inFlight < leastInFlight) {
+                result = candidateFuture;
+                leastInFlight = inFlight;
             }
         }
-        return null;
+
+        return result;
     }
 
     private StatefulRedisConnection<K, V>[] getConnections(
@@ -343,11 +438,17 @@ class PooledClusterConnectionProvider<K, V>
 
         List<StatefulRedisConnection<K, V>> connections = new ArrayList<>(selectedReaderCandidates.length);
 
-        for (CompletableFuture<StatefulRedisConnection<K, V>> candidate : selectedReaderCandidates) {
+        for (int node = 0; node < selectedReaderCandidates.length; node += connectionsPerNode) {
+
+            int offset = connections.size();
 
             try {
-                connections.add(candidate.join());
+                for (int i = node; i < node + connectionsPerNode; i++) {
+                    connections.add(selectedReaderCandidates[i].join());
+                }
             } catch (Exception o_O) {
+                // retain only nodes whose connections are all connected to keep the per-node grouping
+                connections.subList(offset, connections.size()).clear();
             }
         }
 
@@ -361,18 +462,22 @@ class PooledClusterConnectionProvider<K, V>
         // Use always host and port for slot-oriented operations. We don't want to get reconnected on a different
         // host because the nodeId can be handled by a different host.
 
-        CompletableFuture<StatefulRedisConnection<K, V>>[] readerCandidates = new CompletableFuture[selection.size()];
+        CompletableFuture<StatefulRedisConnection<K, V>>[] readerCandidates = new CompletableFuture[selection.size()
+                * connectionsPerNode];
 
         for (int i = 0; i < selection.size(); i++) {
 
             RedisNodeDescription redisClusterNode = selection.get(i);
 
             RedisURI uri = redisClusterNode.getUri();
-            ConnectionKey key = new ConnectionKey(
-                    redisClusterNode.getRole().isUpstream() ? ConnectionIntent.WRITE : ConnectionIntent.READ, uri.getHost(),
-                    uri.getPort());
+            ConnectionIntent connectionIntent = redisClusterNode.getRole().isUpstream() ? ConnectionIntent.WRITE
+                    : ConnectionIntent.READ;
 
-            readerCandidates[i] = getConnectionAsync(key).toCompletableFuture();
+            for (int index = 0; index < connectionsPerNode; index++) {
+
+                ConnectionKey key = new ConnectionKey(connectionIntent, uri.getHost(), uri.getPort(), index);
+                readerCandidates[i * connectionsPerNode + index] = getConnectionAsync(key).toCompletableFuture();
+            }
         }
 
         return readerCandidates;
@@ -552,6 +657,81 @@ class PooledClusterConnectionProvider<K, V>
         if (expireStaleConnections()) {
             closeStaleConnections();
         }
+
+        if (connectionWarmupActive && options.getConnectionWarmupOptions().isWarmupOnTopologyChange()) {
+            warmupConnections();
+        }
+    }
+
+    /**
+     * Connect eagerly to cluster nodes as configured by {@link ClusterConnectionWarmupOptions}. Connection attempts are
+     * initiated in parallel. Failed connection attempts are not propagated, the affected node connections are established
+     * lazily on their first use. Subsequent topology changes warm up connections to new nodes if
+     * {@link ClusterConnectionWarmupOptions#isWarmupOnTopologyChange()} is enabled.
+     *
+     * @return a {@link CompletableFuture} that completes according to the
+     *         {@link ClusterConnectionWarmupOptions#getReadinessPolicy() readiness policy}.
+     */
+    CompletableFuture<Void> warmupConnections() {
+
+        if (options == null || !options.getConnectionWarmupOptions().isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        ClusterConnectionWarmupOptions warmupOptions = options.getConnectionWarmupOptions();
+        this.connectionWarmupActive = true;
+
+        List<CompletableFuture<Void>> upstreams = new ArrayList<>();
+        List<CompletableFuture<Void>> replicas = new ArrayList<>();
+
+        for (RedisClusterNode node : getPartitions()) {
+
+            if (node.is(RedisClusterNode.NodeFlag.FAIL) || node.is(RedisClusterNode.NodeFlag.NOADDR)) {
+                continue;
+            }
+
+            if (warmupOptions.isWarmupUpstreams() && node.getRole().isUpstream() && !node.getSlots().isEmpty()) {
+                warmupConnections(ConnectionIntent.WRITE, node, upstreams);
+            }
+
+            if (warmupOptions.isWarmupReplicas() && node.getRole().isReplica()) {
+                warmupConnections(ConnectionIntent.READ, node, replicas);
+            }
+        }
+
+        switch (warmupOptions.getReadinessPolicy()) {
+            case UPSTREAMS:
+                return Futures.allOf(upstreams);
+            case ALL:
+                upstreams.addAll(replicas);
+                return Futures.allOf(upstreams);
+            default:
+                return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void warmupConnections(ConnectionIntent connectionIntent, RedisClusterNode node,
+            List<CompletableFuture<Void>> target) {
+
+        RedisURI uri = node.getUri();
+
+        for (int index = 0; index < connectionsPerNode; index++) {
+
+            ConnectionKey key = new ConnectionKey(connectionIntent, uri.getHost(), uri.getPort(), index);
+
+            try {
+                target.add(getConnectionAsync(key).toCompletableFuture().handle((connection, throwable) -> {
+
+                    if (throwable != null && debugEnabled) {
+                        logger.debug("Connection warm-up to " + key + " failed", throwable);
+                    }
+
+                    return null;
+                }));
+            } catch (RuntimeException e) {
+                logger.debug("Cannot warm up connection to " + key, e);
+            }
+        }
     }
 
     private boolean expireStaleConnections() {
@@ -103,11 +103,25 @@ public class PubSubClusterEndpoint<K, V> extends PubSubEndpoint<K, V> {
             case unsubscribe:
                 multicast.unsubscribed(clusterNode, output.channel(), output.count());
                 break;
+            case smessage:
+                multicast.smessage(clusterNode, output.channel(), output.body());
+                break;
+            case ssubscribe:
+                multicast.ssubscribed(clusterNode, output.channel(), output.count());
+                break;
+            case sunsubscribe:
+                multicast.sunsubscribed(clusterNode, output.channel(), output.count());
+                break;
             default:
                 throw new UnsupportedOperationException("Operation " + output.type() + " not supported");
         }
     }
 
+    /**
+     * Listener for messages from node connections. Channel and pattern messages are propagated only if node message
+     * propagation is enabled. Shard channel messages are always propagated as shard channel subscriptions are routed to node
+     * connections.
+     */
     private class MasterMessageListener extends NotifyingMessageListener {
 
         @Override
@@ -204,6 +218,27 @@ public class PubSubClusterEndpoint<K, V> extends PubSubEndpoint<K, V> {
             clusterListeners.forEach(listener -> listener.punsubscribed(node, pattern, count));
         }
 
+        @Override
+        public void smessage(RedisClusterNode node, K shardChannel, V message) {
+
+            getListeners().forEach(listener -> listener.smessage(shardChannel, message));
+            clusterListeners.forEach(listener -> listener.smessage(node, shardChannel, message));
+        }
+
+        @Override
+        public void ssubscribed(RedisClusterNode node, K shardChannel, long count) {
+
+            getListeners().forEach(listener -> listener.ssubscribed(shardChannel, count));
+            clusterListeners.forEach(listener -> listener.ssubscribed(node, shardChannel, count));
+        }
+
+        @Override
+        public void sunsubscribed(RedisClusterNode node, K shardChannel, long count) {
+
+            getListeners().forEach(listener -> listener.sunsubscribed(shardChannel, count));
+            clusterListeners.forEach(listener -> listener.sunsubscribed(node, shardChannel, count));
+        }
+
     }
 
 }
@@ -25,10 +25,12 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -47,6 +49,7 @@ import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
 import io.lettuce.core.cluster.pubsub.StatefulRedisClusterPubSubConnection;
 import io.lettuce.core.cluster.topology.ClusterTopologyRefresh;
 import io.lettuce.core.cluster.topology.NodeConnectionFactory;
+import io.lettuce.core.cluster.topology.SharedClusterTopologyRefresh;
 import io.lettuce.core.cluster.topology.TopologyComparators;
 import io.lettuce.core.codec.RedisCodec;
 import io.lettuce.core.codec.StringCodec;
@@ -161,6 +164,27 @@ public class RedisClusterClient extends AbstractRedisClient {
 
     private volatile Partitions partitions;
 
+    private final Object topologySubscriptionLock = new Object();
+
+    // guarded by topologySubscriptionLock
+    private SharedClusterTopologyRefresh.Subscription topologySubscription;
+
+    // guarded by topologySubscriptionLock
+    private boolean topologySubscriptionDetached;
+
+    private volatile boolean periodicTopologyRefresh;
+
+    private volatile boolean topologySnapshotInUse;
+
+    private final Object topologySnapshotLock = new Object();
+
+    private final Object topologySnapshotWriteLock = new Object();
+
+    private final AtomicLong topologySnapshotVersion = new AtomicLong();
+
+    // guarded by topologySnapshotLock
+    private Partitions lastTopologySnapshot;
+
     /**
      * Non-private constructor to make {@link RedisClusterClient} proxyable.
      */
@@ -640,7 +664,7 @@ public class RedisClusterClient extends AbstractRedisClient {
                     "Partitions not initialized. Initialize via RedisClusterClient.getPartitions()."));
         }
 
-        topologyRefreshScheduler.activateTopologyRefreshIfNeeded();
+        activateTopologyRefreshIfNeeded();
 
         logger.debug("connectCluster(" + initialUris + ")");
 
@@ -680,8 +704,12 @@ public class RedisClusterClient extends AbstractRedisClient {
                     .onErrorResume(t -> connect(socketAddressSupplier, endpoint, connection, commandHandlerSupplier));
         }
 
+        connectionMono = connectionMono.onErrorResume(t -> retryWithSeedTopology(t,
+                () -> connect(socketAddressSupplier, endpoint, connection, commandHandlerSupplier)));
+
         return connectionMono.doOnNext(
                         c -> connection.registerCloseables(closeableResources, clusterWriter, pooledClusterConnectionProvider))
+                .flatMap(c -> Mono.fromCompletionStage(pooledClusterConnectionProvider.warmupConnections()).thenReturn(c))
                 .map(it -> (StatefulRedisClusterConnection<K, V>) it).toFuture();
     }
 
@@ -737,7 +765,7 @@ public class RedisClusterClient extends AbstractRedisClient {
                     "Partitions not initialized. Initialize via RedisClusterClient.getPartitions()."));
         }
 
-        topologyRefreshScheduler.activateTopologyRefreshIfNeeded();
+        activateTopologyRefreshIfNeeded();
 
         logger.debug("connectClusterPubSub(" + initialUris + ")");
 
@@ -776,12 +804,34 @@ public class RedisClusterClient extends AbstractRedisClient {
                     .onErrorResume(t -> connect(socketAddressSupplier, endpoint, connection, commandHandlerSupplier));
         }
 
+        connectionMono = connectionMono.onErrorResume(t -> retryWithSeedTopology(t,
+                () -> connect(socketAddressSupplier, endpoint, connection, commandHandlerSupplier)));
+
         return connectionMono
                 .doOnNext(
                         c -> connection.registerCloseables(closeableResources, clusterWriter, pooledClusterConnectionProvider))
                 .map(it -> (StatefulRedisClusterPubSubConnection<K, V>) it).toFuture();
     }
 
+    /**
+     * Retry a failed connect after replacing an unverified topology snapshot with the topology view obtained from the seed
+     * nodes. Nodes of a stale snapshot may no longer be reachable while the seed nodes are.
+     */
+    private <T> Mono<T> retryWithSeedTopology(Throwable failure, Supplier<Mono<T>> connect) {
+
+        if (!topologySnapshotInUse) {
+            return Mono.error(failure);
+        }
+
+        logger.debug("Cannot connect using Redis Cluster topology snapshot, retrying with seed nodes");
+
+        return Mono.fromCompletionStage(reloadPartitionsFromSeed()).then(Mono.defer(connect)).doOnError(e -> {
+            if (e != failure) {
+                e.addSuppressed(failure);
+            }
+        });
+    }
+
     private int getConnectionAttempts() {
         return Math.max(1, partitions.size());
     }
@@ -888,21 +938,33 @@ public class RedisClusterClient extends AbstractRedisClient {
                     .whenComplete((unused, throwable) -> event.record());
         }
 
-        return loadPartitionsAsync().thenAccept(loadedPartitions -> {
+        SharedClusterTopologyRefresh.Subscription subscription = getTopologySubscription();
 
-            if (TopologyComparators.isChanged(getPartitions(), loadedPartitions)) {
+        if (subscription != null) {
 
-                logger.debug("Using a new cluster topology");
+            // the shared topology applies the refreshed topology to all attached clients including this one
+            return withSeedFallback(topologyRefreshSource, subscription::refresh).<Void> thenApply(views -> null)
+                    .whenComplete((unused, throwable) -> event.record());
+        }
+
+        return loadPartitionsAsync().thenAccept(this::applyPartitions).whenComplete((unused, throwable) -> event.record());
+    }
 
-                List<RedisClusterNode> before = new ArrayList<>(getPartitions());
-                List<RedisClusterNode> after = new ArrayList<>(loadedPartitions);
+    private void applyPartitions(Partitions loadedPartitions) {
 
-                getResources().eventBus().publish(new ClusterTopologyChangedEvent(before, after));
-            }
+        if (TopologyComparators.isChanged(getPartitions(), loadedPartitions)) {
+
+            logger.debug("Using a new cluster topology");
 
-            this.partitions.reload(loadedPartitions.getPartitions());
-            updatePartitionsInConnections();
-        }).whenComplete((unused, throwable) -> event.record());
+            List<RedisClusterNode> before = new ArrayList<>(getPartitions());
+            List<RedisClusterNode> after = new ArrayList<>(loadedPartitions);
+
+            getResources().eventBus().publish(new ClusterTopologyChangedEvent(before, after));
+        }
+
+        this.partitions.reload(loadedPartitions.getPartitions());
+        updatePartitionsInConnections();
+        saveTopologySnapshot(this.partitions);
     }
 
     /**
@@ -912,6 +974,8 @@ public class RedisClusterClient extends AbstractRedisClient {
      * @since 6.3
      */
     public void suspendTopologyRefresh() {
+
+        periodicTopologyRefresh = false;
         topologyRefreshScheduler.suspendTopologyRefresh();
     }
 
@@ -922,9 +986,69 @@ public class RedisClusterClient extends AbstractRedisClient {
      * @since 6.3
      */
     public boolean isTopologyRefreshInProgress() {
+
+        SharedClusterTopologyRefresh.Subscription subscription = getTopologySubscription();
+
+        if (subscription != null && subscription.isRefreshInProgress()) {
+            return true;
+        }
+
         return topologyRefreshScheduler.isTopologyRefreshInProgress();
     }
 
+    private void activateTopologyRefreshIfNeeded() {
+
+        SharedClusterTopologyRefresh.Subscription subscription = getTopologySubscription();
+
+        if (subscription == null) {
+            topologyRefreshScheduler.activateTopologyRefreshIfNeeded();
+            return;
+        }
+
+        if (getClusterClientOptions().isRefreshClusterView()) {
+            periodicTopologyRefresh = true;
+            subscription.activatePeriodicRefresh();
+        }
+    }
+
+    /**
+     * Attach to the {@link SharedClusterTopologyRefresh shared topology} of the cluster on first use. The cluster is identified
+     * by the seed nodes and the {@link #useDynamicRefreshSources() discovery setting} at the time of attaching.
+     *
+     * @return the subscription or {@code null} if topology refreshes are not shared.
+     */
+    private SharedClusterTopologyRefresh.Subscription getTopologySubscription() {
+
+        SharedClusterTopologyRefresh sharedTopologyRefresh = getResources().sharedClusterTopologyRefresh();
+
+        if (!sharedTopologyRefresh.isEnabled()) {
+            return null;
+        }
+
+        synchronized (topologySubscriptionLock) {
+
+            if (topologySubscription == null && !topologySubscriptionDetached) {
+                topologySubscription = sharedTopologyRefresh.attach(initialUris, useDynamicRefreshSources(),
+                        new SharedTopologySubscriber(), getResources().eventExecutorGroup());
+            }
+
+            return topologySubscription;
+        }
+    }
+
+    private void detachTopologySubscription() {
+
+        synchronized (topologySubscriptionLock) {
+
+            topologySubscriptionDetached = true;
+
+            if (topologySubscription != null) {
+                topologySubscription.detach();
+                topologySubscription = null;
+            }
+        }
+    }
+
     protected void updatePartitionsInConnections() {
 
         forEachClusterConnection(input -> {
@@ -937,7 +1061,152 @@ public class RedisClusterClient extends AbstractRedisClient {
     }
 
     protected CompletableFuture<Partitions> initializePartitions() {
-        return loadPartitionsAsync().thenApply(it -> this.partitions = it);
+
+        Partitions snapshot = loadTopologySnapshot();
+
+        if (snapshot != null) {
+
+            this.partitions = snapshot;
+            this.topologySnapshotInUse = true;
+
+            reloadPartitionsFromSeed().whenComplete((unused, throwable) -> {
+                if (throwable != null) {
+                    logger.warn("Cannot verify Redis Cluster topology snapshot", Exceptions.unwrap(throwable));
+                }
+            });
+
+            return CompletableFuture.completedFuture(snapshot);
+        }
+
+        return loadPartitionsAsync().thenApply(it -> {
+
+            this.partitions = it;
+            saveTopologySnapshot(it);
+            return it;
+        });
+    }
+
+    /**
+     * Verify the topology snapshot by loading the topology view from the seed nodes. The loaded view replaces the snapshot
+     * without considering the snapshot for consensus as the snapshot nodes may belong to a previous cluster deployment.
+     *
+     * @return future that completes once the topology view of the seed nodes is applied.
+     */
+    private CompletableFuture<Void> reloadPartitionsFromSeed() {
+
+        return fetchPartitions(initialUris, null).toCompletableFuture().thenAccept(loadedPartitions -> {
+
+            applyNodeFilter(loadedPartitions);
+
+            if (TopologyComparators.isChanged(partitions, loadedPartitions)) {
+
+                logger.debug("Replacing Redis Cluster topology snapshot with the topology of the seed nodes");
+
+                this.partitions.reload(loadedPartitions.getPartitions());
+                updatePartitionsInConnections();
+            }
+
+            this.topologySnapshotInUse = false;
+            saveTopologySnapshot(this.partitions);
+        });
+    }
+
+    /**
+     * Load the {@link Partitions topology view} from the configured {@link TopologySnapshotStore}. Nodes obtain connection
+     * settings from the seed {@link RedisURI} as the snapshot does not retain credentials.
+     *
+     * @return the {@link Partitions topology view} or {@code null} if no snapshot is available.
+     */
+    private Partitions loadTopologySnapshot() {
+
+        TopologySnapshotStore store = getClusterClientOptions().getTopologySnapshotStore();
+
+        if (store == ClusterClientOptions.DEFAULT_TOPOLOGY_SNAPSHOT_STORE) {
+            return null;
+        }
+
+        Partitions snapshot = store.load();
+
+        if (snapshot == null) {
+            return null;
+        }
+
+        applyNodeFilter(snapshot);
+
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+
+        RedisURI seed = getFirstUri();
+        for (RedisClusterNode node : snapshot) {
+            RedisClusterURIUtil.applyUriConnectionSettings(seed, node.getUri());
+        }
+
+        snapshot.updateCache();
+
+        synchronized (topologySnapshotLock) {
+            lastTopologySnapshot = snapshot.clone();
+        }
+
+        logger.debug("Using Redis Cluster topology snapshot");
+
+        return snapshot;
+    }
+
+    /**
+     * Save the {@link Partitions topology view} to the configured {@link TopologySnapshotStore} if it differs from the last
+     * saved snapshot. Writes are performed asynchronously, a write that is superseded by a newer snapshot is dropped so that
+     * an older snapshot never replaces a newer one.
+     */
+    private void saveTopologySnapshot(Partitions partitions) {
+
+        TopologySnapshotStore store = getClusterClientOptions().getTopologySnapshotStore();
+
+        if (store == ClusterClientOptions.DEFAULT_TOPOLOGY_SNAPSHOT_STORE) {
+            return;
+        }
+
+        Partitions snapshot;
+        long version;
+
+        synchronized (topologySnapshotLock) {
+
+            if (lastTopologySnapshot != null && !isTopologySnapshotChanged(lastTopologySnapshot, partitions)) {
+                return;
+            }
+
+            snapshot = partitions.clone();
+            lastTopologySnapshot = snapshot;
+            version = topologySnapshotVersion.incrementAndGet();
+        }
+
+        getResources().eventExecutorGroup().execute(() -> {
+
+            synchronized (topologySnapshotWriteLock) {
+                if (version == topologySnapshotVersion.get()) {
+                    store.save(snapshot);
+                }
+            }
+        });
+    }
+
+    private static boolean isTopologySnapshotChanged(Partitions snapshot, Partitions partitions) {
+
+        if (TopologyComparators.isChanged(snapshot, partitions)) {
+            return true;
+        }
+
+        for (RedisClusterNode node : partitions) {
+
+            RedisURI snapshotUri = snapshot.getPartitionByNodeId(node.getNodeId()).getUri();
+            RedisURI uri = node.getUri();
+
+            if (!Objects.equals(snapshotUri.getHost(), uri.getHost()) || snapshotUri.getPort() != uri.getPort()) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     private void assertInitialPartitions() {
@@ -979,10 +1248,29 @@ public class RedisClusterClient extends AbstractRedisClient {
      */
     protected CompletableFuture<Partitions> loadPartitionsAsync() {
 
-        Iterable<RedisURI> topologyRefreshSource = getTopologyRefreshSource();
-        CompletableFuture<Partitions> future = new CompletableFuture<>();
+        CompletableFuture<Partitions> future = withSeedFallback(getTopologyRefreshSource(), this::fetchPartitions);
+
+        if (getClusterClientOptions().getNodeFilter() != ClusterClientOptions.DEFAULT_NODE_FILTER) {
+            return future.thenApply(partitions -> {
+
+                applyNodeFilter(partitions);
+                return partitions;
+            });
+        }
 
-        fetchPartitions(topologyRefreshSource).whenComplete((nodes, throwable) -> {
+        return future;
+    }
+
+    /**
+     * Fetch from {@code topologyRefreshSource} and retry with the initial seed nodes if fetching from
+     * {@link #useDynamicRefreshSources() dynamic refresh sources} fails.
+     */
+    private <T> CompletableFuture<T> withSeedFallback(Iterable<RedisURI> topologyRefreshSource,
+            Function<Iterable<RedisURI>, CompletionStage<T>> fetch) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        fetch.apply(topologyRefreshSource).whenComplete((nodes, throwable) -> {
 
             if (throwable == null) {
                 future.complete(nodes);
@@ -992,7 +1280,7 @@ public class RedisClusterClient extends AbstractRedisClient {
             // Attempt recovery using initial seed nodes
             if (useDynamicRefreshSources() && topologyRefreshSource != initialUris) {
 
-                fetchPartitions(initialUris).whenComplete((nextNodes, nextThrowable) -> {
+                fetch.apply(initialUris).whenComplete((nextNodes, nextThrowable) -> {
 
                     if (nextThrowable != null) {
                         Throwable exception = Exceptions.unwrap(nextThrowable);
@@ -1008,54 +1296,76 @@ public class RedisClusterClient extends AbstractRedisClient {
             }
         });
 
-        Predicate<RedisClusterNode> nodeFilter = getClusterClientOptions().getNodeFilter();
+        return future;
+    }
 
-        if (nodeFilter != ClusterClientOptions.DEFAULT_NODE_FILTER) {
-            return future.thenApply(partitions -> {
+    private void applyNodeFilter(Partitions partitions) {
 
-                List<RedisClusterNode> toRemove = new ArrayList<>();
-                for (RedisClusterNode partition : partitions) {
-                    if (!nodeFilter.test(partition)) {
-                        toRemove.add(partition);
-                    }
-                }
+        Predicate<RedisClusterNode> nodeFilter = getClusterClientOptions().getNodeFilter();
 
-                partitions.removeAll(toRemove);
-                return partitions;
-            });
+        if (nodeFilter == ClusterClientOptions.DEFAULT_NODE_FILTER) {
+            return;
         }
 
-        return future;
+        List<RedisClusterNode> toRemove = new ArrayList<>();
+        for (RedisClusterNode partition : partitions) {
+            if (!nodeFilter.test(partition)) {
+                toRemove.add(partition);
+            }
+        }
+
+        partitions.removeAll(toRemove);
     }
 
     private CompletionStage<Partitions> fetchPartitions(Iterable<RedisURI> topologyRefreshSource) {
+        return fetchPartitions(topologyRefreshSource, this.partitions);
+    }
 
-        CompletionStage<Map<RedisURI, Partitions>> topology = refresh.loadViews(topologyRefreshSource,
-                getClusterClientOptions().getSocketOptions().getConnectTimeout(), useDynamicRefreshSources());
+    private CompletionStage<Partitions> fetchPartitions(Iterable<RedisURI> topologyRefreshSource, Partitions current) {
 
-        return topology.thenApply(partitions -> {
+        SharedClusterTopologyRefresh.Subscription subscription = getTopologySubscription();
 
-            if (partitions.isEmpty()) {
-                throw new RedisException(String.format("Cannot retrieve initial cluster partitions from initial URIs %s",
-                        topologyRefreshSource));
-            }
+        CompletionStage<Map<RedisURI, Partitions>> topology = subscription != null
+                ? subscription.refresh(topologyRefreshSource)
+                : refresh.loadViews(topologyRefreshSource, getClusterClientOptions().getSocketOptions().getConnectTimeout(),
+                        useDynamicRefreshSources());
 
-            Partitions loadedPartitions = determinePartitions(this.partitions, partitions);
-            RedisURI viewedBy = getViewedBy(partitions, loadedPartitions);
+        return topology.thenApply(partitions -> {
 
-            for (RedisClusterNode partition : loadedPartitions) {
-                if (viewedBy != null) {
-                    RedisURI uri = partition.getUri();
-                    RedisClusterURIUtil.applyUriConnectionSettings(viewedBy, uri);
-                }
-            }
+            Partitions loadedPartitions = selectPartitions(partitions, current, topologyRefreshSource, subscription != null);
 
-            topologyRefreshScheduler.activateTopologyRefreshIfNeeded();
+            activateTopologyRefreshIfNeeded();
 
             return loadedPartitions;
         });
     }
 
+    private Partitions selectPartitions(Map<RedisURI, Partitions> partitions, Partitions current,
+            Iterable<RedisURI> topologyRefreshSource, boolean shared) {
+
+        if (partitions.isEmpty()) {
+            throw new RedisException(
+                    String.format("Cannot retrieve initial cluster partitions from initial URIs %s", topologyRefreshSource));
+        }
+
+        Partitions loadedPartitions = determinePartitions(current, partitions);
+        RedisURI viewedBy = getViewedBy(partitions, loadedPartitions);
+
+        if (shared) {
+            // shared topology views are immutable and shared across clients
+            loadedPartitions = SharedClusterTopologyRefresh.copy(loadedPartitions);
+        }
+
+        for (RedisClusterNode partition : loadedPartitions) {
+            if (viewedBy != null) {
+                RedisURI uri = partition.getUri();
+                RedisClusterURIUtil.applyUriConnectionSettings(viewedBy, uri);
+            }
+        }
+
+        return loadedPartitions;
+    }
+
     /**
      * Determines a {@link Partitions topology view} based on the current and the obtain topology views.
      *
@@ -1095,6 +1405,7 @@ public class RedisClusterClient extends AbstractRedisClient {
     public CompletableFuture<Void> shutdownAsync(long quietPeriod, long timeout, TimeUnit timeUnit) {
 
         suspendTopologyRefresh();
+        detachTopologySubscription();
 
         return super.shutdownAsync(quietPeriod, timeout, timeUnit);
     }
@@ -1274,6 +1585,49 @@ public class RedisClusterClient extends AbstractRedisClient {
         LettuceAssert.notNull(clientResources, "ClientResources must not be null");
     }
 
+    /**
+     * Receives topology snapshots of the {@link SharedClusterTopologyRefresh shared topology}.
+     */
+    private class SharedTopologySubscriber implements SharedClusterTopologyRefresh.Subscriber {
+
+        @Override
+        public ClusterTopologyRefresh getTopologyRefresh() {
+            return refresh;
+        }
+
+        @Override
+        public Iterable<RedisURI> getTopologyRefreshSource() {
+            return RedisClusterClient.this.getTopologyRefreshSource();
+        }
+
+        @Override
+        public Duration getConnectTimeout() {
+            return getClusterClientOptions().getSocketOptions().getConnectTimeout();
+        }
+
+        @Override
+        public Duration getRefreshPeriod() {
+
+            ClusterClientOptions options = getClusterClientOptions();
+
+            return periodicTopologyRefresh && options.isRefreshClusterView() ? options.getRefreshPeriod() : null;
+        }
+
+        @Override
+        public void onTopology(Map<RedisURI, Partitions> views) {
+
+            // initialization and topology snapshot verification apply their topology themselves
+            if (partitions == null || topologySnapshotInUse) {
+                return;
+            }
+
+            Partitions loadedPartitions = selectPartitions(views, partitions, initialUris, true);
+            applyNodeFilter(loadedPartitions);
+            applyPartitions(loadedPartitions);
+        }
+
+    }
+
     private class NodeConnectionFactoryImpl implements NodeConnectionFactory {
 
         @Override
@@ -35,6 +35,7 @@ import io.lettuce.core.cluster.pubsub.api.async.NodeSelectionPubSubAsyncCommands
 import io.lettuce.core.cluster.pubsub.api.async.PubSubAsyncNodeSelection;
 import io.lettuce.core.cluster.pubsub.api.async.RedisClusterPubSubAsyncCommands;
 import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.protocol.ConnectionIntent;
 import io.lettuce.core.pubsub.RedisPubSubAsyncCommandsImpl;
 import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
@@ -83,6 +84,19 @@ public class RedisClusterPubSubAsyncCommandsImpl<K, V> extends RedisPubSubAsyncC
         return super.georadiusbymember_ro(key, member, distance, unit, geoArgs);
     }
 
+    @Override
+    public RedisFuture<Void> ssubscribe(K... shardChannels) {
+
+        LettuceAssert.notEmpty(shardChannels, "Shard channels must not be empty");
+
+        return new PipelinedRedisFuture<>(getStatefulConnection().ssubscribe(shardChannels));
+    }
+
+    @Override
+    public RedisFuture<Void> sunsubscribe(K... shardChannels) {
+        return new PipelinedRedisFuture<>(getStatefulConnection().sunsubscribe(shardChannels));
+    }
+
     @Override
     public StatefulRedisClusterPubSubConnectionImpl<K, V> getStatefulConnection() {
         return (StatefulRedisClusterPubSubConnectionImpl<K, V>) super.getStatefulConnection();
@@ -24,6 +24,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import io.lettuce.core.GeoArgs;
 import io.lettuce.core.GeoWithin;
 import io.lettuce.core.RedisURI;
@@ -34,6 +35,7 @@ import io.lettuce.core.cluster.pubsub.api.reactive.NodeSelectionPubSubReactiveCo
 import io.lettuce.core.cluster.pubsub.api.reactive.PubSubReactiveNodeSelection;
 import io.lettuce.core.cluster.pubsub.api.reactive.RedisClusterPubSubReactiveCommands;
 import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.protocol.ConnectionIntent;
 import io.lettuce.core.pubsub.RedisPubSubReactiveCommandsImpl;
 import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
@@ -81,6 +83,19 @@ public class RedisClusterPubSubReactiveCommandsImpl<K, V> extends RedisPubSubRea
         return super.georadiusbymember_ro(key, member, distance, unit, geoArgs);
     }
 
+    @Override
+    public Mono<Void> ssubscribe(K... shardChannels) {
+
+        LettuceAssert.notEmpty(shardChannels, "Shard channels must not be empty");
+
+        return Mono.defer(() -> Mono.fromCompletionStage(getStatefulConnection().ssubscribe(shardChannels)));
+    }
+
+    @Override
+    public Mono<Void> sunsubscribe(K... shardChannels) {
+        return Mono.defer(() -> Mono.fromCompletionStage(getStatefulConnection().sunsubscribe(shardChannels)));
+    }
+
     @Override
     public StatefulRedisClusterPubSubConnectionImpl<K, V> getStatefulConnection() {
         return (StatefulRedisClusterPubSubConnectionImpl<K, V>) super.getStatefulConnection();
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import io.lettuce.core.RedisException;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.resource.Delay;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Shard channel subscriptions of a cluster Pub/Sub connection. Shard channels are assigned to slots and {@code SSUBSCRIBE}
+ * must be sent to the node that serves the slot of the shard channel. Subscriptions are grouped by the upstream node owning the
+ * slot and issued on the node connection. The owning node is tracked per shard channel so that subscriptions can follow slot
+ * migrations and failovers after a topology refresh. A subscription is moved to the new owner only once {@code SSUBSCRIBE}
+ * succeeds on the new owner, failed moves are retried using the reconnect {@link Delay} until they succeed or the connection is
+ * closed.
+ * <p>
+ * Node connections restore their shard channel subscriptions after a reconnect.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+class ShardChannelSubscriptions<K, V> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ShardChannelSubscriptions.class);
+
+    private final Map<ByteBuffer, ShardChannel<K>> subscriptions = new ConcurrentHashMap<>();
+
+    private final RedisCodec<K, V> codec;
+
+    private final Function<String, CompletionStage<StatefulRedisPubSubConnection<K, V>>> connectionProvider;
+
+    private final ScheduledExecutorService retryExecutor;
+
+    private final Delay retryDelay;
+
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+
+    private final AtomicInteger retryAttempts = new AtomicInteger();
+
+    private volatile Partitions partitions;
+
+    private volatile boolean closed;
+
+    /**
+     * @param codec codec to encode shard channels for slot calculation.
+     * @param connectionProvider function to obtain a node connection by its {@code nodeId}.
+     * @param retryExecutor executor to schedule retries of failed subscription moves.
+     * @param retryDelay delay between retries of failed subscription moves.
+     */
+    ShardChannelSubscriptions(RedisCodec<K, V> codec,
+            Function<String, CompletionStage<StatefulRedisPubSubConnection<K, V>>> connectionProvider,
+            ScheduledExecutorService retryExecutor, Delay retryDelay) {
+        this.codec = codec;
+        this.connectionProvider = connectionProvider;
+        this.retryExecutor = retryExecutor;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Subscribe to {@code shardChannels} on the nodes that serve the shard channel slots.
+     *
+     * @param partitions the current topology view.
+     * @param shardChannels the shard channels.
+     * @return future that completes once all nodes have acknowledged the subscription.
+     */
+    CompletableFuture<Void> subscribe(Partitions partitions, K[] shardChannels) {
+
+        Map<ByteBuffer, ShardChannel<K>> resolved = new LinkedHashMap<>();
+        Map<String, List<K>> byNode = new LinkedHashMap<>();
+
+        // resolve all slot owners before registering subscriptions so that a failure leaves no partial state
+        for (K shardChannel : shardChannels) {
+
+            ByteBuffer encoded = codec.encodeKey(shardChannel);
+            int slot = SlotHash.getSlot(encoded.duplicate());
+            RedisClusterNode owner = partitions.getMasterBySlot(slot);
+
+            if (owner == null) {
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new RedisException("Cannot determine a partition for slot " + slot + "."));
+                return failed;
+            }
+
+            resolved.put(encoded, new ShardChannel<>(shardChannel, slot, owner.getNodeId()));
+            byNode.computeIfAbsent(owner.getNodeId(), it -> new ArrayList<>()).add(shardChannel);
+        }
+
+        subscriptions.putAll(resolved);
+
+        return dispatch(byNode, (connection, channels) -> connection.async().ssubscribe(channels));
+    }
+
+    /**
+     * Unsubscribe from {@code shardChannels}. Unsubscribes from all shard channels if {@code shardChannels} is empty.
+     *
+     * @param shardChannels the shard channels.
+     * @return future that completes once all nodes have acknowledged the unsubscription.
+     */
+    CompletableFuture<Void> unsubscribe(K[] shardChannels) {
+
+        Map<String, List<K>> byNode = new LinkedHashMap<>();
+
+        if (shardChannels.length == 0) {
+
+            for (ShardChannel<K> subscription : subscriptions.values()) {
+                byNode.computeIfAbsent(subscription.nodeId, it -> new ArrayList<>()).add(subscription.channel);
+            }
+
+            subscriptions.clear();
+        } else {
+
+            for (K shardChannel : shardChannels) {
+
+                ShardChannel<K> subscription = subscriptions.remove(codec.encodeKey(shardChannel));
+
+                if (subscription != null) {
+                    byNode.computeIfAbsent(subscription.nodeId, it -> new ArrayList<>()).add(shardChannel);
+                }
+            }
+        }
+
+        return dispatch(byNode, (connection, channels) -> connection.async().sunsubscribe(channels));
+    }
+
+    /**
+     * Move shard channel subscriptions to the nodes that serve the shard channel slots according to {@link Partitions}. A
+     * subscription is assigned to its new owner once {@code SSUBSCRIBE} succeeds, the subscription on the previous owner is
+     * removed afterwards if the node is still part of the cluster. Failed moves keep the previous owner and are retried.
+     *
+     * @param partitions the updated topology view.
+     */
+    void reconcile(Partitions partitions) {
+
+        this.partitions = partitions;
+
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<ShardChannel<K>>> moves = new LinkedHashMap<>();
+
+        for (ShardChannel<K> subscription : subscriptions.values()) {
+
+            RedisClusterNode owner = partitions.getMasterBySlot(subscription.slot);
+
+            if (owner == null || owner.getNodeId().equals(subscription.nodeId)) {
+                continue;
+            }
+
+            moves.computeIfAbsent(owner.getNodeId(), it -> new ArrayList<>()).add(subscription);
+        }
+
+        moves.forEach((nodeId, moved) -> move(partitions, nodeId, moved));
+    }
+
+    private void move(Partitions partitions, String nodeId, List<ShardChannel<K>> moved) {
+
+        List<K> channels = new ArrayList<>(moved.size());
+
+        for (ShardChannel<K> subscription : moved) {
+            channels.add(subscription.channel);
+        }
+
+        K[] array = toArray(channels);
+
+        connectionProvider.apply(nodeId).thenCompose(connection -> connection.async().ssubscribe(array))
+                .whenComplete((ignore, throwable) -> {
+
+                    if (throwable != null) {
+                        logger.warn("Re-subscribe of shard channels after topology change failed: " + throwable);
+                        scheduleRetry();
+                        return;
+                    }
+
+                    retryAttempts.set(0);
+
+                    Map<String, List<K>> unsubscribe = new LinkedHashMap<>();
+
+                    for (ShardChannel<K> subscription : moved) {
+
+                        String previous = subscription.nodeId;
+                        subscription.nodeId = nodeId;
+
+                        if (partitions.getPartitionByNodeId(previous) != null) {
+                            unsubscribe.computeIfAbsent(previous, it -> new ArrayList<>()).add(subscription.channel);
+                        }
+                    }
+
+                    dispatch(unsubscribe, (connection, unsubscribed) -> connection.async().sunsubscribe(unsubscribed))
+                            .whenComplete((ignore1, unsubscribeFailure) -> {
+
+                                if (unsubscribeFailure != null) {
+                                    logger.debug("Cannot unsubscribe shard channels from previous slot owner",
+                                            unsubscribeFailure);
+                                }
+                            });
+                });
+    }
+
+    private void scheduleRetry() {
+
+        if (closed || !retryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        long delay = retryDelay.createDelay(retryAttempts.incrementAndGet()).toNanos();
+
+        retryExecutor.schedule(() -> {
+
+            retryScheduled.set(false);
+
+            if (!closed) {
+                reconcile(partitions);
+            }
+        }, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stop retrying failed subscription moves.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * @return the subscribed shard channels.
+     */
+    Collection<K> getShardChannels() {
+
+        List<K> result = new ArrayList<>(subscriptions.size());
+
+        for (ShardChannel<K> subscription : subscriptions.values()) {
+            result.add(subscription.channel);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param shardChannel the shard channel.
+     * @return the {@code nodeId} of the node that holds the subscription or {@code null} if not subscribed.
+     */
+    String getNodeId(K shardChannel) {
+
+        ShardChannel<K> subscription = subscriptions.get(codec.encodeKey(shardChannel));
+        return subscription != null ? subscription.nodeId : null;
+    }
+
+    private CompletableFuture<Void> dispatch(Map<String, List<K>> byNode,
+            BiFunction<StatefulRedisPubSubConnection<K, V>, K[], CompletionStage<Void>> command) {
+
+        if (byNode.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture[byNode.size()];
+        int index = 0;
+
+        for (Map.Entry<String, List<K>> entry : byNode.entrySet()) {
+
+            K[] channels = toArray(entry.getValue());
+            futures[index++] = connectionProvider.apply(entry.getKey())
+                    .thenCompose(connection -> command.apply(connection, channels)).toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] toArray(List<T> c) {
+        Class<T> cls = (Class<T>) c.get(0).getClass();
+        T[] array = (T[]) Array.newInstance(cls, c.size());
+        return c.toArray(array);
+    }
+
+    /**
+     * A shard channel subscription along with its slot and the node holding the subscription.
+     */
+    static class ShardChannel<K> {
+
+        final K channel;
+
+        final int slot;
+
+        volatile String nodeId;
+
+        ShardChannel(K channel, int slot, String nodeId) {
+            this.channel = channel;
+            this.slot = slot;
+            this.nodeId = nodeId;
+        }
+
+    }
+
+}
@@ -100,6 +100,14 @@ public class StatefulRedisClusterConnectionImpl<K, V> extends RedisChannelHandle
         this.reactive = newRedisAdvancedClusterReactiveCommandsImpl();
     }
 
+    /**
+     * @return the codec used to encode and decode keys and values.
+     * @since 7.0
+     */
+    public RedisCodec<K, V> getCodec() {
+        return codec;
+    }
+
     protected RedisAdvancedClusterReactiveCommandsImpl<K, V> newRedisAdvancedClusterReactiveCommandsImpl() {
         return new RedisAdvancedClusterReactiveCommandsImpl<>((StatefulRedisClusterConnection<K, V>) this, codec);
     }
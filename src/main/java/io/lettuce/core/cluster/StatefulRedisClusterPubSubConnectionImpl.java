@@ -18,14 +18,13 @@ package io.lettuce.core.cluster;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.time.Duration;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import io.lettuce.core.AbstractRedisClient;
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.RedisChannelWriter;
 import io.lettuce.core.RedisException;
-import io.lettuce.core.RedisFuture;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.cluster.api.push.RedisClusterPushListener;
 import io.lettuce.core.cluster.models.partitions.Partitions;
@@ -57,6 +56,8 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
 
     private final ClusterPushHandler clusterPushHandler;
 
+    private final ShardChannelSubscriptions<K, V> shardChannelSubscriptions;
+
     private volatile Partitions partitions;
 
     private volatile String nodeId;
@@ -76,6 +77,15 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
 
         this.endpoint = endpoint;
         this.clusterPushHandler = clusterPushHandler;
+        this.shardChannelSubscriptions = new ShardChannelSubscriptions<>(codec, this::getNodeConnectionAsync,
+                getResources().eventExecutorGroup(), getResources().reconnectDelay());
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+
+        shardChannelSubscriptions.close();
+        return super.closeAsync();
     }
 
     @Override
@@ -117,7 +127,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
     }
 
     @Override
-    protected List<RedisFuture<Void>> resubscribe() {
+    protected CompletionStage<Void> resubscribe() {
 
         async().clusterMyId().thenAccept(nodeId -> endpoint.setClusterNode(partitions.getPartitionByNodeId(nodeId)));
 
@@ -153,6 +163,14 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
 
     }
 
+    @SuppressWarnings("unchecked")
+    private CompletionStage<StatefulRedisPubSubConnection<K, V>> getNodeConnectionAsync(String nodeId) {
+
+        AsyncClusterConnectionProvider provider = (AsyncClusterConnectionProvider) getClusterDistributionChannelWriter()
+                .getClusterConnectionProvider();
+        return (CompletionStage) provider.getConnectionAsync(ConnectionIntent.WRITE, nodeId);
+    }
+
     @Override
     public StatefulRedisPubSubConnection<K, V> getConnection(String host, int port) {
 
@@ -194,6 +212,27 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
         }
 
         getClusterDistributionChannelWriter().setPartitions(partitions);
+        shardChannelSubscriptions.reconcile(partitions);
+    }
+
+    /**
+     * Subscribe to shard channels on the nodes that serve the shard channel slots.
+     *
+     * @param shardChannels the shard channels.
+     * @return future that completes once all nodes have acknowledged the subscription.
+     */
+    CompletableFuture<Void> ssubscribe(K[] shardChannels) {
+        return shardChannelSubscriptions.subscribe(partitions, shardChannels);
+    }
+
+    /**
+     * Unsubscribe from shard channels. Unsubscribes from all shard channels if {@code shardChannels} is empty.
+     *
+     * @param shardChannels the shard channels.
+     * @return future that completes once all nodes have acknowledged the unsubscription.
+     */
+    CompletableFuture<Void> sunsubscribe(K[] shardChannels) {
+        return shardChannelSubscriptions.unsubscribe(shardChannels);
     }
 
     private String getNodeId() {
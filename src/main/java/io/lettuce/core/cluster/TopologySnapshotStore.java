@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import java.nio.file.Path;
+
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Store for snapshots of the Redis Cluster topology. {@link RedisClusterClient} uses a snapshot to initialize its
+ * {@link Partitions topology view} without querying the seed nodes so that commands can be routed immediately after startup.
+ * The snapshot is verified in the background by loading the topology from the seed nodes which replaces the snapshot. If
+ * connecting through the snapshot fails before verification completes, the client loads the topology from the seed nodes
+ * and retries the connect. Until then, stale routing information is corrected through {@code MOVED} and {@code ASK}
+ * redirections.
+ * <p>
+ * The client saves a snapshot after obtaining a topology view from the cluster that differs from the last saved snapshot.
+ * {@link #save(Partitions)} is not called concurrently and snapshots superseded by a newer snapshot before they were written
+ * are skipped. The {@link Partitions} object passed to {@link #save(Partitions)} is a copy that can be used without
+ * synchronization but must not be modified.
+ *
+ * @since 7.0
+ * @see ClusterClientOptions.Builder#topologySnapshotStore(TopologySnapshotStore)
+ */
+public interface TopologySnapshotStore {
+
+    /**
+     * Load the topology snapshot.
+     *
+     * @return the topology snapshot or {@code null} if no snapshot is available.
+     */
+    Partitions load();
+
+    /**
+     * Save the topology snapshot.
+     *
+     * @param partitions the topology view.
+     */
+    void save(Partitions partitions);
+
+    /**
+     * Returns a {@link TopologySnapshotStore} that does not retain topology snapshots.
+     *
+     * @return a {@link TopologySnapshotStore} that does not retain topology snapshots.
+     */
+    static TopologySnapshotStore none() {
+        return NoTopologySnapshotStore.INSTANCE;
+    }
+
+    /**
+     * Create a new {@link TopologySnapshotStore} that stores topology snapshots in the given {@link Path file}. The snapshot is
+     * stored in the {@code CLUSTER NODES} format.
+     *
+     * @param file the snapshot file, must not be {@code null}.
+     * @return a new file-based {@link TopologySnapshotStore}.
+     */
+    static TopologySnapshotStore file(Path file) {
+
+        LettuceAssert.notNull(file, "File must not be null");
+
+        return new FileTopologySnapshotStore(file);
+    }
+
+    /**
+     * {@link TopologySnapshotStore} that does not retain topology snapshots.
+     */
+    enum NoTopologySnapshotStore implements TopologySnapshotStore {
+
+        INSTANCE;
+
+        @Override
+        public Partitions load() {
+            return null;
+        }
+
+        @Override
+        public void save(Partitions partitions) {
+        }
+
+    }
+
+}
@@ -57,4 +57,19 @@ public class RedisClusterPubSubAdapter<K, V> implements RedisClusterPubSubListen
         // empty adapter method
     }
 
+    @Override
+    public void smessage(RedisClusterNode node, K shardChannel, V message) {
+        // empty adapter method
+    }
+
+    @Override
+    public void ssubscribed(RedisClusterNode node, K shardChannel, long count) {
+        // empty adapter method
+    }
+
+    @Override
+    public void sunsubscribed(RedisClusterNode node, K shardChannel, long count) {
+        // empty adapter method
+    }
+
 }
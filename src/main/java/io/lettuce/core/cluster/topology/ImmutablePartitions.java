@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster.topology;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+
+/**
+ * Read-only {@link Partitions} view distributed by {@link SharedClusterTopologyRefresh} to all attached clients. Methods
+ * that modify the node list throw {@link UnsupportedOperationException}. Nodes are shared across clients as well so clients
+ * {@link SharedClusterTopologyRefresh#copy(Partitions) copy} a view before adjusting its nodes.
+ *
+ * @since 7.0
+ */
+class ImmutablePartitions extends Partitions {
+
+    private final List<RedisClusterNode> nodes;
+
+    ImmutablePartitions(Partitions partitions) {
+
+        for (RedisClusterNode node : partitions) {
+            super.addPartition(node);
+        }
+
+        super.updateCache();
+        this.nodes = Collections.unmodifiableList(super.getPartitions());
+    }
+
+    @Override
+    public List<RedisClusterNode> getPartitions() {
+        return nodes != null ? nodes : super.getPartitions();
+    }
+
+    @Override
+    public void updateCache() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addPartition(RedisClusterNode partition) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reload(List<RedisClusterNode> partitions) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends RedisClusterNode> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean add(RedisClusterNode redisClusterNode) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -0,0 +1,603 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster.topology;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.lettuce.core.RedisCredentials;
+import io.lettuce.core.RedisCredentialsProvider;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SslVerifyMode;
+import io.lettuce.core.StaticCredentialsProvider;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.internal.LettuceAssert;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Topology service that is shared across multiple {@link io.lettuce.core.cluster.RedisClusterClient} instances using the same
+ * {@link io.lettuce.core.resource.ClientResources}. Clients {@link #attach(Iterable, boolean, Subscriber, EventExecutorGroup)
+ * attach} to the topology of their Redis Cluster and stop refreshing the topology on their own. The service owns a single
+ * periodic refresh per cluster, coalesces concurrent refresh requests into a single set of {@code CLUSTER NODES} and
+ * {@code CLIENT LIST} requests and distributes each refreshed topology to all attached clients.
+ * <p>
+ * Clusters are identified by the seed nodes of a client including credentials, SSL settings and client name so that a client
+ * never observes a topology view that was obtained with another client's identity. The periodic refresh runs at the shortest
+ * {@link Subscriber#getRefreshPeriod() refresh period} and loads topology views using the longest
+ * {@link Subscriber#getConnectTimeout() connect timeout} of the attached clients.
+ * <p>
+ * Topology views are distributed as immutable {@link Partitions} snapshots that are shared by all clients. Clients
+ * {@link #copy(Partitions) copy} the view they select before applying client-specific settings such as node filters.
+ *
+ * @since 7.0
+ * @see io.lettuce.core.resource.ClientResources#sharedClusterTopologyRefresh()
+ */
+public class SharedClusterTopologyRefresh {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(SharedClusterTopologyRefresh.class);
+
+    private static final SharedClusterTopologyRefresh DISABLED = new SharedClusterTopologyRefresh(false);
+
+    private final Map<TopologyKey, SharedTopology> topologies = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+
+    private SharedClusterTopologyRefresh(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Create a new {@link SharedClusterTopologyRefresh}.
+     *
+     * @return a new {@link SharedClusterTopologyRefresh}.
+     */
+    public static SharedClusterTopologyRefresh create() {
+        return new SharedClusterTopologyRefresh(true);
+    }
+
+    /**
+     * Returns a disabled {@link SharedClusterTopologyRefresh}. Each client performs its own topology refresh.
+     *
+     * @return a disabled {@link SharedClusterTopologyRefresh}.
+     */
+    public static SharedClusterTopologyRefresh disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @return {@code true} if topology refreshes are shared.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Attach a client to the shared topology of the Redis Cluster identified by its {@code seed} nodes. The client receives
+     * all topology snapshots of the cluster through {@link Subscriber#onTopology(Map)} until it
+     * {@link Subscription#detach() detaches}.
+     *
+     * @param seed the seed nodes of the client, must not be {@code null}.
+     * @param discovery {@code true} to discover cluster nodes beyond the seed nodes.
+     * @param subscriber the client, must not be {@code null}.
+     * @param executor executor to schedule periodic refreshes, must not be {@code null}.
+     * @return the {@link Subscription}.
+     * @throws IllegalStateException if sharing is disabled.
+     */
+    public Subscription attach(Iterable<RedisURI> seed, boolean discovery, Subscriber subscriber,
+            EventExecutorGroup executor) {
+
+        LettuceAssert.notNull(seed, "Seed must not be null");
+        LettuceAssert.notNull(subscriber, "Subscriber must not be null");
+        LettuceAssert.notNull(executor, "EventExecutorGroup must not be null");
+        LettuceAssert.assertState(enabled, "SharedClusterTopologyRefresh is disabled");
+
+        TopologyKey key = new TopologyKey(seed, discovery);
+
+        SharedTopology topology = topologies.compute(key, (k, current) -> {
+
+            SharedTopology result = current != null ? current : new SharedTopology(k, discovery, executor);
+            result.subscribers.add(subscriber);
+            return result;
+        });
+
+        return new DefaultSubscription(topology, subscriber);
+    }
+
+    int getTopologyCount() {
+        return topologies.size();
+    }
+
+    private void detach(SharedTopology topology, Subscriber subscriber) {
+
+        topologies.computeIfPresent(topology.key, (k, current) -> {
+
+            if (current != topology) {
+                return current;
+            }
+
+            current.subscribers.remove(subscriber);
+
+            if (current.subscribers.isEmpty()) {
+                current.cancelPeriodicRefresh();
+                return null;
+            }
+
+            return current;
+        });
+    }
+
+    /**
+     * Create a modifiable deep copy of a topology snapshot including the node {@link RedisURI URIs}.
+     *
+     * @param partitions the topology snapshot, must not be {@code null}.
+     * @return the copy.
+     */
+    public static Partitions copy(Partitions partitions) {
+
+        LettuceAssert.notNull(partitions, "Partitions must not be null");
+
+        Partitions copy = new Partitions();
+
+        for (RedisClusterNode node : partitions) {
+            copy.addPartition(copy(node));
+        }
+
+        copy.updateCache();
+
+        return copy;
+    }
+
+    private static RedisClusterNode copy(RedisClusterNode node) {
+
+        RedisClusterNode copy;
+
+        if (node instanceof RedisClusterNodeSnapshot) {
+
+            RedisClusterNodeSnapshot snapshot = new RedisClusterNodeSnapshot(node);
+            snapshot.setLatencyNs(((RedisClusterNodeSnapshot) node).getLatencyNs());
+            snapshot.setConnectedClients(((RedisClusterNodeSnapshot) node).getConnectedClients());
+            copy = snapshot;
+        } else {
+            copy = node.clone();
+        }
+
+        if (node.getUri() != null) {
+            copy.setUri(RedisURI.builder(node.getUri()).build());
+        }
+
+        return copy;
+    }
+
+    private static Map<RedisURI, Partitions> snapshot(Map<RedisURI, Partitions> views) {
+
+        Map<RedisURI, Partitions> snapshot = new TreeMap<>(TopologyComparators.RedisURIComparator.INSTANCE);
+
+        views.forEach((uri, partitions) -> snapshot.put(uri, new ImmutablePartitions(partitions)));
+
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * A client attached to a shared topology.
+     */
+    public interface Subscriber {
+
+        /**
+         * @return the {@link ClusterTopologyRefresh} to load topology views using connections of this client.
+         */
+        ClusterTopologyRefresh getTopologyRefresh();
+
+        /**
+         * @return the nodes to load topology views from for a periodic refresh.
+         */
+        Iterable<RedisURI> getTopologyRefreshSource();
+
+        /**
+         * @return the connect timeout for topology refresh connections.
+         */
+        Duration getConnectTimeout();
+
+        /**
+         * @return the period of periodic topology refreshes or {@code null} if the client does not request periodic
+         *         refreshes.
+         */
+        Duration getRefreshPeriod();
+
+        /**
+         * Apply a refreshed topology. Called for each completed topology refresh of the cluster.
+         *
+         * @param views immutable topology views keyed by the node that reported the view.
+         */
+        void onTopology(Map<RedisURI, Partitions> views);
+
+    }
+
+    /**
+     * Attachment of a {@link Subscriber} to a shared topology.
+     */
+    public interface Subscription {
+
+        /**
+         * Request a topology refresh from the given {@code source} nodes. Joins a refresh of the cluster that is already in
+         * progress. The refreshed topology is distributed to all attached clients before the returned stage completes.
+         *
+         * @param source the nodes to load topology views from.
+         * @return the immutable topology views.
+         */
+        CompletionStage<Map<RedisURI, Partitions>> refresh(Iterable<RedisURI> source);
+
+        /**
+         * Start the periodic refresh of the cluster if it is not running yet. The periodic refresh runs while at least one
+         * attached client provides a {@link Subscriber#getRefreshPeriod() refresh period}.
+         */
+        void activatePeriodicRefresh();
+
+        /**
+         * @return {@code true} if a topology refresh of the cluster is in progress.
+         */
+        boolean isRefreshInProgress();
+
+        /**
+         * Detach the client from the shared topology. The periodic refresh is cancelled once the last client detaches.
+         */
+        void detach();
+
+    }
+
+    class DefaultSubscription implements Subscription {
+
+        private final SharedTopology topology;
+
+        private final Subscriber subscriber;
+
+        DefaultSubscription(SharedTopology topology, Subscriber subscriber) {
+            this.topology = topology;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public CompletionStage<Map<RedisURI, Partitions>> refresh(Iterable<RedisURI> source) {
+            return topology.refresh(source, subscriber);
+        }
+
+        @Override
+        public void activatePeriodicRefresh() {
+            topology.schedulePeriodicRefresh();
+        }
+
+        @Override
+        public boolean isRefreshInProgress() {
+            return topology.inProgress.get() != null;
+        }
+
+        @Override
+        public void detach() {
+            SharedClusterTopologyRefresh.this.detach(topology, subscriber);
+        }
+
+    }
+
+    /**
+     * Topology of a single Redis Cluster along with its attached clients.
+     */
+    static class SharedTopology {
+
+        private final TopologyKey key;
+
+        private final boolean discovery;
+
+        private final EventExecutorGroup executor;
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        private final AtomicReference<CompletableFuture<Map<RedisURI, Partitions>>> inProgress = new AtomicReference<>();
+
+        // guarded by this
+        private ScheduledFuture<?> periodicRefresh;
+
+        SharedTopology(TopologyKey key, boolean discovery, EventExecutorGroup executor) {
+            this.key = key;
+            this.discovery = discovery;
+            this.executor = executor;
+        }
+
+        CompletionStage<Map<RedisURI, Partitions>> refresh(Iterable<RedisURI> source, Subscriber requester) {
+
+            while (true) {
+
+                CompletableFuture<Map<RedisURI, Partitions>> current = inProgress.get();
+
+                if (current != null) {
+                    return current;
+                }
+
+                CompletableFuture<Map<RedisURI, Partitions>> future = new CompletableFuture<>();
+
+                if (inProgress.compareAndSet(null, future)) {
+                    load(source, requester, future);
+                    return future;
+                }
+            }
+        }
+
+        private void load(Iterable<RedisURI> source, Subscriber requester,
+                CompletableFuture<Map<RedisURI, Partitions>> future) {
+
+            CompletionStage<Map<RedisURI, Partitions>> views;
+
+            try {
+                views = requester.getTopologyRefresh().loadViews(source, getConnectTimeout(), discovery);
+            } catch (RuntimeException e) {
+                inProgress.compareAndSet(future, null);
+                future.completeExceptionally(e);
+                return;
+            }
+
+            views.whenComplete((result, throwable) -> {
+
+                inProgress.compareAndSet(future, null);
+
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                    return;
+                }
+
+                if (result.isEmpty()) {
+                    future.completeExceptionally(
+                            new RedisException(String.format("Cannot retrieve cluster partitions from %s", source)));
+                    return;
+                }
+
+                Map<RedisURI, Partitions> snapshot = snapshot(result);
+
+                for (Subscriber subscriber : subscribers) {
+                    try {
+                        subscriber.onTopology(snapshot);
+                    } catch (RuntimeException e) {
+                        logger.warn("Cannot apply Redis Cluster topology", e);
+                    }
+                }
+
+                future.complete(snapshot);
+            });
+        }
+
+        synchronized void schedulePeriodicRefresh() {
+
+            if (periodicRefresh != null || executor.isShuttingDown()) {
+                return;
+            }
+
+            Duration period = getRefreshPeriod();
+
+            if (period == null) {
+                return;
+            }
+
+            periodicRefresh = executor.schedule(this::runPeriodicRefresh, period.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        synchronized void cancelPeriodicRefresh() {
+
+            if (periodicRefresh != null) {
+                periodicRefresh.cancel(false);
+                periodicRefresh = null;
+            }
+        }
+
+        private void runPeriodicRefresh() {
+
+            synchronized (this) {
+                periodicRefresh = null;
+            }
+
+            Subscriber requester = null;
+
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.getRefreshPeriod() != null) {
+                    requester = subscriber;
+                    break;
+                }
+            }
+
+            if (requester == null) {
+                return;
+            }
+
+            refresh(requester.getTopologyRefreshSource(), requester).whenComplete((views, throwable) -> {
+
+                if (throwable != null) {
+                    logger.warn("Cannot refresh Redis Cluster topology", throwable);
+                }
+            });
+
+            schedulePeriodicRefresh();
+        }
+
+        private Duration getConnectTimeout() {
+
+            Duration connectTimeout = null;
+
+            for (Subscriber subscriber : subscribers) {
+                if (connectTimeout == null || subscriber.getConnectTimeout().compareTo(connectTimeout) > 0) {
+                    connectTimeout = subscriber.getConnectTimeout();
+                }
+            }
+
+            return connectTimeout != null ? connectTimeout : RedisURI.DEFAULT_TIMEOUT_DURATION;
+        }
+
+        private Duration getRefreshPeriod() {
+
+            Duration refreshPeriod = null;
+
+            for (Subscriber subscriber : subscribers) {
+
+                Duration period = subscriber.getRefreshPeriod();
+
+                if (period != null && (refreshPeriod == null || period.compareTo(refreshPeriod) < 0)) {
+                    refreshPeriod = period;
+                }
+            }
+
+            return refreshPeriod;
+        }
+
+    }
+
+    /**
+     * Identifies a Redis Cluster by the seed nodes of a client including their connection identity.
+     */
+    static class TopologyKey {
+
+        private final Set<SeedIdentity> seed = new HashSet<>();
+
+        private final boolean discovery;
+
+        TopologyKey(Iterable<RedisURI> seed, boolean discovery) {
+
+            for (RedisURI redisURI : seed) {
+                this.seed.add(new SeedIdentity(redisURI));
+            }
+
+            this.discovery = discovery;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof TopologyKey))
+                return false;
+
+            TopologyKey that = (TopologyKey) o;
+
+            if (discovery != that.discovery)
+                return false;
+            return seed.equals(that.seed);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = seed.hashCode();
+            result = 31 * result + (discovery ? 1 : 0);
+            return result;
+        }
+
+    }
+
+    /**
+     * Seed node along with the settings that {@link RedisURI#equals(Object)} does not consider but that determine which
+     * identity is used to connect to the node. Credentials of {@link StaticCredentialsProvider static providers} are compared
+     * by value, other {@link RedisCredentialsProvider providers} by identity.
+     */
+    static class SeedIdentity {
+
+        private final RedisURI redisURI;
+
+        private final String username;
+
+        private final char[] password;
+
+        private final RedisCredentialsProvider credentialsProvider;
+
+        private final boolean ssl;
+
+        private final SslVerifyMode verifyMode;
+
+        private final boolean startTls;
+
+        private final String clientName;
+
+        SeedIdentity(RedisURI redisURI) {
+
+            RedisCredentialsProvider credentialsProvider = redisURI.getCredentialsProvider();
+
+            if (credentialsProvider instanceof StaticCredentialsProvider) {
+
+                RedisCredentials credentials = ((StaticCredentialsProvider) credentialsProvider).resolveCredentialsNow();
+                this.username = credentials.getUsername();
+                this.password = credentials.getPassword();
+                this.credentialsProvider = null;
+            } else {
+                this.username = null;
+                this.password = null;
+                this.credentialsProvider = credentialsProvider;
+            }
+
+            this.redisURI = redisURI;
+            this.ssl = redisURI.isSsl();
+            this.verifyMode = redisURI.getVerifyMode();
+            this.startTls = redisURI.isStartTls();
+            this.clientName = redisURI.getClientName();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof SeedIdentity))
+                return false;
+
+            SeedIdentity that = (SeedIdentity) o;
+
+            if (ssl != that.ssl)
+                return false;
+            if (startTls != that.startTls)
+                return false;
+            if (verifyMode != that.verifyMode)
+                return false;
+            if (credentialsProvider != that.credentialsProvider)
+                return false;
+            if (!redisURI.equals(that.redisURI))
+                return false;
+            if (!Objects.equals(username, that.username))
+                return false;
+            if (!Arrays.equals(password, that.password))
+                return false;
+            return Objects.equals(clientName, that.clientName);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = redisURI.hashCode();
+            result = 31 * result + (username != null ? username.hashCode() : 0);
+            result = 31 * result + (ssl ? 1 : 0);
+            result = 31 * result + (clientName != null ? clientName.hashCode() : 0);
+            return result;
+        }
+
+    }
+
+}
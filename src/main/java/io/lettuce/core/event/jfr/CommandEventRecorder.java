@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.jfr;
+
+import java.net.SocketAddress;
+
+import io.lettuce.core.protocol.ProtocolKeyword;
+
+/**
+ * Recorder for per-command events. In contrast to {@link EventRecorder}, command events are not transported as
+ * {@link io.lettuce.core.event.Event} objects but recorded directly by the I/O layer. Events are only started if the
+ * recording facility has command events enabled, so the cost for commands without an event is a single check.
+ * <p>
+ * The JFR implementation records the {@code io.lettuce.Command} event that is disabled by default and can be enabled along
+ * with its threshold through a JFR recording configuration or JDK Mission Control. Commands can be additionally sampled by
+ * setting the {@code io.lettuce.core.jfr.commandSampleInterval} system property to record only one out of {@code n}
+ * commands.
+ *
+ * @since 7.0
+ */
+public interface CommandEventRecorder {
+
+    /**
+     * Obtain an instance of the {@link CommandEventRecorder}.
+     *
+     * @return an instance of the {@link CommandEventRecorder}.
+     */
+    static CommandEventRecorder getInstance() {
+        return EventRecorderHolder.COMMAND_EVENT_RECORDER;
+    }
+
+    /**
+     * Start recording a command event. Returns {@code null} if command events are disabled or the command was not sampled.
+     *
+     * @return the started {@link RecordableCommandEvent} or {@code null}.
+     */
+    RecordableCommandEvent start();
+
+    /**
+     * Interface defining a started command event that is recorded on calling
+     * {@link #record(SocketAddress, ProtocolKeyword, long, long, long, long, long)}.
+     */
+    interface RecordableCommandEvent {
+
+        /**
+         * Complete and record the event. Times are in {@link java.util.concurrent.TimeUnit#NANOSECONDS}. Implementations
+         * may discard the event, e.g. if its duration is below the configured threshold.
+         *
+         * @param remote the remote address
+         * @param commandType the command type
+         * @param queueTime time from the connection accepting the command until the transport completed writing it,
+         *        including time spent in command buffers
+         * @param firstResponseLatency latency from send to the first response
+         * @param completionLatency latency from send to the command completion
+         * @param requestSize number of bytes of the encoded command
+         * @param replySize number of bytes of the decoded reply
+         */
+        void record(SocketAddress remote, ProtocolKeyword commandType, long queueTime, long firstResponseLatency,
+                long completionLatency, long requestSize, long replySize);
+
+    }
+
+}
@@ -34,18 +34,26 @@ class EventRecorderHolder {
 
     private static final boolean JFR_ENABLED = Boolean.parseBoolean(SystemPropertyUtil.get(JFR_ENABLED_KEY, "true"));
 
+    private static final String JFR_COMMAND_SAMPLE_INTERVAL_KEY = "io.lettuce.core.jfr.commandSampleInterval";
+
+    private static final int JFR_COMMAND_SAMPLE_INTERVAL = SystemPropertyUtil.getInt(JFR_COMMAND_SAMPLE_INTERVAL_KEY, 1);
+
     static final EventRecorder EVENT_RECORDER;
 
+    static final CommandEventRecorder COMMAND_EVENT_RECORDER;
+
     static {
 
         boolean available = LettuceClassUtils.isPresent("jdk.jfr.Event");
         EventRecorder eventRecorder = NoOpEventRecorder.INSTANCE;
+        CommandEventRecorder commandEventRecorder = NoOpEventRecorder.INSTANCE;
 
         if (available) {
 
             if (JFR_ENABLED) {
                 logger.debug("Starting with JFR support");
                 eventRecorder = new JfrEventRecorder();
+                commandEventRecorder = new JfrCommandEventRecorder(JFR_COMMAND_SAMPLE_INTERVAL);
             } else {
                 logger.debug(
                         String.format("Starting without optional JFR support. JFR use is disabled via System properties (%s)",
@@ -56,6 +64,7 @@ class EventRecorderHolder {
         }
 
         EVENT_RECORDER = eventRecorder;
+        COMMAND_EVENT_RECORDER = commandEventRecorder;
     }
 
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.jfr;
+
+import java.net.SocketAddress;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import io.lettuce.core.protocol.ProtocolKeyword;
+
+/**
+ * Flight recorder event for a single command. The event duration spans from handing the command to the channel until its
+ * completion. The event is disabled by default.
+ *
+ * @since 7.0
+ */
+@Name("io.lettuce.Command")
+@Category({ "Lettuce", "Command Events" })
+@Label("Command")
+@Enabled(false)
+@Threshold("20 ms")
+@StackTrace(false)
+class JfrCommandEvent extends Event implements CommandEventRecorder.RecordableCommandEvent {
+
+    private String remoteAddress;
+
+    private String commandType;
+
+    @Timespan(Timespan.NANOSECONDS)
+    private long queueTime;
+
+    @Timespan(Timespan.NANOSECONDS)
+    private long firstResponseLatency;
+
+    @Timespan(Timespan.NANOSECONDS)
+    private long completionLatency;
+
+    @DataAmount(DataAmount.BYTES)
+    private long requestSize;
+
+    @DataAmount(DataAmount.BYTES)
+    private long replySize;
+
+    @Override
+    public void record(SocketAddress remote, ProtocolKeyword commandType, long queueTime, long firstResponseLatency,
+            long completionLatency, long requestSize, long replySize) {
+
+        end();
+
+        if (!shouldCommit()) {
+            return;
+        }
+
+        this.remoteAddress = String.valueOf(remote);
+        this.commandType = commandType.toString();
+        this.queueTime = queueTime;
+        this.firstResponseLatency = firstResponseLatency;
+        this.completionLatency = completionLatency;
+        this.requestSize = requestSize;
+        this.replySize = replySize;
+
+        commit();
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.jfr;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import jdk.jfr.EventType;
+
+/**
+ * Java Flight Recorder implementation of {@link CommandEventRecorder}. Starting an event checks whether {@link JfrCommandEvent}
+ * is enabled in any running recording and applies the sample interval before allocating the event.
+ *
+ * @since 7.0
+ */
+class JfrCommandEventRecorder implements CommandEventRecorder {
+
+    private final EventType eventType = EventType.getEventType(JfrCommandEvent.class);
+
+    private final int sampleMask;
+
+    /**
+     * Create a new {@link JfrCommandEventRecorder}.
+     *
+     * @param sampleInterval the sample interval, rounded up to the next power of two.
+     */
+    JfrCommandEventRecorder(int sampleInterval) {
+        this.sampleMask = sampleInterval <= 1 ? 0 : (Integer.highestOneBit(sampleInterval - 1) << 1) - 1;
+    }
+
+    @Override
+    public RecordableCommandEvent start() {
+
+        if (!eventType.isEnabled()) {
+            return null;
+        }
+
+        if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return null;
+        }
+
+        JfrCommandEvent event = new JfrCommandEvent();
+        event.begin();
+
+        return event;
+    }
+
+}
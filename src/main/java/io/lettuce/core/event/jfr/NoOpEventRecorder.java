@@ -23,7 +23,7 @@ import io.lettuce.core.event.Event;
  * @author Mark Paluch
  * @since 6.1
  */
-enum NoOpEventRecorder implements EventRecorder, EventRecorder.RecordableEvent {
+enum NoOpEventRecorder implements EventRecorder, EventRecorder.RecordableEvent, CommandEventRecorder {
 
     INSTANCE;
 
@@ -42,4 +42,9 @@ enum NoOpEventRecorder implements EventRecorder, EventRecorder.RecordableEvent {
 
     }
 
+    @Override
+    public RecordableCommandEvent start() {
+        return null;
+    }
+
 }
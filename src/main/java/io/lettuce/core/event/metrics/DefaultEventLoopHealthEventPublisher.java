@@ -0,0 +1,84 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.event.EventPublisherOptions;
+import io.lettuce.core.metrics.EventLoopProbe;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * {@link MetricEventPublisher} probing event loops through {@link EventLoopProbe} and emitting {@link EventLoopHealthEvent}s
+ * once all event loops have run their probe task.
+ *
+ * @since 7.0
+ */
+public class DefaultEventLoopHealthEventPublisher implements MetricEventPublisher {
+
+    private final EventPublisherOptions options;
+
+    private final EventBus eventBus;
+
+    private final EventLoopProbe eventLoopProbe;
+
+    private volatile ScheduledFuture<?> scheduledFuture;
+
+    public DefaultEventLoopHealthEventPublisher(EventExecutorGroup eventExecutorGroup, EventPublisherOptions options,
+            EventBus eventBus, EventLoopProbe eventLoopProbe) {
+
+        this.options = options;
+        this.eventBus = eventBus;
+        this.eventLoopProbe = eventLoopProbe;
+
+        if (!options.eventEmitInterval().isZero()) {
+            scheduledFuture = eventExecutorGroup.scheduleAtFixedRate(this::emitMetricsEvent,
+                    options.eventEmitInterval().toMillis(), options.eventEmitInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !options.eventEmitInterval().isZero() && scheduledFuture != null;
+    }
+
+    @Override
+    public void shutdown() {
+
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(true);
+            scheduledFuture = null;
+        }
+    }
+
+    @Override
+    public void emitMetricsEvent() {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        eventLoopProbe.probe().thenAccept(eventLoops -> {
+
+            if (isEnabled() && !eventLoops.isEmpty()) {
+                eventBus.publish(new EventLoopHealthEvent(eventLoops));
+            }
+        });
+    }
+
+}
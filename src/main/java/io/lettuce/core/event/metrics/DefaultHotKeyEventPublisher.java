@@ -0,0 +1,78 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.event.EventPublisherOptions;
+import io.lettuce.core.metrics.HotKeyCollector;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * {@link MetricEventPublisher} emitting {@link HotKeysEvent}s retrieved from a {@link HotKeyCollector}.
+ *
+ * @since 7.0
+ */
+public class DefaultHotKeyEventPublisher implements MetricEventPublisher {
+
+    private final EventPublisherOptions options;
+
+    private final EventBus eventBus;
+
+    private final HotKeyCollector hotKeyCollector;
+
+    private volatile ScheduledFuture<?> scheduledFuture;
+
+    public DefaultHotKeyEventPublisher(EventExecutorGroup eventExecutorGroup, EventPublisherOptions options, EventBus eventBus,
+            HotKeyCollector hotKeyCollector) {
+
+        this.options = options;
+        this.eventBus = eventBus;
+        this.hotKeyCollector = hotKeyCollector;
+
+        if (!options.eventEmitInterval().isZero()) {
+            scheduledFuture = eventExecutorGroup.scheduleAtFixedRate(this::emitMetricsEvent,
+                    options.eventEmitInterval().toMillis(), options.eventEmitInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !options.eventEmitInterval().isZero() && scheduledFuture != null;
+    }
+
+    @Override
+    public void shutdown() {
+
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(true);
+            scheduledFuture = null;
+        }
+    }
+
+    @Override
+    public void emitMetricsEvent() {
+
+        if (!isEnabled() || !hotKeyCollector.isEnabled()) {
+            return;
+        }
+
+        eventBus.publish(new HotKeysEvent(hotKeyCollector.retrieveMetrics()));
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.util.List;
+
+import io.lettuce.core.event.Event;
+import io.lettuce.core.metrics.EventLoopHealth;
+
+/**
+ * Event that transports the health of each event loop measured by {@link io.lettuce.core.metrics.EventLoopProbe}.
+ *
+ * @since 7.0
+ */
+public class EventLoopHealthEvent implements Event {
+
+    private final List<EventLoopHealth> eventLoops;
+
+    public EventLoopHealthEvent(List<EventLoopHealth> eventLoops) {
+        this.eventLoops = eventLoops;
+    }
+
+    /**
+     * Returns the health of each probed event loop.
+     *
+     * @return the event loop health.
+     */
+    public List<EventLoopHealth> getEventLoops() {
+        return eventLoops;
+    }
+
+    @Override
+    public String toString() {
+        return eventLoops.toString();
+    }
+
+}
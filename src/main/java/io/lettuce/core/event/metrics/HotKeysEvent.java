@@ -0,0 +1,52 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+
+import io.lettuce.core.event.Event;
+import io.lettuce.core.metrics.HotKey;
+
+/**
+ * Event that transports hot keys per remote endpoint.
+ *
+ * @since 7.0
+ */
+public class HotKeysEvent implements Event {
+
+    private final Map<SocketAddress, List<HotKey>> hotKeys;
+
+    public HotKeysEvent(Map<SocketAddress, List<HotKey>> hotKeys) {
+        this.hotKeys = hotKeys;
+    }
+
+    /**
+     * Returns the hot keys mapped by remote endpoint, ordered by their estimated count.
+     *
+     * @return the hot keys map.
+     */
+    public Map<SocketAddress, List<HotKey>> getHotKeys() {
+        return hotKeys;
+    }
+
+    @Override
+    public String toString() {
+        return hotKeys.toString();
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import jdk.jfr.Timestamp;
+import io.lettuce.core.metrics.SlowCommand;
+
+/**
+ * Flight recorder event variant of {@link SlowCommandEvent}.
+ *
+ * @since 7.0
+ */
+@Category({ "Lettuce", "Command Events" })
+@Label("Slow Command")
+@StackTrace(false)
+class JfrSlowCommandEvent extends Event {
+
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    private final long timestamp;
+
+    private final String remoteAddress;
+
+    private final String commandType;
+
+    private final String arguments;
+
+    @Timespan(Timespan.NANOSECONDS)
+    private final long queueTime;
+
+    @Timespan(Timespan.NANOSECONDS)
+    private final long firstResponseLatency;
+
+    @Timespan(Timespan.NANOSECONDS)
+    private final long completionLatency;
+
+    @DataAmount(DataAmount.BYTES)
+    private final long requestSize;
+
+    @DataAmount(DataAmount.BYTES)
+    private final long replySize;
+
+    public JfrSlowCommandEvent(SlowCommandEvent event) {
+
+        SlowCommand slowCommand = event.getSlowCommand();
+
+        this.timestamp = slowCommand.getTimestamp();
+        this.remoteAddress = String.valueOf(slowCommand.getRemote());
+        this.commandType = slowCommand.getCommandType().toString();
+        this.arguments = slowCommand.getArguments();
+        this.queueTime = slowCommand.getQueueTime();
+        this.firstResponseLatency = slowCommand.getFirstResponseLatency();
+        this.completionLatency = slowCommand.getCompletionLatency();
+        this.requestSize = slowCommand.getRequestSize();
+        this.replySize = slowCommand.getReplySize();
+    }
+
+}
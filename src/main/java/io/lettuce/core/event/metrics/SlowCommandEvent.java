@@ -0,0 +1,46 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.metrics;
+
+import io.lettuce.core.event.Event;
+import io.lettuce.core.metrics.SlowCommand;
+
+/**
+ * Event that transports a command captured by {@link io.lettuce.core.metrics.SlowCommandLog}.
+ *
+ * @since 7.0
+ */
+public class SlowCommandEvent implements Event {
+
+    private final SlowCommand slowCommand;
+
+    public SlowCommandEvent(SlowCommand slowCommand) {
+        this.slowCommand = slowCommand;
+    }
+
+    /**
+     * @return the captured command.
+     */
+    public SlowCommand getSlowCommand() {
+        return slowCommand;
+    }
+
+    @Override
+    public String toString() {
+        return slowCommand.toString();
+    }
+
+}
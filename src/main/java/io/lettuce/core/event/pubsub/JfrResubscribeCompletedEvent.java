@@ -0,0 +1,50 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.pubsub;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event variant of {@link ResubscribeCompletedEvent}.
+ *
+ * @since 7.0
+ */
+@Category({ "Lettuce", "Pub/Sub Events" })
+@Label("Re-subscription completed")
+@StackTrace(false)
+class JfrResubscribeCompletedEvent extends Event {
+
+    private final String epId;
+
+    private final int totalBatches;
+
+    private final int failedBatches;
+
+    @Timespan
+    private final long duration;
+
+    public JfrResubscribeCompletedEvent(ResubscribeCompletedEvent event) {
+        this.epId = event.getEpId();
+        this.totalBatches = event.getTotalBatches();
+        this.failedBatches = event.getFailedBatches();
+        this.duration = event.getDuration().toNanos();
+    }
+
+}
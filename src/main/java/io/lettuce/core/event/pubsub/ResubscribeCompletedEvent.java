@@ -0,0 +1,63 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.pubsub;
+
+import java.time.Duration;
+
+/**
+ * Event fired when a Pub/Sub connection has finished restoring its subscriptions after reconnecting.
+ *
+ * @since 7.0
+ */
+public class ResubscribeCompletedEvent extends ResubscribeEventSupport {
+
+    private final int failedBatches;
+
+    private final Duration duration;
+
+    public ResubscribeCompletedEvent(String epId, int totalBatches, int failedBatches, Duration duration) {
+        super(epId, totalBatches);
+        this.failedBatches = failedBatches;
+        this.duration = duration;
+    }
+
+    /**
+     * @return number of failed batches.
+     */
+    public int getFailedBatches() {
+        return failedBatches;
+    }
+
+    /**
+     * @return duration from starting re-subscription (including the jitter delay) until all batches completed.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [epId=").append(getEpId());
+        sb.append(", totalBatches=").append(getTotalBatches());
+        sb.append(", failedBatches=").append(failedBatches);
+        sb.append(", duration=").append(duration);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
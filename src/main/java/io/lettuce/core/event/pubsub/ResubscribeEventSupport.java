@@ -0,0 +1,50 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.pubsub;
+
+import io.lettuce.core.event.Event;
+
+/**
+ * Base class for re-subscription events of a Pub/Sub connection.
+ *
+ * @since 7.0
+ */
+abstract class ResubscribeEventSupport implements Event {
+
+    private final String epId;
+
+    private final int totalBatches;
+
+    ResubscribeEventSupport(String epId, int totalBatches) {
+        this.epId = epId;
+        this.totalBatches = totalBatches;
+    }
+
+    /**
+     * @return endpoint identifier of the connection.
+     */
+    public String getEpId() {
+        return epId;
+    }
+
+    /**
+     * @return total number of re-subscription batches.
+     */
+    public int getTotalBatches() {
+        return totalBatches;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.pubsub;
+
+/**
+ * Event fired when a re-subscription batch of a Pub/Sub connection has completed.
+ *
+ * @since 7.0
+ */
+public class ResubscribeProgressEvent extends ResubscribeEventSupport {
+
+    private final int completedBatches;
+
+    private final int failedBatches;
+
+    public ResubscribeProgressEvent(String epId, int totalBatches, int completedBatches, int failedBatches) {
+        super(epId, totalBatches);
+        this.completedBatches = completedBatches;
+        this.failedBatches = failedBatches;
+    }
+
+    /**
+     * @return number of completed batches including failed batches.
+     */
+    public int getCompletedBatches() {
+        return completedBatches;
+    }
+
+    /**
+     * @return number of failed batches.
+     */
+    public int getFailedBatches() {
+        return failedBatches;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [epId=").append(getEpId());
+        sb.append(", completedBatches=").append(completedBatches);
+        sb.append(", failedBatches=").append(failedBatches);
+        sb.append(", totalBatches=").append(getTotalBatches());
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
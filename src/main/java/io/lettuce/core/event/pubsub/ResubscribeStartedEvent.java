@@ -0,0 +1,72 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.pubsub;
+
+/**
+ * Event fired when a Pub/Sub connection starts to restore its subscriptions after reconnecting.
+ *
+ * @since 7.0
+ */
+public class ResubscribeStartedEvent extends ResubscribeEventSupport {
+
+    private final int channels;
+
+    private final int patterns;
+
+    private final int shardChannels;
+
+    public ResubscribeStartedEvent(String epId, int totalBatches, int channels, int patterns, int shardChannels) {
+        super(epId, totalBatches);
+        this.channels = channels;
+        this.patterns = patterns;
+        this.shardChannels = shardChannels;
+    }
+
+    /**
+     * @return number of channels to re-subscribe.
+     */
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * @return number of patterns to re-subscribe.
+     */
+    public int getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * @return number of shard channels to re-subscribe.
+     */
+    public int getShardChannels() {
+        return shardChannels;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [epId=").append(getEpId());
+        sb.append(", totalBatches=").append(getTotalBatches());
+        sb.append(", channels=").append(channels);
+        sb.append(", patterns=").append(patterns);
+        sb.append(", shardChannels=").append(shardChannels);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
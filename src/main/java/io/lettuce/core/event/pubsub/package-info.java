@@ -0,0 +1,4 @@
+/**
+ * Pub/Sub events.
+ */
+package io.lettuce.core.event.pubsub;
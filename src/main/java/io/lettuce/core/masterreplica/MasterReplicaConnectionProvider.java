@@ -44,6 +44,7 @@ import io.lettuce.core.cluster.models.partitions.Partitions;
 import io.lettuce.core.codec.RedisCodec;
 import io.lettuce.core.internal.AsyncConnectionProvider;
 import io.lettuce.core.internal.Exceptions;
+import io.lettuce.core.metrics.ConnectionMetrics;
 import io.lettuce.core.models.role.RedisNodeDescription;
 import io.lettuce.core.protocol.ConnectionIntent;
 import io.netty.util.internal.logging.InternalLogger;
@@ -152,6 +153,11 @@ class MasterReplicaConnectionProvider<K, V> {
                     connections = connections.concatWith(Mono.fromFuture(getConnection(node)));
                 }
 
+                if (OrderingReadFromAccessor.isLeastOutstanding(readFrom) && selection.size() > 1) {
+                    return connections.filter(StatefulConnection::isOpen).collectList().filter(it -> !it.isEmpty())
+                            .map(this::selectLeastOutstanding).switchIfEmpty(connections.next()).toFuture();
+                }
+
                 if (OrderingReadFromAccessor.isOrderSensitive(readFrom) || selection.size() == 1) {
                     return connections.filter(StatefulConnection::isOpen).next().switchIfEmpty(connections.next()).toFuture();
                 }
@@ -168,6 +174,55 @@ class MasterReplicaConnectionProvider<K, V> {
         return getConnection(getMaster());
     }
 
+    /**
+     * Select the connection with the least number of in-flight commands. Compares only two randomly chosen connections if the
+     * {@link ReadFrom} setting applies power-of-two-choices.
+     *
+     * @param connections the open connections.
+     * @return the selected connection.
+     */
+    private StatefulRedisConnection<K, V> selectLeastOutstanding(List<StatefulRedisConnection<K, V>> connections) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = connections.size();
+
+        if (size > 2 && OrderingReadFromAccessor.isPowerOfTwoChoices(readFrom)) {
+
+            int first = random.nextInt(size);
+            int second = random.nextInt(size - 1);
+
+            if (second >= first) {
+                second++;
+            }
+
+            StatefulRedisConnection<K, V> firstCandidate = connections.get(first);
+            StatefulRedisConnection<K, V> secondCandidate = connections.get(second);
+
+            int firstInFlight = ConnectionMetrics.getInFlightCommands(firstCandidate);
+            int secondInFlight = ConnectionMetrics.getInFlightCommands(secondCandidate);
+
+            return secondInFlight < firstInFlight ? secondCandidate : firstCandidate;
+        }
+
+        // start at a random connection to spread ties
+        int offset = random.nextInt(size);
+        StatefulRedisConnection<K, V> result = null;
+        int leastInFlight = Integer.MAX_VALUE;
+
+        for (int i = 0; i < size; i++) {
+
+            StatefulRedisConnection<K, V> candidate = connections.get((i + offset) % size);
+            int inFlight = ConnectionMetrics.getInFlightCommands(candidate);
+
+            if (inFlight < leastInFlight) {
+                result = candidate;
+                leastInFlight = inFlight;
+            }
+        }
+
+        return result;
+    }
+
     protected CompletableFuture<StatefulRedisConnection<K, V>> getConnection(RedisNodeDescription redisNodeDescription) {
 
         RedisURI uri = redisNodeDescription.getUri();
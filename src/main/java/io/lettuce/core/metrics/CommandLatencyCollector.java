@@ -78,4 +78,15 @@ public interface CommandLatencyCollector
 
         };
     }
+
+    /**
+     * Returns the request and reply size metrics per connection and command type. Returns an empty {@link Map} by default.
+     *
+     * @return the size metrics.
+     * @since 7.0
+     */
+    default Map<CommandLatencyId, CommandSizeMetrics> retrieveSizeMetrics() {
+        return Collections.emptyMap();
+    }
+
 }
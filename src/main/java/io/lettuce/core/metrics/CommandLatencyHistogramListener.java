@@ -0,0 +1,40 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Listener notified with the interval histograms of a {@link DefaultCommandLatencyCollector} retrieval. Interval histograms
+ * contain latencies in {@link java.util.concurrent.TimeUnit#NANOSECONDS} recorded since the previous retrieval. Listeners
+ * are called while retrieving metrics and must not modify or retain the histograms.
+ *
+ * @since 7.0
+ * @see DefaultCommandLatencyCollector#addHistogramListener(CommandLatencyHistogramListener)
+ */
+@FunctionalInterface
+public interface CommandLatencyHistogramListener {
+
+    /**
+     * Notification of the interval histograms for a connection and command type.
+     *
+     * @param id the connection and command type.
+     * @param firstResponse latencies from send to the first response.
+     * @param completion latencies from send to the command completion.
+     */
+    void onIntervalHistograms(CommandLatencyId id, Histogram firstResponse, Histogram completion);
+
+}
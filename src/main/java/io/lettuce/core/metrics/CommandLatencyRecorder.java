@@ -84,6 +84,51 @@ public interface CommandLatencyRecorder {
     void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType, long firstResponseLatency,
             long completionLatency);
 
+    /**
+     * Record the command request and reply size per {@code connectionPoint} and {@code commandType}.
+     *
+     * @param local the local address
+     * @param remote the remote address
+     * @param command the command
+     * @param requestSize number of bytes of the encoded command
+     * @param replySize number of bytes of the decoded reply
+     * @since 7.0
+     */
+    default void recordCommandSize(SocketAddress local, SocketAddress remote, RedisCommand<?, ?, ?> command, long requestSize,
+            long replySize) {
+        recordCommandSize(local, remote, command.getType(), requestSize, replySize);
+    }
+
+    /**
+     * Record the command request and reply size per {@code connectionPoint} and {@code commandType}. Sizes are not recorded
+     * by default.
+     *
+     * @param local the local address
+     * @param remote the remote address
+     * @param commandType the command type
+     * @param requestSize number of bytes of the encoded command
+     * @param replySize number of bytes of the decoded reply
+     * @since 7.0
+     */
+    default void recordCommandSize(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType, long requestSize,
+            long replySize) {
+    }
+
+    /**
+     * Returns a {@link CommandLatencyRecorder} bound to a connection between {@code local} and {@code remote}. Connections bind
+     * their recorder when they get activated so that implementations can resolve meters upfront instead of looking them up
+     * for each command. The bound recorder is invoked with the same {@code local} and {@code remote} addresses. Returns
+     * {@code this} by default.
+     *
+     * @param local the local address
+     * @param remote the remote address
+     * @return the {@link CommandLatencyRecorder} to use for the connection.
+     * @since 7.0
+     */
+    default CommandLatencyRecorder bind(SocketAddress local, SocketAddress remote) {
+        return this;
+    }
+
     /**
      * Returns {@code true} if the metric collector is enabled.
      *
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.util.Map;
+
+/**
+ * Size metrics for commands. This class provides the count and the request/reply sizes in bytes.
+ *
+ * @since 7.0
+ */
+public class CommandSizeMetrics {
+
+    private final long count;
+
+    private final CommandSize request;
+
+    private final CommandSize reply;
+
+    public CommandSizeMetrics(long count, CommandSize request, CommandSize reply) {
+        this.count = count;
+        this.request = request;
+        this.reply = reply;
+    }
+
+    /**
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     *
+     * @return sizes of the encoded command
+     */
+    public CommandSize getRequest() {
+        return request;
+    }
+
+    /**
+     *
+     * @return sizes of the decoded reply
+     */
+    public CommandSize getReply() {
+        return reply;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[count=").append(count);
+        sb.append(", request=").append(request);
+        sb.append(", reply=").append(reply);
+        sb.append(']');
+        return sb.toString();
+    }
+
+    public static class CommandSize {
+
+        private final long min;
+
+        private final long max;
+
+        private final Map<Double, Long> percentiles;
+
+        public CommandSize(long min, long max, Map<Double, Long> percentiles) {
+            this.min = min;
+            this.max = max;
+            this.percentiles = percentiles;
+        }
+
+        /**
+         *
+         * @return the minimum size in bytes
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         *
+         * @return the maximum size in bytes
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         *
+         * @return percentile mapping
+         */
+        public Map<Double, Long> getPercentiles() {
+            return percentiles;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("[min=").append(min);
+            sb.append(", max=").append(max);
+            sb.append(", percentiles=").append(percentiles);
+            sb.append(']');
+            return sb.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import io.lettuce.core.CommandListenerWriter;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisChannelWriter;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.protocol.CommandExpiryWriter;
+
+/**
+ * Operational metrics of a single connection. Gauges report point-in-time values that are not synchronized with concurrent
+ * writes and responses. Counters are cumulative over the lifetime of the connection and span reconnects.
+ * <p>
+ * Queue time is measured from the connection accepting a command, including time spent in the command buffer or the
+ * disconnected buffer, until the transport has written it. Reply time is measured from write completion until the command
+ * completes. Both are only recorded if {@link CommandLatencyRecorder command latency metrics} or the
+ * {@link SlowCommandLog slow command log} are enabled.
+ *
+ * @since 7.0
+ */
+public interface ConnectionMetrics {
+
+    /**
+     * @return number of commands buffered while {@link StatefulConnection#setAutoFlushCommands(boolean) auto-flushing} is
+     *         disabled. Unbounded request queues compute their size by traversal.
+     */
+    int getBufferedCommands();
+
+    /**
+     * @return number of commands buffered while the connection is disconnected. Unbounded request queues compute their size
+     *         by traversal.
+     */
+    int getDisconnectedBufferedCommands();
+
+    /**
+     * @return number of commands written to the channel that await write completion.
+     */
+    int getPendingWrites();
+
+    /**
+     * @return number of written commands that await their response. {@code 0} if the connection is not connected.
+     */
+    int getPendingReplies();
+
+    /**
+     * @return number of bytes pending in the outbound buffer of the channel. {@code 0} if the connection is not connected.
+     */
+    long getPendingOutboundBytes();
+
+    /**
+     * @return number of commands that were written to the channel and that await either write completion or their response.
+     *         {@code 0} if the connection is not connected.
+     */
+    default int getInFlightCommands() {
+        return getPendingWrites() + getPendingReplies();
+    }
+
+    /**
+     * @return number of commands whose write has completed and whose queue time was recorded.
+     */
+    long getWrittenCommands();
+
+    /**
+     * @return total time in nanoseconds that {@link #getWrittenCommands() written commands} spent from being accepted by the
+     *         connection until write completion.
+     */
+    long getTotalQueueTime();
+
+    /**
+     * @return number of completed commands whose reply time was recorded.
+     */
+    long getRepliedCommands();
+
+    /**
+     * @return total time in nanoseconds that {@link #getRepliedCommands() replied commands} spent awaiting their response.
+     */
+    long getTotalReplyTime();
+
+    /**
+     * Obtain the {@link ConnectionMetrics} of a {@link StatefulConnection}.
+     *
+     * @param connection the connection.
+     * @return the {@link ConnectionMetrics} or {@code null} if the connection does not expose metrics, e.g. a connection that
+     *         distributes commands across multiple nodes.
+     */
+    static ConnectionMetrics of(StatefulConnection<?, ?> connection) {
+
+        if (!(connection instanceof RedisChannelHandler)) {
+            return null;
+        }
+
+        RedisChannelWriter writer = ((RedisChannelHandler<?, ?>) connection).getChannelWriter();
+
+        while (true) {
+
+            if (writer instanceof ConnectionMetrics) {
+                return (ConnectionMetrics) writer;
+            }
+
+            if (writer instanceof CommandListenerWriter) {
+                writer = ((CommandListenerWriter) writer).getDelegate();
+                continue;
+            }
+
+            if (writer instanceof CommandExpiryWriter) {
+                writer = ((CommandExpiryWriter) writer).getDelegate();
+                continue;
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Obtain the number of {@link #getInFlightCommands() in-flight commands} of a {@link StatefulConnection}.
+     *
+     * @param connection the connection.
+     * @return the number of in-flight commands or {@code 0} if the connection does not expose {@link ConnectionMetrics}.
+     */
+    static int getInFlightCommands(StatefulConnection<?, ?> connection) {
+
+        ConnectionMetrics metrics = of(connection);
+        return metrics != null ? metrics.getInFlightCommands() : 0;
+    }
+
+}
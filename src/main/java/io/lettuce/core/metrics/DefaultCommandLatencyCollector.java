@@ -19,18 +19,21 @@ import static io.lettuce.core.internal.LettuceClassUtils.*;
 
 import java.net.SocketAddress;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 
 import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
 import org.LatencyUtils.LatencyStats;
 import org.LatencyUtils.PauseDetector;
 import org.LatencyUtils.PauseDetectorListener;
@@ -38,6 +41,7 @@ import org.LatencyUtils.SimplePauseDetector;
 
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.metrics.CommandMetrics.CommandLatency;
+import io.lettuce.core.metrics.CommandSizeMetrics.CommandSize;
 import io.lettuce.core.protocol.CommandType;
 import io.lettuce.core.protocol.ProtocolKeyword;
 import io.netty.channel.local.LocalAddress;
@@ -46,6 +50,16 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
 
 /**
  * Default implementation of a {@link CommandLatencyCollector} for command latencies.
+ * <p>
+ * Latencies are held per endpoint and command type. Recording a latency looks up the endpoint and the command type slot
+ * without allocating. Without pause detection, latencies are recorded into histogram stripes selected by the recording thread
+ * so that event loop threads do not contend on the same histogram. Stripes are merged when retrieving metrics.
+ * <p>
+ * Request and reply sizes are recorded into striped histograms per endpoint and command type as well and can be retrieved
+ * through {@link #retrieveSizeMetrics()}.
+ * <p>
+ * Interval histograms of each retrieval are passed to registered {@link CommandLatencyHistogramListener}s, e.g.
+ * {@link HistogramLogExporter} to write them to HdrHistogram log files.
  *
  * @author Mark Paluch
  * @author Bryce J. Fisher
@@ -67,10 +81,17 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
 
     private static final long MAX_LATENCY = TimeUnit.MINUTES.toNanos(5);
 
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+    private static final CommandType[] COMMAND_TYPES = CommandType.values();
+
     private final CommandLatencyCollectorOptions options;
 
-    private final AtomicReference<Map<CommandLatencyId, Latencies>> latencyMetricsRef = new AtomicReference<>(
-            createNewLatencyMap());
+    private final Map<SocketAddress, Map<SocketAddress, EndpointLatencies>> endpoints = new ConcurrentHashMap<>();
+
+    private final List<CommandLatencyHistogramListener> histogramListeners = new CopyOnWriteArrayList<>();
 
     // Updated via PAUSE_DETECTOR_UPDATER
     private volatile PauseDetectorWrapper pauseDetectorWrapper;
@@ -85,7 +106,8 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
     }
 
     /**
-     * Record the command latency per {@code connectionPoint} and {@code commandType}.
+     * Record the command latency per {@code connectionPoint} and {@code commandType}. Recording resolves the latencies of the
+     * endpoint and command type without allocating and records into a striped histogram.
      *
      * @param local the local address
      * @param remote the remote address
@@ -114,22 +136,49 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
             pauseDetector = (PauseDetector) pauseDetectorWrapper.getPauseDetector();
         } while (pauseDetector == null);
 
-        PauseDetector pauseDetectorToUse = pauseDetector;
-        Latencies latencies = latencyMetricsRef.get().computeIfAbsent(createId(local, remote, commandType), id -> {
+        Latencies latencies = getEndpoint(options.localDistinction() ? local : LocalAddress.ANY, remote)
+                .getLatencies(commandType, pauseDetector);
 
-            if (options.resetLatenciesAfterEvent()) {
-                return new Latencies(pauseDetectorToUse);
-            }
+        latencies.record(rangify(firstResponseLatency), rangify(completionLatency));
+    }
+
+    private EndpointLatencies getEndpoint(SocketAddress local, SocketAddress remote) {
 
-            return new CummulativeLatencies(pauseDetectorToUse);
-        });
+        Map<SocketAddress, EndpointLatencies> remotes = endpoints.get(local);
 
-        latencies.firstResponse.recordLatency(rangify(firstResponseLatency));
-        latencies.completion.recordLatency(rangify(completionLatency));
+        if (remotes == null) {
+            remotes = endpoints.computeIfAbsent(local, it -> new ConcurrentHashMap<>());
+        }
+
+        EndpointLatencies endpoint = remotes.get(remote);
+
+        if (endpoint == null) {
+            endpoint = remotes.computeIfAbsent(remote, it -> new EndpointLatencies(local, remote));
+        }
+
+        return endpoint;
     }
 
-    private CommandLatencyId createId(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType) {
-        return CommandLatencyId.create(options.localDistinction() ? local : LocalAddress.ANY, remote, commandType);
+    /**
+     * Record the command request and reply size per {@code connectionPoint} and {@code commandType}.
+     *
+     * @param local the local address
+     * @param remote the remote address
+     * @param commandType the command type
+     * @param requestSize number of bytes of the encoded command
+     * @param replySize number of bytes of the decoded reply
+     * @since 7.0
+     */
+    @Override
+    public void recordCommandSize(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType, long requestSize,
+            long replySize) {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        getEndpoint(options.localDistinction() ? local : LocalAddress.ANY, remote).getSizes(commandType)
+                .record(Math.max(0, requestSize), Math.max(0, replySize));
     }
 
     private long rangify(long latency) {
@@ -151,56 +200,189 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
             pauseDetectorWrapper.release();
         }
 
-        Map<CommandLatencyId, Latencies> latenciesMap = latencyMetricsRef.get();
-        if (latencyMetricsRef.compareAndSet(latenciesMap, Collections.emptyMap())) {
-            latenciesMap.values().forEach(Latencies::stop);
+        for (Map<SocketAddress, EndpointLatencies> remotes : endpoints.values()) {
+            for (EndpointLatencies endpoint : remotes.values()) {
+                endpoint.latencies.forEach((commandType, latencies) -> latencies.stop());
+            }
         }
+
+        endpoints.clear();
     }
 
+    /**
+     * Retrieve latency metrics by merging the histogram stripes recorded since the last retrieval. Latencies without
+     * recordings since the last retrieval are released if {@link CommandLatencyCollectorOptions#resetLatenciesAfterEvent()
+     * resetting} is enabled.
+     *
+     * @return the latency metrics.
+     */
     @Override
     public Map<CommandLatencyId, CommandMetrics> retrieveMetrics() {
 
-        Map<CommandLatencyId, Latencies> latenciesMap = latencyMetricsRef.get();
-        Map<CommandLatencyId, Latencies> metricsToUse;
+        Map<CommandLatencyId, CommandMetrics> result = new TreeMap<>();
+        boolean reset = options.resetLatenciesAfterEvent();
+
+        for (Map<SocketAddress, EndpointLatencies> remotes : endpoints.values()) {
+            for (EndpointLatencies endpoint : remotes.values()) {
 
-        if (options.resetLatenciesAfterEvent()) {
+                endpoint.latencies.forEach((commandType, latencies) -> {
 
-            metricsToUse = latenciesMap;
-            latencyMetricsRef.set(createNewLatencyMap());
+                    CommandMetrics metrics = getMetrics(endpoint, commandType, latencies);
+
+                    if (metrics != null) {
+                        result.put(CommandLatencyId.create(endpoint.local, endpoint.remote, commandType), metrics);
+                    } else if (reset && endpoint.latencies.remove(commandType, latencies)) {
+                        latencies.stop();
+                    }
+                });
 
-            metricsToUse.values().forEach(Latencies::stop);
-        } else {
-            metricsToUse = new HashMap<>(latenciesMap);
+                if (reset && endpoint.isEmpty()) {
+                    remotes.remove(endpoint.remote, endpoint);
+                }
+            }
         }
 
-        return getMetrics(metricsToUse);
+        return result;
     }
 
-    private Map<CommandLatencyId, CommandMetrics> getMetrics(Map<CommandLatencyId, Latencies> latencyMetrics) {
+    /**
+     * Retrieve request and reply size metrics by merging the histogram stripes recorded since the last retrieval. Sizes
+     * without recordings since the last retrieval are released if
+     * {@link CommandLatencyCollectorOptions#resetLatenciesAfterEvent() resetting} is enabled.
+     *
+     * @return the size metrics.
+     * @since 7.0
+     */
+    @Override
+    public Map<CommandLatencyId, CommandSizeMetrics> retrieveSizeMetrics() {
 
-        Map<CommandLatencyId, CommandMetrics> result = new TreeMap<>();
+        Map<CommandLatencyId, CommandSizeMetrics> result = new TreeMap<>();
+        boolean reset = options.resetLatenciesAfterEvent();
+
+        for (Map<SocketAddress, EndpointLatencies> remotes : endpoints.values()) {
+            for (EndpointLatencies endpoint : remotes.values()) {
+
+                endpoint.sizes.forEach((commandType, sizes) -> {
+
+                    CommandSizeMetrics metrics = getMetrics(sizes);
+
+                    if (metrics != null) {
+                        result.put(CommandLatencyId.create(endpoint.local, endpoint.remote, commandType), metrics);
+                    } else if (reset) {
+                        endpoint.sizes.remove(commandType, sizes);
+                    }
+                });
+
+                if (reset && endpoint.isEmpty()) {
+                    remotes.remove(endpoint.remote, endpoint);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Register a {@link CommandLatencyHistogramListener} to be notified with the interval histograms of each
+     * {@link #retrieveMetrics() retrieval}.
+     *
+     * @param listener must not be {@code null}.
+     * @since 7.0
+     */
+    public void addHistogramListener(CommandLatencyHistogramListener listener) {
+
+        LettuceAssert.notNull(listener, "CommandLatencyHistogramListener must not be null");
 
-        for (Map.Entry<CommandLatencyId, Latencies> entry : latencyMetrics.entrySet()) {
+        histogramListeners.add(listener);
+    }
+
+    /**
+     * Unregister a {@link CommandLatencyHistogramListener}.
+     *
+     * @param listener must not be {@code null}.
+     * @since 7.0
+     */
+    public void removeHistogramListener(CommandLatencyHistogramListener listener) {
+
+        LettuceAssert.notNull(listener, "CommandLatencyHistogramListener must not be null");
+
+        histogramListeners.remove(listener);
+    }
 
-            Latencies latencies = entry.getValue();
+    private CommandSizeMetrics getMetrics(Sizes sizes) {
 
-            Histogram firstResponse = latencies.getFirstResponseHistogram();
-            Histogram completion = latencies.getCompletionHistogram();
+        Histogram request;
+        Histogram reply;
 
-            if (firstResponse.getTotalCount() == 0 && completion.getTotalCount() == 0) {
-                continue;
+        synchronized (sizes) {
+
+            Histogram requestInterval = merge(sizes.request);
+            Histogram replyInterval = merge(sizes.reply);
+
+            if (options.resetLatenciesAfterEvent()) {
+                request = requestInterval;
+                reply = replyInterval;
+            } else {
+                request = sizes.requestTotal = accumulate(sizes.requestTotal, requestInterval);
+                reply = sizes.replyTotal = accumulate(sizes.replyTotal, replyInterval);
             }
+        }
 
-            CommandLatency firstResponseLatency = getMetric(firstResponse);
-            CommandLatency completionLatency = getMetric(completion);
+        if (request.getTotalCount() == 0) {
+            return null;
+        }
+
+        return new CommandSizeMetrics(request.getTotalCount(), getSize(request), getSize(reply));
+    }
 
-            CommandMetrics metrics = new CommandMetrics(firstResponse.getTotalCount(), options.targetUnit(),
-                    firstResponseLatency, completionLatency);
+    private CommandSize getSize(Histogram histogram) {
 
-            result.put(entry.getKey(), metrics);
+        Map<Double, Long> percentiles = new TreeMap<>();
+        for (double targetPercentile : options.targetPercentiles()) {
+            percentiles.put(targetPercentile, histogram.getValueAtPercentile(targetPercentile));
         }
 
-        return result;
+        return new CommandSize(histogram.getMinValue(), histogram.getMaxValue(), percentiles);
+    }
+
+    private CommandMetrics getMetrics(EndpointLatencies endpoint, ProtocolKeyword commandType, Latencies latencies) {
+
+        Histogram firstResponse;
+        Histogram completion;
+        boolean empty;
+
+        synchronized (latencies) {
+
+            Histogram firstResponseInterval = latencies.getFirstResponseHistogram();
+            Histogram completionInterval = latencies.getCompletionHistogram();
+            empty = firstResponseInterval.getTotalCount() == 0 && completionInterval.getTotalCount() == 0;
+
+            if (!empty && !histogramListeners.isEmpty()) {
+
+                CommandLatencyId id = CommandLatencyId.create(endpoint.local, endpoint.remote, commandType);
+                for (CommandLatencyHistogramListener listener : histogramListeners) {
+                    listener.onIntervalHistograms(id, firstResponseInterval, completionInterval);
+                }
+            }
+
+            if (options.resetLatenciesAfterEvent()) {
+                firstResponse = firstResponseInterval;
+                completion = completionInterval;
+            } else {
+                firstResponse = latencies.accumulateFirstResponse(firstResponseInterval);
+                completion = latencies.accumulateCompletion(completionInterval);
+            }
+        }
+
+        if (empty && firstResponse.getTotalCount() == 0 && completion.getTotalCount() == 0) {
+            return null;
+        }
+
+        CommandLatency firstResponseLatency = getMetric(firstResponse);
+        CommandLatency completionLatency = getMetric(completion);
+
+        return new CommandMetrics(firstResponse.getTotalCount(), options.targetUnit(), firstResponseLatency,
+                completionLatency);
     }
 
     private CommandLatency getMetric(Histogram histogram) {
@@ -223,6 +405,50 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
         return percentiles;
     }
 
+    private static int stripes(int processors) {
+        return Math.min(16, Integer.highestOneBit(Math.max(1, processors - 1)) << 1);
+    }
+
+    private static Recorder[] newStripes() {
+
+        Recorder[] recorders = new Recorder[STRIPES];
+
+        for (int i = 0; i < STRIPES; i++) {
+            recorders[i] = new Recorder(SIGNIFICANT_VALUE_DIGITS, true);
+        }
+
+        return recorders;
+    }
+
+    private static int stripe() {
+        return (int) Thread.currentThread().getId() & (STRIPES - 1);
+    }
+
+    private static Histogram merge(Recorder[] recorders) {
+
+        Histogram histogram = new Histogram(SIGNIFICANT_VALUE_DIGITS);
+
+        for (Recorder recorder : recorders) {
+
+            Histogram interval = recorder.getIntervalHistogram();
+            histogram.add(interval);
+            histogram.setStartTimeStamp(Math.min(histogram.getStartTimeStamp(), interval.getStartTimeStamp()));
+            histogram.setEndTimeStamp(Math.max(histogram.getEndTimeStamp(), interval.getEndTimeStamp()));
+        }
+
+        return histogram;
+    }
+
+    private static Histogram accumulate(Histogram total, Histogram interval) {
+
+        if (total == null) {
+            return interval;
+        }
+
+        total.add(interval);
+        return total;
+    }
+
     /**
      * Returns {@code true} if HdrUtils and LatencyUtils are available on the class path.
      *
@@ -232,10 +458,6 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
         return LATENCY_UTILS_AVAILABLE && HDR_UTILS_AVAILABLE;
     }
 
-    private static ConcurrentHashMap<CommandLatencyId, Latencies> createNewLatencyMap() {
-        return new ConcurrentHashMap<>(CommandType.values().length);
-    }
-
     /**
      * Returns a disabled no-op {@link CommandLatencyCollector}.
      *
@@ -267,57 +489,263 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
         };
     }
 
-    private static class Latencies {
+    /**
+     * Latencies and sizes of an endpoint.
+     */
+    class EndpointLatencies {
+
+        private final SocketAddress local;
+
+        private final SocketAddress remote;
+
+        private final CommandSlots<Latencies> latencies = new CommandSlots<>();
+
+        private final CommandSlots<Sizes> sizes = new CommandSlots<>();
+
+        EndpointLatencies(SocketAddress local, SocketAddress remote) {
+            this.local = local;
+            this.remote = remote;
+        }
+
+        Latencies getLatencies(ProtocolKeyword commandType, PauseDetector pauseDetector) {
+
+            Latencies latencies = this.latencies.get(commandType);
+
+            if (latencies == null) {
+
+                Latencies created = createLatencies(pauseDetector);
+                latencies = this.latencies.putIfAbsent(commandType, created);
+
+                if (latencies != created) {
+                    created.stop();
+                }
+            }
+
+            return latencies;
+        }
+
+        Sizes getSizes(ProtocolKeyword commandType) {
+
+            Sizes sizes = this.sizes.get(commandType);
+
+            if (sizes == null) {
+                sizes = this.sizes.putIfAbsent(commandType, new Sizes());
+            }
+
+            return sizes;
+        }
+
+        private Latencies createLatencies(PauseDetector pauseDetector) {
+
+            if (options.usePauseDetector()) {
+                return new PauseDetectorLatencies(pauseDetector);
+            }
+
+            return new StripedLatencies();
+        }
+
+        boolean isEmpty() {
+            return latencies.isEmpty() && sizes.isEmpty();
+        }
+
+    }
+
+    /**
+     * Values per command type. Values of {@link CommandType command types} are held in an array indexed by the command type
+     * ordinal.
+     */
+    static class CommandSlots<T> {
+
+        private final AtomicReferenceArray<T> commandTypes = new AtomicReferenceArray<>(COMMAND_TYPES.length);
+
+        private final Map<ProtocolKeyword, T> protocolKeywords = new ConcurrentHashMap<>();
+
+        T get(ProtocolKeyword commandType) {
+
+            if (commandType instanceof CommandType) {
+                return commandTypes.get(((CommandType) commandType).ordinal());
+            }
+
+            return protocolKeywords.get(commandType);
+        }
+
+        /**
+         * Associate {@code value} with {@code commandType} if no value is associated yet.
+         *
+         * @return the associated value, either {@code value} or the value that was already associated.
+         */
+        T putIfAbsent(ProtocolKeyword commandType, T value) {
+
+            if (commandType instanceof CommandType) {
+
+                int index = ((CommandType) commandType).ordinal();
+
+                if (commandTypes.compareAndSet(index, null, value)) {
+                    return value;
+                }
+
+                return commandTypes.get(index);
+            }
+
+            T existing = protocolKeywords.putIfAbsent(commandType, value);
+            return existing != null ? existing : value;
+        }
+
+        void forEach(BiConsumer<ProtocolKeyword, T> action) {
+
+            for (int i = 0; i < commandTypes.length(); i++) {
+
+                T value = commandTypes.get(i);
+
+                if (value != null) {
+                    action.accept(COMMAND_TYPES[i], value);
+                }
+            }
+
+            protocolKeywords.forEach(action);
+        }
+
+        boolean remove(ProtocolKeyword commandType, T value) {
+
+            if (commandType instanceof CommandType) {
+                return commandTypes.compareAndSet(((CommandType) commandType).ordinal(), value, null);
+            }
+
+            return protocolKeywords.remove(commandType, value);
+        }
+
+        boolean isEmpty() {
+
+            for (int i = 0; i < commandTypes.length(); i++) {
+                if (commandTypes.get(i) != null) {
+                    return false;
+                }
+            }
+
+            return protocolKeywords.isEmpty();
+        }
+
+    }
+
+    /**
+     * First response and completion latencies of a command type. Interval histograms are reset on retrieval. Cumulative
+     * histograms are accumulated from interval histograms.
+     */
+    abstract static class Latencies {
+
+        private Histogram firstResponseTotal;
+
+        private Histogram completionTotal;
+
+        abstract void record(long firstResponseLatency, long completionLatency);
+
+        abstract Histogram getFirstResponseHistogram();
+
+        abstract Histogram getCompletionHistogram();
+
+        Histogram accumulateFirstResponse(Histogram interval) {
+            return firstResponseTotal = accumulate(firstResponseTotal, interval);
+        }
+
+        Histogram accumulateCompletion(Histogram interval) {
+            return completionTotal = accumulate(completionTotal, interval);
+        }
+
+        void stop() {
+        }
+
+    }
+
+    /**
+     * {@link Latencies} using {@link LatencyStats} to correct recordings for pauses detected by a {@link PauseDetector}.
+     */
+    static class PauseDetectorLatencies extends Latencies {
 
         private final LatencyStats firstResponse;
 
         private final LatencyStats completion;
 
-        Latencies(PauseDetector pauseDetector) {
+        PauseDetectorLatencies(PauseDetector pauseDetector) {
             firstResponse = LatencyStats.Builder.create().pauseDetector(pauseDetector).build();
             completion = LatencyStats.Builder.create().pauseDetector(pauseDetector).build();
         }
 
-        public Histogram getFirstResponseHistogram() {
+        @Override
+        void record(long firstResponseLatency, long completionLatency) {
+            firstResponse.recordLatency(firstResponseLatency);
+            completion.recordLatency(completionLatency);
+        }
+
+        @Override
+        Histogram getFirstResponseHistogram() {
             return firstResponse.getIntervalHistogram();
         }
 
-        public Histogram getCompletionHistogram() {
+        @Override
+        Histogram getCompletionHistogram() {
             return completion.getIntervalHistogram();
         }
 
-        public void stop() {
+        @Override
+        void stop() {
             firstResponse.stop();
             completion.stop();
         }
 
     }
 
-    private static class CummulativeLatencies extends Latencies {
+    /**
+     * {@link Latencies} recording into {@link Recorder stripes} selected by the recording thread to avoid contention between
+     * event loop threads. Stripes use packed histograms whose footprint grows with the number of recorded value ranges.
+     * Stripes are merged into a single histogram on retrieval.
+     */
+    static class StripedLatencies extends Latencies {
 
-        private final Histogram firstResponse;
+        private final Recorder[] firstResponse = newStripes();
 
-        private final Histogram completion;
+        private final Recorder[] completion = newStripes();
 
-        CummulativeLatencies(PauseDetector pauseDetector) {
-            super(pauseDetector);
+        @Override
+        void record(long firstResponseLatency, long completionLatency) {
 
-            firstResponse = super.firstResponse.getIntervalHistogram();
-            completion = super.completion.getIntervalHistogram();
+            int stripe = stripe();
+
+            firstResponse[stripe].recordValue(firstResponseLatency);
+            completion[stripe].recordValue(completionLatency);
         }
 
         @Override
-        public Histogram getFirstResponseHistogram() {
-
-            firstResponse.add(super.getFirstResponseHistogram());
-            return firstResponse;
+        Histogram getFirstResponseHistogram() {
+            return merge(firstResponse);
         }
 
         @Override
-        public Histogram getCompletionHistogram() {
+        Histogram getCompletionHistogram() {
+            return merge(completion);
+        }
+
+    }
+
+    /**
+     * Request and reply sizes of a command type recorded into {@link Recorder stripes} selected by the recording thread.
+     * Cumulative histograms are accumulated from interval histograms.
+     */
+    static class Sizes {
+
+        private final Recorder[] request = newStripes();
+
+        private final Recorder[] reply = newStripes();
+
+        private Histogram requestTotal;
+
+        private Histogram replyTotal;
+
+        void record(long requestSize, long replySize) {
+
+            int stripe = stripe();
 
-            completion.add(super.getFirstResponseHistogram());
-            return completion;
+            request[stripe].recordValue(requestSize);
+            reply[stripe].recordValue(replySize);
         }
 
     }
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.metrics.HotKey.Category;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ReadOnlyCommands;
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * Default implementation of a {@link HotKeyCollector}.
+ * <p>
+ * Commands are sampled at random with a probability of {@code 1/sampleInterval}. The first key of a sampled command is fed into
+ * a Space-Saving sketch per remote endpoint and {@link Category command category}. Each sketch holds a fixed number of
+ * counters. When a key is not tracked and all counters are in use, the counter with the smallest count is reassigned to the
+ * key and its count becomes the error bound of the new key. Counts are extrapolated by the sample interval on retrieval.
+ *
+ * @since 7.0
+ */
+public class DefaultHotKeyCollector implements HotKeyCollector {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final HotKeyOptions options;
+
+    private final int sampleInterval;
+
+    private final int sampleMask;
+
+    private final Map<SocketAddress, Sketch[]> endpoints = new ConcurrentHashMap<>();
+
+    private volatile boolean stopped;
+
+    public DefaultHotKeyCollector(HotKeyOptions options) {
+
+        LettuceAssert.notNull(options, "HotKeyOptions must not be null");
+
+        this.options = options;
+        this.sampleInterval = sampleInterval(options.sampleInterval());
+        this.sampleMask = sampleInterval - 1;
+    }
+
+    @Override
+    public void recordCommand(SocketAddress remote, RedisCommand<?, ?, ?> command) {
+
+        if ((ThreadLocalRandom.current().nextInt() & sampleMask) != 0 || stopped || remote == null) {
+            return;
+        }
+
+        CommandArgs<?, ?> args = command.getArgs();
+        ByteBuffer key = args != null ? args.getFirstEncodedKey() : null;
+
+        if (key == null) {
+            return;
+        }
+
+        Category category = ReadOnlyCommands.isReadOnlyCommand(command.getType()) ? Category.READ : Category.WRITE;
+
+        getSketches(remote)[category.ordinal()].offer(key);
+    }
+
+    private Sketch[] getSketches(SocketAddress remote) {
+
+        Sketch[] sketches = endpoints.get(remote);
+
+        if (sketches == null) {
+            sketches = endpoints.computeIfAbsent(remote, it -> {
+
+                Sketch[] created = new Sketch[CATEGORIES.length];
+                for (int i = 0; i < created.length; i++) {
+                    created[i] = new Sketch(options.capacity(), options.maxKeyLength());
+                }
+
+                return created;
+            });
+        }
+
+        return sketches;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !stopped;
+    }
+
+    @Override
+    public void shutdown() {
+
+        stopped = true;
+        endpoints.clear();
+    }
+
+    /**
+     * Retrieve the hot keys per remote endpoint ordered by their estimated count. Sketches are reset if
+     * {@link HotKeyOptions#resetAfterRetrieval()} is enabled.
+     *
+     * @return the hot keys per remote endpoint.
+     */
+    @Override
+    public Map<SocketAddress, List<HotKey>> retrieveMetrics() {
+
+        Map<SocketAddress, List<HotKey>> result = new LinkedHashMap<>();
+        boolean reset = options.resetAfterRetrieval();
+
+        endpoints.forEach((remote, sketches) -> {
+
+            List<HotKey> hotKeys = new ArrayList<>();
+
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i].snapshot(CATEGORIES[i], sampleInterval, reset, hotKeys);
+            }
+
+            if (hotKeys.isEmpty()) {
+
+                if (reset) {
+                    endpoints.remove(remote, sketches);
+                }
+                return;
+            }
+
+            hotKeys.sort(Comparator.comparingLong(HotKey::getCount).reversed());
+            result.put(remote, hotKeys);
+        });
+
+        return result;
+    }
+
+    private static int sampleInterval(int sampleInterval) {
+        return sampleInterval == 1 ? 1 : Integer.highestOneBit(sampleInterval - 1) << 1;
+    }
+
+    /**
+     * Space-Saving sketch using the Stream-Summary structure: counters are grouped in buckets of equal count and buckets are
+     * linked in ascending count order. Incrementing a counter and locating the counter with the smallest count are
+     * constant-time operations.
+     */
+    static class Sketch {
+
+        private final int capacity;
+
+        private final int maxKeyLength;
+
+        private final Map<ByteBuffer, Counter> counters;
+
+        // bucket with the smallest count
+        private Bucket min;
+
+        Sketch(int capacity, int maxKeyLength) {
+            this.capacity = capacity;
+            this.maxKeyLength = maxKeyLength;
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        synchronized void offer(ByteBuffer key) {
+
+            ByteBuffer lookup = key.duplicate();
+
+            if (lookup.remaining() > maxKeyLength) {
+                lookup.limit(lookup.position() + maxKeyLength);
+            }
+
+            Counter counter = counters.get(lookup);
+
+            if (counter != null) {
+                increment(counter);
+                return;
+            }
+
+            byte[] bytes = new byte[lookup.remaining()];
+            lookup.get(bytes);
+
+            if (counters.size() < capacity) {
+
+                counter = new Counter(bytes, 1, 0);
+
+                if (min == null || min.count != 1) {
+
+                    Bucket bucket = new Bucket(1);
+                    bucket.next = min;
+
+                    if (min != null) {
+                        min.prev = bucket;
+                    }
+
+                    min = bucket;
+                }
+
+                min.add(counter);
+                counters.put(ByteBuffer.wrap(bytes), counter);
+                return;
+            }
+
+            Counter replaced = min.head;
+
+            counters.remove(ByteBuffer.wrap(replaced.key));
+
+            replaced.key = bytes;
+            replaced.error = replaced.count;
+            increment(replaced);
+
+            counters.put(ByteBuffer.wrap(bytes), replaced);
+        }
+
+        private void increment(Counter counter) {
+
+            Bucket bucket = counter.bucket;
+            long count = counter.count + 1;
+            Bucket next = bucket.next;
+
+            if (next == null || next.count != count) {
+
+                next = new Bucket(count);
+                next.prev = bucket;
+                next.next = bucket.next;
+
+                if (bucket.next != null) {
+                    bucket.next.prev = next;
+                }
+
+                bucket.next = next;
+            }
+
+            bucket.remove(counter);
+            counter.count = count;
+            next.add(counter);
+
+            if (bucket.head == null) {
+                unlink(bucket);
+            }
+        }
+
+        private void unlink(Bucket bucket) {
+
+            if (bucket.prev != null) {
+                bucket.prev.next = bucket.next;
+            } else {
+                min = bucket.next;
+            }
+
+            if (bucket.next != null) {
+                bucket.next.prev = bucket.prev;
+            }
+        }
+
+        synchronized void snapshot(Category category, int sampleInterval, boolean reset, List<HotKey> target) {
+
+            for (Counter counter : counters.values()) {
+                target.add(new HotKey(category, counter.key, counter.count * sampleInterval, counter.error * sampleInterval));
+            }
+
+            if (reset) {
+                counters.clear();
+                min = null;
+            }
+        }
+
+    }
+
+    /**
+     * Counters sharing the same count.
+     */
+    static class Bucket {
+
+        final long count;
+
+        Bucket prev;
+
+        Bucket next;
+
+        Counter head;
+
+        Bucket(long count) {
+            this.count = count;
+        }
+
+        void add(Counter counter) {
+
+            counter.bucket = this;
+            counter.prev = null;
+            counter.next = head;
+
+            if (head != null) {
+                head.prev = counter;
+            }
+
+            head = counter;
+        }
+
+        void remove(Counter counter) {
+
+            if (counter.prev != null) {
+                counter.prev.next = counter.next;
+            } else {
+                head = counter.next;
+            }
+
+            if (counter.next != null) {
+                counter.next.prev = counter.prev;
+            }
+
+            counter.bucket = null;
+            counter.prev = null;
+            counter.next = null;
+        }
+
+    }
+
+    static class Counter {
+
+        byte[] key;
+
+        long count;
+
+        long error;
+
+        Bucket bucket;
+
+        Counter prev;
+
+        Counter next;
+
+        Counter(byte[] key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+    }
+
+}
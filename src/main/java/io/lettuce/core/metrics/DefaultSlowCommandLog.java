@@ -0,0 +1,245 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+import io.lettuce.core.event.jfr.EventRecorder;
+import io.lettuce.core.event.metrics.SlowCommandEvent;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * Default implementation of a {@link SlowCommandLog}.
+ * <p>
+ * Commands completing within the {@link SlowCommandLogOptions#threshold() threshold} are discarded after a single comparison
+ * without allocating. Slow commands are captured into a ring buffer whose write position is claimed atomically so that
+ * multiple I/O threads can record concurrently. Each captured command is recorded as {@link SlowCommandEvent} through the
+ * {@link EventRecorder} unless disabled.
+ * <p>
+ * If {@link SlowCommandLogOptions#topN() top-N} capture is enabled, only the slowest commands of each interval are retained.
+ * Once the interval has collected its top-N candidates, commands not slower than the fastest candidate are discarded after a
+ * single comparison. Candidates are published to the ring buffer when their interval has elapsed.
+ *
+ * @since 7.0
+ */
+public class DefaultSlowCommandLog implements SlowCommandLog {
+
+    private static final Comparator<SlowCommand> SLOWEST_FIRST = Comparator
+            .comparingLong(SlowCommand::getCompletionLatency).reversed();
+
+    private static final Comparator<SlowCommand> FASTEST_FIRST = Comparator.comparingLong(SlowCommand::getCompletionLatency);
+
+    private static final Comparator<SlowCommand> OLDEST_FIRST = Comparator.comparingLong(SlowCommand::getTimestamp);
+
+    private final SlowCommandLogOptions options;
+
+    private final long threshold;
+
+    private final AtomicReferenceArray<SlowCommand> entries;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongSupplier clock;
+
+    private final int topN;
+
+    private final long topNInterval;
+
+    // top-N candidates of the current interval, guarded by itself
+    private final PriorityQueue<SlowCommand> candidates;
+
+    private volatile long candidateLatencyFloor = -1;
+
+    private volatile long intervalEnd;
+
+    public DefaultSlowCommandLog(SlowCommandLogOptions options) {
+        this(options, System::nanoTime);
+    }
+
+    DefaultSlowCommandLog(SlowCommandLogOptions options, LongSupplier clock) {
+
+        LettuceAssert.notNull(options, "SlowCommandLogOptions must not be null");
+
+        this.options = options;
+        this.threshold = options.threshold().toNanos();
+        this.entries = new AtomicReferenceArray<>(options.capacity());
+        this.clock = clock;
+        this.topN = options.topN();
+        this.topNInterval = options.topNInterval().toNanos();
+        this.candidates = topN > 0 ? new PriorityQueue<>(topN, FASTEST_FIRST) : null;
+        this.intervalEnd = clock.getAsLong() + topNInterval;
+    }
+
+    @Override
+    public void recordCommand(SocketAddress remote, RedisCommand<?, ?, ?> command, long queueTime, long firstResponseLatency,
+            long completionLatency, long requestSize, long replySize) {
+
+        if (completionLatency < threshold) {
+            return;
+        }
+
+        if (candidates != null) {
+
+            publishElapsedCandidates();
+
+            if (completionLatency <= candidateLatencyFloor) {
+                return;
+            }
+        }
+
+        SlowCommand slowCommand = new SlowCommand(System.currentTimeMillis(), remote, command.getType(),
+                getArguments(command), queueTime, firstResponseLatency, completionLatency, requestSize, replySize);
+
+        if (candidates != null) {
+            addCandidate(slowCommand);
+        } else {
+            publish(slowCommand);
+        }
+    }
+
+    private void addCandidate(SlowCommand slowCommand) {
+
+        synchronized (candidates) {
+
+            if (candidates.size() < topN) {
+                candidates.add(slowCommand);
+            } else if (slowCommand.getCompletionLatency() > candidates.peek().getCompletionLatency()) {
+                candidates.poll();
+                candidates.add(slowCommand);
+            }
+
+            if (candidates.size() == topN) {
+                candidateLatencyFloor = candidates.peek().getCompletionLatency();
+            }
+        }
+    }
+
+    private void publishElapsedCandidates() {
+
+        long now = clock.getAsLong();
+
+        if (now - intervalEnd < 0) {
+            return;
+        }
+
+        List<SlowCommand> elapsed;
+
+        synchronized (candidates) {
+
+            if (now - intervalEnd < 0) {
+                return;
+            }
+
+            intervalEnd = now + topNInterval;
+            candidateLatencyFloor = -1;
+
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            elapsed = new ArrayList<>(candidates);
+            candidates.clear();
+        }
+
+        elapsed.sort(OLDEST_FIRST);
+
+        for (SlowCommand slowCommand : elapsed) {
+            publish(slowCommand);
+        }
+    }
+
+    private void publish(SlowCommand slowCommand) {
+
+        long index = sequence.getAndIncrement();
+        entries.set((int) (index % entries.length()), slowCommand);
+
+        if (options.recordEvents()) {
+            EventRecorder.getInstance().record(new SlowCommandEvent(slowCommand));
+        }
+    }
+
+    private String getArguments(RedisCommand<?, ?, ?> command) {
+
+        CommandArgs<?, ?> args = command.getArgs();
+
+        if (args == null) {
+            return "";
+        }
+
+        return args.toCommandString(options.maxArgumentLength());
+    }
+
+    @Override
+    public List<SlowCommand> getEntries() {
+
+        if (candidates != null) {
+            publishElapsedCandidates();
+        }
+
+        int capacity = entries.length();
+        long last = sequence.get();
+        long first = Math.max(0, last - capacity);
+
+        List<SlowCommand> result = new ArrayList<>((int) (last - first));
+
+        for (long index = last - 1; index >= first; index--) {
+
+            SlowCommand slowCommand = entries.get((int) (index % capacity));
+
+            if (slowCommand != null) {
+                result.add(slowCommand);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<SlowCommand> getSlowest(int count) {
+
+        LettuceAssert.isTrue(count >= 0, "Count must not be negative");
+
+        List<SlowCommand> result = getEntries();
+        result.sort(SLOWEST_FIRST);
+
+        return result.size() > count ? new ArrayList<>(result.subList(0, count)) : result;
+    }
+
+    @Override
+    public void clear() {
+
+        if (candidates != null) {
+            synchronized (candidates) {
+                candidates.clear();
+                candidateLatencyFloor = -1;
+            }
+        }
+
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.net.SocketAddress;
+import java.util.List;
+
+/**
+ * Health snapshot of a single event loop as measured by {@link EventLoopProbe}.
+ *
+ * @since 7.0
+ */
+public class EventLoopHealth {
+
+    private final String eventLoop;
+
+    private final long schedulingDelay;
+
+    private final int pendingTasks;
+
+    private final double busyRatio;
+
+    private final int registeredChannels;
+
+    private final List<SocketAddress> remoteAddresses;
+
+    public EventLoopHealth(String eventLoop, long schedulingDelay, int pendingTasks, double busyRatio, int registeredChannels,
+            List<SocketAddress> remoteAddresses) {
+        this.eventLoop = eventLoop;
+        this.schedulingDelay = schedulingDelay;
+        this.pendingTasks = pendingTasks;
+        this.busyRatio = busyRatio;
+        this.registeredChannels = registeredChannels;
+        this.remoteAddresses = remoteAddresses;
+    }
+
+    /**
+     *
+     * @return the name of the event loop thread
+     */
+    public String getEventLoop() {
+        return eventLoop;
+    }
+
+    /**
+     *
+     * @return time in {@link java.util.concurrent.TimeUnit#NANOSECONDS} between submitting the probe task and its execution
+     */
+    public long getSchedulingDelay() {
+        return schedulingDelay;
+    }
+
+    /**
+     *
+     * @return number of tasks pending in the event loop queue or {@code -1} if the event loop does not report pending tasks
+     */
+    public int getPendingTasks() {
+        return pendingTasks;
+    }
+
+    /**
+     *
+     * @return ratio of CPU time consumed by the event loop thread since the previous probe to the elapsed time, between
+     *         {@code 0} and {@code 1}, or {@code -1} if not available
+     */
+    public double getBusyRatio() {
+        return busyRatio;
+    }
+
+    /**
+     *
+     * @return number of channels registered with the event loop or {@code -1} if not available
+     */
+    public int getRegisteredChannels() {
+        return registeredChannels;
+    }
+
+    /**
+     *
+     * @return remote addresses of the connections registered with the event loop
+     */
+    public List<SocketAddress> getRemoteAddresses() {
+        return remoteAddresses;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[eventLoop=").append(eventLoop);
+        sb.append(", schedulingDelay=").append(schedulingDelay);
+        sb.append(", pendingTasks=").append(pendingTasks);
+        sb.append(", busyRatio=").append(busyRatio);
+        sb.append(", registeredChannels=").append(registeredChannels);
+        sb.append(", remoteAddresses=").append(remoteAddresses);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.resource.EventLoopGroupProvider;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SingleThreadEventLoop;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+/**
+ * Probe measuring the health of the event loops allocated by an {@link EventLoopGroupProvider}.
+ * <p>
+ * Each {@link #probe()} submits a task to every event loop. The task measures the delay between its submission and its
+ * execution, the number of pending tasks, and the channels registered with the event loop. The busy ratio is the CPU time
+ * consumed by the event loop thread between two probes relative to the elapsed time. Time an event loop spends blocked, for
+ * example on locks, does not count as busy.
+ *
+ * @since 7.0
+ */
+public class EventLoopProbe {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final EventLoopGroupProvider eventLoopGroupProvider;
+
+    private final boolean cpuTimeSupported;
+
+    private final Map<EventExecutor, ProbeState> states = new ConcurrentHashMap<>();
+
+    public EventLoopProbe(EventLoopGroupProvider eventLoopGroupProvider) {
+
+        LettuceAssert.notNull(eventLoopGroupProvider, "EventLoopGroupProvider must not be null");
+
+        this.eventLoopGroupProvider = eventLoopGroupProvider;
+        this.cpuTimeSupported = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+    }
+
+    /**
+     * Probe all event loops. The returned future completes once each event loop has executed its probe task. Event loops
+     * that reject the probe task are omitted.
+     *
+     * @return a future completing with the health of each event loop.
+     */
+    public CompletableFuture<List<EventLoopHealth>> probe() {
+
+        states.keySet().removeIf(EventExecutor::isShuttingDown);
+
+        List<CompletableFuture<EventLoopHealth>> futures = new ArrayList<>();
+
+        for (EventLoopGroup eventLoopGroup : eventLoopGroupProvider.getEventLoopGroups()) {
+            for (EventExecutor executor : eventLoopGroup) {
+                if (!executor.isShuttingDown()) {
+                    futures.add(probe(executor));
+                }
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).handle((v, t) -> {
+
+            List<EventLoopHealth> result = new ArrayList<>(futures.size());
+
+            for (CompletableFuture<EventLoopHealth> future : futures) {
+                if (!future.isCompletedExceptionally()) {
+                    result.add(future.join());
+                }
+            }
+
+            return result;
+        });
+    }
+
+    private CompletableFuture<EventLoopHealth> probe(EventExecutor executor) {
+
+        ProbeState state = states.computeIfAbsent(executor, it -> new ProbeState());
+        CompletableFuture<EventLoopHealth> result = new CompletableFuture<>();
+        long submitted = System.nanoTime();
+
+        try {
+            executor.execute(() -> result.complete(state.probe(executor, submitted)));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Probe state of a single event loop. Only accessed from the event loop thread.
+     */
+    class ProbeState {
+
+        private long lastTime = -1;
+
+        private long lastCpuTime = -1;
+
+        EventLoopHealth probe(EventExecutor executor, long submitted) {
+
+            long now = System.nanoTime();
+            long cpuTime = cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+            double busyRatio = -1;
+
+            if (cpuTime != -1 && lastCpuTime != -1 && now > lastTime) {
+                busyRatio = Math.min(1, (cpuTime - lastCpuTime) / (double) (now - lastTime));
+            }
+
+            lastTime = now;
+            lastCpuTime = cpuTime;
+
+            int pendingTasks = executor instanceof SingleThreadEventExecutor
+                    ? ((SingleThreadEventExecutor) executor).pendingTasks()
+                    : -1;
+
+            int registeredChannels = -1;
+            List<SocketAddress> remoteAddresses = Collections.emptyList();
+
+            if (executor instanceof SingleThreadEventLoop) {
+
+                SingleThreadEventLoop eventLoop = (SingleThreadEventLoop) executor;
+                registeredChannels = eventLoop.registeredChannels();
+                remoteAddresses = getRemoteAddresses(eventLoop);
+            }
+
+            return new EventLoopHealth(Thread.currentThread().getName(), now - submitted, pendingTasks, busyRatio,
+                    registeredChannels, remoteAddresses);
+        }
+
+        private List<SocketAddress> getRemoteAddresses(SingleThreadEventLoop eventLoop) {
+
+            List<SocketAddress> remoteAddresses = new ArrayList<>();
+
+            try {
+
+                Iterator<Channel> iterator = eventLoop.registeredChannelsIterator();
+
+                while (iterator.hasNext()) {
+
+                    SocketAddress remoteAddress = iterator.next().remoteAddress();
+
+                    if (remoteAddress != null) {
+                        remoteAddresses.add(remoteAddress);
+                    }
+                }
+            } catch (UnsupportedOperationException e) {
+                return Collections.emptyList();
+            }
+
+            return remoteAddresses;
+        }
+
+    }
+
+}
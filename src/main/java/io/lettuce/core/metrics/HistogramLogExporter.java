@@ -0,0 +1,193 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import io.lettuce.core.internal.LettuceAssert;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * {@link CommandLatencyHistogramListener} writing the interval histograms of a {@link DefaultCommandLatencyCollector} to
+ * HdrHistogram log files using {@link HistogramLogWriter}. Log files can be analyzed with {@code HistogramLogAnalyzer} or
+ * merged across hosts with {@link org.HdrHistogram.HistogramLogReader}.
+ * <p>
+ * Each retrieval of the collector (typically through the {@link io.lettuce.core.event.metrics.CommandLatencyEvent} publisher)
+ * writes a first response and a completion histogram per connection and command type. Histograms are tagged with
+ * {@code <remote>|<local>|<command type>|firstResponse} respectively {@code |completion}. Values are recorded in
+ * {@link TimeUnit#NANOSECONDS}, maximum values in the log are reported in {@link TimeUnit#MILLISECONDS}. Files are rotated
+ * according to {@link HistogramLogExporterOptions}.
+ *
+ * @since 7.0
+ */
+public class HistogramLogExporter implements CommandLatencyHistogramListener, Closeable {
+
+    static final double MAX_VALUE_UNIT_RATIO = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final String FILE_SUFFIX = ".hlog";
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(HistogramLogExporter.class);
+
+    private final DefaultCommandLatencyCollector collector;
+
+    private final HistogramLogExporterOptions options;
+
+    private final LongSupplier clock;
+
+    private final Deque<Path> files = new ArrayDeque<>();
+
+    private HistogramLogWriter writer;
+
+    private long fileStartTime;
+
+    private boolean closed;
+
+    HistogramLogExporter(DefaultCommandLatencyCollector collector, HistogramLogExporterOptions options, LongSupplier clock) {
+        this.collector = collector;
+        this.options = options;
+        this.clock = clock;
+    }
+
+    /**
+     * Create a new {@link HistogramLogExporter} and register it with the {@link DefaultCommandLatencyCollector}.
+     *
+     * @param collector the collector to export interval histograms from, must not be {@code null}.
+     * @param options must not be {@code null}.
+     * @return the {@link HistogramLogExporter}.
+     */
+    public static HistogramLogExporter create(DefaultCommandLatencyCollector collector, HistogramLogExporterOptions options) {
+
+        LettuceAssert.notNull(collector, "DefaultCommandLatencyCollector must not be null");
+        LettuceAssert.notNull(options, "HistogramLogExporterOptions must not be null");
+
+        HistogramLogExporter exporter = new HistogramLogExporter(collector, options, System::currentTimeMillis);
+        collector.addHistogramListener(exporter);
+
+        return exporter;
+    }
+
+    @Override
+    public synchronized void onIntervalHistograms(CommandLatencyId id, Histogram firstResponse, Histogram completion) {
+
+        if (closed) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+
+        try {
+
+            HistogramLogWriter writer = getWriter(now);
+            String tag = getTag(id);
+
+            write(writer, tag + "firstResponse", firstResponse, now);
+            write(writer, tag + "completion", completion, now);
+        } catch (IOException e) {
+            logger.warn("Cannot write latency histograms to " + options.directory(), e);
+        }
+    }
+
+    private HistogramLogWriter getWriter(long now) throws IOException {
+
+        if (writer != null && now - fileStartTime < options.rotationInterval().toMillis()) {
+            return writer;
+        }
+
+        if (writer != null) {
+            writer.close();
+        }
+
+        Files.createDirectories(options.directory());
+        Path file = options.directory().resolve(
+                options.fileNamePrefix() + "." + TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(now)) + FILE_SUFFIX);
+
+        writer = new HistogramLogWriter(file.toFile());
+        writer.outputLogFormatVersion();
+        writer.outputStartTime(now);
+        writer.setBaseTime(now);
+        writer.outputBaseTime(now);
+        writer.outputLegend();
+
+        fileStartTime = now;
+        files.add(file);
+
+        while (options.maxFiles() > 0 && files.size() > options.maxFiles()) {
+            Files.deleteIfExists(files.poll());
+        }
+
+        return writer;
+    }
+
+    private static String getTag(CommandLatencyId id) {
+
+        String tag = id.remoteAddress() + "|" + id.localAddress() + "|" + id.commandType().name() + "|";
+
+        // tags are comma-delimited in the log format
+        return tag.replace(',', '_').replace(' ', '_');
+    }
+
+    private static void write(HistogramLogWriter writer, String tag, Histogram histogram, long now) {
+
+        long end = histogram.getEndTimeStamp() > 0 ? histogram.getEndTimeStamp() : now;
+        long start = histogram.getStartTimeStamp() <= end ? histogram.getStartTimeStamp() : end;
+
+        histogram.setTag(tag);
+
+        try {
+            writer.outputIntervalHistogram((start - writer.getBaseTime()) / 1000.0, (end - writer.getBaseTime()) / 1000.0,
+                    histogram, MAX_VALUE_UNIT_RATIO);
+        } finally {
+            histogram.setTag(null);
+        }
+    }
+
+    /**
+     * Unregister the exporter from the {@link DefaultCommandLatencyCollector} and close the current log file.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        collector.removeHistogramListener(this);
+
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+}
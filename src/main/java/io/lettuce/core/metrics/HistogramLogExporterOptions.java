@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options for {@link HistogramLogExporter}. Interval histograms are written to files named
+ * {@code <fileNamePrefix>.<timestamp>.hlog} in {@link #directory()}. A new file is started after each
+ * {@link #rotationInterval()} and only the most recent {@link #maxFiles()} files are retained.
+ *
+ * @since 7.0
+ */
+public class HistogramLogExporterOptions {
+
+    public static final Path DEFAULT_DIRECTORY = Paths.get(".");
+
+    public static final String DEFAULT_FILE_NAME_PREFIX = "lettuce-latency";
+
+    public static final int DEFAULT_MAX_FILES = 24;
+
+    public static final Duration DEFAULT_ROTATION_INTERVAL = Duration.ofHours(1);
+
+    private final Path directory;
+
+    private final String fileNamePrefix;
+
+    private final int maxFiles;
+
+    private final Duration rotationInterval;
+
+    protected HistogramLogExporterOptions(Builder builder) {
+        this.directory = builder.directory;
+        this.fileNamePrefix = builder.fileNamePrefix;
+        this.maxFiles = builder.maxFiles;
+        this.rotationInterval = builder.rotationInterval;
+    }
+
+    /**
+     * Create a new {@link HistogramLogExporterOptions} instance using default settings.
+     *
+     * @return a new instance of {@link HistogramLogExporterOptions} instance using default settings
+     */
+    public static HistogramLogExporterOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Returns a new {@link HistogramLogExporterOptions.Builder} to construct {@link HistogramLogExporterOptions}.
+     *
+     * @return a new {@link HistogramLogExporterOptions.Builder} to construct {@link HistogramLogExporterOptions}.
+     */
+    public static HistogramLogExporterOptions.Builder builder() {
+        return new HistogramLogExporterOptions.Builder();
+    }
+
+    /**
+     * Builder for {@link HistogramLogExporterOptions}.
+     */
+    public static class Builder {
+
+        private Path directory = DEFAULT_DIRECTORY;
+
+        private String fileNamePrefix = DEFAULT_FILE_NAME_PREFIX;
+
+        private int maxFiles = DEFAULT_MAX_FILES;
+
+        private Duration rotationInterval = DEFAULT_ROTATION_INTERVAL;
+
+        private Builder() {
+        }
+
+        /**
+         * Directory to write log files to. The directory is created if it does not exist. Defaults to the working directory.
+         * See {@link HistogramLogExporterOptions#DEFAULT_DIRECTORY}.
+         *
+         * @param directory the directory, must not be {@code null}.
+         * @return this {@link Builder}.
+         */
+        public Builder directory(Path directory) {
+
+            LettuceAssert.notNull(directory, "Directory must not be null");
+
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Prefix of log file names. Defaults to {@code lettuce-latency}. See
+         * {@link HistogramLogExporterOptions#DEFAULT_FILE_NAME_PREFIX}.
+         *
+         * @param fileNamePrefix the file name prefix, must not be empty.
+         * @return this {@link Builder}.
+         */
+        public Builder fileNamePrefix(String fileNamePrefix) {
+
+            LettuceAssert.notEmpty(fileNamePrefix, "File name prefix must not be empty");
+
+            this.fileNamePrefix = fileNamePrefix;
+            return this;
+        }
+
+        /**
+         * Number of log files to retain. Older files written by the exporter are deleted on rotation. {@code 0} retains all
+         * files. Defaults to {@code 24}. See {@link HistogramLogExporterOptions#DEFAULT_MAX_FILES}.
+         *
+         * @param maxFiles number of files, must be greater or equal to {@code 0}.
+         * @return this {@link Builder}.
+         */
+        public Builder maxFiles(int maxFiles) {
+
+            LettuceAssert.isTrue(maxFiles >= 0, "Max files must be greater or equal to 0");
+
+            this.maxFiles = maxFiles;
+            return this;
+        }
+
+        /**
+         * Interval after which a new log file is started. Defaults to {@code 1 hour}. See
+         * {@link HistogramLogExporterOptions#DEFAULT_ROTATION_INTERVAL}.
+         *
+         * @param rotationInterval the rotation interval, must not be {@code null} and at least one second.
+         * @return this {@link Builder}.
+         */
+        public Builder rotationInterval(Duration rotationInterval) {
+
+            LettuceAssert.notNull(rotationInterval, "Rotation interval must not be null");
+            LettuceAssert.isTrue(rotationInterval.getSeconds() >= 1, "Rotation interval must be at least one second");
+
+            this.rotationInterval = rotationInterval;
+            return this;
+        }
+
+        /**
+         * @return a new instance of {@link HistogramLogExporterOptions}.
+         */
+        public HistogramLogExporterOptions build() {
+            return new HistogramLogExporterOptions(this);
+        }
+
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public String fileNamePrefix() {
+        return fileNamePrefix;
+    }
+
+    public int maxFiles() {
+        return maxFiles;
+    }
+
+    public Duration rotationInterval() {
+        return rotationInterval;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.nio.ByteBuffer;
+
+import io.lettuce.core.codec.StringCodec;
+
+/**
+ * A frequently used key as reported by {@link HotKeyCollector}. Counts are estimates extrapolated from sampled commands. The
+ * actual count is at least {@code count - error}.
+ *
+ * @since 7.0
+ */
+public class HotKey {
+
+    private final Category category;
+
+    private final byte[] key;
+
+    private final long count;
+
+    private final long error;
+
+    public HotKey(Category category, byte[] key, long count, long error) {
+        this.category = category;
+        this.key = key;
+        this.count = count;
+        this.error = error;
+    }
+
+    /**
+     *
+     * @return the command category
+     */
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     *
+     * @return the encoded key, possibly truncated to {@link HotKeyOptions#maxKeyLength()}.
+     */
+    public ByteBuffer getKey() {
+        return ByteBuffer.wrap(key).asReadOnlyBuffer();
+    }
+
+    /**
+     *
+     * @return the estimated number of commands using the key
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     *
+     * @return the maximum overestimation of {@link #getCount()}
+     */
+    public long getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[category=").append(category);
+        sb.append(", key=").append(StringCodec.UTF8.decodeKey(getKey()));
+        sb.append(", count=").append(count);
+        sb.append(", error=").append(error);
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Command category of a {@link HotKey}.
+     */
+    public enum Category {
+
+        /**
+         * Read-only commands.
+         */
+        READ,
+
+        /**
+         * Commands that may write.
+         */
+        WRITE
+
+    }
+
+}
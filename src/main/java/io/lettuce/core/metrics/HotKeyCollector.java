@@ -0,0 +1,40 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link MetricCollector} for hot keys. Hot keys are the most frequent first keys of sampled commands per remote endpoint and
+ * {@link HotKey.Category command category}.
+ *
+ * @since 7.0
+ */
+public interface HotKeyCollector extends MetricCollector<Map<SocketAddress, List<HotKey>>>, HotKeyRecorder {
+
+    /**
+     * Creates a new {@link HotKeyCollector} using {@link HotKeyOptions}.
+     *
+     * @param options must not be {@code null}.
+     * @return the {@link HotKeyCollector} using {@link HotKeyOptions}.
+     */
+    static HotKeyCollector create(HotKeyOptions options) {
+        return new DefaultHotKeyCollector(options);
+    }
+
+}
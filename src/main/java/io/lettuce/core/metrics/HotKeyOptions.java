@@ -0,0 +1,168 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options for {@link HotKeyCollector}. Hot key detection samples written commands and feeds their first key into a bounded
+ * Space-Saving sketch per remote endpoint and {@link HotKey.Category command category}.
+ *
+ * @since 7.0
+ */
+public class HotKeyOptions {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    public static final int DEFAULT_MAX_KEY_LENGTH = 256;
+
+    public static final boolean DEFAULT_RESET_AFTER_RETRIEVAL = true;
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+    private final int capacity;
+
+    private final int maxKeyLength;
+
+    private final boolean resetAfterRetrieval;
+
+    private final int sampleInterval;
+
+    protected HotKeyOptions(Builder builder) {
+        this.capacity = builder.capacity;
+        this.maxKeyLength = builder.maxKeyLength;
+        this.resetAfterRetrieval = builder.resetAfterRetrieval;
+        this.sampleInterval = builder.sampleInterval;
+    }
+
+    /**
+     * Create a new {@link HotKeyOptions} instance using default settings.
+     *
+     * @return a new instance of {@link HotKeyOptions} instance using default settings
+     */
+    public static HotKeyOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Returns a new {@link HotKeyOptions.Builder} to construct {@link HotKeyOptions}.
+     *
+     * @return a new {@link HotKeyOptions.Builder} to construct {@link HotKeyOptions}.
+     */
+    public static HotKeyOptions.Builder builder() {
+        return new HotKeyOptions.Builder();
+    }
+
+    /**
+     * Builder for {@link HotKeyOptions}.
+     */
+    public static class Builder {
+
+        private int capacity = DEFAULT_CAPACITY;
+
+        private int maxKeyLength = DEFAULT_MAX_KEY_LENGTH;
+
+        private boolean resetAfterRetrieval = DEFAULT_RESET_AFTER_RETRIEVAL;
+
+        private int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+
+        private Builder() {
+        }
+
+        /**
+         * Number of counters per endpoint and command category. Keys whose frequency exceeds {@code 1/capacity} of the
+         * sampled commands are guaranteed to be tracked. Defaults to {@code 64}. See {@link HotKeyOptions#DEFAULT_CAPACITY}.
+         *
+         * @param capacity number of counters, must be greater than zero.
+         * @return this {@link Builder}.
+         */
+        public Builder capacity(int capacity) {
+
+            LettuceAssert.isTrue(capacity > 0, "Capacity must be greater than zero");
+
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Maximum number of key bytes to retain. Longer keys are truncated to bound the sketch memory. Defaults to {@code 256}.
+         * See {@link HotKeyOptions#DEFAULT_MAX_KEY_LENGTH}.
+         *
+         * @param maxKeyLength maximum key length in bytes, must be greater than zero.
+         * @return this {@link Builder}.
+         */
+        public Builder maxKeyLength(int maxKeyLength) {
+
+            LettuceAssert.isTrue(maxKeyLength > 0, "Max key length must be greater than zero");
+
+            this.maxKeyLength = maxKeyLength;
+            return this;
+        }
+
+        /**
+         * Reset the sketches after retrieving hot keys. Defaults to {@code true}. See
+         * {@link HotKeyOptions#DEFAULT_RESET_AFTER_RETRIEVAL}.
+         *
+         * @param resetAfterRetrieval {@code true} to reset the sketches after retrieval.
+         * @return this {@link Builder}.
+         */
+        public Builder resetAfterRetrieval(boolean resetAfterRetrieval) {
+            this.resetAfterRetrieval = resetAfterRetrieval;
+            return this;
+        }
+
+        /**
+         * Sample one out of {@code sampleInterval} commands. The interval is rounded up to the next power of two. Defaults to
+         * {@code 64}. See {@link HotKeyOptions#DEFAULT_SAMPLE_INTERVAL}.
+         *
+         * @param sampleInterval the sample interval, must be greater than zero.
+         * @return this {@link Builder}.
+         */
+        public Builder sampleInterval(int sampleInterval) {
+
+            LettuceAssert.isTrue(sampleInterval > 0 && sampleInterval <= 1 << 30,
+                    "Sample interval must be between 1 and 2^30");
+
+            this.sampleInterval = sampleInterval;
+            return this;
+        }
+
+        /**
+         * @return a new instance of {@link HotKeyOptions}.
+         */
+        public HotKeyOptions build() {
+            return new HotKeyOptions(this);
+        }
+
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int maxKeyLength() {
+        return maxKeyLength;
+    }
+
+    public boolean resetAfterRetrieval() {
+        return resetAfterRetrieval;
+    }
+
+    public int sampleInterval() {
+        return sampleInterval;
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.net.SocketAddress;
+
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * Interface defining a method to record keys of written commands for hot key detection. Keys are recorded per remote
+ * endpoint.
+ *
+ * @since 7.0
+ * @see HotKeyCollector
+ */
+@FunctionalInterface
+public interface HotKeyRecorder {
+
+    /**
+     * Returns a disabled no-op {@link HotKeyRecorder}.
+     *
+     * @return a disabled {@link HotKeyRecorder}.
+     */
+    static HotKeyRecorder disabled() {
+
+        return new HotKeyRecorder() {
+
+            @Override
+            public void recordCommand(SocketAddress remote, RedisCommand<?, ?, ?> command) {
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+
+        };
+    }
+
+    /**
+     * Record a command written to {@code remote}. Implementations may sample commands and should return quickly as this
+     * method is called on the I/O thread.
+     *
+     * @param remote the remote address
+     * @param command the command
+     */
+    void recordCommand(SocketAddress remote, RedisCommand<?, ?, ?> command);
+
+    /**
+     * Returns {@code true} if the recorder is enabled.
+     *
+     * @return {@code true} if the recorder is enabled
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+}
@@ -16,13 +16,16 @@
 package io.lettuce.core.metrics;
 
 import java.net.SocketAddress;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.protocol.CommandType;
 import io.lettuce.core.protocol.ProtocolKeyword;
 import io.lettuce.core.protocol.RedisCommand;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.netty.channel.local.LocalAddress;
@@ -45,6 +48,12 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
 
     static final String METRIC_FIRST_RESPONSE = "lettuce.command.firstresponse";
 
+    static final String METRIC_REQUEST_SIZE = "lettuce.command.request.size";
+
+    static final String METRIC_REPLY_SIZE = "lettuce.command.reply.size";
+
+    private static final CommandType[] COMMAND_TYPES = CommandType.values();
+
     private final MeterRegistry meterRegistry;
 
     private final MicrometerOptions options;
@@ -53,6 +62,10 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
 
     private final Map<CommandLatencyId, Timer> firstResponseTimers = new ConcurrentHashMap<>();
 
+    private final Map<CommandLatencyId, DistributionSummary> requestSizeSummaries = new ConcurrentHashMap<>();
+
+    private final Map<CommandLatencyId, DistributionSummary> replySizeSummaries = new ConcurrentHashMap<>();
+
     /**
      * Create a new {@link MicrometerCommandLatencyRecorder} instance given {@link MeterRegistry} and {@link MicrometerOptions}.
      *
@@ -87,11 +100,76 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
 
         CommandLatencyId commandLatencyId = createId(local, remote, commandType);
 
-        Timer firstResponseTimer = firstResponseTimers.computeIfAbsent(commandLatencyId, this::firstResponseTimer);
-        firstResponseTimer.record(firstResponseLatency, TimeUnit.NANOSECONDS);
+        getFirstResponseTimer(commandLatencyId).record(firstResponseLatency, TimeUnit.NANOSECONDS);
+        getCompletionTimer(commandLatencyId).record(completionLatency, TimeUnit.NANOSECONDS);
+    }
 
-        Timer completionTimer = completionTimers.computeIfAbsent(commandLatencyId, this::completionTimer);
-        completionTimer.record(completionLatency, TimeUnit.NANOSECONDS);
+    /**
+     * Record the command request and reply size if {@link MicrometerOptions#isCommandSizes() command sizes} are enabled.
+     *
+     * @param local the local address
+     * @param remote the remote address
+     * @param redisCommand the command
+     * @param requestSize number of bytes of the encoded command
+     * @param replySize number of bytes of the decoded reply
+     * @since 7.0
+     */
+    @Override
+    public void recordCommandSize(SocketAddress local, SocketAddress remote, RedisCommand<?, ?, ?> redisCommand,
+            long requestSize, long replySize) {
+
+        if (isEnabled() && options.isCommandSizes() && isCommandEnabled(redisCommand)) {
+            recordCommandSize(local, remote, redisCommand.getType(), requestSize, replySize);
+        }
+    }
+
+    @Override
+    public void recordCommandSize(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType, long requestSize,
+            long replySize) {
+
+        if (!isEnabled() || !options.isCommandSizes()) {
+            return;
+        }
+
+        CommandLatencyId commandLatencyId = createId(local, remote, commandType);
+
+        getRequestSizeSummary(commandLatencyId).record(requestSize);
+        getReplySizeSummary(commandLatencyId).record(replySize);
+    }
+
+    private Timer getFirstResponseTimer(CommandLatencyId commandLatencyId) {
+        return firstResponseTimers.computeIfAbsent(commandLatencyId, this::firstResponseTimer);
+    }
+
+    private Timer getCompletionTimer(CommandLatencyId commandLatencyId) {
+        return completionTimers.computeIfAbsent(commandLatencyId, this::completionTimer);
+    }
+
+    private DistributionSummary getRequestSizeSummary(CommandLatencyId commandLatencyId) {
+        return requestSizeSummaries.computeIfAbsent(commandLatencyId, this::requestSizeSummary);
+    }
+
+    private DistributionSummary getReplySizeSummary(CommandLatencyId commandLatencyId) {
+        return replySizeSummaries.computeIfAbsent(commandLatencyId, this::replySizeSummary);
+    }
+
+    /**
+     * Returns a {@link CommandLatencyRecorder} that resolves timers once per command type if
+     * {@link MicrometerOptions#isBindMeters() meter binding} is enabled.
+     *
+     * @param local the local address
+     * @param remote the remote address
+     * @return the {@link CommandLatencyRecorder} to use for the connection.
+     * @since 7.0
+     */
+    @Override
+    public CommandLatencyRecorder bind(SocketAddress local, SocketAddress remote) {
+
+        if (!isEnabled() || !options.isBindMeters()) {
+            return this;
+        }
+
+        return new BoundCommandLatencyRecorder(local, remote);
     }
 
     @Override
@@ -115,10 +193,7 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
                 .tag(LABEL_LOCAL, commandLatencyId.localAddress().toString())
                 .tag(LABEL_REMOTE, commandLatencyId.remoteAddress().toString()).tags(options.tags());
 
-        if (options.isHistogram()) {
-            timer.publishPercentileHistogram().publishPercentiles(options.targetPercentiles())
-                    .minimumExpectedValue(options.minLatency()).maximumExpectedValue(options.maxLatency());
-        }
+        configureDistribution(timer);
 
         return timer.register(meterRegistry);
     }
@@ -131,12 +206,148 @@ public class MicrometerCommandLatencyRecorder implements CommandLatencyRecorder
                 .tag(LABEL_LOCAL, commandLatencyId.localAddress().toString())
                 .tag(LABEL_REMOTE, commandLatencyId.remoteAddress().toString()).tags(options.tags());
 
+        configureDistribution(timer);
+
+        return timer.register(meterRegistry);
+    }
+
+    protected DistributionSummary requestSizeSummary(CommandLatencyId commandLatencyId) {
+        return sizeSummary(METRIC_REQUEST_SIZE, "Size of the encoded command", commandLatencyId);
+    }
+
+    protected DistributionSummary replySizeSummary(CommandLatencyId commandLatencyId) {
+        return sizeSummary(METRIC_REPLY_SIZE, "Size of the decoded command reply", commandLatencyId);
+    }
+
+    private DistributionSummary sizeSummary(String name, String description, CommandLatencyId commandLatencyId) {
+
+        DistributionSummary.Builder summary = DistributionSummary.builder(name).description(description).baseUnit("bytes")
+                .tag(LABEL_COMMAND, commandLatencyId.commandType().name())
+                .tag(LABEL_LOCAL, commandLatencyId.localAddress().toString())
+                .tag(LABEL_REMOTE, commandLatencyId.remoteAddress().toString()).tags(options.tags());
+
+        if (options.isHistogram()) {
+            summary.publishPercentileHistogram().publishPercentiles(options.targetPercentiles());
+        }
+
+        return summary.register(meterRegistry);
+    }
+
+    private void configureDistribution(Timer.Builder timer) {
+
         if (options.isHistogram()) {
             timer.publishPercentileHistogram().publishPercentiles(options.targetPercentiles())
                     .minimumExpectedValue(options.minLatency()).maximumExpectedValue(options.maxLatency());
         }
 
-        return timer.register(meterRegistry);
+        Duration[] serviceLevelObjectives = options.serviceLevelObjectives();
+        if (serviceLevelObjectives.length != 0) {
+            timer.serviceLevelObjectives(serviceLevelObjectives);
+        }
+    }
+
+    /**
+     * {@link CommandLatencyRecorder} bound to a connection. Timers of {@link CommandType command types} are held in arrays
+     * indexed by the command type ordinal and resolved on first use.
+     */
+    class BoundCommandLatencyRecorder implements CommandLatencyRecorder {
+
+        private final SocketAddress local;
+
+        private final SocketAddress remote;
+
+        private final Timer[] firstResponseTimers = new Timer[COMMAND_TYPES.length];
+
+        private final Timer[] completionTimers = new Timer[COMMAND_TYPES.length];
+
+        private final DistributionSummary[] requestSizeSummaries = new DistributionSummary[COMMAND_TYPES.length];
+
+        private final DistributionSummary[] replySizeSummaries = new DistributionSummary[COMMAND_TYPES.length];
+
+        BoundCommandLatencyRecorder(SocketAddress local, SocketAddress remote) {
+            this.local = local;
+            this.remote = remote;
+        }
+
+        @Override
+        public void recordCommandLatency(SocketAddress local, SocketAddress remote, RedisCommand<?, ?, ?> redisCommand,
+                long firstResponseLatency, long completionLatency) {
+
+            if (isCommandEnabled(redisCommand)) {
+                recordCommandLatency(local, remote, redisCommand.getType(), firstResponseLatency, completionLatency);
+            }
+        }
+
+        @Override
+        public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+                long firstResponseLatency, long completionLatency) {
+
+            if (!(commandType instanceof CommandType)) {
+                MicrometerCommandLatencyRecorder.this.recordCommandLatency(this.local, this.remote, commandType,
+                        firstResponseLatency, completionLatency);
+                return;
+            }
+
+            int index = ((CommandType) commandType).ordinal();
+            Timer firstResponseTimer = firstResponseTimers[index];
+            Timer completionTimer = completionTimers[index];
+
+            if (firstResponseTimer == null || completionTimer == null) {
+
+                CommandLatencyId commandLatencyId = createId(this.local, this.remote, commandType);
+
+                firstResponseTimer = firstResponseTimers[index] = getFirstResponseTimer(commandLatencyId);
+                completionTimer = completionTimers[index] = getCompletionTimer(commandLatencyId);
+            }
+
+            firstResponseTimer.record(firstResponseLatency, TimeUnit.NANOSECONDS);
+            completionTimer.record(completionLatency, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void recordCommandSize(SocketAddress local, SocketAddress remote, RedisCommand<?, ?, ?> redisCommand,
+                long requestSize, long replySize) {
+
+            if (options.isCommandSizes() && isCommandEnabled(redisCommand)) {
+                recordCommandSize(local, remote, redisCommand.getType(), requestSize, replySize);
+            }
+        }
+
+        @Override
+        public void recordCommandSize(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+                long requestSize, long replySize) {
+
+            if (!options.isCommandSizes()) {
+                return;
+            }
+
+            if (!(commandType instanceof CommandType)) {
+                MicrometerCommandLatencyRecorder.this.recordCommandSize(this.local, this.remote, commandType, requestSize,
+                        replySize);
+                return;
+            }
+
+            int index = ((CommandType) commandType).ordinal();
+            DistributionSummary requestSizeSummary = requestSizeSummaries[index];
+            DistributionSummary replySizeSummary = replySizeSummaries[index];
+
+            if (requestSizeSummary == null || replySizeSummary == null) {
+
+                CommandLatencyId commandLatencyId = createId(this.local, this.remote, commandType);
+
+                requestSizeSummary = requestSizeSummaries[index] = getRequestSizeSummary(commandLatencyId);
+                replySizeSummary = replySizeSummaries[index] = getReplySizeSummary(commandLatencyId);
+            }
+
+            requestSizeSummary.record(requestSize);
+            replySizeSummary.record(replySize);
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return MicrometerCommandLatencyRecorder.this.isEnabled();
+        }
+
     }
 
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.internal.LettuceAssert;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Micrometer {@link MeterBinder} exposing {@link ConnectionMetrics} of a single connection as gauges and function timers.
+ *
+ * @since 7.0
+ */
+public class MicrometerConnectionMetrics implements MeterBinder {
+
+    static final String LABEL_NODE = "node";
+
+    static final String METRIC_BUFFERED = "lettuce.connection.buffered";
+
+    static final String METRIC_DISCONNECTED_BUFFERED = "lettuce.connection.disconnected.buffered";
+
+    static final String METRIC_PENDING_WRITES = "lettuce.connection.pending.writes";
+
+    static final String METRIC_PENDING_REPLIES = "lettuce.connection.pending.replies";
+
+    static final String METRIC_PENDING_OUTBOUND = "lettuce.connection.pending.outbound";
+
+    static final String METRIC_QUEUE = "lettuce.connection.queue";
+
+    static final String METRIC_REPLY = "lettuce.connection.reply";
+
+    private final ConnectionMetrics metrics;
+
+    private final Tags tags;
+
+    /**
+     * Create a new {@link MicrometerConnectionMetrics} instance given {@link ConnectionMetrics} and {@link Tag tags}.
+     *
+     * @param metrics the connection metrics.
+     * @param tags tags to apply to all meters.
+     */
+    public MicrometerConnectionMetrics(ConnectionMetrics metrics, Iterable<Tag> tags) {
+
+        LettuceAssert.notNull(metrics, "ConnectionMetrics must not be null");
+        LettuceAssert.notNull(tags, "Tags must not be null");
+
+        this.metrics = metrics;
+        this.tags = Tags.of(tags);
+    }
+
+    /**
+     * Create a new {@link MicrometerConnectionMetrics} instance for a {@link StatefulConnection}.
+     *
+     * @param connection the connection.
+     * @param tags tags to apply to all meters.
+     * @return the {@link MicrometerConnectionMetrics}.
+     * @throws IllegalArgumentException if the connection does not expose {@link ConnectionMetrics}.
+     */
+    public static MicrometerConnectionMetrics create(StatefulConnection<?, ?> connection, Iterable<Tag> tags) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+
+        ConnectionMetrics metrics = ConnectionMetrics.of(connection);
+        LettuceAssert.isTrue(metrics != null, "Connection does not expose ConnectionMetrics");
+
+        return new MicrometerConnectionMetrics(metrics, tags);
+    }
+
+    /**
+     * Create {@link MicrometerConnectionMetrics} for each node known to the {@link StatefulRedisClusterConnection}. Meters
+     * are tagged with the node Id. Obtaining node metrics connects to nodes that are not yet connected. Nodes that join the
+     * cluster later are not considered.
+     *
+     * @param connection the cluster connection.
+     * @param tags tags to apply to all meters.
+     * @return the {@link MicrometerConnectionMetrics} per cluster node.
+     */
+    public static List<MicrometerConnectionMetrics> create(StatefulRedisClusterConnection<?, ?> connection,
+            Iterable<Tag> tags) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+
+        List<MicrometerConnectionMetrics> result = new ArrayList<>();
+
+        for (RedisClusterNode node : connection.getPartitions()) {
+
+            ConnectionMetrics metrics = ConnectionMetrics.of(connection.getConnection(node.getNodeId()));
+
+            if (metrics != null) {
+                result.add(new MicrometerConnectionMetrics(metrics, Tags.of(tags).and(LABEL_NODE, node.getNodeId())));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        Gauge.builder(METRIC_BUFFERED, metrics, ConnectionMetrics::getBufferedCommands)
+                .description("Number of commands buffered while auto-flushing is disabled").tags(tags).register(registry);
+
+        Gauge.builder(METRIC_DISCONNECTED_BUFFERED, metrics, ConnectionMetrics::getDisconnectedBufferedCommands)
+                .description("Number of commands buffered while disconnected").tags(tags).register(registry);
+
+        Gauge.builder(METRIC_PENDING_WRITES, metrics, ConnectionMetrics::getPendingWrites)
+                .description("Number of commands awaiting write completion").tags(tags).register(registry);
+
+        Gauge.builder(METRIC_PENDING_REPLIES, metrics, ConnectionMetrics::getPendingReplies)
+                .description("Number of commands awaiting their response").tags(tags).register(registry);
+
+        Gauge.builder(METRIC_PENDING_OUTBOUND, metrics, ConnectionMetrics::getPendingOutboundBytes)
+                .description("Number of bytes pending in the channel outbound buffer").baseUnit("bytes").tags(tags)
+                .register(registry);
+
+        FunctionTimer.builder(METRIC_QUEUE, metrics, ConnectionMetrics::getWrittenCommands,
+                ConnectionMetrics::getTotalQueueTime, TimeUnit.NANOSECONDS)
+                .description("Time commands spent queued until write completion").tags(tags).register(registry);
+
+        FunctionTimer.builder(METRIC_REPLY, metrics, ConnectionMetrics::getRepliedCommands,
+                ConnectionMetrics::getTotalReplyTime, TimeUnit.NANOSECONDS)
+                .description("Time written commands spent awaiting their response").tags(tags).register(registry);
+    }
+
+}
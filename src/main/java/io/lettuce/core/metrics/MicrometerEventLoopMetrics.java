@@ -0,0 +1,142 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.event.metrics.EventLoopHealthEvent;
+import io.lettuce.core.internal.LettuceAssert;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.Disposable;
+
+/**
+ * Micrometer {@link MeterBinder} exposing {@link EventLoopHealthEvent}s published on the {@link EventBus} as meters tagged with
+ * the event loop name. Meters are registered when an event loop is reported for the first time. Event loop health events are
+ * published if {@link io.lettuce.core.resource.ClientResources#eventLoopHealthPublisherOptions()} define an emit interval.
+ *
+ * @since 7.0
+ */
+public class MicrometerEventLoopMetrics implements MeterBinder, AutoCloseable {
+
+    static final String LABEL_EVENT_LOOP = "eventLoop";
+
+    static final String METRIC_SCHEDULING_DELAY = "lettuce.eventloop.scheduling.delay";
+
+    static final String METRIC_PENDING_TASKS = "lettuce.eventloop.pending.tasks";
+
+    static final String METRIC_BUSY_RATIO = "lettuce.eventloop.busy.ratio";
+
+    static final String METRIC_CHANNELS = "lettuce.eventloop.channels";
+
+    private final EventBus eventBus;
+
+    private final Tags tags;
+
+    private final Map<String, EventLoopMeters> meters = new ConcurrentHashMap<>();
+
+    private volatile Disposable subscription;
+
+    /**
+     * Create a new {@link MicrometerEventLoopMetrics} instance given {@link EventBus} and {@link Tag tags}.
+     *
+     * @param eventBus the event bus.
+     * @param tags tags to apply to all meters.
+     */
+    public MicrometerEventLoopMetrics(EventBus eventBus, Iterable<Tag> tags) {
+
+        LettuceAssert.notNull(eventBus, "EventBus must not be null");
+        LettuceAssert.notNull(tags, "Tags must not be null");
+
+        this.eventBus = eventBus;
+        this.tags = Tags.of(tags);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        LettuceAssert.isTrue(subscription == null, "MicrometerEventLoopMetrics is already bound");
+
+        subscription = eventBus.get().filter(EventLoopHealthEvent.class::isInstance).cast(EventLoopHealthEvent.class)
+                .subscribe(event -> record(registry, event));
+    }
+
+    void record(MeterRegistry registry, EventLoopHealthEvent event) {
+
+        for (EventLoopHealth health : event.getEventLoops()) {
+            meters.computeIfAbsent(health.getEventLoop(), it -> new EventLoopMeters(registry, health)).record(health);
+        }
+    }
+
+    /**
+     * Stop listening to {@link EventLoopHealthEvent}s. Registered meters remain in the registry.
+     */
+    @Override
+    public void close() {
+
+        Disposable subscription = this.subscription;
+
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Meters of a single event loop.
+     */
+    class EventLoopMeters {
+
+        private final Timer schedulingDelay;
+
+        private volatile EventLoopHealth health;
+
+        EventLoopMeters(MeterRegistry registry, EventLoopHealth health) {
+
+            Tags eventLoopTags = tags.and(LABEL_EVENT_LOOP, health.getEventLoop());
+
+            this.health = health;
+
+            this.schedulingDelay = Timer.builder(METRIC_SCHEDULING_DELAY)
+                    .description("Delay between submitting a probe task to the event loop and its execution")
+                    .tags(eventLoopTags).register(registry);
+
+            Gauge.builder(METRIC_PENDING_TASKS, this, it -> it.health.getPendingTasks())
+                    .description("Number of tasks pending in the event loop queue").tags(eventLoopTags).register(registry);
+
+            Gauge.builder(METRIC_BUSY_RATIO, this, it -> it.health.getBusyRatio())
+                    .description("Ratio of CPU time consumed by the event loop thread").tags(eventLoopTags)
+                    .register(registry);
+
+            Gauge.builder(METRIC_CHANNELS, this, it -> it.health.getRegisteredChannels())
+                    .description("Number of channels registered with the event loop").tags(eventLoopTags).register(registry);
+        }
+
+        void record(EventLoopHealth health) {
+
+            this.health = health;
+            schedulingDelay.record(health.getSchedulingDelay(), TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+}
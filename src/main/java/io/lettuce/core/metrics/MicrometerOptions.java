@@ -35,6 +35,10 @@ import io.micrometer.core.instrument.Tags;
  */
 public class MicrometerOptions {
 
+    public static final boolean DEFAULT_BIND_METERS = false;
+
+    public static final boolean DEFAULT_COMMAND_SIZES = false;
+
     public static final boolean DEFAULT_ENABLED = true;
 
     public static final boolean DEFAULT_HISTOGRAM = false;
@@ -51,6 +55,10 @@ public class MicrometerOptions {
 
     private final Builder builder;
 
+    private final boolean bindMeters;
+
+    private final boolean commandSizes;
+
     private final boolean enabled;
 
     private final boolean histogram;
@@ -63,6 +71,8 @@ public class MicrometerOptions {
 
     private final Predicate<RedisCommand<?, ?, ?>> metricsFilter;
 
+    private final Duration[] serviceLevelObjectives;
+
     private final Tags tags;
 
     private final double[] targetPercentiles;
@@ -70,12 +80,15 @@ public class MicrometerOptions {
     protected MicrometerOptions(Builder builder) {
 
         this.builder = builder;
+        this.bindMeters = builder.bindMeters;
+        this.commandSizes = builder.commandSizes;
         this.enabled = builder.enabled;
         this.histogram = builder.histogram;
         this.localDistinction = builder.localDistinction;
         this.metricsFilter = builder.metricsFilter;
         this.maxLatency = builder.maxLatency;
         this.minLatency = builder.minLatency;
+        this.serviceLevelObjectives = builder.serviceLevelObjectives;
         this.tags = builder.tags;
         this.targetPercentiles = builder.targetPercentiles;
     }
@@ -123,6 +136,10 @@ public class MicrometerOptions {
      */
     public static class Builder {
 
+        private boolean bindMeters = DEFAULT_BIND_METERS;
+
+        private boolean commandSizes = DEFAULT_COMMAND_SIZES;
+
         private boolean enabled = DEFAULT_ENABLED;
 
         private boolean histogram = DEFAULT_HISTOGRAM;
@@ -135,6 +152,8 @@ public class MicrometerOptions {
 
         private Duration minLatency = DEFAULT_MIN_LATENCY;
 
+        private Duration[] serviceLevelObjectives = new Duration[0];
+
         private Tags tags = Tags.empty();
 
         private double[] targetPercentiles = DEFAULT_TARGET_PERCENTILES;
@@ -142,6 +161,33 @@ public class MicrometerOptions {
         private Builder() {
         }
 
+        /**
+         * Bind meters to connections. If {@code true}, each connection resolves its timers once per command type and records
+         * latencies without looking up meters for each command. Timers are shared between connections with the same tags.
+         * Defaults to {@code false}. See {@link MicrometerOptions#DEFAULT_BIND_METERS}.
+         *
+         * @param bindMeters {@code true} to bind meters to connections.
+         * @return this {@link Builder}.
+         * @since 7.0
+         */
+        public Builder bindMeters(boolean bindMeters) {
+            this.bindMeters = bindMeters;
+            return this;
+        }
+
+        /**
+         * Record encoded request sizes and decoded reply sizes per command as distribution summaries. Defaults to
+         * {@code false}. See {@link MicrometerOptions#DEFAULT_COMMAND_SIZES}.
+         *
+         * @param commandSizes {@code true} to record command sizes.
+         * @return this {@link Builder}.
+         * @since 7.0
+         */
+        public Builder commandSizes(boolean commandSizes) {
+            this.commandSizes = commandSizes;
+            return this;
+        }
+
         /**
          * Disable the latency collector.
          *
@@ -257,6 +303,24 @@ public class MicrometerOptions {
             return this;
         }
 
+        /**
+         * Sets service level objectives to publish as fixed histogram buckets. Fixed buckets are cheaper to record and to ship
+         * than {@link #histogram(boolean) percentile histograms}. Service level objectives are published regardless of whether
+         * the percentile histogram is enabled. Defaults to no service level objectives.
+         *
+         * @param serviceLevelObjectives the bucket boundaries, must not be {@code null}.
+         * @return this {@link Builder}.
+         * @since 7.0
+         */
+        public Builder serviceLevelObjectives(Duration... serviceLevelObjectives) {
+
+            LettuceAssert.notNull(serviceLevelObjectives, "Service level objectives must not be null");
+            LettuceAssert.noNullElements(serviceLevelObjectives, "Service level objectives must not contain null elements");
+
+            this.serviceLevelObjectives = serviceLevelObjectives.clone();
+            return this;
+        }
+
         /**
          * Extra tags to add to the generated metrics. Defaults to {@code Tags.empty()}.
          *
@@ -292,6 +356,14 @@ public class MicrometerOptions {
 
     }
 
+    public boolean isBindMeters() {
+        return bindMeters;
+    }
+
+    public boolean isCommandSizes() {
+        return commandSizes;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -316,6 +388,10 @@ public class MicrometerOptions {
         return minLatency;
     }
 
+    public Duration[] serviceLevelObjectives() {
+        return serviceLevelObjectives.clone();
+    }
+
     public Tags tags() {
         return tags;
     }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.net.SocketAddress;
+
+import io.lettuce.core.protocol.ProtocolKeyword;
+
+/**
+ * A command captured by {@link SlowCommandLog}. Times are reported in {@link java.util.concurrent.TimeUnit#NANOSECONDS}.
+ *
+ * @since 7.0
+ */
+public class SlowCommand {
+
+    private final long timestamp;
+
+    private final SocketAddress remote;
+
+    private final ProtocolKeyword commandType;
+
+    private final String arguments;
+
+    private final long queueTime;
+
+    private final long firstResponseLatency;
+
+    private final long completionLatency;
+
+    private final long requestSize;
+
+    private final long replySize;
+
+    public SlowCommand(long timestamp, SocketAddress remote, ProtocolKeyword commandType, String arguments, long queueTime,
+            long firstResponseLatency, long completionLatency, long requestSize, long replySize) {
+        this.timestamp = timestamp;
+        this.remote = remote;
+        this.commandType = commandType;
+        this.arguments = arguments;
+        this.queueTime = queueTime;
+        this.firstResponseLatency = firstResponseLatency;
+        this.completionLatency = completionLatency;
+        this.requestSize = requestSize;
+        this.replySize = replySize;
+    }
+
+    /**
+     *
+     * @return the completion time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     *
+     * @return the remote address
+     */
+    public SocketAddress getRemote() {
+        return remote;
+    }
+
+    /**
+     *
+     * @return the command type
+     */
+    public ProtocolKeyword getCommandType() {
+        return commandType;
+    }
+
+    /**
+     *
+     * @return the command arguments, possibly truncated to {@link SlowCommandLogOptions#maxArgumentLength()}
+     */
+    public String getArguments() {
+        return arguments;
+    }
+
+    /**
+     *
+     * @return time from the connection accepting the command until the transport completed writing it, including time spent
+     *         in command buffers
+     */
+    public long getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     *
+     * @return latency from send to the first response
+     */
+    public long getFirstResponseLatency() {
+        return firstResponseLatency;
+    }
+
+    /**
+     *
+     * @return latency from send to the command completion
+     */
+    public long getCompletionLatency() {
+        return completionLatency;
+    }
+
+    /**
+     *
+     * @return number of bytes of the encoded command
+     */
+    public long getRequestSize() {
+        return requestSize;
+    }
+
+    /**
+     *
+     * @return number of bytes of the decoded reply
+     */
+    public long getReplySize() {
+        return replySize;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[timestamp=").append(timestamp);
+        sb.append(", remote=").append(remote);
+        sb.append(", commandType=").append(commandType);
+        sb.append(", arguments=").append(arguments);
+        sb.append(", queueTime=").append(queueTime);
+        sb.append(", firstResponseLatency=").append(firstResponseLatency);
+        sb.append(", completionLatency=").append(completionLatency);
+        sb.append(", requestSize=").append(requestSize);
+        sb.append(", replySize=").append(replySize);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.util.List;
+
+/**
+ * {@link SlowCommandRecorder} that retains commands exceeding a latency threshold in a fixed-size ring buffer. Older entries
+ * are overwritten once the buffer is full.
+ *
+ * @since 7.0
+ * @see SlowCommandLogOptions
+ */
+public interface SlowCommandLog extends SlowCommandRecorder {
+
+    /**
+     * Creates a new {@link SlowCommandLog} using {@link SlowCommandLogOptions}.
+     *
+     * @param options must not be {@code null}.
+     * @return the {@link SlowCommandLog} using {@link SlowCommandLogOptions}.
+     */
+    static SlowCommandLog create(SlowCommandLogOptions options) {
+        return new DefaultSlowCommandLog(options);
+    }
+
+    /**
+     * Returns the retained slow commands, most recent first.
+     *
+     * @return the retained slow commands.
+     */
+    List<SlowCommand> getEntries();
+
+    /**
+     * Returns up to {@code count} retained slow commands ordered by their completion latency, slowest first.
+     *
+     * @param count maximum number of entries to return.
+     * @return the slowest retained commands.
+     */
+    List<SlowCommand> getSlowest(int count);
+
+    /**
+     * Remove all retained entries.
+     */
+    void clear();
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.time.Duration;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options for {@link SlowCommandLog}. Commands whose client-observed completion latency exceeds the {@link #threshold()} are
+ * captured into a ring buffer of {@link #capacity()} entries.
+ *
+ * @since 7.0
+ */
+public class SlowCommandLogOptions {
+
+    public static final int DEFAULT_CAPACITY = 128;
+
+    public static final int DEFAULT_MAX_ARGUMENT_LENGTH = 256;
+
+    public static final boolean DEFAULT_RECORD_EVENTS = true;
+
+    public static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(10);
+
+    public static final int DEFAULT_TOP_N = 0;
+
+    public static final Duration DEFAULT_TOP_N_INTERVAL = Duration.ofMinutes(1);
+
+    private final int capacity;
+
+    private final int maxArgumentLength;
+
+    private final boolean recordEvents;
+
+    private final Duration threshold;
+
+    private final int topN;
+
+    private final Duration topNInterval;
+
+    protected SlowCommandLogOptions(Builder builder) {
+        this.capacity = builder.capacity;
+        this.maxArgumentLength = builder.maxArgumentLength;
+        this.recordEvents = builder.recordEvents;
+        this.threshold = builder.threshold;
+        this.topN = builder.topN;
+        this.topNInterval = builder.topNInterval;
+    }
+
+    /**
+     * Create a new {@link SlowCommandLogOptions} instance using default settings.
+     *
+     * @return a new instance of {@link SlowCommandLogOptions} instance using default settings
+     */
+    public static SlowCommandLogOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Returns a new {@link SlowCommandLogOptions.Builder} to construct {@link SlowCommandLogOptions}.
+     *
+     * @return a new {@link SlowCommandLogOptions.Builder} to construct {@link SlowCommandLogOptions}.
+     */
+    public static SlowCommandLogOptions.Builder builder() {
+        return new SlowCommandLogOptions.Builder();
+    }
+
+    /**
+     * Builder for {@link SlowCommandLogOptions}.
+     */
+    public static class Builder {
+
+        private int capacity = DEFAULT_CAPACITY;
+
+        private int maxArgumentLength = DEFAULT_MAX_ARGUMENT_LENGTH;
+
+        private boolean recordEvents = DEFAULT_RECORD_EVENTS;
+
+        private Duration threshold = DEFAULT_THRESHOLD;
+
+        private int topN = DEFAULT_TOP_N;
+
+        private Duration topNInterval = DEFAULT_TOP_N_INTERVAL;
+
+        private Builder() {
+        }
+
+        /**
+         * Number of slow commands to retain. Defaults to {@code 128}. See {@link SlowCommandLogOptions#DEFAULT_CAPACITY}.
+         *
+         * @param capacity number of entries, must be greater than zero.
+         * @return this {@link Builder}.
+         */
+        public Builder capacity(int capacity) {
+
+            LettuceAssert.isTrue(capacity > 0, "Capacity must be greater than zero");
+
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Maximum length of the captured command arguments. Longer argument strings are truncated. Defaults to {@code 256}.
+         * See {@link SlowCommandLogOptions#DEFAULT_MAX_ARGUMENT_LENGTH}.
+         *
+         * @param maxArgumentLength maximum number of characters, must be greater than zero.
+         * @return this {@link Builder}.
+         */
+        public Builder maxArgumentLength(int maxArgumentLength) {
+
+            LettuceAssert.isTrue(maxArgumentLength > 0, "Max argument length must be greater than zero");
+
+            this.maxArgumentLength = maxArgumentLength;
+            return this;
+        }
+
+        /**
+         * Record a {@link io.lettuce.core.event.metrics.SlowCommandEvent} for each captured command. Events are forwarded to
+         * Java Flight Recorder if JFR is available. Defaults to {@code true}. See
+         * {@link SlowCommandLogOptions#DEFAULT_RECORD_EVENTS}.
+         *
+         * @param recordEvents {@code true} to record events.
+         * @return this {@link Builder}.
+         */
+        public Builder recordEvents(boolean recordEvents) {
+            this.recordEvents = recordEvents;
+            return this;
+        }
+
+        /**
+         * Completion latency above which commands are captured. Defaults to {@code 10 ms}. See
+         * {@link SlowCommandLogOptions#DEFAULT_THRESHOLD}.
+         *
+         * @param threshold the threshold, must not be {@code null} or negative.
+         * @return this {@link Builder}.
+         */
+        public Builder threshold(Duration threshold) {
+
+            LettuceAssert.notNull(threshold, "Threshold must not be null");
+            LettuceAssert.isTrue(!threshold.isNegative(), "Threshold must not be negative");
+
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * Capture only the {@code count} slowest commands exceeding the {@link #threshold(Duration) threshold} per
+         * {@code interval} instead of every command exceeding the threshold. Captured commands are published to the log and
+         * recorded as events once their interval has elapsed. Use {@code threshold(Duration.ZERO)} to consider all commands.
+         * Disabled by default. See {@link SlowCommandLogOptions#DEFAULT_TOP_N}.
+         *
+         * @param count number of commands to capture per interval, must be greater than zero.
+         * @param interval the interval, must not be {@code null} and greater than zero.
+         * @return this {@link Builder}.
+         */
+        public Builder topN(int count, Duration interval) {
+
+            LettuceAssert.isTrue(count > 0, "Count must be greater than zero");
+            LettuceAssert.notNull(interval, "Interval must not be null");
+            LettuceAssert.isTrue(!interval.isNegative() && !interval.isZero(), "Interval must be greater than zero");
+
+            this.topN = count;
+            this.topNInterval = interval;
+            return this;
+        }
+
+        /**
+         * @return a new instance of {@link SlowCommandLogOptions}.
+         */
+        public SlowCommandLogOptions build() {
+            return new SlowCommandLogOptions(this);
+        }
+
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int maxArgumentLength() {
+        return maxArgumentLength;
+    }
+
+    public boolean recordEvents() {
+        return recordEvents;
+    }
+
+    public Duration threshold() {
+        return threshold;
+    }
+
+    public int topN() {
+        return topN;
+    }
+
+    public Duration topNInterval() {
+        return topNInterval;
+    }
+
+}
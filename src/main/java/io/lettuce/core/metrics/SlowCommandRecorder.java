@@ -0,0 +1,81 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import java.net.SocketAddress;
+
+import io.lettuce.core.protocol.RedisCommand;
+
+/**
+ * Interface defining a method to record completed commands for a client-side slow command log. In contrast to Redis'
+ * {@code SLOWLOG}, latencies are observed by the client and include time spent in client queues and on the network.
+ *
+ * @since 7.0
+ * @see SlowCommandLog
+ */
+@FunctionalInterface
+public interface SlowCommandRecorder {
+
+    /**
+     * Returns a disabled no-op {@link SlowCommandRecorder}.
+     *
+     * @return a disabled {@link SlowCommandRecorder}.
+     */
+    static SlowCommandRecorder disabled() {
+
+        return new SlowCommandRecorder() {
+
+            @Override
+            public void recordCommand(SocketAddress remote, RedisCommand<?, ?, ?> command, long queueTime,
+                    long firstResponseLatency, long completionLatency, long requestSize, long replySize) {
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+
+        };
+    }
+
+    /**
+     * Record a completed command. This method is called for each completed command on the I/O thread. Implementations should
+     * discard fast commands without allocating.
+     *
+     * @param remote the remote address
+     * @param command the command
+     * @param queueTime time in {@link java.util.concurrent.TimeUnit#NANOSECONDS} from the connection accepting the command
+     *        until the transport completed writing it, including time spent in command buffers
+     * @param firstResponseLatency latency value in {@link java.util.concurrent.TimeUnit#NANOSECONDS} from send to the first
+     *        response
+     * @param completionLatency latency value in {@link java.util.concurrent.TimeUnit#NANOSECONDS} from send to the command
+     *        completion
+     * @param requestSize number of bytes of the encoded command
+     * @param replySize number of bytes of the decoded reply
+     */
+    void recordCommand(SocketAddress remote, RedisCommand<?, ?, ?> command, long queueTime, long firstResponseLatency,
+            long completionLatency, long requestSize, long replySize);
+
+    /**
+     * Returns {@code true} if the recorder is enabled.
+     *
+     * @return {@code true} if the recorder is enabled
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+}
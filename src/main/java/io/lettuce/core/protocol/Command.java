@@ -22,6 +22,9 @@ import io.netty.buffer.ByteBuf;
 /**
  * A Redis command with a {@link ProtocolKeyword command type}, {@link CommandArgs arguments} and an optional
  * {@link CommandOutput output}. All successfully executed commands will eventually return a {@link CommandOutput} object.
+ * <p>
+ * Commands carry their own timestamps and sizes so that {@link CommandHandler} can time them for the slow command log without
+ * wrapping each command.
  *
  * @param <K> Key type.
  * @param <V> Value type.
@@ -30,7 +33,7 @@ import io.netty.buffer.ByteBuf;
  * @author Will Glozer
  * @author Mark Paluch
  */
-public class Command<K, V, T> implements RedisCommand<K, V, T> {
+public class Command<K, V, T> implements RedisCommand<K, V, T>, WithLatency, WithSize {
 
     protected static final byte ST_INITIAL = 0;
 
@@ -48,6 +51,20 @@ public class Command<K, V, T> implements RedisCommand<K, V, T> {
 
     protected volatile byte status = ST_INITIAL;
 
+    private long queuedNs = -1;
+
+    private long sentNs = -1;
+
+    private long writtenNs = -1;
+
+    private long firstResponseNs = -1;
+
+    private long completedNs = -1;
+
+    private long requestSize;
+
+    private long replySize;
+
     /**
      * Create a new command with the supplied type.
      *
@@ -164,6 +181,81 @@ public class Command<K, V, T> implements RedisCommand<K, V, T> {
         this.output = output;
     }
 
+    @Override
+    public void queued(long timeNs) {
+        queuedNs = timeNs;
+    }
+
+    @Override
+    public void sent(long timeNs) {
+        sentNs = timeNs;
+        writtenNs = -1;
+        firstResponseNs = -1;
+        completedNs = -1;
+        requestSize = 0;
+        replySize = 0;
+    }
+
+    @Override
+    public void written(long timeNs) {
+        writtenNs = timeNs;
+    }
+
+    @Override
+    public void firstResponse(long timeNs) {
+        firstResponseNs = timeNs;
+    }
+
+    @Override
+    public void completed(long timeNs) {
+        completedNs = timeNs;
+    }
+
+    @Override
+    public long getQueued() {
+        return queuedNs;
+    }
+
+    @Override
+    public long getSent() {
+        return sentNs;
+    }
+
+    @Override
+    public long getWritten() {
+        return writtenNs;
+    }
+
+    @Override
+    public long getFirstResponse() {
+        return firstResponseNs;
+    }
+
+    @Override
+    public long getCompleted() {
+        return completedNs;
+    }
+
+    @Override
+    public void requestSize(long size) {
+        requestSize = size;
+    }
+
+    @Override
+    public void addReplySize(long size) {
+        replySize += size;
+    }
+
+    @Override
+    public long getRequestSize() {
+        return requestSize;
+    }
+
+    @Override
+    public long getReplySize() {
+        return replySize;
+    }
+
     @Override
     public ProtocolKeyword getType() {
         return type;
@@ -18,6 +18,7 @@ package io.lettuce.core.protocol;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -321,6 +322,43 @@ public class CommandArgs<K, V> {
         return LettuceStrings.collectionToDelimitedString(singularArguments, " ", "", "");
     }
 
+    /**
+     * Returns a command string representation of {@link CommandArgs} limited to {@code maxLength} characters. Rendering stops
+     * once the limit is reached so that large arguments are not rendered in full. A truncated representation ends with
+     * {@code ...}.
+     *
+     * @param maxLength maximum number of characters to render, must not be negative.
+     * @return the command string representation.
+     * @see #toCommandString()
+     * @since 7.0
+     */
+    public String toCommandString(int maxLength) {
+
+        LettuceAssert.isTrue(maxLength >= 0, "Max length must not be negative");
+
+        // render one character beyond the limit to detect truncation
+        int limit = maxLength == Integer.MAX_VALUE ? maxLength : maxLength + 1;
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < singularArguments.size() && sb.length() < limit; i++) {
+
+            if (i > 0) {
+                sb.append(' ');
+            }
+
+            if (sb.length() < limit) {
+                singularArguments.get(i).appendTo(sb, limit - sb.length());
+            }
+        }
+
+        if (sb.length() > maxLength) {
+            sb.setLength(maxLength);
+            sb.append("...");
+        }
+
+        return sb.toString();
+    }
+
     /**
      * Returns the first integer argument.
      *
@@ -375,6 +413,20 @@ public class CommandArgs<K, V> {
          */
         abstract void encode(ByteBuf buffer);
 
+        /**
+         * Append the command string representation to {@code target}, appending at most {@code maxLength} characters.
+         *
+         * @param target
+         * @param maxLength
+         */
+        void appendTo(StringBuilder target, int maxLength) {
+            append(target, toString(), maxLength);
+        }
+
+        static void append(StringBuilder target, CharSequence value, int maxLength) {
+            target.append(value, 0, Math.min(value.length(), maxLength));
+        }
+
     }
 
     static class BytesArgument extends SingularArgument {
@@ -405,6 +457,16 @@ public class CommandArgs<K, V> {
             buffer.writeBytes(CRLF);
         }
 
+        @Override
+        void appendTo(StringBuilder target, int maxLength) {
+
+            // Base64 renders 4 characters per 3 bytes
+            int length = (int) Math.min(val.length, (maxLength / 4 + 1) * 3L);
+            byte[] bytes = length == val.length ? val : Arrays.copyOf(val, length);
+
+            append(target, Base64.getEncoder().encodeToString(bytes), maxLength);
+        }
+
         @Override
         public String toString() {
             return Base64.getEncoder().encodeToString(val);
@@ -434,6 +496,11 @@ public class CommandArgs<K, V> {
             return ProtocolKeywordArgument.of(protocolKeyword.getBytes());
         }
 
+        @Override
+        void appendTo(StringBuilder target, int maxLength) {
+            append(target, toString(), maxLength);
+        }
+
         @Override
         public String toString() {
             return protocolKeyword.name();
@@ -616,6 +683,11 @@ public class CommandArgs<K, V> {
             target.writeBytes(CRLF);
         }
 
+        @Override
+        void appendTo(StringBuilder target, int maxLength) {
+            append(target, val, maxLength);
+        }
+
         @Override
         public String toString() {
             return val;
@@ -653,6 +725,11 @@ public class CommandArgs<K, V> {
             target.writeBytes(CRLF);
         }
 
+        @Override
+        void appendTo(StringBuilder target, int maxLength) {
+            target.append(val, 0, Math.min(val.length, maxLength));
+        }
+
         @Override
         public String toString() {
             return new String(val);
@@ -698,11 +775,42 @@ public class CommandArgs<K, V> {
             ByteBufferArgument.writeByteBuffer(target, codec.encodeKey(key));
         }
 
+        @Override
+        void appendTo(StringBuilder target, int maxLength) {
+            appendDecoded(target, "key<", codec.encodeKey(key), maxLength);
+        }
+
         @Override
         public String toString() {
             return String.format("key<%s>", new StringCodec().decodeKey(codec.encodeKey(key)));
         }
 
+        /**
+         * Append {@code prefix}, the decoded {@code encoded} bytes and a closing {@code >} decoding only as many bytes as can
+         * be rendered within {@code maxLength} characters.
+         */
+        static void appendDecoded(StringBuilder target, String prefix, ByteBuffer encoded, int maxLength) {
+
+            append(target, prefix, maxLength);
+
+            int remaining = maxLength - prefix.length();
+
+            if (remaining <= 0) {
+                return;
+            }
+
+            // a character is encoded with at most four bytes
+            ByteBuffer bytes = encoded.duplicate();
+            bytes.limit(bytes.position() + (int) Math.min(bytes.remaining(), remaining * 4L));
+
+            String decoded = new StringCodec().decodeKey(bytes);
+            append(target, decoded, remaining);
+
+            if (decoded.length() < remaining) {
+                target.append('>');
+            }
+        }
+
     }
 
     static class ValueArgument<K, V> extends SingularArgument {
@@ -742,6 +850,11 @@ public class CommandArgs<K, V> {
             ByteBufferArgument.writeByteBuffer(target, codec.encodeValue(val));
         }
 
+        @Override
+        void appendTo(StringBuilder target, int maxLength) {
+            KeyArgument.appendDecoded(target, "value<", codec.encodeValue(val), maxLength);
+        }
+
         @Override
         public String toString() {
             return String.format("value<%s>", new StringCodec().decodeValue(codec.encodeValue(val)));
@@ -80,9 +80,14 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
 
         if (msg instanceof Collection) {
             Collection<RedisCommand<?, ?, ?>> commands = (Collection<RedisCommand<?, ?, ?>>) msg;
+            int writerIndex = out.writerIndex();
             for (RedisCommand<?, ?, ?> command : commands) {
                 encode(ctx, out, command);
             }
+
+            if (msg instanceof WithSize) {
+                ((WithSize) msg).requestSize(out.writerIndex() - writerIndex);
+            }
         }
     }
 
@@ -90,7 +95,13 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
 
         try {
             out.markWriterIndex();
+            int writerIndex = out.writerIndex();
             command.encode(out);
+
+            WithSize withSize = CommandWrapper.unwrap(command, WithSize.class);
+            if (withSize != null) {
+                withSize.requestSize(out.writerIndex() - writerIndex);
+            }
         } catch (RuntimeException e) {
             out.resetWriterIndex();
             command.completeExceptionally(new EncoderException(
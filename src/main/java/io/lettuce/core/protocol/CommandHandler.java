@@ -24,10 +24,12 @@ import java.nio.charset.Charset;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 
 import io.lettuce.core.ClientOptions;
@@ -37,7 +39,11 @@ import io.lettuce.core.api.push.PushListener;
 import io.lettuce.core.api.push.PushMessage;
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.internal.LettuceSets;
+import io.lettuce.core.event.jfr.CommandEventRecorder;
+import io.lettuce.core.event.jfr.CommandEventRecorder.RecordableCommandEvent;
 import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.metrics.HotKeyRecorder;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.output.CommandOutput;
 import io.lettuce.core.output.PushOutput;
 import io.lettuce.core.resource.ClientResources;
@@ -84,6 +90,9 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     private static final AtomicLong COMMAND_HANDLER_COUNTER = new AtomicLong();
 
+    private static final AtomicIntegerFieldUpdater<CommandHandler> PENDING_REPLIES = AtomicIntegerFieldUpdater
+            .newUpdater(CommandHandler.class, "pendingReplies");
+
     private final ClientOptions clientOptions;
 
     private final ClientResources clientResources;
@@ -92,6 +101,9 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     private final ArrayDeque<RedisCommand<?, ?, ?>> stack = new ArrayDeque<>();
 
+    // Updated via PENDING_REPLIES on the event loop, read from any thread
+    private volatile int pendingReplies;
+
     private final long commandHandlerId = COMMAND_HANDLER_COUNTER.incrementAndGet();
 
     private final boolean traceEnabled = logger.isTraceEnabled();
@@ -102,8 +114,26 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     private final boolean latencyMetricsEnabled;
 
+    private final HotKeyRecorder hotKeyRecorder;
+
+    private final boolean hotKeysEnabled;
+
+    private final SlowCommandRecorder slowCommandRecorder;
+
+    private final boolean slowCommandsEnabled;
+
+    private final boolean latencyTrackingEnabled;
+
+    private final CommandEventRecorder commandEventRecorder = CommandEventRecorder.getInstance();
+
+    private CommandLatencyRecorder boundLatencyRecorder;
+
     private final boolean tracingEnabled;
 
+    private final boolean batchTracingEnabled;
+
+    private final int batchSampleSize;
+
     private final DecodeBufferPolicy decodeBufferPolicy;
 
     private final boolean boundedQueues;
@@ -148,11 +178,18 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         this.endpoint = endpoint;
         this.commandLatencyRecorder = clientResources.commandLatencyRecorder();
         this.latencyMetricsEnabled = commandLatencyRecorder.isEnabled();
+        this.hotKeyRecorder = clientResources.hotKeyRecorder();
+        this.hotKeysEnabled = hotKeyRecorder.isEnabled();
+        this.slowCommandRecorder = clientResources.slowCommandRecorder();
+        this.slowCommandsEnabled = slowCommandRecorder.isEnabled();
+        this.latencyTrackingEnabled = latencyMetricsEnabled || slowCommandsEnabled;
         this.boundedQueues = clientOptions.getRequestQueueSize() != Integer.MAX_VALUE;
 
         Tracing tracing = clientResources.tracing();
 
         this.tracingEnabled = tracing.isEnabled();
+        this.batchTracingEnabled = tracingEnabled && tracing.isBatchTracingEnabled();
+        this.batchSampleSize = tracing.getBatchSampleSize();
 
         this.decodeBufferPolicy = clientOptions.getDecodeBufferPolicy();
     }
@@ -165,6 +202,21 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         return stack;
     }
 
+    /**
+     * Returns the number of commands on the stack that await their response. In contrast to {@link #getStack()}, this method
+     * can be called from any thread. The value is updated by the event loop whenever the stack changes.
+     *
+     * @return the number of commands that await their response.
+     * @since 7.0
+     */
+    public int getPendingReplies() {
+        return pendingReplies;
+    }
+
+    private void updatePendingReplies() {
+        PENDING_REPLIES.lazySet(this, stack.size());
+    }
+
     protected void setState(LifecycleState lifecycleState) {
 
         if (this.lifecycleState != LifecycleState.CLOSED) {
@@ -178,7 +230,10 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     @Override
     public Collection<RedisCommand<?, ?, ?>> drainQueue() {
-        return drainCommands(stack);
+
+        List<RedisCommand<?, ?, ?>> commands = drainCommands(stack);
+        updatePendingReplies();
+        return commands;
     }
 
     protected LifecycleState getState() {
@@ -267,6 +322,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
         if (!stack.isEmpty()) {
             RedisCommand<?, ?, ?> command = stack.poll();
+            updatePendingReplies();
             if (debugEnabled) {
                 logger.debug("{} Storing exception in {}", logPrefix(), command);
             }
@@ -314,6 +370,11 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
         tracedEndpoint = clientResources.tracing().createEndpoint(ctx.channel().remoteAddress());
 
+        if (latencyMetricsEnabled && ctx.channel().remoteAddress() != null) {
+            SocketAddress local = ctx.channel().localAddress() != null ? ctx.channel().localAddress() : LocalAddress.ANY;
+            boundLatencyRecorder = commandLatencyRecorder.bind(local, ctx.channel().remoteAddress());
+        }
+
         endpoint.notifyChannelActive(ctx.channel());
         super.channelActive(ctx);
 
@@ -351,6 +412,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         }
 
         tracedEndpoint = null;
+        boundLatencyRecorder = null;
         setState(LifecycleState.DISCONNECTED);
         setState(LifecycleState.DEACTIVATING);
 
@@ -414,11 +476,11 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
             return;
         }
 
-        addToStack(command, promise);
+        RedisCommand<?, ?, ?> stacked = addToStack(command, promise);
 
         attachTracing(ctx, command);
 
-        ctx.write(command, promise);
+        ctx.write(stacked, promise);
     }
 
     private void writeBatch(ChannelHandlerContext ctx, Collection<RedisCommand<?, ?, ?>> batch, ChannelPromise promise) {
@@ -445,50 +507,152 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
             throw e;
         }
 
+        // write stacked commands so that the encoder records request sizes on latency-metered commands
+        Collection<RedisCommand<?, ?, ?>> written = deduplicated;
+        int index = 0;
+
         for (RedisCommand<?, ?, ?> command : deduplicated) {
-            attachTracing(ctx, command);
-            addToStack(command, promise);
+
+            if (!batchTracingEnabled) {
+                attachTracing(ctx, command);
+            }
+
+            RedisCommand<?, ?, ?> stacked = addToStack(command, promise);
+
+            if (stacked != command && written == deduplicated) {
+                written = copyOf(deduplicated, index);
+            }
+
+            if (written != deduplicated) {
+                written.add(stacked);
+            }
+
+            index++;
         }
 
-        if (!deduplicated.isEmpty()) {
-            ctx.write(deduplicated, promise);
-        } else {
+        if (written.isEmpty()) {
             promise.trySuccess();
+            return;
         }
+
+        TracedBatch tracedBatch = batchTracingEnabled ? attachBatchTracing(ctx, written) : null;
+
+        if (tracedBatch != null) {
+
+            int childSpans = 0;
+            for (RedisCommand<?, ?, ?> command : deduplicated) {
+
+                if (childSpans++ >= batchSampleSize) {
+                    break;
+                }
+
+                attachTracing(ctx, command, tracedBatch.getTraceContext());
+            }
+        }
+
+        ctx.write(tracedBatch != null ? tracedBatch : written, promise);
+    }
+
+    private static Collection<RedisCommand<?, ?, ?>> copyOf(Collection<RedisCommand<?, ?, ?>> commands, int count) {
+
+        Collection<RedisCommand<?, ?, ?>> copy = new LinkedHashSet<>(commands.size(), 1);
+        Iterator<RedisCommand<?, ?, ?>> iterator = commands.iterator();
+
+        for (int i = 0; i < count; i++) {
+            copy.add(iterator.next());
+        }
+
+        return copy;
     }
 
     private void attachTracing(ChannelHandlerContext ctx, RedisCommand<?, ?, ?> command) {
+        attachTracing(ctx, command, null);
+    }
+
+    private void attachTracing(ChannelHandlerContext ctx, RedisCommand<?, ?, ?> command, TraceContext parent) {
 
         if (!tracingEnabled || !(command instanceof CompleteableCommand)) {
             return;
         }
 
         TracedCommand<?, ?, ?> traced = CommandWrapper.unwrap(command, TracedCommand.class);
-        TraceContextProvider provider = (traced == null ? clientResources.tracing().initialTraceContextProvider() : traced);
+        TraceContext context = parent;
+
+        if (context == null) {
+
+            TraceContextProvider provider = (traced == null ? clientResources.tracing().initialTraceContextProvider()
+                    : traced);
+
+            if (provider == null) {
+                return;
+            }
+
+            context = provider.getTraceContext();
+        }
+
         Tracer tracer = clientResources.tracing().getTracerProvider().getTracer();
+        Tracer.Span span = tracer.nextSpan(context);
+        span.name(command.getType().name());
+        remoteEndpoint(ctx, span);
+        span.start(command);
 
-        if (provider != null) {
+        if (traced != null) {
+            traced.setSpan(span);
+        }
+    }
 
-            TraceContext context = provider.getTraceContext();
+    /**
+     * Start a single {@link Tracer.Span} for a batch of commands. Returns {@code null} if the span is not recorded so that
+     * unsampled batches do not allocate per-command tracing state.
+     */
+    private TracedBatch attachBatchTracing(ChannelHandlerContext ctx, Collection<RedisCommand<?, ?, ?>> batch) {
 
-            Tracer.Span span = tracer.nextSpan(context);
-            span.name(command.getType().name());
+        if (batch.isEmpty()) {
+            return null;
+        }
 
-            if (tracedEndpoint != null) {
-                span.remoteEndpoint(tracedEndpoint);
-            } else {
-                span.remoteEndpoint(clientResources.tracing().createEndpoint(ctx.channel().remoteAddress()));
-            }
+        TraceContextProvider provider = null;
 
-            span.start(command);
+        for (RedisCommand<?, ?, ?> command : batch) {
+
+            provider = CommandWrapper.unwrap(command, TracedCommand.class);
 
-            if (traced != null) {
-                traced.setSpan(span);
+            if (provider != null) {
+                break;
             }
         }
+
+        if (provider == null) {
+            provider = clientResources.tracing().initialTraceContextProvider();
+        }
+
+        if (provider == null) {
+            return null;
+        }
+
+        Tracer tracer = clientResources.tracing().getTracerProvider().getTracer();
+        Tracer.Span span = tracer.nextSpan(provider.getTraceContext());
+
+        if (span.isNoop()) {
+            return null;
+        }
+
+        span.name(TracedBatch.BatchKeyword.BATCH.name());
+        remoteEndpoint(ctx, span);
+
+        return TracedBatch.start(batch, span);
+    }
+
+    private void remoteEndpoint(ChannelHandlerContext ctx, Tracer.Span span) {
+
+        if (tracedEndpoint != null) {
+            span.remoteEndpoint(tracedEndpoint);
+        } else {
+            span.remoteEndpoint(clientResources.tracing().createEndpoint(ctx.channel().remoteAddress()));
+        }
     }
 
-    private void addToStack(RedisCommand<?, ?, ?> command, ChannelPromise promise) {
+    private RedisCommand<?, ?, ?> addToStack(RedisCommand<?, ?, ?> command, ChannelPromise promise) {
 
         try {
 
@@ -503,10 +667,17 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
             RedisCommand<?, ?, ?> redisCommand = potentiallyWrapLatencyCommand(command);
 
+            if (hotKeysEnabled && channel != null) {
+                hotKeyRecorder.recordCommand(channel.remoteAddress(), command);
+            }
+
             stack.add(redisCommand);
+            updatePendingReplies();
             if (!promise.isVoid()) {
-                promise.addListener(AddToStack.newInstance(stack, redisCommand));
+                promise.addListener(AddToStack.newInstance(this, redisCommand));
             }
+
+            return redisCommand;
         } catch (Exception e) {
             command.completeExceptionally(e);
             throw e;
@@ -537,27 +708,54 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     private RedisCommand<?, ?, ?> potentiallyWrapLatencyCommand(RedisCommand<?, ?, ?> command) {
 
-        if (!latencyMetricsEnabled) {
+        RecordableCommandEvent commandEvent = commandEventRecorder.start();
+
+        if (!latencyTrackingEnabled && commandEvent == null) {
             return command;
         }
 
-        if (command instanceof WithLatency) {
+        if (command instanceof LatencyMeteredCommand) {
 
-            WithLatency withLatency = (WithLatency) command;
+            LatencyMeteredCommand<?, ?, ?> latencyMeteredCommand = (LatencyMeteredCommand<?, ?, ?>) command;
 
-            withLatency.firstResponse(-1);
-            withLatency.sent(nanoTime());
+            latencyMeteredCommand.firstResponse(-1);
+            latencyMeteredCommand.sent(nanoTime());
+            latencyMeteredCommand.commandEvent(commandEvent);
+
+            return command;
+        }
+
+        WithLatency withLatency = CommandWrapper.unwrap(command, WithLatency.class);
 
+        if (!latencyMetricsEnabled && commandEvent == null && withLatency != null) {
+
+            // slow command log only: stamp the command itself instead of allocating a wrapper
+            withLatency.sent(nanoTime());
             return command;
         }
 
         LatencyMeteredCommand<?, ?, ?> latencyMeteredCommand = new LatencyMeteredCommand<>(command);
+        latencyMeteredCommand.queued(withLatency != null ? withLatency.getQueued() : -1);
         latencyMeteredCommand.firstResponse(-1);
         latencyMeteredCommand.sent(nanoTime());
+        latencyMeteredCommand.commandEvent(commandEvent);
 
         return latencyMeteredCommand;
     }
 
+    /**
+     * Obtain the latency timestamps of a command on the stack. Returns {@code null} if latency tracking is disabled and the
+     * command was not wrapped for a command event.
+     */
+    private WithLatency getLatency(RedisCommand<?, ?, ?> command) {
+
+        if (command instanceof LatencyMeteredCommand) {
+            return (WithLatency) command;
+        }
+
+        return latencyTrackingEnabled ? CommandWrapper.unwrap(command, WithLatency.class) : null;
+    }
+
     /**
      * @see io.netty.channel.ChannelInboundHandlerAdapter#channelRead(io.netty.channel.ChannelHandlerContext, java.lang.Object)
      */
@@ -672,6 +870,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
                     if (canComplete(command)) {
                         stack.poll();
+                        updatePendingReplies();
 
                         try {
                             if (debugEnabled) {
@@ -755,14 +954,22 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
      */
     private boolean decode(ChannelHandlerContext ctx, ByteBuf buffer, RedisCommand<?, ?, ?> command) {
 
-        if (latencyMetricsEnabled && command instanceof WithLatency) {
+        WithLatency withLatency = getLatency(command);
+
+        if (withLatency != null) {
 
-            WithLatency withLatency = (WithLatency) command;
             if (withLatency.getFirstResponse() == -1) {
                 withLatency.firstResponse(nanoTime());
             }
 
-            if (!decode0(ctx, buffer, command)) {
+            int readerIndex = buffer.readerIndex();
+            boolean decoded = decode0(ctx, buffer, command);
+
+            if (withLatency instanceof WithSize) {
+                ((WithSize) withLatency).addReplySize(buffer.readerIndex() - readerIndex);
+            }
+
+            if (!decoded) {
                 return false;
             }
 
@@ -890,6 +1097,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
         stack.forEach(cmd -> cmd.completeExceptionally(exception));
         stack.clear();
+        updatePendingReplies();
     }
 
     /**
@@ -904,15 +1112,61 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
     private void recordLatency(WithLatency withLatency, RedisCommand<?, ?, ?> command) {
 
-        if (withLatency != null && latencyMetricsEnabled && channel != null && remote() != null) {
+        if (withLatency != null && channel != null && remote() != null) {
 
             long firstResponseLatency = withLatency.getFirstResponse() - withLatency.getSent();
             long completionLatency = nanoTime() - withLatency.getSent();
+            long queueTime = getQueueTime(withLatency);
+            WithSize withSize = withLatency instanceof WithSize ? (WithSize) withLatency : null;
+            long requestSize = withSize != null ? withSize.getRequestSize() : 0;
+            long replySize = withSize != null ? withSize.getReplySize() : 0;
+
+            if (latencyMetricsEnabled) {
+
+                CommandLatencyRecorder recorder = boundLatencyRecorder != null ? boundLatencyRecorder
+                        : commandLatencyRecorder;
+                recorder.recordCommandLatency(local(), remote(), command, firstResponseLatency, completionLatency);
+
+                if (withSize != null) {
+                    recorder.recordCommandSize(local(), remote(), command, requestSize, replySize);
+                }
+            }
+
+            if (latencyTrackingEnabled && endpoint instanceof DefaultEndpoint && withLatency.getWritten() != -1) {
+                ((DefaultEndpoint) endpoint).recordReply(nanoTime() - withLatency.getWritten());
+            }
+
+            if (slowCommandsEnabled) {
+                slowCommandRecorder.recordCommand(remote(), command, queueTime, firstResponseLatency, completionLatency,
+                        requestSize, replySize);
+            }
 
-            commandLatencyRecorder.recordCommandLatency(local(), remote(), command, firstResponseLatency, completionLatency);
+            RecordableCommandEvent commandEvent = command instanceof LatencyMeteredCommand
+                    ? ((LatencyMeteredCommand<?, ?, ?>) command).getCommandEvent()
+                    : null;
+
+            if (commandEvent != null) {
+                commandEvent.record(remote(), command.getType(), queueTime, firstResponseLatency, completionLatency,
+                        requestSize, replySize);
+            }
         }
     }
 
+    /**
+     * Time from the endpoint accepting the command until the transport has written it. Falls back to the time of handing the
+     * command to the channel if the endpoint did not stamp the command.
+     */
+    private static long getQueueTime(WithLatency withLatency) {
+
+        if (withLatency.getWritten() == -1) {
+            return 0;
+        }
+
+        long queued = withLatency.getQueued() != -1 ? withLatency.getQueued() : withLatency.getSent();
+
+        return withLatency.getWritten() - queued;
+    }
+
     private SocketAddress remote() {
         return channel.remoteAddress();
     }
@@ -932,7 +1186,9 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
     private void reset() {
 
         resetInternals();
-        cancelCommands("Reset", drainCommands(stack));
+        List<RedisCommand<?, ?, ?>> commands = drainCommands(stack);
+        updatePendingReplies();
+        cancelCommands("Reset", commands);
     }
 
     private void resetInternals() {
@@ -1024,7 +1280,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
         private final Recycler.Handle<AddToStack> handle;
 
-        private ArrayDeque<Object> stack;
+        private CommandHandler handler;
 
         private RedisCommand<?, ?, ?> command;
 
@@ -1035,16 +1291,15 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
         /**
          * Allocate a new instance.
          *
-         * @param stack
+         * @param handler
          * @param command
          * @return
          */
-        @SuppressWarnings("unchecked")
-        static AddToStack newInstance(ArrayDeque<?> stack, RedisCommand<?, ?, ?> command) {
+        static AddToStack newInstance(CommandHandler handler, RedisCommand<?, ?, ?> command) {
 
             AddToStack entry = RECYCLER.get();
 
-            entry.stack = (ArrayDeque<Object>) stack;
+            entry.handler = handler;
             entry.command = command;
 
             return entry;
@@ -1056,7 +1311,15 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
             try {
                 if (!future.isSuccess()) {
-                    stack.remove(command);
+                    handler.stack.remove(command);
+                    handler.updatePendingReplies();
+                } else {
+
+                    WithLatency withLatency = handler.getLatency(command);
+
+                    if (withLatency != null) {
+                        withLatency.written(nanoTime());
+                    }
                 }
             } finally {
                 recycle();
@@ -1065,7 +1328,7 @@ public class CommandHandler extends ChannelDuplexHandler implements HasQueuedCom
 
         private void recycle() {
 
-            this.stack = null;
+            this.handler = null;
             this.command = null;
 
             handle.recycle(this);
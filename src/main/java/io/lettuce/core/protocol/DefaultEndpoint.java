@@ -28,6 +28,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -40,10 +41,14 @@ import io.lettuce.core.api.push.PushListener;
 import io.lettuce.core.internal.Futures;
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.internal.LettuceFactories;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.metrics.ConnectionMetrics;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.resource.ClientResources;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.handler.codec.EncoderException;
 import io.netty.util.Recycler;
 import io.netty.util.concurrent.Future;
@@ -57,7 +62,7 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
  *
  * @author Mark Paluch
  */
-public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandler {
+public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandler, ConnectionMetrics {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(DefaultEndpoint.class);
 
@@ -99,6 +104,16 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
 
     private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
 
+    private final LongAdder writtenCommands = new LongAdder();
+
+    private final LongAdder totalQueueTime = new LongAdder();
+
+    private final LongAdder repliedCommands = new LongAdder();
+
+    private final LongAdder totalReplyTime = new LongAdder();
+
+    private final boolean queueTimeEnabled;
+
     private String logPrefix;
 
     private boolean autoFlushCommands = true;
@@ -140,6 +155,11 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
         this.boundedQueues = clientOptions.getRequestQueueSize() != Integer.MAX_VALUE;
         this.rejectCommandsWhileDisconnected = isRejectCommand(clientOptions);
         this.cachedEndpointId = "0x" + Long.toHexString(endpointId);
+
+        CommandLatencyRecorder latencyRecorder = clientResources.commandLatencyRecorder();
+        SlowCommandRecorder slowCommandRecorder = clientResources.slowCommandRecorder();
+        this.queueTimeEnabled = (latencyRecorder != null && latencyRecorder.isEnabled())
+                || (slowCommandRecorder != null && slowCommandRecorder.isEnabled());
     }
 
     @Override
@@ -183,6 +203,10 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
             return command;
         }
 
+        if (queueTimeEnabled) {
+            queued(command, System.nanoTime());
+        }
+
         try {
             sharedLock.incrementWriters();
 
@@ -224,6 +248,15 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
             return (Collection<RedisCommand<K, V, ?>>) commands;
         }
 
+        if (queueTimeEnabled) {
+
+            long now = System.nanoTime();
+
+            for (RedisCommand<K, V, ?> command : commands) {
+                queued(command, now);
+            }
+        }
+
         try {
             sharedLock.incrementWriters();
 
@@ -730,6 +763,123 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
         return STATUS.get(this) == ST_CLOSED;
     }
 
+    /**
+     * Returns the number of in-flight commands. In-flight commands are commands that were written to the channel and that
+     * await either write completion or their response. The value is a point-in-time estimate that is not synchronized with
+     * concurrent writes and responses.
+     *
+     * @return the number of in-flight commands. {@code 0} if the endpoint is not connected.
+     * @since 7.0
+     */
+    @Override
+    public int getInFlightCommands() {
+
+        Channel channel = this.channel;
+
+        if (channel == null) {
+            return 0;
+        }
+
+        CommandHandler commandHandler = channel.pipeline().get(CommandHandler.class);
+        int pendingReplies = commandHandler != null ? commandHandler.getPendingReplies() : 0;
+
+        return QUEUE_SIZE.get(this) + pendingReplies;
+    }
+
+    @Override
+    public int getBufferedCommands() {
+        return commandBuffer.size();
+    }
+
+    @Override
+    public int getDisconnectedBufferedCommands() {
+        return disconnectedBuffer.size();
+    }
+
+    @Override
+    public int getPendingWrites() {
+        return QUEUE_SIZE.get(this);
+    }
+
+    @Override
+    public int getPendingReplies() {
+
+        Channel channel = this.channel;
+
+        if (channel == null) {
+            return 0;
+        }
+
+        CommandHandler commandHandler = channel.pipeline().get(CommandHandler.class);
+        return commandHandler != null ? commandHandler.getPendingReplies() : 0;
+    }
+
+    @Override
+    public long getPendingOutboundBytes() {
+
+        Channel channel = this.channel;
+
+        if (channel == null) {
+            return 0;
+        }
+
+        ChannelOutboundBuffer outboundBuffer = channel.unsafe().outboundBuffer();
+        return outboundBuffer != null ? outboundBuffer.totalPendingWriteBytes() : 0;
+    }
+
+    @Override
+    public long getWrittenCommands() {
+        return writtenCommands.sum();
+    }
+
+    @Override
+    public long getTotalQueueTime() {
+        return totalQueueTime.sum();
+    }
+
+    @Override
+    public long getRepliedCommands() {
+        return repliedCommands.sum();
+    }
+
+    @Override
+    public long getTotalReplyTime() {
+        return totalReplyTime.sum();
+    }
+
+    /**
+     * Record the time a written command awaited its response.
+     *
+     * @param nanos reply time in nanoseconds from write completion to command completion.
+     */
+    void recordReply(long nanos) {
+
+        repliedCommands.increment();
+        totalReplyTime.add(nanos);
+    }
+
+    /**
+     * Stamp the time a command was accepted by this endpoint, before it is buffered or written to the channel.
+     */
+    private static void queued(RedisCommand<?, ?, ?> command, long nanos) {
+
+        WithLatency withLatency = CommandWrapper.unwrap(command, WithLatency.class);
+
+        if (withLatency != null) {
+            withLatency.queued(nanos);
+        }
+    }
+
+    private void recordWrite(RedisCommand<?, ?, ?> command, long nanos) {
+
+        WithLatency withLatency = CommandWrapper.unwrap(command, WithLatency.class);
+
+        if (withLatency != null && withLatency.getQueued() != -1) {
+            writtenCommands.increment();
+            totalQueueTime.add(nanos - withLatency.getQueued());
+        }
+    }
+
     /**
      * Execute a {@link Supplier} callback guarded by an exclusive lock.
      *
@@ -835,12 +985,23 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
 
         DefaultEndpoint endpoint;
 
-        void dequeue() {
+        void dequeue(boolean written) {
 
-            if (sentCommand != null) {
-                QUEUE_SIZE.decrementAndGet(endpoint);
-            } else {
-                QUEUE_SIZE.addAndGet(endpoint, -sentCommands.size());
+            int commands = sentCommand != null ? 1 : sentCommands.size();
+
+            QUEUE_SIZE.addAndGet(endpoint, -commands);
+
+            if (written && endpoint.queueTimeEnabled) {
+
+                long now = System.nanoTime();
+
+                if (sentCommand != null) {
+                    endpoint.recordWrite(sentCommand, now);
+                } else {
+                    for (RedisCommand<?, ?, ?> command : sentCommands) {
+                        endpoint.recordWrite(command, now);
+                    }
+                }
             }
         }
 
@@ -900,7 +1061,7 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
 
             try {
 
-                dequeue();
+                dequeue(future.isSuccess());
 
                 if (!future.isSuccess() && future.cause() != null) {
                     complete(future.cause());
@@ -977,7 +1138,7 @@ public class DefaultEndpoint implements RedisChannelWriter, Endpoint, PushHandle
             Throwable cause = future.cause();
 
             boolean success = future.isSuccess();
-            dequeue();
+            dequeue(success);
 
             if (success) {
                 return;
@@ -15,29 +15,54 @@
  */
 package io.lettuce.core.protocol;
 
+import io.lettuce.core.event.jfr.CommandEventRecorder.RecordableCommandEvent;
+
 /**
  * {@link CommandWrapper} implementation to track {@link WithLatency command latency}.
  *
  * @author Mark Paluch
  * @since 4.4
  */
-class LatencyMeteredCommand<K, V, T> extends CommandWrapper<K, V, T> implements WithLatency {
+class LatencyMeteredCommand<K, V, T> extends CommandWrapper<K, V, T> implements WithLatency, WithSize {
+
+    private long queuedNs = -1;
 
     private long sentNs = -1;
 
+    private long writtenNs = -1;
+
     private long firstResponseNs = -1;
 
     private long completedNs = -1;
 
+    private long requestSize;
+
+    private long replySize;
+
+    private RecordableCommandEvent commandEvent;
+
     public LatencyMeteredCommand(RedisCommand<K, V, T> command) {
         super(command);
     }
 
+    @Override
+    public void queued(long timeNs) {
+        queuedNs = timeNs;
+    }
+
     @Override
     public void sent(long timeNs) {
         sentNs = timeNs;
+        writtenNs = -1;
         firstResponseNs = -1;
         completedNs = -1;
+        requestSize = 0;
+        replySize = 0;
+    }
+
+    @Override
+    public void written(long timeNs) {
+        writtenNs = timeNs;
     }
 
     @Override
@@ -50,11 +75,21 @@ class LatencyMeteredCommand<K, V, T> extends CommandWrapper<K, V, T> implements
         completedNs = timeNs;
     }
 
+    @Override
+    public long getQueued() {
+        return queuedNs;
+    }
+
     @Override
     public long getSent() {
         return sentNs;
     }
 
+    @Override
+    public long getWritten() {
+        return writtenNs;
+    }
+
     @Override
     public long getFirstResponse() {
         return firstResponseNs;
@@ -65,4 +100,40 @@ class LatencyMeteredCommand<K, V, T> extends CommandWrapper<K, V, T> implements
         return completedNs;
     }
 
+    @Override
+    public void requestSize(long size) {
+        requestSize = size;
+    }
+
+    @Override
+    public void addReplySize(long size) {
+        replySize += size;
+    }
+
+    @Override
+    public long getRequestSize() {
+        return requestSize;
+    }
+
+    @Override
+    public long getReplySize() {
+        return replySize;
+    }
+
+    /**
+     * Attach a started command event to be recorded on completion.
+     *
+     * @param commandEvent the command event, can be {@code null}.
+     */
+    void commandEvent(RecordableCommandEvent commandEvent) {
+        this.commandEvent = commandEvent;
+    }
+
+    /**
+     * @return the attached command event, can be {@code null}.
+     */
+    RecordableCommandEvent getCommandEvent() {
+        return commandEvent;
+    }
+
 }
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.tracing.TraceContext;
+import io.lettuce.core.tracing.Tracer;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Batch of commands that is traced with a single {@link Tracer.Span}. The batch is written as {@link Collection} of its
+ * commands so that {@link CommandEncoder} can report the number of encoded bytes. The span is started with a synthetic
+ * {@code BATCH} command that completes once all commands of the batch are completed.
+ *
+ * @since 7.0
+ */
+class TracedBatch extends AbstractCollection<RedisCommand<?, ?, ?>> implements WithSize {
+
+    static final String TAG_SIZE = "redis.batch.size";
+
+    static final String TAG_COMMANDS = "redis.batch.commands";
+
+    static final String TAG_BYTES = "redis.batch.bytes";
+
+    static final String TAG_ERRORS = "redis.batch.errors";
+
+    private final Collection<RedisCommand<?, ?, ?>> commands;
+
+    private final Tracer.Span span;
+
+    private final BatchCommand command = new BatchCommand();
+
+    private final AtomicInteger pending;
+
+    private final AtomicInteger errors = new AtomicInteger();
+
+    private final BiConsumer<Object, Throwable> completion = (o, throwable) -> {
+
+        if (throwable != null) {
+            errors.incrementAndGet();
+        }
+
+        completeCommand();
+    };
+
+    private volatile long requestSize;
+
+    private TracedBatch(Collection<RedisCommand<?, ?, ?>> commands, Tracer.Span span) {
+        this.commands = commands;
+        this.span = span;
+        this.pending = new AtomicInteger(commands.size());
+    }
+
+    /**
+     * Start a {@link Tracer.Span} for {@code commands}. The span completes once all commands are completed.
+     *
+     * @param commands the commands of the batch.
+     * @param span the span to start.
+     * @return the {@link TracedBatch}.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static TracedBatch start(Collection<RedisCommand<?, ?, ?>> commands, Tracer.Span span) {
+
+        TracedBatch batch = new TracedBatch(commands, span);
+
+        span.tag(TAG_SIZE, Integer.toString(commands.size()));
+        span.tag(TAG_COMMANDS, getCommandCounts(commands));
+        span.start(batch.command);
+
+        for (RedisCommand<?, ?, ?> command : commands) {
+
+            if (command instanceof CompleteableCommand) {
+                ((CompleteableCommand) command).onComplete(batch.completion);
+            } else {
+                batch.completeCommand();
+            }
+        }
+
+        return batch;
+    }
+
+    private static String getCommandCounts(Collection<RedisCommand<?, ?, ?>> commands) {
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+
+        for (RedisCommand<?, ?, ?> command : commands) {
+            counts.merge(command.getType().name(), 1, Integer::sum);
+        }
+
+        StringBuilder builder = new StringBuilder();
+        counts.forEach((type, count) -> {
+
+            if (builder.length() != 0) {
+                builder.append(',');
+            }
+
+            builder.append(type).append('=').append(count);
+        });
+
+        return builder.toString();
+    }
+
+    /**
+     * @return the {@link TraceContext} of the batch span to create child spans.
+     */
+    TraceContext getTraceContext() {
+        return span.getTraceContext();
+    }
+
+    private void completeCommand() {
+
+        if (pending.decrementAndGet() != 0) {
+            return;
+        }
+
+        if (requestSize > 0) {
+            span.tag(TAG_BYTES, Long.toString(requestSize));
+        }
+
+        int errors = this.errors.get();
+        if (errors > 0) {
+            span.tag(TAG_ERRORS, Integer.toString(errors));
+        }
+
+        command.complete();
+    }
+
+    @Override
+    public Iterator<RedisCommand<?, ?, ?>> iterator() {
+        return commands.iterator();
+    }
+
+    @Override
+    public int size() {
+        return commands.size();
+    }
+
+    @Override
+    public void requestSize(long size) {
+        this.requestSize = size;
+    }
+
+    @Override
+    public void addReplySize(long size) {
+    }
+
+    @Override
+    public long getRequestSize() {
+        return requestSize;
+    }
+
+    @Override
+    public long getReplySize() {
+        return 0;
+    }
+
+    enum BatchKeyword implements ProtocolKeyword {
+
+        BATCH;
+
+        private final byte[] bytes = name().getBytes(StandardCharsets.US_ASCII);
+
+        @Override
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+    }
+
+    /**
+     * Synthetic command representing the batch for {@link Tracer.Span#start(RedisCommand)}. The command is never written,
+     * methods that apply to written commands are no-ops so that tracer implementations inspecting the command do not fail.
+     */
+    class BatchCommand implements RedisCommand<Object, Object, Object>, CompleteableCommand<Object> {
+
+        private final List<BiConsumer<? super Object, Throwable>> callbacks = new ArrayList<>(1);
+
+        private volatile boolean done;
+
+        @Override
+        public CommandOutput<Object, Object, Object> getOutput() {
+            return null;
+        }
+
+        @Override
+        public void complete() {
+
+            done = true;
+
+            for (BiConsumer<? super Object, Throwable> callback : callbacks) {
+                callback.accept(null, null);
+            }
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable throwable) {
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public CommandArgs<Object, Object> getArgs() {
+            return null;
+        }
+
+        @Override
+        public ProtocolKeyword getType() {
+            return BatchKeyword.BATCH;
+        }
+
+        @Override
+        public void encode(ByteBuf buf) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public void setOutput(CommandOutput<Object, Object, Object> output) {
+        }
+
+        @Override
+        public void onComplete(Consumer<? super Object> action) {
+            callbacks.add((o, throwable) -> action.accept(o));
+        }
+
+        @Override
+        public void onComplete(BiConsumer<? super Object, Throwable> action) {
+            callbacks.add(action);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [commands=" + commands.size() + "]";
+        }
+
+    }
+
+}
@@ -22,6 +22,14 @@ package io.lettuce.core.protocol;
  */
 interface WithLatency {
 
+    /**
+     * Sets the time of when the item was accepted by the endpoint. Not reset by {@link #sent(long)}.
+     *
+     * @param time the time of when the item was queued.
+     * @since 7.0
+     */
+    void queued(long time);
+
     /**
      * Sets the time of sending the item.
      *
@@ -29,6 +37,14 @@ interface WithLatency {
      */
     void sent(long time);
 
+    /**
+     * Sets the time of when the item was written to the transport.
+     *
+     * @param time the time of when the item was written.
+     * @since 7.0
+     */
+    void written(long time);
+
     /**
      * Sets the time of the first response.
      *
@@ -43,11 +59,24 @@ interface WithLatency {
      */
     void completed(long time);
 
+    /**
+     * @return the time of when the item was queued, {@code -1} if not queued.
+     * @since 7.0
+     */
+    long getQueued();
+
     /**
      * @return the time of when the item was sent.
      */
     long getSent();
 
+    /**
+     *
+     * @return the time of when the item was written to the transport.
+     * @since 7.0
+     */
+    long getWritten();
+
     /**
      *
      * @return the time of the first response.
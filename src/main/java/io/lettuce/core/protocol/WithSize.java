@@ -0,0 +1,49 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.protocol;
+
+/**
+ * Interface to items recording their request and reply size in bytes.
+ *
+ * @since 7.0
+ */
+interface WithSize {
+
+    /**
+     * Sets the size of the encoded request.
+     *
+     * @param size number of bytes of the encoded request.
+     */
+    void requestSize(long size);
+
+    /**
+     * Adds to the size of the decoded reply. Replies can be decoded in multiple chunks.
+     *
+     * @param size number of bytes decoded.
+     */
+    void addReplySize(long size);
+
+    /**
+     * @return number of bytes of the encoded request.
+     */
+    long getRequestSize();
+
+    /**
+     * @return number of bytes of the decoded reply.
+     */
+    long getReplySize();
+
+}
@@ -0,0 +1,590 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Index of glob-style patterns using Redis {@code PSUBSCRIBE} pattern syntax ({@code *}, {@code ?}, {@code [...]} character
+ * classes with ranges and {@code ^} negation, and {@code \} escapes). Patterns are compiled into a trie that is shared across
+ * patterns with a common prefix. The trie is evaluated as automaton whose states are determinized lazily and cached so that
+ * matching a channel costs {@code O(channel length)} once the automaton states for a channel shape are known, independent of
+ * the number of indexed patterns.
+ * <p>
+ * The index is thread-safe. Modifications invalidate the compiled automaton which is recompiled on the next match. The index
+ * is therefore optimized for a pattern set that changes infrequently compared to the message rate.
+ *
+ * @param <T> value type associated with a pattern.
+ * @since 7.0
+ */
+public class PatternIndex<T> {
+
+    /**
+     * Number of cached automaton states in addition to twice the number of trie nodes. Bounds memory usage with pathological
+     * pattern sets, transitions beyond this limit are computed on each match.
+     */
+    static final int ADDITIONAL_CACHED_STATES = 10_000;
+
+    private final Map<ByteBuffer, List<T>> patterns = new LinkedHashMap<>();
+
+    private volatile Automaton<T> automaton;
+
+    private volatile int size;
+
+    /**
+     * Add a {@code value} for {@code pattern}.
+     *
+     * @param pattern the glob pattern, must not be {@code null}.
+     * @param value the value, must not be {@code null}.
+     */
+    public void add(byte[] pattern, T value) {
+
+        LettuceAssert.notNull(pattern, "Pattern must not be null");
+        LettuceAssert.notNull(value, "Value must not be null");
+
+        synchronized (patterns) {
+            patterns.computeIfAbsent(ByteBuffer.wrap(pattern.clone()), it -> new ArrayList<>(1)).add(value);
+            size = patterns.size();
+            automaton = null;
+        }
+    }
+
+    /**
+     * Remove a {@code value} for {@code pattern}.
+     *
+     * @param pattern the glob pattern, must not be {@code null}.
+     * @param value the value, must not be {@code null}.
+     * @return {@code true} if the value was registered for {@code pattern}.
+     */
+    public boolean remove(byte[] pattern, T value) {
+
+        LettuceAssert.notNull(pattern, "Pattern must not be null");
+
+        synchronized (patterns) {
+
+            ByteBuffer key = ByteBuffer.wrap(pattern);
+            List<T> values = patterns.get(key);
+
+            if (values == null || !values.remove(value)) {
+                return false;
+            }
+
+            if (values.isEmpty()) {
+                patterns.remove(key);
+                size = patterns.size();
+            }
+
+            automaton = null;
+            return true;
+        }
+    }
+
+    /**
+     * @return number of indexed patterns.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if no patterns are indexed.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Invoke {@code action} for each value whose pattern matches {@code channel}. Values registered for multiple matching
+     * patterns are passed to {@code action} once per pattern.
+     *
+     * @param channel the channel.
+     * @param action the action to invoke for each matching value.
+     */
+    public void match(byte[] channel, Consumer<? super T> action) {
+        match(ByteBuffer.wrap(channel), action);
+    }
+
+    /**
+     * Invoke {@code action} for each value whose pattern matches the remaining bytes of {@code channel}. The position of
+     * {@code channel} is not changed. Values registered for multiple matching patterns are passed to {@code action} once per
+     * pattern.
+     *
+     * @param channel the channel.
+     * @param action the action to invoke for each matching value.
+     */
+    @SuppressWarnings("unchecked")
+    public void match(ByteBuffer channel, Consumer<? super T> action) {
+
+        State state = getAutomaton().run(channel);
+
+        if (state != null) {
+            for (Object value : state.accepting) {
+                action.accept((T) value);
+            }
+        }
+    }
+
+    /**
+     * Return values whose pattern matches {@code channel}.
+     *
+     * @param channel the channel.
+     * @return the matching values.
+     */
+    public List<T> match(byte[] channel) {
+
+        List<T> result = new ArrayList<>();
+        match(channel, result::add);
+        return result;
+    }
+
+    private Automaton<T> getAutomaton() {
+
+        Automaton<T> automaton = this.automaton;
+
+        if (automaton != null) {
+            return automaton;
+        }
+
+        synchronized (patterns) {
+
+            if (this.automaton == null) {
+                this.automaton = new Automaton<>(patterns);
+            }
+
+            return this.automaton;
+        }
+    }
+
+    /**
+     * Compiled trie along with its lazily determinized states.
+     */
+    static class Automaton<T> {
+
+        private final Map<StateKey, State> states = new ConcurrentHashMap<>();
+
+        private final State initial;
+
+        private final int maxStates;
+
+        private int nodeIds;
+
+        Automaton(Map<ByteBuffer, List<T>> patterns) {
+
+            Node root = new Node(nodeIds++, false);
+
+            for (Map.Entry<ByteBuffer, List<T>> entry : patterns.entrySet()) {
+
+                Node terminal = insert(root, entry.getKey().array());
+
+                if (terminal.values == Collections.EMPTY_LIST) {
+                    terminal.values = new ArrayList<>();
+                }
+                terminal.values.addAll(entry.getValue());
+            }
+
+            this.maxStates = ADDITIONAL_CACHED_STATES + 2 * nodeIds;
+
+            List<Node> closure = new ArrayList<>();
+            addWithClosure(root, closure);
+            this.initial = state(closure);
+        }
+
+        State run(ByteBuffer channel) {
+
+            State state = initial;
+
+            for (int i = channel.position(); i < channel.limit(); i++) {
+
+                int b = channel.get(i) & 0xFF;
+                State next = state.next(b);
+
+                if (next == null) {
+                    next = transition(state, b);
+                }
+
+                if (next.nodes.length == 0) {
+                    return null;
+                }
+
+                state = next;
+            }
+
+            return state;
+        }
+
+        private State transition(State state, int b) {
+
+            List<Node> target = new ArrayList<>();
+
+            for (Node node : state.nodes) {
+
+                if (node.star) {
+                    addWithClosure(node, target);
+                }
+
+                Node literal = node.literal(b);
+                if (literal != null) {
+                    addWithClosure(literal, target);
+                }
+
+                if (node.any != null) {
+                    addWithClosure(node.any, target);
+                }
+
+                for (CharacterClass characterClass : node.classes) {
+                    if (characterClass.matches(b)) {
+                        addWithClosure(characterClass.node, target);
+                    }
+                }
+            }
+
+            State next = state(target);
+
+            if (states.size() < maxStates) {
+                state.addTransition(b, next);
+            }
+
+            return next;
+        }
+
+        private State state(List<Node> nodes) {
+
+            Node[] sorted = nodes.toArray(new Node[0]);
+            Arrays.sort(sorted, (o1, o2) -> Integer.compare(o1.id, o2.id));
+
+            StateKey key = new StateKey(sorted);
+            State state = states.get(key);
+
+            if (state != null) {
+                return state;
+            }
+
+            state = new State(sorted);
+
+            if (states.size() < maxStates) {
+                State existing = states.putIfAbsent(key, state);
+                return existing != null ? existing : state;
+            }
+
+            return state;
+        }
+
+        private static void addWithClosure(Node node, List<Node> target) {
+
+            Node current = node;
+
+            while (current != null && !target.contains(current)) {
+                target.add(current);
+                current = current.starChild;
+            }
+        }
+
+        private Node insert(Node root, byte[] pattern) {
+
+            Node node = root;
+
+            for (int i = 0; i < pattern.length; i++) {
+
+                int c = pattern[i] & 0xFF;
+
+                switch (c) {
+                    case '*':
+                        while (i + 1 < pattern.length && pattern[i + 1] == '*') {
+                            i++;
+                        }
+                        if (node.starChild == null) {
+                            node.starChild = new Node(nodeIds++, true);
+                        }
+                        node = node.starChild;
+                        break;
+                    case '?':
+                        if (node.any == null) {
+                            node.any = new Node(nodeIds++, false);
+                        }
+                        node = node.any;
+                        break;
+                    case '[':
+                        BitSet bits = new BitSet(256);
+                        i = parseClass(pattern, i + 1, bits);
+                        node = node.characterClass(bits, this);
+                        break;
+                    case '\\':
+                        if (i + 1 < pattern.length) {
+                            i++;
+                            c = pattern[i] & 0xFF;
+                        }
+                        node = node.literalOrCreate(c, this);
+                        break;
+                    default:
+                        node = node.literalOrCreate(c, this);
+                }
+            }
+
+            return node;
+        }
+
+        /**
+         * Parse a character class following Redis {@code stringmatchlen} semantics.
+         *
+         * @return index of the closing bracket (or last index if unterminated).
+         */
+        private static int parseClass(byte[] pattern, int start, BitSet bits) {
+
+            int i = start;
+            boolean not = i < pattern.length && pattern[i] == '^';
+
+            if (not) {
+                i++;
+            }
+
+            for (; i < pattern.length; i++) {
+
+                int c = pattern[i] & 0xFF;
+
+                if (c == '\\' && i + 1 < pattern.length) {
+                    i++;
+                    bits.set(pattern[i] & 0xFF);
+                } else if (c == ']') {
+                    break;
+                } else if (i + 2 < pattern.length && pattern[i + 1] == '-') {
+
+                    int start1 = c;
+                    int end = pattern[i + 2] & 0xFF;
+
+                    if (start1 > end) {
+                        int tmp = start1;
+                        start1 = end;
+                        end = tmp;
+                    }
+
+                    bits.set(start1, end + 1);
+                    i += 2;
+                } else {
+                    bits.set(c);
+                }
+            }
+
+            if (not) {
+                bits.flip(0, 256);
+            }
+
+            return i >= pattern.length ? pattern.length - 1 : i;
+        }
+
+        int nextNodeId() {
+            return nodeIds++;
+        }
+
+    }
+
+    /**
+     * Trie node. A node reached through {@code *} loops on any byte.
+     */
+    static class Node {
+
+        final int id;
+
+        final boolean star;
+
+        byte[] literalKeys = new byte[0];
+
+        Node[] literalNodes = new Node[0];
+
+        Node any;
+
+        Node starChild;
+
+        List<CharacterClass> classes = Collections.emptyList();
+
+        @SuppressWarnings("rawtypes")
+        List values = Collections.EMPTY_LIST;
+
+        Node(int id, boolean star) {
+            this.id = id;
+            this.star = star;
+        }
+
+        Node literal(int b) {
+
+            byte[] keys = literalKeys;
+            for (int i = 0; i < keys.length; i++) {
+                if ((keys[i] & 0xFF) == b) {
+                    return literalNodes[i];
+                }
+            }
+
+            return null;
+        }
+
+        Node literalOrCreate(int b, Automaton<?> automaton) {
+
+            Node node = literal(b);
+
+            if (node == null) {
+
+                node = new Node(automaton.nextNodeId(), false);
+                literalKeys = Arrays.copyOf(literalKeys, literalKeys.length + 1);
+                literalNodes = Arrays.copyOf(literalNodes, literalNodes.length + 1);
+                literalKeys[literalKeys.length - 1] = (byte) b;
+                literalNodes[literalNodes.length - 1] = node;
+            }
+
+            return node;
+        }
+
+        Node characterClass(BitSet bits, Automaton<?> automaton) {
+
+            for (CharacterClass characterClass : classes) {
+                if (characterClass.bits.equals(bits)) {
+                    return characterClass.node;
+                }
+            }
+
+            if (classes.isEmpty()) {
+                classes = new ArrayList<>(1);
+            }
+
+            CharacterClass characterClass = new CharacterClass(bits, new Node(automaton.nextNodeId(), false));
+            classes.add(characterClass);
+            return characterClass.node;
+        }
+
+    }
+
+    static class CharacterClass {
+
+        final BitSet bits;
+
+        final Node node;
+
+        CharacterClass(BitSet bits, Node node) {
+            this.bits = bits;
+            this.node = node;
+        }
+
+        boolean matches(int b) {
+            return bits.get(b);
+        }
+
+    }
+
+    /**
+     * Deterministic automaton state representing a set of trie nodes.
+     */
+    static class State {
+
+        final Node[] nodes;
+
+        final Object[] accepting;
+
+        private volatile byte[] transitionKeys = new byte[0];
+
+        private volatile State[] transitionTargets = new State[0];
+
+        State(Node[] nodes) {
+
+            this.nodes = nodes;
+
+            List<Object> accepting = new ArrayList<>();
+            for (Node node : nodes) {
+                accepting.addAll(node.values);
+            }
+
+            this.accepting = accepting.toArray();
+        }
+
+        State next(int b) {
+
+            State[] targets = transitionTargets;
+            byte[] keys = transitionKeys;
+
+            for (int i = 0; i < keys.length && i < targets.length; i++) {
+                if ((keys[i] & 0xFF) == b) {
+                    return targets[i];
+                }
+            }
+
+            return null;
+        }
+
+        synchronized void addTransition(int b, State target) {
+
+            if (next(b) != null) {
+                return;
+            }
+
+            State[] targets = Arrays.copyOf(transitionTargets, transitionTargets.length + 1);
+            byte[] keys = Arrays.copyOf(transitionKeys, transitionKeys.length + 1);
+
+            targets[targets.length - 1] = target;
+            keys[keys.length - 1] = (byte) b;
+
+            // publish targets before keys so that readers never observe a key without its target
+            this.transitionTargets = targets;
+            this.transitionKeys = keys;
+        }
+
+    }
+
+    static class StateKey {
+
+        private final int[] ids;
+
+        private final int hashCode;
+
+        StateKey(Node[] nodes) {
+
+            this.ids = new int[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                ids[i] = nodes[i].id;
+            }
+
+            this.hashCode = Arrays.hashCode(ids);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof StateKey)) {
+                return false;
+            }
+
+            return Arrays.equals(ids, ((StateKey) o).ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -90,6 +90,18 @@ class PubSubCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
         return pubSubCommand(UNSUBSCRIBE, new PubSubOutput<>(codec), channels);
     }
 
+    @SafeVarargs
+    final Command<K, V, V> ssubscribe(K... shardChannels) {
+        LettuceAssert.notEmpty(shardChannels, "shardChannels " + MUST_NOT_BE_EMPTY);
+
+        return pubSubCommand(SSUBSCRIBE, new PubSubOutput<>(codec), shardChannels);
+    }
+
+    @SafeVarargs
+    final Command<K, V, V> sunsubscribe(K... shardChannels) {
+        return pubSubCommand(SUNSUBSCRIBE, new PubSubOutput<>(codec), shardChannels);
+    }
+
     <T> Command<K, V, T> pubSubCommand(CommandType type, CommandOutput<K, V, T> output, K... keys) {
         return new Command<>(type, output, new PubSubCommandArgs<>(codec).addKeys(keys));
     }
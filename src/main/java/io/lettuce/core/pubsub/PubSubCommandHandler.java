@@ -187,6 +187,10 @@ public class PubSubCommandHandler<K, V> extends CommandHandler {
                 return true;
             }
 
+            if (replay.multiCount == 3 && firstElement.equalsIgnoreCase(PubSubOutput.Type.smessage.name())) {
+                return true;
+            }
+
             if (replay.multiCount == 4 && firstElement.equalsIgnoreCase(PubSubOutput.Type.pmessage.name())) {
                 return true;
             }
@@ -241,6 +245,12 @@ public class PubSubCommandHandler<K, V> extends CommandHandler {
 
             case punsubscribe:
                 return commandType.equalsIgnoreCase("PUNSUBSCRIBE");
+
+            case ssubscribe:
+                return commandType.equalsIgnoreCase("SSUBSCRIBE");
+
+            case sunsubscribe:
+                return commandType.equalsIgnoreCase("SUNSUBSCRIBE");
         }
 
         return false;
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+/**
+ * Metrics of asynchronous Pub/Sub message dispatch.
+ *
+ * @since 7.0
+ * @see PubSubDispatchOptions
+ */
+public interface PubSubDispatchMetrics {
+
+    /**
+     * @return number of messages queued across all lanes.
+     */
+    int getQueueDepth();
+
+    /**
+     * @param lane the lane index.
+     * @return number of messages queued in the given lane.
+     */
+    int getQueueDepth(int lane);
+
+    /**
+     * @return number of lanes.
+     */
+    int getLanes();
+
+    /**
+     * @return number of messages discarded by {@link PubSubDispatchOptions.OverflowPolicy#DROP_OLDEST}.
+     */
+    long getDroppedMessages();
+
+    /**
+     * @return number of messages rejected by {@link PubSubDispatchOptions.OverflowPolicy#REJECT}.
+     */
+    long getRejectedMessages();
+
+    /**
+     * @return number of times reading was paused by {@link PubSubDispatchOptions.OverflowPolicy#PAUSE_READS}.
+     */
+    long getReadPauses();
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import java.util.concurrent.Executor;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options to control how Pub/Sub messages are dispatched to {@link RedisPubSubListener listeners}.
+ * <p>
+ * Listeners are notified on the I/O thread by default. Asynchronous dispatch hands messages off to an {@link Executor} so
+ * that slow listeners do not stall decoding of the connection. Messages are distributed across a fixed number of lanes by
+ * their channel. Each lane is processed sequentially so that messages of the same channel are delivered in order. Each lane
+ * is bounded by its queue capacity, the {@link OverflowPolicy} determines what happens if a lane is full.
+ *
+ * @since 7.0
+ */
+public class PubSubDispatchOptions {
+
+    public static final boolean DEFAULT_ASYNC_DISPATCH = false;
+
+    public static final int DEFAULT_LANES = Runtime.getRuntime().availableProcessors();
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.PAUSE_READS;
+
+    private final boolean asyncDispatch;
+
+    private final int lanes;
+
+    private final int queueCapacity;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Executor executor;
+
+    protected PubSubDispatchOptions(Builder builder) {
+
+        this.asyncDispatch = builder.asyncDispatch;
+        this.lanes = builder.lanes;
+        this.queueCapacity = builder.queueCapacity;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.executor = builder.executor;
+    }
+
+    /**
+     * Returns a new {@link PubSubDispatchOptions.Builder} to construct {@link PubSubDispatchOptions}.
+     *
+     * @return a new {@link PubSubDispatchOptions.Builder} to construct {@link PubSubDispatchOptions}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new {@link PubSubDispatchOptions} using default settings. Messages are dispatched on the I/O thread.
+     *
+     * @return a new instance of default dispatch options.
+     */
+    public static PubSubDispatchOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new {@link PubSubDispatchOptions} with enabled asynchronous dispatch using default settings.
+     *
+     * @return a new instance of dispatch options.
+     */
+    public static PubSubDispatchOptions enabled() {
+        return builder().asyncDispatch(true).build();
+    }
+
+    /**
+     * Builder for {@link PubSubDispatchOptions}.
+     */
+    public static class Builder {
+
+        private boolean asyncDispatch = DEFAULT_ASYNC_DISPATCH;
+
+        private int lanes = DEFAULT_LANES;
+
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        private OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * Enable asynchronous dispatch of Pub/Sub messages. Defaults to {@code false}. See {@link #DEFAULT_ASYNC_DISPATCH}.
+         *
+         * @param asyncDispatch {@code true} to dispatch messages asynchronously.
+         * @return {@code this}
+         */
+        public Builder asyncDispatch(boolean asyncDispatch) {
+            this.asyncDispatch = asyncDispatch;
+            return this;
+        }
+
+        /**
+         * Set the number of lanes. Messages are assigned to a lane by their channel. Defaults to the number of available
+         * processors. See {@link #DEFAULT_LANES}.
+         *
+         * @param lanes number of lanes, must be greater zero.
+         * @return {@code this}
+         */
+        public Builder lanes(int lanes) {
+
+            LettuceAssert.isTrue(lanes > 0, "Lanes must be greater zero");
+
+            this.lanes = lanes;
+            return this;
+        }
+
+        /**
+         * Set the queue capacity per lane. Defaults to {@code 1024}. See {@link #DEFAULT_QUEUE_CAPACITY}. The capacity is
+         * exceeded temporarily with {@link OverflowPolicy#PAUSE_READS}.
+         *
+         * @param queueCapacity the queue capacity, must be greater zero.
+         * @return {@code this}
+         */
+        public Builder queueCapacity(int queueCapacity) {
+
+            LettuceAssert.isTrue(queueCapacity > 0, "Queue capacity must be greater zero");
+
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Set the {@link OverflowPolicy} to apply when a lane is full. Defaults to {@link OverflowPolicy#PAUSE_READS}. See
+         * {@link #DEFAULT_OVERFLOW_POLICY}.
+         *
+         * @param overflowPolicy must not be {@code null}.
+         * @return {@code this}
+         */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+
+            LettuceAssert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set the {@link Executor} to notify listeners. Defaults to
+         * {@link io.lettuce.core.resource.ClientResources#eventExecutorGroup()} if not set.
+         *
+         * @param executor the executor, must not be {@code null}.
+         * @return {@code this}
+         */
+        public Builder executor(Executor executor) {
+
+            LettuceAssert.notNull(executor, "Executor must not be null");
+
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link PubSubDispatchOptions}
+         *
+         * @return new instance of {@link PubSubDispatchOptions}
+         */
+        public PubSubDispatchOptions build() {
+            return new PubSubDispatchOptions(this);
+        }
+
+    }
+
+    /**
+     * Flag, whether to dispatch messages asynchronously. Defaults to {@code false}.
+     *
+     * @return {@code true} if messages are dispatched asynchronously.
+     */
+    public boolean isAsyncDispatch() {
+        return asyncDispatch;
+    }
+
+    /**
+     * @return the number of lanes.
+     */
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * @return the queue capacity per lane.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return the {@link OverflowPolicy}.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @return the {@link Executor} to notify listeners. Can be {@code null} to use the default executor.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Policy to apply when a lane has reached its queue capacity.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Discard the oldest queued message of the lane to accept the new message.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Accept the message and stop reading from the connection until the lane has drained to half of its capacity. Redis
+         * buffers messages on the server side while reading is paused. The queue capacity is not a hard bound with this
+         * policy: messages decoded from data that was read before reading was paused are accepted as well, so a lane may
+         * exceed its capacity by the messages contained in one read from the socket.
+         */
+        PAUSE_READS,
+
+        /**
+         * Reject the new message. Rejected messages are not delivered to listeners.
+         */
+        REJECT
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import io.lettuce.core.pubsub.PubSubDispatchOptions.OverflowPolicy;
+import io.lettuce.core.pubsub.PubSubEndpoint.Wrapper;
+import io.netty.channel.Channel;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Dispatches Pub/Sub messages asynchronously using an {@link Executor}. Messages are assigned to lanes by their channel (or
+ * pattern for pattern subscription notifications). Each lane is drained sequentially, messages of the same lane retain their
+ * order.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+class PubSubDispatcher<K, V> implements PubSubDispatchMetrics {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(PubSubDispatcher.class);
+
+    /**
+     * Maximum number of messages to process before yielding the executor thread.
+     */
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final List<Lane> lanes;
+
+    private final int queueCapacity;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Executor executor;
+
+    private final Consumer<PubSubMessage<K, V>> target;
+
+    private final Supplier<Channel> channel;
+
+    private final AtomicInteger overflowingLanes = new AtomicInteger();
+
+    private final LongAdder droppedMessages = new LongAdder();
+
+    private final LongAdder rejectedMessages = new LongAdder();
+
+    private final LongAdder readPauses = new LongAdder();
+
+    /**
+     * @param options dispatch options.
+     * @param executor executor to notify {@code target}.
+     * @param target the message consumer.
+     * @param channel supplier for the current {@link Channel} to pause and resume reading.
+     */
+    PubSubDispatcher(PubSubDispatchOptions options, Executor executor, Consumer<PubSubMessage<K, V>> target,
+            Supplier<Channel> channel) {
+
+        this.queueCapacity = options.getQueueCapacity();
+        this.overflowPolicy = options.getOverflowPolicy();
+        this.executor = executor;
+        this.target = target;
+        this.channel = channel;
+        this.lanes = new ArrayList<>(options.getLanes());
+
+        for (int i = 0; i < options.getLanes(); i++) {
+            lanes.add(new Lane());
+        }
+    }
+
+    /**
+     * Dispatch a message.
+     *
+     * @param message the message.
+     */
+    void dispatch(PubSubMessage<K, V> message) {
+        lanes.get(laneOf(message)).offer(message);
+    }
+
+    private int laneOf(PubSubMessage<K, V> message) {
+
+        K key = message.channel() != null ? message.channel() : message.pattern();
+
+        if (key == null || lanes.size() == 1) {
+            return 0;
+        }
+
+        int hash = new Wrapper<>(key).hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes.size();
+    }
+
+    @Override
+    public int getQueueDepth() {
+
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.size();
+        }
+
+        return depth;
+    }
+
+    @Override
+    public int getQueueDepth(int lane) {
+        return lanes.get(lane).size();
+    }
+
+    @Override
+    public int getLanes() {
+        return lanes.size();
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    @Override
+    public long getRejectedMessages() {
+        return rejectedMessages.sum();
+    }
+
+    @Override
+    public long getReadPauses() {
+        return readPauses.sum();
+    }
+
+    private void setAutoRead(boolean autoRead) {
+
+        Channel channel = this.channel.get();
+
+        if (channel != null) {
+            channel.config().setAutoRead(autoRead);
+        }
+    }
+
+    /**
+     * A queue that is drained sequentially. The queue capacity is a hard bound for {@link OverflowPolicy#DROP_OLDEST} and
+     * {@link OverflowPolicy#REJECT}. With {@link OverflowPolicy#PAUSE_READS}, messages that are decoded from data read before
+     * reading was paused are still enqueued so the queue exceeds its capacity by at most the messages contained in the
+     * pending read.
+     */
+    class Lane implements Runnable {
+
+        private final ArrayDeque<PubSubMessage<K, V>> queue = new ArrayDeque<>();
+
+        private boolean scheduled;
+
+        private boolean overflowing;
+
+        void offer(PubSubMessage<K, V> message) {
+
+            boolean schedule;
+            boolean pause = false;
+
+            synchronized (this) {
+
+                if (queue.size() >= queueCapacity) {
+
+                    switch (overflowPolicy) {
+                        case DROP_OLDEST:
+                            queue.poll();
+                            droppedMessages.increment();
+                            break;
+                        case REJECT:
+                            rejectedMessages.increment();
+                            logger.debug("Rejecting Pub/Sub message, dispatch queue capacity {} exceeded", queueCapacity);
+                            return;
+                        case PAUSE_READS:
+                            if (!overflowing) {
+                                overflowing = true;
+                                pause = true;
+                            }
+                            break;
+                    }
+                }
+
+                queue.add(message);
+                schedule = !scheduled;
+                scheduled = true;
+            }
+
+            if (pause && overflowingLanes.getAndIncrement() == 0) {
+                readPauses.increment();
+                setAutoRead(false);
+            }
+
+            if (schedule) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+
+            for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+
+                PubSubMessage<K, V> message;
+                boolean resume = false;
+
+                synchronized (this) {
+
+                    message = queue.poll();
+
+                    if (message == null) {
+                        scheduled = false;
+                        return;
+                    }
+
+                    if (overflowing && queue.size() <= queueCapacity / 2) {
+                        overflowing = false;
+                        resume = true;
+                    }
+                }
+
+                if (resume && overflowingLanes.decrementAndGet() == 0) {
+                    setAutoRead(true);
+                }
+
+                try {
+                    target.accept(message);
+                } catch (Exception e) {
+                    logger.error("Unexpected error occurred in RedisPubSubListener callback", e);
+                }
+            }
+
+            // yield to other tasks, remain scheduled
+            executor.execute(this);
+        }
+
+        synchronized int size() {
+            return queue.size();
+        }
+
+    }
+
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.RedisException;
@@ -52,23 +53,30 @@ public class PubSubEndpoint<K, V> extends DefaultEndpoint {
 
     private final Set<Wrapper<K>> patterns;
 
+    private final Set<Wrapper<K>> shardChannels;
+
+    private final PubSubDispatcher<K, V> dispatcher;
+
     private volatile boolean subscribeWritten = false;
 
     static {
 
-        ALLOWED_COMMANDS_SUBSCRIBED = new HashSet<>(6, 1);
+        ALLOWED_COMMANDS_SUBSCRIBED = new HashSet<>(8, 1);
 
         ALLOWED_COMMANDS_SUBSCRIBED.add(CommandType.SUBSCRIBE.name());
         ALLOWED_COMMANDS_SUBSCRIBED.add(CommandType.PSUBSCRIBE.name());
         ALLOWED_COMMANDS_SUBSCRIBED.add(CommandType.UNSUBSCRIBE.name());
         ALLOWED_COMMANDS_SUBSCRIBED.add(CommandType.PUNSUBSCRIBE.name());
+        ALLOWED_COMMANDS_SUBSCRIBED.add(CommandType.SSUBSCRIBE.name());
+        ALLOWED_COMMANDS_SUBSCRIBED.add(CommandType.SUNSUBSCRIBE.name());
         ALLOWED_COMMANDS_SUBSCRIBED.add(CommandType.QUIT.name());
         ALLOWED_COMMANDS_SUBSCRIBED.add(CommandType.PING.name());
 
-        SUBSCRIBE_COMMANDS = new HashSet<>(2, 1);
+        SUBSCRIBE_COMMANDS = new HashSet<>(3, 1);
 
         SUBSCRIBE_COMMANDS.add(CommandType.SUBSCRIBE.name());
         SUBSCRIBE_COMMANDS.add(CommandType.PSUBSCRIBE.name());
+        SUBSCRIBE_COMMANDS.add(CommandType.SSUBSCRIBE.name());
     }
 
     /**
@@ -83,6 +91,17 @@ public class PubSubEndpoint<K, V> extends DefaultEndpoint {
 
         this.channels = ConcurrentHashMap.newKeySet();
         this.patterns = ConcurrentHashMap.newKeySet();
+        this.shardChannels = ConcurrentHashMap.newKeySet();
+
+        PubSubDispatchOptions dispatchOptions = clientOptions.getPubSubDispatchOptions();
+        if (dispatchOptions.isAsyncDispatch()) {
+
+            Executor executor = dispatchOptions.getExecutor() != null ? dispatchOptions.getExecutor()
+                    : clientResources.eventExecutorGroup();
+            this.dispatcher = new PubSubDispatcher<>(dispatchOptions, executor, this::notifyListeners, () -> this.channel);
+        } else {
+            this.dispatcher = null;
+        }
     }
 
     /**
@@ -123,6 +142,30 @@ public class PubSubEndpoint<K, V> extends DefaultEndpoint {
         return unwrap(this.patterns);
     }
 
+    /**
+     * @return {@code true} if the connection is subscribed to shard channels.
+     * @since 7.0
+     */
+    public boolean hasShardChannelSubscriptions() {
+        return !shardChannels.isEmpty();
+    }
+
+    /**
+     * @return the shard channels the connection is subscribed to.
+     * @since 7.0
+     */
+    public Set<K> getShardChannels() {
+        return unwrap(this.shardChannels);
+    }
+
+    /**
+     * @return the {@link PubSubDispatchMetrics} or {@code null} if messages are dispatched on the I/O thread.
+     * @since 7.0
+     */
+    public PubSubDispatchMetrics getDispatchMetrics() {
+        return dispatcher;
+    }
+
     @Override
     public void notifyChannelActive(Channel channel) {
         subscribeWritten = false;
@@ -198,7 +241,7 @@ public class PubSubEndpoint<K, V> extends DefaultEndpoint {
     }
 
     public boolean isSubscribed() {
-        return subscribeWritten && (hasChannelSubscriptions() || hasPatternSubscriptions());
+        return subscribeWritten && (hasChannelSubscriptions() || hasPatternSubscriptions() || hasShardChannelSubscriptions());
     }
 
     void notifyMessage(PubSubMessage<K, V> message) {
@@ -209,6 +252,12 @@ public class PubSubEndpoint<K, V> extends DefaultEndpoint {
         }
 
         updateInternalState(message);
+
+        if (dispatcher != null) {
+            dispatcher.dispatch(message);
+            return;
+        }
+
         try {
             notifyListeners(message);
         } catch (Exception e) {
@@ -238,6 +287,15 @@ public class PubSubEndpoint<K, V> extends DefaultEndpoint {
                 case unsubscribe:
                     listener.unsubscribed(message.channel(), message.count());
                     break;
+                case smessage:
+                    listener.smessage(message.channel(), message.body());
+                    break;
+                case ssubscribe:
+                    listener.ssubscribed(message.channel(), message.count());
+                    break;
+                case sunsubscribe:
+                    listener.sunsubscribed(message.channel(), message.count());
+                    break;
                 default:
                     throw new UnsupportedOperationException("Operation " + message.type() + " not supported");
             }
@@ -259,6 +317,12 @@ public class PubSubEndpoint<K, V> extends DefaultEndpoint {
             case unsubscribe:
                 channels.remove(new Wrapper<>(message.channel()));
                 break;
+            case ssubscribe:
+                shardChannels.add(new Wrapper<>(message.channel()));
+                break;
+            case sunsubscribe:
+                shardChannels.remove(new Wrapper<>(message.channel()));
+                break;
             default:
                 break;
         }
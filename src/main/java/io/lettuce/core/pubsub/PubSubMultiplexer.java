@@ -0,0 +1,425 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.pubsub.PubSubEndpoint.Wrapper;
+import io.lettuce.core.pubsub.api.reactive.ChannelMessage;
+import io.lettuce.core.pubsub.api.reactive.PatternMessage;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Multiplexes local subscriptions of multiple components over a single {@link StatefulRedisPubSubConnection}. Local
+ * subscriptions are reference-counted per channel and pattern: {@code SUBSCRIBE} respectively {@code PSUBSCRIBE} is sent when
+ * the first local subscriber registers interest in a channel or pattern and {@code UNSUBSCRIBE} respectively
+ * {@code PUNSUBSCRIBE} is sent when the last local subscriber cancels its subscription. Each message is decoded once by the
+ * connection and dispatched to all local subscribers of the channel or pattern.
+ * <p>
+ * Subscribers are notified on the thread that decodes the message (typically the event loop) and must not block. The
+ * multiplexer does not own the connection. Closing the multiplexer unsubscribes all channels and patterns that were
+ * subscribed through the multiplexer but keeps the connection open.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class PubSubMultiplexer<K, V> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(PubSubMultiplexer.class);
+
+    private final Map<Wrapper<K>, Interest<ChannelMessage<K, V>>> channels = new ConcurrentHashMap<>();
+
+    private final Map<Wrapper<K>, Interest<PatternMessage<K, V>>> patterns = new ConcurrentHashMap<>();
+
+    private final StatefulRedisPubSubConnection<K, V> connection;
+
+    private final RedisPubSubListener<K, V> listener = new DispatchingListener();
+
+    private PubSubMultiplexer(StatefulRedisPubSubConnection<K, V> connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Create a new {@link PubSubMultiplexer} for the given {@link StatefulRedisPubSubConnection}. The connection should be
+     * used exclusively through the multiplexer to retain consistent subscription state.
+     *
+     * @param connection the Pub/Sub connection, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new {@link PubSubMultiplexer}.
+     */
+    public static <K, V> PubSubMultiplexer<K, V> create(StatefulRedisPubSubConnection<K, V> connection) {
+
+        LettuceAssert.notNull(connection, "StatefulRedisPubSubConnection must not be null");
+
+        PubSubMultiplexer<K, V> multiplexer = new PubSubMultiplexer<>(connection);
+        connection.addListener(multiplexer.listener);
+
+        return multiplexer;
+    }
+
+    /**
+     * Subscribe to messages published to {@code channel}. Subscribes to the channel on the Redis server if this is the first
+     * local subscription of the channel.
+     *
+     * @param channel the channel, must not be {@code null}.
+     * @param subscriber the subscriber to notify, must not be {@code null}.
+     * @return the {@link Subscription}.
+     */
+    @SuppressWarnings("unchecked")
+    public Subscription subscribe(K channel, Consumer<ChannelMessage<K, V>> subscriber) {
+
+        LettuceAssert.notNull(channel, "Channel must not be null");
+        LettuceAssert.notNull(subscriber, "Subscriber must not be null");
+
+        return register(channels, channel, subscriber, it -> connection.async().subscribe(it),
+                it -> connection.async().unsubscribe(it));
+    }
+
+    /**
+     * Subscribe to messages published to channels matching {@code pattern}. Subscribes to the pattern on the Redis server if
+     * this is the first local subscription of the pattern.
+     *
+     * @param pattern the pattern, must not be {@code null}.
+     * @param subscriber the subscriber to notify, must not be {@code null}.
+     * @return the {@link Subscription}.
+     */
+    @SuppressWarnings("unchecked")
+    public Subscription psubscribe(K pattern, Consumer<PatternMessage<K, V>> subscriber) {
+
+        LettuceAssert.notNull(pattern, "Pattern must not be null");
+        LettuceAssert.notNull(subscriber, "Subscriber must not be null");
+
+        return register(patterns, pattern, subscriber, it -> connection.async().psubscribe(it),
+                it -> connection.async().punsubscribe(it));
+    }
+
+    /**
+     * Observe messages published to {@code channel}. The channel is subscribed when the {@link Flux} is subscribed and the
+     * local subscription is cancelled when the {@link Flux} is cancelled. Messages are buffered if the subscriber cannot keep
+     * up.
+     *
+     * @param channel the channel, must not be {@code null}.
+     * @return a {@link Flux} emitting messages published to {@code channel}.
+     */
+    public Flux<ChannelMessage<K, V>> observeChannel(K channel) {
+        return observeChannel(channel, FluxSink.OverflowStrategy.BUFFER);
+    }
+
+    /**
+     * Observe messages published to {@code channel}. The channel is subscribed when the {@link Flux} is subscribed and the
+     * local subscription is cancelled when the {@link Flux} is cancelled.
+     *
+     * @param channel the channel, must not be {@code null}.
+     * @param overflowStrategy the overflow strategy to use.
+     * @return a {@link Flux} emitting messages published to {@code channel}.
+     */
+    public Flux<ChannelMessage<K, V>> observeChannel(K channel, FluxSink.OverflowStrategy overflowStrategy) {
+
+        LettuceAssert.notNull(channel, "Channel must not be null");
+
+        return Flux.create(sink -> {
+
+            Subscription subscription = subscribe(channel, sink::next);
+            subscription.subscribed().whenComplete((ignore, throwable) -> {
+                if (throwable != null) {
+                    sink.error(throwable);
+                }
+            });
+
+            sink.onDispose(subscription::unsubscribe);
+        }, overflowStrategy);
+    }
+
+    /**
+     * Observe messages published to channels matching {@code pattern}. The pattern is subscribed when the {@link Flux} is
+     * subscribed and the local subscription is cancelled when the {@link Flux} is cancelled. Messages are buffered if the
+     * subscriber cannot keep up.
+     *
+     * @param pattern the pattern, must not be {@code null}.
+     * @return a {@link Flux} emitting messages published to channels matching {@code pattern}.
+     */
+    public Flux<PatternMessage<K, V>> observePattern(K pattern) {
+        return observePattern(pattern, FluxSink.OverflowStrategy.BUFFER);
+    }
+
+    /**
+     * Observe messages published to channels matching {@code pattern}. The pattern is subscribed when the {@link Flux} is
+     * subscribed and the local subscription is cancelled when the {@link Flux} is cancelled.
+     *
+     * @param pattern the pattern, must not be {@code null}.
+     * @param overflowStrategy the overflow strategy to use.
+     * @return a {@link Flux} emitting messages published to channels matching {@code pattern}.
+     */
+    public Flux<PatternMessage<K, V>> observePattern(K pattern, FluxSink.OverflowStrategy overflowStrategy) {
+
+        LettuceAssert.notNull(pattern, "Pattern must not be null");
+
+        return Flux.create(sink -> {
+
+            Subscription subscription = psubscribe(pattern, sink::next);
+            subscription.subscribed().whenComplete((ignore, throwable) -> {
+                if (throwable != null) {
+                    sink.error(throwable);
+                }
+            });
+
+            sink.onDispose(subscription::unsubscribe);
+        }, overflowStrategy);
+    }
+
+    /**
+     * @param channel the channel.
+     * @return number of local subscriptions of {@code channel}.
+     */
+    public int getSubscriberCount(K channel) {
+
+        Interest<?> interest = channels.get(new Wrapper<>(channel));
+        return interest != null ? interest.subscribers.size() : 0;
+    }
+
+    /**
+     * @param pattern the pattern.
+     * @return number of local subscriptions of {@code pattern}.
+     */
+    public int getPatternSubscriberCount(K pattern) {
+
+        Interest<?> interest = patterns.get(new Wrapper<>(pattern));
+        return interest != null ? interest.subscribers.size() : 0;
+    }
+
+    /**
+     * Unsubscribe all channels and patterns that were subscribed through this multiplexer and stop dispatching messages. The
+     * underlying connection remains open.
+     *
+     * @return a future that completes when all channels and patterns are unsubscribed.
+     */
+    @SuppressWarnings("unchecked")
+    public CompletionStage<Void> close() {
+
+        connection.removeListener(listener);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (Wrapper<K> channel : channels.keySet()) {
+            if (channels.remove(channel) != null) {
+                futures.add(connection.async().unsubscribe(channel.name).toCompletableFuture());
+            }
+        }
+
+        for (Wrapper<K> pattern : patterns.keySet()) {
+            if (patterns.remove(pattern) != null) {
+                futures.add(connection.async().punsubscribe(pattern.name).toCompletableFuture());
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private <T> Subscription register(Map<Wrapper<K>, Interest<T>> interests, K name, Consumer<T> subscriber,
+            Function<K, CompletionStage<Void>> subscribe, Function<K, CompletionStage<Void>> unsubscribe) {
+
+        Wrapper<K> key = new Wrapper<>(name);
+        LocalSubscriber<T> local = new LocalSubscriber<>(subscriber);
+        AtomicBoolean created = new AtomicBoolean();
+
+        Interest<T> interest = interests.compute(key, (k, current) -> {
+
+            if (current != null) {
+                current.subscribers.add(local);
+                return current;
+            }
+
+            created.set(true);
+            Interest<T> newInterest = new Interest<>(subscribe.apply(name));
+            newInterest.subscribers.add(local);
+            return newInterest;
+        });
+
+        if (created.get()) {
+
+            // drop a failed interest outside of compute so that the next subscriber re-issues the subscription
+            interest.subscribed.whenComplete((ignore, throwable) -> {
+                if (throwable != null) {
+                    interests.remove(key, interest);
+                }
+            });
+        }
+
+        return new DefaultSubscription(interest.subscribed, () -> {
+
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            AtomicBoolean last = new AtomicBoolean();
+
+            interests.computeIfPresent(key, (k, current) -> {
+
+                if (current != interest || !current.subscribers.remove(local) || !current.subscribers.isEmpty()) {
+                    return current;
+                }
+
+                last.set(true);
+                unsubscribe.apply(name).whenComplete((ignore, throwable) -> {
+                    if (throwable != null) {
+                        result.completeExceptionally(throwable);
+                    } else {
+                        result.complete(null);
+                    }
+                });
+                return null;
+            });
+
+            if (!last.get()) {
+                result.complete(null);
+            }
+
+            return result;
+        });
+    }
+
+    private static <T> void dispatch(Interest<T> interest, T message) {
+
+        if (interest == null) {
+            return;
+        }
+
+        for (LocalSubscriber<T> subscriber : interest.subscribers) {
+            try {
+                subscriber.consumer.accept(message);
+            } catch (Exception e) {
+                logger.error("Unexpected error occurred in PubSubMultiplexer subscriber", e);
+            }
+        }
+    }
+
+    /**
+     * Local subscription handle.
+     */
+    public interface Subscription {
+
+        /**
+         * @return a future that completes when Redis has confirmed the subscription of the channel or pattern.
+         */
+        CompletionStage<Void> subscribed();
+
+        /**
+         * Cancel this local subscription. Unsubscribes the channel or pattern on the Redis server if this was the last local
+         * subscription. Calling this method multiple times has no effect.
+         *
+         * @return a future that completes when the local subscription is cancelled and Redis has confirmed the unsubscription
+         *         if applicable.
+         */
+        CompletionStage<Void> unsubscribe();
+
+    }
+
+    /**
+     * Registration of a local subscriber. Identity is used to distinguish multiple registrations of the same consumer.
+     */
+    private static class LocalSubscriber<T> {
+
+        private final Consumer<T> consumer;
+
+        LocalSubscriber(Consumer<T> consumer) {
+            this.consumer = consumer;
+        }
+
+    }
+
+    /**
+     * Reference-counted interest in a channel or pattern. An interest whose subscription fails is discarded.
+     */
+    private static class Interest<T> {
+
+        private final List<LocalSubscriber<T>> subscribers = new CopyOnWriteArrayList<>();
+
+        private final CompletionStage<Void> subscribed;
+
+        Interest(CompletionStage<Void> subscribed) {
+            this.subscribed = subscribed;
+        }
+
+    }
+
+    private static class DefaultSubscription implements Subscription {
+
+        private final CompletionStage<Void> subscribed;
+
+        private final AtomicBoolean unsubscribed = new AtomicBoolean();
+
+        private final Supplier<CompletionStage<Void>> unsubscribe;
+
+        DefaultSubscription(CompletionStage<Void> subscribed, Supplier<CompletionStage<Void>> unsubscribe) {
+            this.subscribed = subscribed;
+            this.unsubscribe = unsubscribe;
+        }
+
+        @Override
+        public CompletionStage<Void> subscribed() {
+            return subscribed;
+        }
+
+        @Override
+        public CompletionStage<Void> unsubscribe() {
+
+            if (unsubscribed.compareAndSet(false, true)) {
+                return unsubscribe.get();
+            }
+
+            return CompletableFuture.completedFuture(null);
+        }
+
+    }
+
+    private class DispatchingListener extends RedisPubSubAdapter<K, V> {
+
+        @Override
+        public void message(K channel, V message) {
+
+            Interest<ChannelMessage<K, V>> interest = channels.get(new Wrapper<>(channel));
+
+            if (interest != null) {
+                dispatch(interest, new ChannelMessage<>(channel, message));
+            }
+        }
+
+        @Override
+        public void message(K pattern, K channel, V message) {
+
+            Interest<PatternMessage<K, V>> interest = patterns.get(new Wrapper<>(pattern));
+
+            if (interest != null) {
+                dispatch(interest, new PatternMessage<>(pattern, channel, message));
+            }
+        }
+
+    }
+
+}
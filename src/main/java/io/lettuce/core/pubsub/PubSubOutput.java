@@ -34,7 +34,7 @@ public class PubSubOutput<K, V> extends CommandOutput<K, V, V> implements PubSub
 
     public enum Type {
 
-        message, pmessage, psubscribe, punsubscribe, subscribe, unsubscribe;
+        message, pmessage, psubscribe, punsubscribe, subscribe, unsubscribe, smessage, ssubscribe, sunsubscribe;
 
         private final static Set<String> names = new HashSet<>();
 
@@ -105,6 +105,7 @@ public class PubSubOutput<K, V> extends CommandOutput<K, V, V> implements PubSub
                     break;
                 }
             case message:
+            case smessage:
                 if (channel == null) {
                     channel = codec.decodeKey(bytes);
                     break;
@@ -118,6 +119,8 @@ public class PubSubOutput<K, V> extends CommandOutput<K, V, V> implements PubSub
                 break;
             case subscribe:
             case unsubscribe:
+            case ssubscribe:
+            case sunsubscribe:
                 channel = codec.decodeKey(bytes);
                 break;
             default:
@@ -128,7 +131,7 @@ public class PubSubOutput<K, V> extends CommandOutput<K, V, V> implements PubSub
     @Override
     public void set(long integer) {
         count = integer;
-        // count comes last in (p)(un)subscribe ack.
+        // count comes last in (p|s)(un)subscribe ack.
         completed = true;
     }
 
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceAssert;
+import io.lettuce.core.pubsub.api.reactive.PatternMessage;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * {@link RedisPubSubListener} that routes messages to local routes by matching the message channel against the glob pattern
+ * of each route. Patterns use the Redis {@code PSUBSCRIBE} syntax and are compiled into a {@link PatternIndex} so that routing
+ * a message costs {@code O(channel length)} regardless of the number of routes. Only routes whose pattern matches the channel
+ * are notified.
+ * <p>
+ * The router is intended for applications that subscribe to a broad set of channels (e.g. using a few coarse-grained
+ * patterns) and dispatch messages locally to many fine-grained patterns. Channel messages ({@code message}, {@code pmessage}
+ * and {@code smessage}) are routed by their channel, the pattern of a {@code pmessage} notification is not considered. The
+ * connection should be subscribed so that each message is received once to avoid duplicate routing.
+ * <p>
+ * Routes are notified on the thread that dispatches Pub/Sub messages and must not block.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ * @see PatternIndex
+ */
+public class PubSubPatternRouter<K, V> extends RedisPubSubAdapter<K, V> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(PubSubPatternRouter.class);
+
+    private final RedisCodec<K, V> codec;
+
+    private final PatternIndex<Route<K, V>> index = new PatternIndex<>();
+
+    /**
+     * Create a new {@link PubSubPatternRouter}.
+     *
+     * @param codec the codec to encode channels and patterns, must not be {@code null}.
+     */
+    public PubSubPatternRouter(RedisCodec<K, V> codec) {
+
+        LettuceAssert.notNull(codec, "RedisCodec must not be null");
+
+        this.codec = codec;
+    }
+
+    /**
+     * Add a route for messages published to channels matching {@code pattern}. Registering the same consumer multiple times
+     * results in multiple notifications.
+     *
+     * @param pattern the glob pattern, must not be {@code null}.
+     * @param consumer the consumer to notify, must not be {@code null}.
+     */
+    public void addRoute(K pattern, Consumer<PatternMessage<K, V>> consumer) {
+
+        LettuceAssert.notNull(pattern, "Pattern must not be null");
+        LettuceAssert.notNull(consumer, "Consumer must not be null");
+
+        index.add(encode(pattern), new Route<>(pattern, consumer));
+    }
+
+    /**
+     * Remove a route that was previously added for {@code pattern} and {@code consumer}.
+     *
+     * @param pattern the glob pattern, must not be {@code null}.
+     * @param consumer the consumer, must not be {@code null}.
+     * @return {@code true} if the route was removed.
+     */
+    public boolean removeRoute(K pattern, Consumer<PatternMessage<K, V>> consumer) {
+
+        LettuceAssert.notNull(pattern, "Pattern must not be null");
+        LettuceAssert.notNull(consumer, "Consumer must not be null");
+
+        return index.remove(encode(pattern), new Route<>(pattern, consumer));
+    }
+
+    /**
+     * @return number of distinct route patterns.
+     */
+    public int getPatternCount() {
+        return index.size();
+    }
+
+    @Override
+    public void message(K channel, V message) {
+        route(channel, message);
+    }
+
+    @Override
+    public void message(K pattern, K channel, V message) {
+        route(channel, message);
+    }
+
+    @Override
+    public void smessage(K shardChannel, V message) {
+        route(shardChannel, message);
+    }
+
+    private void route(K channel, V message) {
+
+        if (channel == null || index.isEmpty()) {
+            return;
+        }
+
+        index.match(codec.encodeKey(channel), route -> {
+            try {
+                route.consumer.accept(new PatternMessage<>(route.pattern, channel, message));
+            } catch (Exception e) {
+                logger.error("Unexpected error occurred in PubSubPatternRouter route", e);
+            }
+        });
+    }
+
+    private byte[] encode(K pattern) {
+
+        ByteBuffer buffer = codec.encodeKey(pattern);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Route of a pattern to a consumer. Routes are equal if they refer to the same consumer.
+     */
+    static class Route<K, V> {
+
+        private final K pattern;
+
+        private final Consumer<PatternMessage<K, V>> consumer;
+
+        Route(K pattern, Consumer<PatternMessage<K, V>> consumer) {
+            this.pattern = pattern;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Route)) {
+                return false;
+            }
+
+            Object other = ((Route<?, ?>) o).consumer;
+            return consumer == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(consumer);
+        }
+
+    }
+
+}
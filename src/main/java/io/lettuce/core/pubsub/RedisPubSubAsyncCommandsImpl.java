@@ -70,6 +70,18 @@ public class RedisPubSubAsyncCommandsImpl<K, V> extends RedisAsyncCommandsImpl<K
         return (RedisFuture<Void>) dispatch(commandBuilder.unsubscribe(channels));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public RedisFuture<Void> ssubscribe(K... shardChannels) {
+        return (RedisFuture<Void>) dispatch(commandBuilder.ssubscribe(shardChannels));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RedisFuture<Void> sunsubscribe(K... shardChannels) {
+        return (RedisFuture<Void>) dispatch(commandBuilder.sunsubscribe(shardChannels));
+    }
+
     @Override
     public RedisFuture<Long> publish(K channel, V message) {
         return dispatch(commandBuilder.publish(channel, message));
@@ -73,4 +73,34 @@ public interface RedisPubSubListener<K, V> {
      */
     void punsubscribed(K pattern, long count);
 
+    /**
+     * Message received from a shard channel subscription.
+     *
+     * @param shardChannel shard channel.
+     * @param message Message.
+     * @since 7.0
+     */
+    default void smessage(K shardChannel, V message) {
+    }
+
+    /**
+     * Subscribed to a shard channel.
+     *
+     * @param shardChannel shard channel.
+     * @param count Subscription count.
+     * @since 7.0
+     */
+    default void ssubscribed(K shardChannel, long count) {
+    }
+
+    /**
+     * Unsubscribed from a shard channel.
+     *
+     * @param shardChannel shard channel.
+     * @param count Subscription count.
+     * @since 7.0
+     */
+    default void sunsubscribed(K shardChannel, long count) {
+    }
+
 }
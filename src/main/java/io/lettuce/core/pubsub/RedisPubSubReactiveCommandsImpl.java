@@ -128,6 +128,16 @@ public class RedisPubSubReactiveCommandsImpl<K, V> extends RedisReactiveCommands
         return createFlux(() -> commandBuilder.unsubscribe(channels)).then();
     }
 
+    @Override
+    public Mono<Void> ssubscribe(K... shardChannels) {
+        return createFlux(() -> commandBuilder.ssubscribe(shardChannels)).then();
+    }
+
+    @Override
+    public Mono<Void> sunsubscribe(K... shardChannels) {
+        return createFlux(() -> commandBuilder.sunsubscribe(shardChannels)).then();
+    }
+
     @Override
     public Mono<Long> publish(K channel, V message) {
         return createMono(() -> commandBuilder.publish(channel, message));
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import java.time.Duration;
+
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Options to control re-subscription of channels, patterns and shard channels after a Pub/Sub connection was reconnected.
+ * <p>
+ * Subscriptions are restored in batches of up to {@link #getBatchSize() batch size} channels per {@code SUBSCRIBE},
+ * {@code PSUBSCRIBE} respectively {@code SSUBSCRIBE} command. At most {@link #getMaxInFlightBatches() max in-flight batches}
+ * commands are awaiting their confirmation at a time, the next batch is sent once a batch is confirmed. An optional
+ * {@link #getJitter() jitter} delays the start of re-subscription by a random duration to spread the load of many clients
+ * reconnecting at the same time. Progress is reported through {@link io.lettuce.core.event.EventBus events}.
+ *
+ * @since 7.0
+ * @see io.lettuce.core.event.pubsub.ResubscribeStartedEvent
+ * @see io.lettuce.core.event.pubsub.ResubscribeProgressEvent
+ * @see io.lettuce.core.event.pubsub.ResubscribeCompletedEvent
+ */
+public class ResubscribeOptions {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    public static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 4;
+
+    public static final Duration DEFAULT_JITTER = Duration.ZERO;
+
+    private final int batchSize;
+
+    private final int maxInFlightBatches;
+
+    private final Duration jitter;
+
+    protected ResubscribeOptions(Builder builder) {
+
+        this.batchSize = builder.batchSize;
+        this.maxInFlightBatches = builder.maxInFlightBatches;
+        this.jitter = builder.jitter;
+    }
+
+    /**
+     * Returns a new {@link ResubscribeOptions.Builder} to construct {@link ResubscribeOptions}.
+     *
+     * @return a new {@link ResubscribeOptions.Builder} to construct {@link ResubscribeOptions}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new {@link ResubscribeOptions} using default settings.
+     *
+     * @return a new instance of default re-subscription options.
+     */
+    public static ResubscribeOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Builder for {@link ResubscribeOptions}.
+     */
+    public static class Builder {
+
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private int maxInFlightBatches = DEFAULT_MAX_IN_FLIGHT_BATCHES;
+
+        private Duration jitter = DEFAULT_JITTER;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximum number of channels, patterns or shard channels per re-subscription command. Defaults to
+         * {@code 1000}. See {@link #DEFAULT_BATCH_SIZE}.
+         *
+         * @param batchSize the batch size, must be greater zero.
+         * @return {@code this}
+         */
+        public Builder batchSize(int batchSize) {
+
+            LettuceAssert.isTrue(batchSize > 0, "Batch size must be greater zero");
+
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of re-subscription commands awaiting confirmation. Defaults to {@code 4}. See
+         * {@link #DEFAULT_MAX_IN_FLIGHT_BATCHES}.
+         *
+         * @param maxInFlightBatches the maximum number of in-flight batches, must be greater zero.
+         * @return {@code this}
+         */
+        public Builder maxInFlightBatches(int maxInFlightBatches) {
+
+            LettuceAssert.isTrue(maxInFlightBatches > 0, "Max in-flight batches must be greater zero");
+
+            this.maxInFlightBatches = maxInFlightBatches;
+            return this;
+        }
+
+        /**
+         * Set the upper bound of the random delay before re-subscription starts. Defaults to {@link Duration#ZERO} to
+         * re-subscribe immediately. See {@link #DEFAULT_JITTER}.
+         *
+         * @param jitter the jitter, must not be {@code null} or negative.
+         * @return {@code this}
+         */
+        public Builder jitter(Duration jitter) {
+
+            LettuceAssert.notNull(jitter, "Jitter must not be null");
+            LettuceAssert.isTrue(!jitter.isNegative(), "Jitter must not be negative");
+
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link ResubscribeOptions}
+         *
+         * @return new instance of {@link ResubscribeOptions}
+         */
+        public ResubscribeOptions build() {
+            return new ResubscribeOptions(this);
+        }
+
+    }
+
+    /**
+     * @return the maximum number of channels, patterns or shard channels per re-subscription command.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the maximum number of re-subscription commands awaiting confirmation.
+     */
+    public int getMaxInFlightBatches() {
+        return maxInFlightBatches;
+    }
+
+    /**
+     * @return the upper bound of the random delay before re-subscription starts.
+     */
+    public Duration getJitter() {
+        return jitter;
+    }
+
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.event.pubsub.ResubscribeCompletedEvent;
+import io.lettuce.core.event.pubsub.ResubscribeProgressEvent;
+import io.lettuce.core.event.pubsub.ResubscribeStartedEvent;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * A single re-subscription run of a Pub/Sub connection. Subscriptions are split into batches that are sent with a bounded
+ * number of in-flight batches according to {@link ResubscribeOptions}. A run can be {@link #cancel() cancelled}, e.g. when
+ * the connection gets disconnected, to stop sending further batches.
+ *
+ * @since 7.0
+ */
+class Resubscription {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(Resubscription.class);
+
+    private final ResubscribeOptions options;
+
+    private final EventBus eventBus;
+
+    private final String epId;
+
+    private final List<Supplier<CompletionStage<?>>> batches;
+
+    private final int channels;
+
+    private final int patterns;
+
+    private final int shardChannels;
+
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    private final long startTime = System.nanoTime();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private int nextBatch;
+
+    private int inFlight;
+
+    private int completedBatches;
+
+    private int failedBatches;
+
+    private volatile boolean cancelled;
+
+    private Resubscription(Builder builder) {
+
+        this.options = builder.options;
+        this.eventBus = builder.eventBus;
+        this.epId = builder.epId;
+        this.batches = builder.batches;
+        this.channels = builder.channels;
+        this.patterns = builder.patterns;
+        this.shardChannels = builder.shardChannels;
+    }
+
+    /**
+     * Create a new {@link Builder} for a {@link Resubscription}.
+     *
+     * @param options the re-subscription options.
+     * @param eventBus event bus to publish progress events.
+     * @param epId endpoint identifier of the connection.
+     * @return the builder.
+     */
+    static Builder builder(ResubscribeOptions options, EventBus eventBus, String epId) {
+        return new Builder(options, eventBus, epId);
+    }
+
+    /**
+     * Start sending re-subscription batches. Re-subscription is delayed by a random jitter if configured.
+     *
+     * @param scheduler the scheduler to delay the start of re-subscription.
+     * @return a future that completes when all batches are completed.
+     */
+    CompletionStage<Void> start(EventExecutorGroup scheduler) {
+
+        if (batches.isEmpty()) {
+            result.complete(null);
+            return result;
+        }
+
+        long jitter = options.getJitter().toNanos();
+        long delay = jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0;
+
+        if (delay > 0) {
+            scheduler.schedule(this::sendInitial, delay, TimeUnit.NANOSECONDS);
+        } else {
+            sendInitial();
+        }
+
+        return result;
+    }
+
+    /**
+     * Cancel this re-subscription. Batches that were not sent yet are discarded.
+     */
+    void cancel() {
+
+        cancelled = true;
+        result.cancel(false);
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    int getTotalBatches() {
+        return batches.size();
+    }
+
+    private void sendInitial() {
+
+        if (cancelled) {
+            return;
+        }
+
+        eventBus.publish(new ResubscribeStartedEvent(epId, batches.size(), channels, patterns, shardChannels));
+        sendNext();
+    }
+
+    private void sendNext() {
+
+        // batches may complete synchronously, avoid recursion by draining on the thread that entered first
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        do {
+            drain();
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private void drain() {
+
+        while (!cancelled) {
+
+            Supplier<CompletionStage<?>> batch;
+
+            synchronized (this) {
+
+                if (nextBatch >= batches.size() || inFlight >= options.getMaxInFlightBatches()) {
+                    return;
+                }
+
+                batch = batches.get(nextBatch++);
+                inFlight++;
+            }
+
+            CompletionStage<?> stage;
+            try {
+                stage = batch.get();
+            } catch (RuntimeException e) {
+                onBatchCompleted(e);
+                continue;
+            }
+
+            stage.whenComplete((ignore, throwable) -> {
+                onBatchCompleted(throwable);
+                sendNext();
+            });
+        }
+    }
+
+    private void onBatchCompleted(Throwable throwable) {
+
+        int completed;
+        int failed;
+
+        synchronized (this) {
+
+            inFlight--;
+            completed = ++completedBatches;
+
+            if (throwable != null) {
+                failedBatches++;
+            }
+
+            failed = failedBatches;
+        }
+
+        if (throwable instanceof RedisCommandExecutionException) {
+            logger.warn("Re-subscribe failed: " + throwable.getMessage());
+        }
+
+        if (cancelled) {
+            return;
+        }
+
+        eventBus.publish(new ResubscribeProgressEvent(epId, batches.size(), completed, failed));
+
+        if (completed == batches.size()) {
+
+            eventBus.publish(new ResubscribeCompletedEvent(epId, batches.size(), failed,
+                    Duration.ofNanos(System.nanoTime() - startTime)));
+            result.complete(null);
+        }
+    }
+
+    /**
+     * Builder to register subscriptions as batches.
+     */
+    static class Builder {
+
+        private final ResubscribeOptions options;
+
+        private final EventBus eventBus;
+
+        private final String epId;
+
+        private final List<Supplier<CompletionStage<?>>> batches = new ArrayList<>();
+
+        private int channels;
+
+        private int patterns;
+
+        private int shardChannels;
+
+        private Builder(ResubscribeOptions options, EventBus eventBus, String epId) {
+            this.options = options;
+            this.eventBus = eventBus;
+            this.epId = epId;
+        }
+
+        /**
+         * Register channels to re-subscribe.
+         *
+         * @param channels the channels.
+         * @param subscribe function to subscribe a batch of channels.
+         * @return {@code this}
+         */
+        <K> Builder channels(Collection<K> channels, Function<K[], CompletionStage<?>> subscribe) {
+            this.channels += channels.size();
+            return add(channels, subscribe);
+        }
+
+        /**
+         * Register patterns to re-subscribe.
+         *
+         * @param patterns the patterns.
+         * @param subscribe function to subscribe a batch of patterns.
+         * @return {@code this}
+         */
+        <K> Builder patterns(Collection<K> patterns, Function<K[], CompletionStage<?>> subscribe) {
+            this.patterns += patterns.size();
+            return add(patterns, subscribe);
+        }
+
+        /**
+         * Register shard channels to re-subscribe.
+         *
+         * @param shardChannels the shard channels.
+         * @param subscribe function to subscribe a batch of shard channels.
+         * @return {@code this}
+         */
+        <K> Builder shardChannels(Collection<K> shardChannels, Function<K[], CompletionStage<?>> subscribe) {
+            this.shardChannels += shardChannels.size();
+            return add(shardChannels, subscribe);
+        }
+
+        private <K> Builder add(Collection<K> names, Function<K[], CompletionStage<?>> subscribe) {
+
+            if (names.isEmpty()) {
+                return this;
+            }
+
+            int batchSize = options.getBatchSize();
+            Iterator<K> iterator = names.iterator();
+            int remaining = names.size();
+
+            while (remaining > 0) {
+
+                List<K> chunk = new ArrayList<>(Math.min(batchSize, remaining));
+
+                for (int i = 0; i < batchSize && iterator.hasNext(); i++) {
+                    chunk.add(iterator.next());
+                }
+
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                remaining -= chunk.size();
+
+                K[] array = toArray(chunk);
+                batches.add(() -> subscribe.apply(array));
+            }
+
+            return this;
+        }
+
+        Resubscription build() {
+            return new Resubscription(this);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T[] toArray(Collection<T> c) {
+            Class<T> cls = (Class<T>) c.iterator().next().getClass();
+            T[] array = (T[]) Array.newInstance(cls, c.size());
+            return c.toArray(array);
+        }
+
+    }
+
+}
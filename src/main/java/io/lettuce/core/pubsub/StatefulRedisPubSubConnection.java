@@ -72,4 +72,15 @@ public interface StatefulRedisPubSubConnection<K, V> extends StatefulRedisConnec
      */
     void removeListener(RedisPubSubListener<K, V> listener);
 
+    /**
+     * Returns the {@link PubSubDispatchMetrics} if asynchronous message dispatch is enabled through
+     * {@link PubSubDispatchOptions}.
+     *
+     * @return the {@link PubSubDispatchMetrics} or {@code null} if messages are dispatched on the I/O thread.
+     * @since 7.0
+     */
+    default PubSubDispatchMetrics getDispatchMetrics() {
+        return null;
+    }
+
 }
@@ -15,22 +15,16 @@
  */
 package io.lettuce.core.pubsub;
 
-import java.lang.reflect.Array;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 import io.lettuce.core.RedisChannelWriter;
-import io.lettuce.core.RedisCommandExecutionException;
-import io.lettuce.core.RedisFuture;
 import io.lettuce.core.StatefulRedisConnectionImpl;
 import io.lettuce.core.codec.RedisCodec;
 import io.lettuce.core.protocol.ConnectionWatchdog;
 import io.lettuce.core.pubsub.api.async.RedisPubSubAsyncCommands;
 import io.lettuce.core.pubsub.api.reactive.RedisPubSubReactiveCommands;
 import io.lettuce.core.pubsub.api.sync.RedisPubSubCommands;
-import io.netty.util.internal.logging.InternalLoggerFactory;
 
 /**
  * An thread-safe pub/sub connection to a Redis server. Multiple threads may share one {@link StatefulRedisPubSubConnectionImpl}
@@ -47,6 +41,8 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
 
     private final PubSubEndpoint<K, V> endpoint;
 
+    private volatile Resubscription resubscription;
+
     /**
      * Initialize a new connection.
      *
@@ -83,6 +79,11 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
         endpoint.removeListener(listener);
     }
 
+    @Override
+    public PubSubDispatchMetrics getDispatchMetrics() {
+        return endpoint.getDispatchMetrics();
+    }
+
     @Override
     public RedisPubSubAsyncCommands<K, V> async() {
         return (RedisPubSubAsyncCommands<K, V>) async;
@@ -114,43 +115,48 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
     }
 
     /**
-     * Re-subscribe to all previously subscribed channels and patterns.
+     * Re-subscribe to all previously subscribed channels, patterns and shard channels. Subscriptions are restored in batches
+     * according to {@link io.lettuce.core.ClientOptions#getResubscribeOptions()}. A re-subscription that is still in
+     * progress is cancelled.
      *
-     * @return list of the futures of the {@literal subscribe} and {@literal psubscribe} commands.
+     * @return a future that completes when all {@literal subscribe}, {@literal psubscribe} and {@literal ssubscribe} commands
+     *         have completed.
+     * @since 7.0
      */
-    protected List<RedisFuture<Void>> resubscribe() {
+    protected CompletionStage<Void> resubscribe() {
 
-        List<RedisFuture<Void>> result = new ArrayList<>();
+        cancelResubscription();
 
-        if (endpoint.hasChannelSubscriptions()) {
-            result.add(async().subscribe(toArray(endpoint.getChannels())));
-        }
-
-        if (endpoint.hasPatternSubscriptions()) {
-            result.add(async().psubscribe(toArray(endpoint.getPatterns())));
-        }
+        Resubscription resubscription = Resubscription
+                .builder(getOptions().getResubscribeOptions(), getResources().eventBus(), endpoint.getId())
+                .channels(endpoint.getChannels(), it -> async().subscribe(it))
+                .patterns(endpoint.getPatterns(), it -> async().psubscribe(it))
+                .shardChannels(endpoint.getShardChannels(), it -> async().ssubscribe(it)).build();
 
-        return result;
+        this.resubscription = resubscription;
+        return resubscription.start(getResources().eventExecutorGroup());
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> T[] toArray(Collection<T> c) {
-        Class<T> cls = (Class<T>) c.iterator().next().getClass();
-        T[] array = (T[]) Array.newInstance(cls, c.size());
-        return c.toArray(array);
+    private void cancelResubscription() {
+
+        Resubscription resubscription = this.resubscription;
+
+        if (resubscription != null) {
+            resubscription.cancel();
+            this.resubscription = null;
+        }
     }
 
     @Override
     public void activated() {
         super.activated();
-        for (RedisFuture<Void> command : resubscribe()) {
-            command.exceptionally(throwable -> {
-                if (throwable instanceof RedisCommandExecutionException) {
-                    InternalLoggerFactory.getInstance(getClass()).warn("Re-subscribe failed: " + command.getError());
-                }
-                return null;
-            });
-        }
+        resubscribe();
+    }
+
+    @Override
+    public void deactivated() {
+        cancelResubscription();
+        super.deactivated();
     }
 
 }
@@ -112,6 +112,26 @@ public interface RedisPubSubReactiveCommands<K, V> extends RedisReactiveCommands
      */
     Mono<Void> unsubscribe(K... channels);
 
+    /**
+     * Listen for messages published to the given shard channels. The {@link Mono} completes without a result as soon as the
+     * subscription is registered.
+     *
+     * @param shardChannels the shard channels.
+     * @return Mono&lt;Void&gt; Mono for {@code ssubscribe} command.
+     * @since 7.0
+     */
+    Mono<Void> ssubscribe(K... shardChannels);
+
+    /**
+     * Stop listening for messages posted to the given shard channels. The {@link Mono} completes without a result as soon as
+     * the subscription is unregistered.
+     *
+     * @param shardChannels the shard channels.
+     * @return Mono&lt;Void&gt; Mono for {@code sunsubscribe} command.
+     * @since 7.0
+     */
+    Mono<Void> sunsubscribe(K... shardChannels);
+
     /**
      * @return the underlying connection.
      * @since 6.2, will be removed with Lettuce 7 to avoid exposing the underlying connection.
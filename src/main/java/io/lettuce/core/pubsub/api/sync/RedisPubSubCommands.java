@@ -56,6 +56,22 @@ public interface RedisPubSubCommands<K, V> extends RedisCommands<K, V> {
      */
     void unsubscribe(K... channels);
 
+    /**
+     * Listen for messages published to the given shard channels.
+     *
+     * @param shardChannels the shard channels
+     * @since 7.0
+     */
+    void ssubscribe(K... shardChannels);
+
+    /**
+     * Stop listening for messages posted to the given shard channels.
+     *
+     * @param shardChannels the shard channels
+     * @since 7.0
+     */
+    void sunsubscribe(K... shardChannels);
+
     /**
      * @return the underlying connection.
      */
@@ -18,11 +18,15 @@ package io.lettuce.core.resource;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import io.lettuce.core.cluster.topology.SharedClusterTopologyRefresh;
 import io.lettuce.core.event.EventBus;
 import io.lettuce.core.event.EventPublisherOptions;
 import io.lettuce.core.metrics.CommandLatencyCollector;
 import io.lettuce.core.metrics.CommandLatencyCollectorOptions;
 import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.metrics.HotKeyCollector;
+import io.lettuce.core.metrics.HotKeyRecorder;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.tracing.Tracing;
 import io.netty.resolver.AddressResolverGroup;
 import io.netty.util.Timer;
@@ -42,8 +46,12 @@ import io.netty.util.concurrent.Future;
  * {@link io.lettuce.core.metrics.DefaultCommandLatencyCollector} when {@literal HdrHistogram} is on the classpath.</li>
  * <li>{@link EventBus} for client event dispatching</li>
  * <li>{@link EventLoopGroupProvider} to obtain particular {@link io.netty.channel.EventLoopGroup EventLoopGroups}</li>
+ * <li>{@link EventPublisherOptions} to probe event loops and publish their health.</li>
  * <li>{@link EventExecutorGroup} to perform internal computation tasks</li>
+ * <li>{@link HotKeyRecorder} to detect frequently used keys.</li>
  * <li>Reconnect {@link Delay}.</li>
+ * <li>{@link SharedClusterTopologyRefresh} to share topology refreshes across Redis Cluster clients.</li>
+ * <li>{@link SlowCommandRecorder} to capture slow commands.</li>
  * <li>{@link SocketAddressResolver} for to map/resolve DNS addresses to a {@link java.net.InetSocketAddress}.</li>
  * <li>{@link Timer} for scheduling</li>
  * <li>{@link Tracing} to trace Redis commands.</li>
@@ -200,6 +208,38 @@ public interface ClientResources {
          */
         Builder eventLoopGroupProvider(EventLoopGroupProvider eventLoopGroupProvider);
 
+        /**
+         * Sets the {@link EventPublisherOptions} to periodically probe the event loops of the {@link EventLoopGroupProvider}
+         * and publish {@link io.lettuce.core.event.metrics.EventLoopHealthEvent}s using the {@link EventBus}. Defaults to
+         * {@link io.lettuce.core.event.DefaultEventPublisherOptions#disabled()}.
+         *
+         * @param eventLoopHealthPublisherOptions the {@link EventPublisherOptions} to publish event loop health using the
+         *        {@link EventBus}, must not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        Builder eventLoopHealthPublisherOptions(EventPublisherOptions eventLoopHealthPublisherOptions);
+
+        /**
+         * Sets the {@link EventPublisherOptions} to publish hot keys using the {@link EventBus} if the {@link HotKeyRecorder}
+         * is an instance of {@link HotKeyCollector} that allows hot key retrieval.
+         *
+         * @param hotKeyPublisherOptions the {@link EventPublisherOptions} to publish hot keys using the {@link EventBus}, must
+         *        not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        Builder hotKeyPublisherOptions(EventPublisherOptions hotKeyPublisherOptions);
+
+        /**
+         * Sets the {@link HotKeyRecorder} to record keys of written commands. Defaults to {@link HotKeyRecorder#disabled()}.
+         *
+         * @param hotKeyRecorder the hot key recorder, must not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        Builder hotKeyRecorder(HotKeyRecorder hotKeyRecorder);
+
         /**
          * Sets the thread pool size (number of threads to use) for I/O operations (default value is the number of CPUs). The
          * thread pool size is only effective if no {@code eventLoopGroupProvider} is provided.
@@ -238,6 +278,27 @@ public interface ClientResources {
          */
         Builder reconnectDelay(Supplier<Delay> reconnectDelay);
 
+        /**
+         * Sets the {@link SharedClusterTopologyRefresh} to share topology refreshes across
+         * {@link io.lettuce.core.cluster.RedisClusterClient} instances using these client resources. Defaults to
+         * {@link SharedClusterTopologyRefresh#disabled()}.
+         *
+         * @param sharedClusterTopologyRefresh the shared topology refresh, must not be {@code null}.
+         * @return this
+         * @since 7.0
+         */
+        Builder sharedClusterTopologyRefresh(SharedClusterTopologyRefresh sharedClusterTopologyRefresh);
+
+        /**
+         * Sets the {@link SlowCommandRecorder} to capture commands based on their client-observed latency. Defaults to
+         * {@link SlowCommandRecorder#disabled()}.
+         *
+         * @param slowCommandRecorder the slow command recorder, must not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        Builder slowCommandRecorder(SlowCommandRecorder slowCommandRecorder);
+
         /**
          * Sets the {@link SocketAddressResolver} that is used to resolve {@link io.lettuce.core.RedisURI} to
          * {@link java.net.SocketAddress}. Defaults to {@link SocketAddressResolver} using the configured {@link DnsResolver}.
@@ -380,6 +441,14 @@ public interface ClientResources {
      */
     EventLoopGroupProvider eventLoopGroupProvider();
 
+    /**
+     * Return the {@link EventPublisherOptions} for event loop health probing.
+     *
+     * @return the {@link EventPublisherOptions} for event loop health probing.
+     * @since 7.0
+     */
+    EventPublisherOptions eventLoopHealthPublisherOptions();
+
     /**
      * Return the computation pool used for internal operations. Such tasks are periodic Redis Cluster and Redis Sentinel
      * topology updates and scheduling of connection reconnection by {@link io.lettuce.core.protocol.ConnectionWatchdog}.
@@ -388,6 +457,22 @@ public interface ClientResources {
      */
     EventExecutorGroup eventExecutorGroup();
 
+    /**
+     * Return the {@link EventPublisherOptions} for hot key event publishing.
+     *
+     * @return the {@link EventPublisherOptions} for hot key event publishing.
+     * @since 7.0
+     */
+    EventPublisherOptions hotKeyPublisherOptions();
+
+    /**
+     * Return the {@link HotKeyRecorder}.
+     *
+     * @return the hot key recorder.
+     * @since 7.0
+     */
+    HotKeyRecorder hotKeyRecorder();
+
     /**
      * Return the pool size (number of threads) for IO threads. The indicated size does not reflect the number for all IO
      * threads. TCP and socket connections (epoll) require different IO pool.
@@ -412,6 +497,23 @@ public interface ClientResources {
      */
     Delay reconnectDelay();
 
+    /**
+     * Return the {@link SharedClusterTopologyRefresh} to share topology refreshes across
+     * {@link io.lettuce.core.cluster.RedisClusterClient} instances.
+     *
+     * @return the configured {@link SharedClusterTopologyRefresh}.
+     * @since 7.0
+     */
+    SharedClusterTopologyRefresh sharedClusterTopologyRefresh();
+
+    /**
+     * Return the {@link SlowCommandRecorder}.
+     *
+     * @return the slow command recorder.
+     * @since 7.0
+     */
+    SlowCommandRecorder slowCommandRecorder();
+
     /**
      * Return the {@link SocketAddressResolver}.
      *
@@ -18,11 +18,14 @@ package io.lettuce.core.resource;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import io.lettuce.core.cluster.topology.SharedClusterTopologyRefresh;
 import io.lettuce.core.event.DefaultEventBus;
 import io.lettuce.core.event.DefaultEventPublisherOptions;
 import io.lettuce.core.event.EventBus;
 import io.lettuce.core.event.EventPublisherOptions;
 import io.lettuce.core.event.metrics.DefaultCommandLatencyEventPublisher;
+import io.lettuce.core.event.metrics.DefaultEventLoopHealthEventPublisher;
+import io.lettuce.core.event.metrics.DefaultHotKeyEventPublisher;
 import io.lettuce.core.event.metrics.MetricEventPublisher;
 import io.lettuce.core.internal.LettuceAssert;
 import io.lettuce.core.internal.LettuceLists;
@@ -31,7 +34,11 @@ import io.lettuce.core.metrics.CommandLatencyCollectorOptions;
 import io.lettuce.core.metrics.CommandLatencyRecorder;
 import io.lettuce.core.metrics.DefaultCommandLatencyCollector;
 import io.lettuce.core.metrics.DefaultCommandLatencyCollectorOptions;
+import io.lettuce.core.metrics.EventLoopProbe;
+import io.lettuce.core.metrics.HotKeyCollector;
+import io.lettuce.core.metrics.HotKeyRecorder;
 import io.lettuce.core.metrics.MetricCollector;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.resource.Delay.StatefulDelay;
 import io.lettuce.core.tracing.Tracing;
 import io.netty.resolver.AddressResolverGroup;
@@ -62,10 +69,14 @@ import reactor.core.scheduler.Schedulers;
  * <li>the {@code ioThreadPoolSize}, alternatively</li>
  * <li>a {@code eventLoopGroupProvider} which is a provided instance of {@link EventLoopGroupProvider}. Higher precedence than
  * {@code ioThreadPoolSize}.</li>
+ * <li>{@code eventLoopHealthPublisherOptions} to probe event loops and publish their health.</li>
  * <li>computationThreadPoolSize</li>
  * <li>a {@code eventExecutorGroup} which is a provided instance of {@link EventExecutorGroup}. Higher precedence than
  * {@code computationThreadPoolSize}.</li>
+ * <li>a {@code hotKeyRecorder} which is a provided instance of {@link HotKeyRecorder}.</li>
  * <li>a {@code nettyCustomizer} that is a provided instance of {@link NettyCustomizer}.</li>
+ * <li>a {@code sharedClusterTopologyRefresh} which is a provided instance of {@link SharedClusterTopologyRefresh}.</li>
+ * <li>a {@code slowCommandRecorder} which is a provided instance of {@link SlowCommandRecorder}.</li>
  * <li>a {@code socketAddressResolver} which is a provided instance of {@link SocketAddressResolver}.</li>
  * <li>a {@code threadFactoryProvider} to provide a {@link java.util.concurrent.ThreadFactory} for default timer, event loop and
  * event executor instances.</li>
@@ -139,16 +150,30 @@ public class DefaultClientResources implements ClientResources {
 
     private final EventLoopGroupProvider eventLoopGroupProvider;
 
+    private final EventPublisherOptions eventLoopHealthPublisherOptions;
+
+    private final MetricEventPublisher eventLoopHealthEventPublisher;
+
     private final boolean sharedEventExecutor;
 
     private final EventExecutorGroup eventExecutorGroup;
 
     private final MetricEventPublisher metricEventPublisher;
 
+    private final HotKeyRecorder hotKeyRecorder;
+
+    private final EventPublisherOptions hotKeyPublisherOptions;
+
+    private final MetricEventPublisher hotKeyEventPublisher;
+
     private final NettyCustomizer nettyCustomizer;
 
     private final Supplier<Delay> reconnectDelay;
 
+    private final SharedClusterTopologyRefresh sharedClusterTopologyRefresh;
+
+    private final SlowCommandRecorder slowCommandRecorder;
+
     private final SocketAddressResolver socketAddressResolver;
 
     private final ThreadFactoryProvider threadFactoryProvider;
@@ -245,6 +270,26 @@ public class DefaultClientResources implements ClientResources {
             metricEventPublisher = null;
         }
 
+        hotKeyRecorder = builder.hotKeyRecorder;
+        slowCommandRecorder = builder.slowCommandRecorder;
+        hotKeyPublisherOptions = builder.hotKeyPublisherOptions;
+
+        if (hotKeyRecorder.isEnabled() && hotKeyRecorder instanceof HotKeyCollector) {
+            hotKeyEventPublisher = new DefaultHotKeyEventPublisher(eventExecutorGroup, hotKeyPublisherOptions, eventBus,
+                    (HotKeyCollector) hotKeyRecorder);
+        } else {
+            hotKeyEventPublisher = null;
+        }
+
+        eventLoopHealthPublisherOptions = builder.eventLoopHealthPublisherOptions;
+
+        if (!eventLoopHealthPublisherOptions.eventEmitInterval().isZero()) {
+            eventLoopHealthEventPublisher = new DefaultEventLoopHealthEventPublisher(eventExecutorGroup,
+                    eventLoopHealthPublisherOptions, eventBus, new EventLoopProbe(eventLoopGroupProvider));
+        } else {
+            eventLoopHealthEventPublisher = null;
+        }
+
         if (builder.dnsResolver == null) {
             dnsResolver = DnsResolvers.UNRESOLVED;
         } else {
@@ -260,6 +305,7 @@ public class DefaultClientResources implements ClientResources {
         reconnectDelay = builder.reconnectDelay;
         nettyCustomizer = builder.nettyCustomizer;
         tracing = builder.tracing;
+        sharedClusterTopologyRefresh = builder.sharedClusterTopologyRefresh;
 
         if (!sharedTimer && timer instanceof HashedWheelTimer) {
             ((HashedWheelTimer) timer).start();
@@ -297,6 +343,12 @@ public class DefaultClientResources implements ClientResources {
 
         private boolean sharedCommandLatencyCollector;
 
+        private HotKeyRecorder hotKeyRecorder = HotKeyRecorder.disabled();
+
+        private EventPublisherOptions hotKeyPublisherOptions = DefaultEventPublisherOptions.create();
+
+        private SlowCommandRecorder slowCommandRecorder = SlowCommandRecorder.disabled();
+
         private int computationThreadPoolSize = DEFAULT_COMPUTATION_THREADS;
 
         private DnsResolver dnsResolver = DnsResolvers.UNRESOLVED;
@@ -311,6 +363,8 @@ public class DefaultClientResources implements ClientResources {
 
         private EventLoopGroupProvider eventLoopGroupProvider;
 
+        private EventPublisherOptions eventLoopHealthPublisherOptions = DefaultEventPublisherOptions.disabled();
+
         private int ioThreadPoolSize = DEFAULT_IO_THREADS;
 
         private NettyCustomizer nettyCustomizer = DEFAULT_NETTY_CUSTOMIZER;
@@ -327,6 +381,8 @@ public class DefaultClientResources implements ClientResources {
 
         private Tracing tracing = Tracing.disabled();
 
+        private SharedClusterTopologyRefresh sharedClusterTopologyRefresh = SharedClusterTopologyRefresh.disabled();
+
         private AddressResolverGroup<?> addressResolverGroup = DEFAULT_ADDRESS_RESOLVER_GROUP;
 
         private Runnable afterBuild;
@@ -487,6 +543,25 @@ public class DefaultClientResources implements ClientResources {
             return this;
         }
 
+        /**
+         * Sets the {@link EventPublisherOptions} to periodically probe the event loops of the {@link EventLoopGroupProvider}
+         * and publish {@link io.lettuce.core.event.metrics.EventLoopHealthEvent}s using the {@link EventBus}. Defaults to
+         * {@link DefaultEventPublisherOptions#disabled()}.
+         *
+         * @param eventLoopHealthPublisherOptions the {@link EventPublisherOptions} to publish event loop health using the
+         *        {@link EventBus}, must not be {@code null}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        @Override
+        public Builder eventLoopHealthPublisherOptions(EventPublisherOptions eventLoopHealthPublisherOptions) {
+
+            LettuceAssert.notNull(eventLoopHealthPublisherOptions, "EventPublisherOptions must not be null");
+
+            this.eventLoopHealthPublisherOptions = eventLoopHealthPublisherOptions;
+            return this;
+        }
+
         /**
          * Sets a shared {@link EventExecutorGroup event executor group} that can be used across different instances of
          * {@link io.lettuce.core.RedisClient} and {@link io.lettuce.core.cluster.RedisClusterClient}. The provided
@@ -506,6 +581,41 @@ public class DefaultClientResources implements ClientResources {
             return this;
         }
 
+        /**
+         * Sets the {@link EventPublisherOptions} to publish hot keys using the {@link EventBus} if the {@link HotKeyRecorder}
+         * is an instance of {@link HotKeyCollector} that allows hot key retrieval.
+         *
+         * @param hotKeyPublisherOptions the {@link EventPublisherOptions} to publish hot keys using the {@link EventBus}, must
+         *        not be {@code null}.
+         * @return {@code this} {@link ClientResources.Builder}.
+         * @since 7.0
+         */
+        @Override
+        public Builder hotKeyPublisherOptions(EventPublisherOptions hotKeyPublisherOptions) {
+
+            LettuceAssert.notNull(hotKeyPublisherOptions, "EventPublisherOptions must not be null");
+
+            this.hotKeyPublisherOptions = hotKeyPublisherOptions;
+            return this;
+        }
+
+        /**
+         * Sets the {@link HotKeyRecorder} to record keys of written commands. Defaults to {@link HotKeyRecorder#disabled()}.
+         * The recorder is not shut down when shutting down the client resources.
+         *
+         * @param hotKeyRecorder the hot key recorder, must not be {@code null}.
+         * @return {@code this} {@link ClientResources.Builder}.
+         * @since 7.0
+         */
+        @Override
+        public Builder hotKeyRecorder(HotKeyRecorder hotKeyRecorder) {
+
+            LettuceAssert.notNull(hotKeyRecorder, "HotKeyRecorder must not be null");
+
+            this.hotKeyRecorder = hotKeyRecorder;
+            return this;
+        }
+
         /**
          * Sets the {@link NettyCustomizer} instance to customize netty components during connection.
          *
@@ -572,6 +682,41 @@ public class DefaultClientResources implements ClientResources {
             return this;
         }
 
+        /**
+         * Sets the {@link SharedClusterTopologyRefresh} to share topology refreshes across
+         * {@link io.lettuce.core.cluster.RedisClusterClient} instances using these client resources. Defaults to
+         * {@link SharedClusterTopologyRefresh#disabled()}.
+         *
+         * @param sharedClusterTopologyRefresh the shared topology refresh, must not be {@code null}.
+         * @return this
+         * @since 7.0
+         */
+        @Override
+        public Builder sharedClusterTopologyRefresh(SharedClusterTopologyRefresh sharedClusterTopologyRefresh) {
+
+            LettuceAssert.notNull(sharedClusterTopologyRefresh, "SharedClusterTopologyRefresh must not be null");
+
+            this.sharedClusterTopologyRefresh = sharedClusterTopologyRefresh;
+            return this;
+        }
+
+        /**
+         * Sets the {@link SlowCommandRecorder} to capture commands based on their client-observed latency. Defaults to
+         * {@link SlowCommandRecorder#disabled()}.
+         *
+         * @param slowCommandRecorder the slow command recorder, must not be {@code null}.
+         * @return {@code this} {@link ClientResources.Builder}.
+         * @since 7.0
+         */
+        @Override
+        public Builder slowCommandRecorder(SlowCommandRecorder slowCommandRecorder) {
+
+            LettuceAssert.notNull(slowCommandRecorder, "SlowCommandRecorder must not be null");
+
+            this.slowCommandRecorder = slowCommandRecorder;
+            return this;
+        }
+
         /**
          * Sets the {@link SocketAddressResolver} that is used to resolve {@link io.lettuce.core.RedisURI} to
          * {@link java.net.SocketAddress}. Defaults to {@link SocketAddressResolver} using the configured {@link DnsResolver}.
@@ -691,7 +836,11 @@ public class DefaultClientResources implements ClientResources {
                 .eventBus(eventBus()).eventExecutorGroup(eventExecutorGroup()).reconnectDelay(reconnectDelay)
                 .socketAddressResolver(socketAddressResolver()).nettyCustomizer(nettyCustomizer())
                 .threadFactoryProvider(threadFactoryProvider).timer(timer())
-                .tracing(tracing()).addressResolverGroup(addressResolverGroup());
+                .tracing(tracing()).addressResolverGroup(addressResolverGroup())
+                .sharedClusterTopologyRefresh(sharedClusterTopologyRefresh()).hotKeyRecorder(hotKeyRecorder())
+                .hotKeyPublisherOptions(hotKeyPublisherOptions())
+                .slowCommandRecorder(slowCommandRecorder())
+                .eventLoopHealthPublisherOptions(eventLoopHealthPublisherOptions());
 
         builder.sharedCommandLatencyCollector = sharedEventLoopGroupProvider;
         builder.sharedEventExecutor = sharedEventExecutor;
@@ -742,6 +891,14 @@ public class DefaultClientResources implements ClientResources {
             metricEventPublisher.shutdown();
         }
 
+        if (hotKeyEventPublisher != null) {
+            hotKeyEventPublisher.shutdown();
+        }
+
+        if (eventLoopHealthEventPublisher != null) {
+            eventLoopHealthEventPublisher.shutdown();
+        }
+
         if (!sharedTimer) {
             timer.stop();
         }
@@ -795,11 +952,26 @@ public class DefaultClientResources implements ClientResources {
         return eventLoopGroupProvider;
     }
 
+    @Override
+    public EventPublisherOptions eventLoopHealthPublisherOptions() {
+        return eventLoopHealthPublisherOptions;
+    }
+
     @Override
     public EventExecutorGroup eventExecutorGroup() {
         return eventExecutorGroup;
     }
 
+    @Override
+    public EventPublisherOptions hotKeyPublisherOptions() {
+        return hotKeyPublisherOptions;
+    }
+
+    @Override
+    public HotKeyRecorder hotKeyRecorder() {
+        return hotKeyRecorder;
+    }
+
     @Override
     public int ioThreadPoolSize() {
         return eventLoopGroupProvider.threadPoolSize();
@@ -815,6 +987,16 @@ public class DefaultClientResources implements ClientResources {
         return reconnectDelay.get();
     }
 
+    @Override
+    public SharedClusterTopologyRefresh sharedClusterTopologyRefresh() {
+        return sharedClusterTopologyRefresh;
+    }
+
+    @Override
+    public SlowCommandRecorder slowCommandRecorder() {
+        return slowCommandRecorder;
+    }
+
     @Override
     public SocketAddressResolver socketAddressResolver() {
         return socketAddressResolver;
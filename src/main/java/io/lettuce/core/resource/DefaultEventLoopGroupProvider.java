@@ -17,7 +17,10 @@ package io.lettuce.core.resource;
 
 import static io.lettuce.core.resource.PromiseAdapter.*;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -311,6 +314,20 @@ public class DefaultEventLoopGroupProvider implements EventLoopGroupProvider {
         return numberOfThreads;
     }
 
+    @Override
+    public Collection<EventLoopGroup> getEventLoopGroups() {
+
+        List<EventLoopGroup> result = new ArrayList<>(eventLoopGroups.size());
+
+        for (EventExecutorGroup eventExecutorGroup : eventLoopGroups.values()) {
+            if (eventExecutorGroup instanceof EventLoopGroup) {
+                result.add((EventLoopGroup) eventExecutorGroup);
+            }
+        }
+
+        return result;
+    }
+
     @Override
     public Future<Boolean> shutdown(long quietPeriod, long timeout, TimeUnit timeUnit) {
 
@@ -15,6 +15,8 @@
  */
 package io.lettuce.core.resource;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.EventLoopGroup;
@@ -62,6 +64,17 @@ public interface EventLoopGroupProvider {
      */
     int threadPoolSize();
 
+    /**
+     * Returns the {@link EventLoopGroup} instances that are currently allocated. Returns an empty {@link Collection} by
+     * default.
+     *
+     * @return the allocated {@link EventLoopGroup} instances.
+     * @since 7.0
+     */
+    default Collection<EventLoopGroup> getEventLoopGroups() {
+        return Collections.emptyList();
+    }
+
     /**
      * Release a {@code eventLoopGroup} instance. The method will shutdown/terminate the {@link EventExecutorGroup} if it is no
      * longer needed.
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.scripting;
+
+import java.nio.charset.StandardCharsets;
+
+import io.lettuce.core.codec.Base16;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Handle for a Redis Function library. The library code must start with a shebang line declaring the engine and library
+ * name, for example {@code #!lua name=mylib}.
+ *
+ * @since 7.0
+ * @see ScriptExecutor
+ */
+public final class RedisFunctionLibrary {
+
+    private final String code;
+
+    private final String name;
+
+    private final String digest;
+
+    private RedisFunctionLibrary(String code, String name) {
+        this.code = code;
+        this.name = name;
+        this.digest = Base16.digest(code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Create a new {@link RedisFunctionLibrary} from its code.
+     *
+     * @param code the library code including the shebang line, must not be {@code null} or empty.
+     * @return the {@link RedisFunctionLibrary}.
+     */
+    public static RedisFunctionLibrary of(String code) {
+
+        LettuceAssert.notEmpty(code, "Library code must not be empty");
+        LettuceAssert.isTrue(code.startsWith("#!"), "Library code must start with a shebang line");
+
+        int end = code.indexOf('\n');
+        String shebang = end == -1 ? code : code.substring(0, end);
+        String name = null;
+
+        for (String token : shebang.trim().split("\\s+")) {
+            if (token.startsWith("name=")) {
+                name = token.substring("name=".length());
+            }
+        }
+
+        LettuceAssert.isTrue(name != null && !name.isEmpty(), "Library shebang must declare a name");
+
+        return new RedisFunctionLibrary(code, name);
+    }
+
+    /**
+     * @return the library code.
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return the library name declared by the shebang line.
+     */
+    public String getName() {
+        return name;
+    }
+
+    String getDigest() {
+        return digest;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof RedisFunctionLibrary)) {
+            return false;
+        }
+
+        return code.equals(((RedisFunctionLibrary) o).code);
+    }
+
+    @Override
+    public int hashCode() {
+        return code.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [name=" + name + ']';
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.scripting;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.lettuce.core.codec.Base16;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Handle for a Lua script. The SHA1 digest of the script is computed once when creating the handle so that the script can be
+ * invoked using {@code EVALSHA} without sending the script body.
+ *
+ * @since 7.0
+ * @see ScriptExecutor
+ */
+public final class RedisScript {
+
+    private final byte[] script;
+
+    private final String digest;
+
+    private RedisScript(byte[] script) {
+        this.script = script;
+        this.digest = Base16.digest(script);
+    }
+
+    /**
+     * Create a new {@link RedisScript} from a {@link String} using {@code UTF-8} encoding.
+     *
+     * @param script the Lua script, must not be {@code null} or empty.
+     * @return the {@link RedisScript}.
+     */
+    public static RedisScript of(String script) {
+        return of(script, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create a new {@link RedisScript} from a {@link String}.
+     *
+     * @param script the Lua script, must not be {@code null} or empty.
+     * @param charset the charset to encode the script, must not be {@code null}.
+     * @return the {@link RedisScript}.
+     */
+    public static RedisScript of(String script, Charset charset) {
+
+        LettuceAssert.notEmpty(script, "Script must not be empty");
+        LettuceAssert.notNull(charset, "Charset must not be null");
+
+        return new RedisScript(script.getBytes(charset));
+    }
+
+    /**
+     * Create a new {@link RedisScript} from its binary representation.
+     *
+     * @param script the Lua script, must not be {@code null} or empty.
+     * @return the {@link RedisScript}.
+     */
+    public static RedisScript of(byte[] script) {
+
+        LettuceAssert.notNull(script, "Script must not be null");
+        LettuceAssert.isTrue(script.length > 0, "Script must not be empty");
+
+        return new RedisScript(script.clone());
+    }
+
+    /**
+     * @return the script body.
+     */
+    public byte[] getScript() {
+        return script.clone();
+    }
+
+    byte[] getScriptUnsafe() {
+        return script;
+    }
+
+    /**
+     * @return the Base16 encoded SHA1 digest of the script.
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof RedisScript)) {
+            return false;
+        }
+
+        return Arrays.equals(script, ((RedisScript) o).script);
+    }
+
+    @Override
+    public int hashCode() {
+        return digest.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [digest=" + digest + ']';
+    }
+
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.scripting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.PipelinedRedisFuture;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.StatefulRedisClusterConnectionImpl;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Executes {@link RedisScript scripts} and {@link RedisFunctionLibrary function libraries} without requiring the caller to
+ * manage script digests or library registration.
+ * <p>
+ * Scripts are always invoked using {@code EVALSHA}. If Redis responds with {@code NOSCRIPT}, the script is loaded using
+ * {@code SCRIPT LOAD} and the invocation is retried once. Functions are invoked using {@code FCALL}. If Redis reports that
+ * the function does not exist, the library is loaded using {@code FUNCTION LOAD REPLACE} and the invocation is retried once.
+ * Concurrent invocations that fail because of a missing script or library share a single load per node. Recovery is
+ * asynchronous and works for commands issued as part of a pipeline: load and retry commands are flushed immediately even if
+ * {@link StatefulConnection#setAutoFlushCommands(boolean) auto-flushing} is disabled.
+ * <p>
+ * On Redis Cluster, invocations with keys are sent to the upstream node that owns the slot of the first key so that a missing
+ * script or library is loaded on the node that reported it. If that node responds with a {@code MOVED} or {@code ASK}
+ * redirection, the invocation is routed through the cluster connection which follows the redirection. Invocations without
+ * keys, read-only invocations and redirected invocations may be served by any node: scripts are then loaded on all nodes and
+ * libraries on all upstream nodes (libraries are replicated to replicas). Read-only function invocations with keys load the
+ * library on the upstream node that owns the slot of the first key.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class ScriptExecutor<K, V> {
+
+    private static final String FUNCTION_NOT_FOUND = "ERR Function not found";
+
+    private static final String MOVED = "MOVED";
+
+    private static final String ASK = "ASK";
+
+    private final StatefulConnection<K, V> connection;
+
+    private final RedisClusterAsyncCommands<K, V> commands;
+
+    private final Function<K, String> nodeLookup;
+
+    private final Function<String, CompletionStage<? extends RedisClusterAsyncCommands<K, V>>> nodeCommands;
+
+    private final Supplier<List<String>> upstreamNodes;
+
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private ScriptExecutor(StatefulConnection<K, V> connection, RedisClusterAsyncCommands<K, V> commands,
+            Function<K, String> nodeLookup,
+            Function<String, CompletionStage<? extends RedisClusterAsyncCommands<K, V>>> nodeCommands,
+            Supplier<List<String>> upstreamNodes) {
+        this.connection = connection;
+        this.commands = commands;
+        this.nodeLookup = nodeLookup;
+        this.nodeCommands = nodeCommands;
+        this.upstreamNodes = upstreamNodes;
+    }
+
+    /**
+     * Create a new {@link ScriptExecutor} for a {@link StatefulRedisConnection}.
+     *
+     * @param connection the connection, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link ScriptExecutor}.
+     */
+    public static <K, V> ScriptExecutor<K, V> create(StatefulRedisConnection<K, V> connection) {
+
+        LettuceAssert.notNull(connection, "StatefulRedisConnection must not be null");
+
+        return new ScriptExecutor<>(connection, connection.async(), key -> null,
+                nodeId -> CompletableFuture.completedFuture(connection.async()), Collections::emptyList);
+    }
+
+    /**
+     * Create a new {@link ScriptExecutor} for a {@link StatefulRedisClusterConnection}.
+     *
+     * @param connection the cluster connection, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link ScriptExecutor}.
+     */
+    public static <K, V> ScriptExecutor<K, V> create(StatefulRedisClusterConnection<K, V> connection) {
+
+        LettuceAssert.notNull(connection, "StatefulRedisClusterConnection must not be null");
+
+        Function<K, String> nodeLookup = key -> null;
+
+        if (connection instanceof StatefulRedisClusterConnectionImpl) {
+
+            RedisCodec<K, V> codec = ((StatefulRedisClusterConnectionImpl<K, V>) connection).getCodec();
+
+            nodeLookup = key -> {
+
+                RedisClusterNode node = connection.getPartitions().getMasterBySlot(SlotHash.getSlot(codec.encodeKey(key)));
+                return node != null ? node.getNodeId() : null;
+            };
+        }
+
+        Supplier<List<String>> upstreamNodes = () -> {
+
+            List<String> nodeIds = new ArrayList<>();
+
+            for (RedisClusterNode node : connection.getPartitions()) {
+                if (node.is(RedisClusterNode.NodeFlag.UPSTREAM)) {
+                    nodeIds.add(node.getNodeId());
+                }
+            }
+
+            return nodeIds;
+        };
+
+        return new ScriptExecutor<>(connection, connection.async(), nodeLookup, nodeId -> {
+
+            if (nodeId == null) {
+                return CompletableFuture.completedFuture(connection.async());
+            }
+
+            return connection.getConnectionAsync(nodeId).thenApply(StatefulRedisConnection::async);
+        }, upstreamNodes);
+    }
+
+    /**
+     * Execute a script using {@code EVALSHA}.
+     *
+     * @param script the script.
+     * @param type the output type.
+     * @param keys the keys.
+     * @param <T> expected return type.
+     * @return script result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisFuture<T> eval(RedisScript script, ScriptOutputType type, K... keys) {
+
+        LettuceAssert.notNull(script, "RedisScript must not be null");
+
+        return execute(getNodeId(keys), commands -> commands.evalsha(script.getDigest(), type, keys),
+                ScriptExecutor::isNoScript, nodeId -> loadScript(script, nodeId));
+    }
+
+    /**
+     * Execute a script using {@code EVALSHA}.
+     *
+     * @param script the script.
+     * @param type the output type.
+     * @param keys the keys.
+     * @param values the values.
+     * @param <T> expected return type.
+     * @return script result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisFuture<T> eval(RedisScript script, ScriptOutputType type, K[] keys, V... values) {
+
+        LettuceAssert.notNull(script, "RedisScript must not be null");
+
+        return execute(getNodeId(keys), commands -> commands.evalsha(script.getDigest(), type, keys, values),
+                ScriptExecutor::isNoScript, nodeId -> loadScript(script, nodeId));
+    }
+
+    /**
+     * Execute a read-only script using {@code EVALSHA_RO}.
+     *
+     * @param script the script.
+     * @param type the output type.
+     * @param keys the keys.
+     * @param values the values.
+     * @param <T> expected return type.
+     * @return script result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisFuture<T> evalReadOnly(RedisScript script, ScriptOutputType type, K[] keys, V... values) {
+
+        LettuceAssert.notNull(script, "RedisScript must not be null");
+
+        // read-only invocations may be routed to replicas
+        return execute(null, commands -> commands.evalshaReadOnly(script.getDigest(), type, keys, values),
+                ScriptExecutor::isNoScript, nodeId -> loadScript(script, nodeId));
+    }
+
+    /**
+     * Invoke a function using {@code FCALL}.
+     *
+     * @param library the library declaring the function.
+     * @param function the function name.
+     * @param type the output type.
+     * @param keys the keys.
+     * @param <T> expected return type.
+     * @return function result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisFuture<T> fcall(RedisFunctionLibrary library, String function, ScriptOutputType type, K... keys) {
+
+        LettuceAssert.notNull(library, "RedisFunctionLibrary must not be null");
+
+        return execute(getNodeId(keys), commands -> commands.fcall(function, type, keys),
+                ScriptExecutor::isFunctionNotFound, nodeId -> loadLibrary(library, nodeId));
+    }
+
+    /**
+     * Invoke a function using {@code FCALL}.
+     *
+     * @param library the library declaring the function.
+     * @param function the function name.
+     * @param type the output type.
+     * @param keys the keys.
+     * @param values the values.
+     * @param <T> expected return type.
+     * @return function result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisFuture<T> fcall(RedisFunctionLibrary library, String function, ScriptOutputType type, K[] keys,
+            V... values) {
+
+        LettuceAssert.notNull(library, "RedisFunctionLibrary must not be null");
+
+        return execute(getNodeId(keys), commands -> commands.fcall(function, type, keys, values),
+                ScriptExecutor::isFunctionNotFound, nodeId -> loadLibrary(library, nodeId));
+    }
+
+    /**
+     * Invoke a read-only function using {@code FCALL_RO}.
+     *
+     * @param library the library declaring the function.
+     * @param function the function name.
+     * @param type the output type.
+     * @param keys the keys.
+     * @param values the values.
+     * @param <T> expected return type.
+     * @return function result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisFuture<T> fcallReadOnly(RedisFunctionLibrary library, String function, ScriptOutputType type, K[] keys,
+            V... values) {
+
+        LettuceAssert.notNull(library, "RedisFunctionLibrary must not be null");
+
+        // read-only invocations may be routed to replicas, libraries are replicated from the upstream node
+        String upstream = getNodeId(keys);
+
+        return execute(null, commands -> commands.fcallReadOnly(function, type, keys, values),
+                ScriptExecutor::isFunctionNotFound, nodeId -> loadLibrary(library, upstream));
+    }
+
+    private String getNodeId(K[] keys) {
+        return keys.length == 0 ? null : nodeLookup.apply(keys[0]);
+    }
+
+    /**
+     * Execute {@code command} on the node identified by {@code nodeId} or through the connection if {@code nodeId} is
+     * {@code null}. Missing scripts or libraries are loaded on the node that executed the command.
+     */
+    private <T> RedisFuture<T> execute(String nodeId, Function<RedisClusterAsyncCommands<K, V>, RedisFuture<T>> command,
+            Predicate<Throwable> requiresLoad, Function<String, CompletionStage<?>> load) {
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        invoke(nodeId, command).whenComplete((value, throwable) -> {
+
+            if (throwable == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = unwrap(throwable);
+
+            if (nodeId != null && isRedirect(cause)) {
+
+                // slot has moved, let the cluster connection follow the redirection
+                execute(null, command, requiresLoad, load).whenComplete((redirectValue, redirectThrowable) -> {
+
+                    if (redirectThrowable != null) {
+                        result.completeExceptionally(unwrap(redirectThrowable));
+                    } else {
+                        result.complete(redirectValue);
+                    }
+                });
+                connection.flushCommands();
+                return;
+            }
+
+            if (!requiresLoad.test(cause)) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+
+            load.apply(nodeId).thenCompose(ignore -> {
+
+                CompletionStage<T> retry = invoke(nodeId, command);
+                connection.flushCommands();
+                return retry;
+            }).whenComplete((retryValue, retryThrowable) -> {
+
+                if (retryThrowable != null) {
+                    result.completeExceptionally(unwrap(retryThrowable));
+                } else {
+                    result.complete(retryValue);
+                }
+            });
+        });
+
+        return new PipelinedRedisFuture<>(result);
+    }
+
+    private <T> CompletionStage<T> invoke(String nodeId, Function<RedisClusterAsyncCommands<K, V>, RedisFuture<T>> command) {
+
+        if (nodeId == null) {
+            return command.apply(commands);
+        }
+
+        CompletableFuture<? extends RedisClusterAsyncCommands<K, V>> node = nodeCommands.apply(nodeId).toCompletableFuture();
+
+        if (node.isDone()) {
+            return node.thenCompose(command);
+        }
+
+        // the node connection is still connecting, the caller may have flushed already
+        return node.thenCompose(commands -> {
+
+            RedisFuture<T> future = command.apply(commands);
+            connection.flushCommands();
+            return future;
+        });
+    }
+
+    private CompletionStage<?> loadScript(RedisScript script, String nodeId) {
+
+        // without a node, SCRIPT LOAD is sent to all nodes of a cluster
+        return load(nodeId, "script:" + script.getDigest(), commands -> commands.scriptLoad(script.getScriptUnsafe()));
+    }
+
+    private CompletionStage<?> loadLibrary(RedisFunctionLibrary library, String nodeId) {
+
+        String key = "library:" + library.getName() + ":" + library.getDigest();
+        Function<RedisClusterAsyncCommands<K, V>, CompletionStage<?>> loader = commands -> commands
+                .functionLoad(library.getCode(), true);
+
+        List<String> upstreamNodes = nodeId == null ? this.upstreamNodes.get() : Collections.emptyList();
+
+        if (upstreamNodes.isEmpty()) {
+            return load(nodeId, key, loader);
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture[upstreamNodes.size()];
+
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = load(upstreamNodes.get(i), key, loader).toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    private CompletionStage<?> load(String nodeId, String key,
+            Function<RedisClusterAsyncCommands<K, V>, CompletionStage<?>> loader) {
+
+        String loadKey = (nodeId != null ? nodeId : "*") + ":" + key;
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(loadKey, future);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        nodeCommands.apply(nodeId).thenCompose(commands -> {
+
+            CompletionStage<?> stage = loader.apply(commands);
+            connection.flushCommands();
+            return stage;
+        }).whenComplete((value, throwable) -> {
+
+            loading.remove(loadKey, future);
+
+            if (throwable != null) {
+                future.completeExceptionally(unwrap(throwable));
+            } else {
+                future.complete(value);
+            }
+        });
+
+        return future;
+    }
+
+    private static boolean isNoScript(Throwable throwable) {
+        return throwable instanceof RedisNoScriptException;
+    }
+
+    private static boolean isRedirect(Throwable throwable) {
+        return throwable instanceof RedisCommandExecutionException && throwable.getMessage() != null
+                && (throwable.getMessage().startsWith(MOVED) || throwable.getMessage().startsWith(ASK));
+    }
+
+    private static boolean isFunctionNotFound(Throwable throwable) {
+        return throwable instanceof RedisCommandExecutionException && throwable.getMessage() != null
+                && throwable.getMessage().startsWith(FUNCTION_NOT_FOUND);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+
+        return throwable;
+    }
+
+}
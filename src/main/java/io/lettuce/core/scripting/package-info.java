@@ -0,0 +1,4 @@
+/**
+ * Script and function handles with transparent {@code EVALSHA} and {@code FCALL} execution.
+ */
+package io.lettuce.core.scripting;
@@ -74,4 +74,14 @@ public interface CacheAccessor<K, V> {
      */
     void evict(K key);
 
+    /**
+     * Register a {@code listener} that is notified when the cache removes entries without a call to {@link #evict(Object)},
+     * for example to stay within its size bound. Caches that do not remove entries on their own may ignore the listener.
+     *
+     * @param listener the listener to notify with the key of the removed entry.
+     * @since 7.0
+     */
+    default void addEvictionListener(java.util.function.Consumer<? super K> listener) {
+    }
+
 }
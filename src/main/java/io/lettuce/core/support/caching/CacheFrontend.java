@@ -16,6 +16,8 @@
 package io.lettuce.core.support.caching;
 
 import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 import io.lettuce.core.RedisException;
@@ -58,6 +60,31 @@ public interface CacheFrontend<K, V> extends Closeable {
      */
     V get(K key, Callable<V> valueLoader);
 
+    /**
+     * Return the values to which this cache maps the specified keys. Implementations resolve cached values locally and
+     * retrieve the remaining values with a single bulk operation where possible.
+     *
+     * @param keys the keys whose associated values are to be returned.
+     * @return map of keys to their values in the iteration order of {@code keys}. Keys without an associated value are not
+     *         contained in the map.
+     * @since 7.0
+     */
+    default Map<K, V> getAll(Iterable<K> keys) {
+
+        Map<K, V> result = new LinkedHashMap<>();
+
+        for (K key : keys) {
+
+            V value = get(key);
+
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Closes this cache frontend and releases any system resources associated with it. If the frontend is already closed then
      * invoking this method has no effect.
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.caching;
+
+/**
+ * Immutable snapshot of cache statistics.
+ *
+ * @since 7.0
+ * @see NearCache#getStatistics()
+ */
+public class CacheStatistics {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final long evictionWeight;
+
+    private final long invalidationCount;
+
+    private final long size;
+
+    private final long weightedSize;
+
+    public CacheStatistics(long hitCount, long missCount, long evictionCount, long evictionWeight, long invalidationCount,
+            long size, long weightedSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.invalidationCount = invalidationCount;
+        this.size = size;
+        this.weightedSize = weightedSize;
+    }
+
+    /**
+     * @return number of lookups that returned a cached value.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of lookups that did not find a cached value.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return ratio of hits to lookups or {@code 1.0} if there were no lookups.
+     */
+    public double getHitRate() {
+
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return number of entries evicted or rejected due to the size bound.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return sum of weights of entries evicted or rejected due to the size bound.
+     */
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * @return number of entries removed explicitly, e.g. by server-side invalidation messages.
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * @return number of cached entries.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return sum of weights of cached entries in bytes.
+     */
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [hitCount=").append(hitCount);
+        sb.append(", missCount=").append(missCount);
+        sb.append(", evictionCount=").append(evictionCount);
+        sb.append(", evictionWeight=").append(evictionWeight);
+        sb.append(", invalidationCount=").append(invalidationCount);
+        sb.append(", size=").append(size);
+        sb.append(", weightedSize=").append(weightedSize);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -15,14 +15,24 @@
  */
 package io.lettuce.core.support.caching;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 import io.lettuce.core.StatefulRedisConnectionImpl;
 import io.lettuce.core.TrackingArgs;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.StatefulRedisClusterConnectionImpl;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
 import io.lettuce.core.codec.RedisCodec;
 
 /**
@@ -43,6 +53,15 @@ import io.lettuce.core.codec.RedisCodec;
  * String value = frontend.get(key);
  * </pre>
  *
+ * Use {@link NearCache} as {@link CacheAccessor} for a bounded client-side cache with size-aware eviction.
+ * <p>
+ * Concurrent cache misses for the same key are coalesced: a single caller reads the value from Redis (and invokes the value
+ * loader, if any) while other callers wait for and share its result. Values whose key is invalidated while being loaded are
+ * returned to the callers but not stored in the client-side cache.
+ * <p>
+ * {@link #getAll(Iterable)} resolves cached values locally and retrieves all missing values with a single {@code MGET} (one
+ * {@code MGET} per slot for Redis Cluster) that also registers tracking interest for the retrieved keys.
+ *
  * @param <K> Key type.
  * @param <V> Value type.
  * @author Mark Paluch
@@ -56,6 +75,8 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
 
     private final List<Consumer<K>> invalidationListeners = new CopyOnWriteArrayList<>();
 
+    private final Map<Object, Load<V>> loads = new ConcurrentHashMap<>();
+
     private ClientSideCaching(CacheAccessor<K, V> cacheAccessor, RedisCache<K, V> redisCache) {
         this.cacheAccessor = cacheAccessor;
         this.redisCache = redisCache;
@@ -83,6 +104,38 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
         return create(cacheAccessor, connection);
     }
 
+    /**
+     * Enable server-assisted Client side caching for the given {@link CacheAccessor} and {@link StatefulRedisClusterConnection}.
+     * <p>
+     * Tracking state is associated with a connection in Redis Cluster. Values are therefore read through the
+     * {@link StatefulRedisClusterConnection#getConnection(String) node connection} of the master that serves the key slot and
+     * {@code tracking} is applied to each node connection before its first read. Use {@link TrackingArgs#bcast() broadcasting}
+     * with {@link TrackingArgs#prefixes(String...) prefixes} to receive invalidations for all matching keys of a node instead of
+     * the keys read by this client. Keys of a slot are invalidated if the slot is served by a different master after a failover
+     * or slot migration. All keys are invalidated if a node connection gets disconnected.
+     * <p>
+     * Note that the {@link CacheFrontend} is associated with a Redis Cluster connection. Make sure to
+     * {@link CacheFrontend#close() close} the frontend object to release the Redis connection after use.
+     *
+     * @param cacheAccessor the accessor used to interact with the client-side cache.
+     * @param connection the Redis Cluster connection to use. The connection will be associated with {@link CacheFrontend} and
+     *        must be closed through {@link CacheFrontend#close()}.
+     * @param tracking the tracking parameters to apply to each node connection.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link CacheFrontend} for value retrieval.
+     * @since 7.0
+     */
+    public static <K, V> CacheFrontend<K, V> enable(CacheAccessor<K, V> cacheAccessor,
+            StatefulRedisClusterConnection<K, V> connection, TrackingArgs tracking) {
+
+        StatefulRedisClusterConnectionImpl<K, V> connectionImpl = (StatefulRedisClusterConnectionImpl) connection;
+        RedisCodec<K, V> codec = connectionImpl.getCodec();
+        RedisCache<K, V> redisCache = new ClusterRedisCache<>(connection, codec, tracking);
+
+        return create(cacheAccessor, redisCache);
+    }
+
     /**
      * Create a server-assisted Client side caching for the given {@link CacheAccessor} and {@link StatefulRedisConnection}.
      * This method expects that client key tracking is already configured.
@@ -107,18 +160,34 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
         return create(cacheAccessor, redisCache);
     }
 
-    private static <K, V> CacheFrontend<K, V> create(CacheAccessor<K, V> cacheAccessor, RedisCache<K, V> redisCache) {
+    static <K, V> CacheFrontend<K, V> create(CacheAccessor<K, V> cacheAccessor, RedisCache<K, V> redisCache) {
 
         ClientSideCaching<K, V> caching = new ClientSideCaching<>(cacheAccessor, redisCache);
 
         redisCache.addInvalidationListener(caching::notifyInvalidate);
         caching.addInvalidationListener(cacheAccessor::evict);
+        cacheAccessor.addEvictionListener(redisCache::evicted);
 
         return caching;
     }
 
     private void notifyInvalidate(K key) {
 
+        if (key != null) {
+
+            Load<V> load = loads.get(loadKey(key));
+
+            if (load != null) {
+                load.invalidated = true;
+            }
+        } else {
+
+            // flush or broadcast reset invalidates all keys
+            for (Load<V> load : loads.values()) {
+                load.invalidated = true;
+            }
+        }
+
         for (java.util.function.Consumer<K> invalidationListener : invalidationListeners) {
             invalidationListener.accept(key);
         }
@@ -139,11 +208,7 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
         V value = cacheAccessor.get(key);
 
         if (value == null) {
-            value = redisCache.get(key);
-
-            if (value != null) {
-                cacheAccessor.put(key, value);
-            }
+            value = load(key, null);
         }
 
         return value;
@@ -155,9 +220,112 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
         V value = cacheAccessor.get(key);
 
         if (value == null) {
-            value = redisCache.get(key);
+            value = load(key, valueLoader);
+        }
+
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(Iterable<K> keys) {
+
+        Map<K, V> result = new LinkedHashMap<>();
+        List<K> loadKeys = new ArrayList<>();
+        List<Load<V>> ownLoads = new ArrayList<>();
+        Map<K, Load<V>> pendingLoads = new LinkedHashMap<>();
+
+        for (K key : keys) {
+
+            V value = cacheAccessor.get(key);
+
+            // retain the order of keys
+            result.put(key, value);
+
+            if (value != null) {
+                continue;
+            }
+
+            Load<V> load = new Load<>(false);
+            Load<V> existing = loads.putIfAbsent(loadKey(key), load);
+
+            if (existing == null) {
+                loadKeys.add(key);
+                ownLoads.add(load);
+            } else {
+                pendingLoads.put(key, existing);
+            }
+        }
+
+        if (!loadKeys.isEmpty()) {
+
+            try {
+
+                List<V> values = redisCache.getAll(loadKeys);
+
+                for (int i = 0; i < loadKeys.size(); i++) {
+
+                    K key = loadKeys.get(i);
+                    V value = values.get(i);
+
+                    complete(key, value, ownLoads.get(i));
+                    result.put(key, value);
+                }
+            } catch (RuntimeException e) {
+
+                for (Load<V> load : ownLoads) {
+                    load.completeExceptionally(e);
+                }
 
-            if (value == null) {
+                throw e;
+            } finally {
+
+                for (int i = 0; i < loadKeys.size(); i++) {
+                    loads.remove(loadKey(loadKeys.get(i)), ownLoads.get(i));
+                }
+            }
+        }
+
+        pendingLoads.forEach((key, load) -> result.put(key, load.await()));
+        result.values().removeIf(Objects::isNull);
+
+        return result;
+    }
+
+    /**
+     * Load a value for {@code key} from Redis or the {@code valueLoader}. Concurrent loads of the same key are coalesced into
+     * a single load whose result is shared.
+     */
+    private V load(K key, Callable<V> valueLoader) {
+
+        Object loadKey = loadKey(key);
+
+        while (true) {
+
+            Load<V> load = new Load<>(valueLoader != null);
+            Load<V> existing = loads.putIfAbsent(loadKey, load);
+
+            if (existing == null) {
+                return doLoad(key, valueLoader, loadKey, load);
+            }
+
+            V value = existing.await();
+
+            // a load without value loader does not satisfy callers that provide a value loader
+            if (value != null || valueLoader == null || existing.withValueLoader) {
+                return value;
+            }
+
+            loads.remove(loadKey, existing);
+        }
+    }
+
+    private V doLoad(K key, Callable<V> valueLoader, Object loadKey, Load<V> load) {
+
+        try {
+
+            V value = redisCache.get(key);
+
+            if (value == null && valueLoader != null) {
 
                 try {
                     value = valueLoader.call();
@@ -176,10 +344,65 @@ public class ClientSideCaching<K, V> implements CacheFrontend<K, V> {
                 redisCache.get(key);
             }
 
+            complete(key, value, load);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(loadKey, load);
+        }
+    }
+
+    /**
+     * Store a loaded value in the client-side cache unless its key was invalidated during the load and complete the load.
+     */
+    private void complete(K key, V value, Load<V> load) {
+
+        if (value != null && !load.invalidated) {
+
             cacheAccessor.put(key, value);
+
+            // invalidation raced with put
+            if (load.invalidated) {
+                cacheAccessor.evict(key);
+            }
+        }
+
+        load.complete(value);
+    }
+
+    private static Object loadKey(Object key) {
+        return key instanceof byte[] ? ByteBuffer.wrap((byte[]) key) : key;
+    }
+
+    /**
+     * In-flight load of a key.
+     */
+    static class Load<V> extends CompletableFuture<V> {
+
+        final boolean withValueLoader;
+
+        volatile boolean invalidated;
+
+        Load(boolean withValueLoader) {
+            this.withValueLoader = withValueLoader;
+        }
+
+        V await() {
+
+            try {
+                return join();
+            } catch (CompletionException e) {
+
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+
+                throw e;
+            }
         }
 
-        return value;
     }
 
 }
@@ -0,0 +1,544 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.caching;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.push.RedisClusterPushListener;
+import io.lettuce.core.cluster.event.ClusterTopologyChangedEvent;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.RedisCodec;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import reactor.core.Disposable;
+
+/**
+ * {@link RedisCache} implementation for Redis Cluster using {@code GET}, {@code MGET} and {@code SET} operations to map cache
+ * values to top-level keys. Bulk reads issue one {@code MGET} per slot.
+ * <p>
+ * Tracking state is associated with a connection so values are read through the
+ * {@link StatefulRedisClusterConnection#getConnection(String) node connection} of the master that serves the key slot. Client
+ * tracking is enabled on each node connection before its first read and re-enabled after a reconnect. Keys are indexed by
+ * their slot to invalidate all keys of a slot if the slot is served by a different master after a failover or slot
+ * migration. Keys are removed from the index when they are invalidated, read as missing or evicted from the client-side cache
+ * so that the index does not outgrow the client-side cache. All keys are invalidated if a node connection gets disconnected as
+ * invalidation messages may have been missed.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+class ClusterRedisCache<K, V> implements RedisCache<K, V> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ClusterRedisCache.class);
+
+    private final StatefulRedisClusterConnection<K, V> connection;
+
+    private final RedisCodec<K, V> codec;
+
+    private final TrackingArgs tracking;
+
+    private final List<Consumer<? super K>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Map<String, NodeTracking> nodes = new ConcurrentHashMap<>();
+
+    private final Map<Integer, TrackedSlot> slots = new ConcurrentHashMap<>();
+
+    private final RedisClusterPushListener pushListener = this::onPushMessage;
+
+    private final Disposable topologySubscription;
+
+    ClusterRedisCache(StatefulRedisClusterConnection<K, V> connection, RedisCodec<K, V> codec, TrackingArgs tracking) {
+
+        this.connection = connection;
+        this.codec = codec;
+        this.tracking = tracking;
+
+        connection.addListener(pushListener);
+        this.topologySubscription = connection.getResources().eventBus().get()
+                .filter(ClusterTopologyChangedEvent.class::isInstance).cast(ClusterTopologyChangedEvent.class)
+                .subscribe(event -> onTopologyChange(event.after()));
+    }
+
+    @Override
+    public V get(K key) {
+
+        int slot = SlotHash.getSlot(codec.encodeKey(key));
+        RedisClusterNode master = connection.getPartitions().getMasterBySlot(slot);
+
+        if (master == null) {
+            return getUntracked(key);
+        }
+
+        NodeTracking node = getNodeTracking(master.getNodeId());
+        long generation = node.generation;
+
+        track(slot, master.getNodeId(), key);
+
+        V value;
+        try {
+            value = node.enableTracking().sync().get(key);
+        } catch (RedisCommandExecutionException e) {
+
+            if (isRedirection(e)) {
+                return getUntracked(key);
+            }
+
+            untrack(key);
+            throw e;
+        }
+
+        if (value == null) {
+            untrack(key);
+        }
+
+        // the node connection got disconnected in the meantime so the value may have been read without tracking
+        if (node.generation != generation) {
+            invalidate(key);
+        }
+
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<V> getAll(List<K> keys) {
+
+        Object[] values = new Object[keys.size()];
+        Map<Integer, List<Integer>> indexesBySlot = new LinkedHashMap<>();
+
+        for (int i = 0; i < keys.size(); i++) {
+            indexesBySlot.computeIfAbsent(SlotHash.getSlot(codec.encodeKey(keys.get(i))), it -> new ArrayList<>()).add(i);
+        }
+
+        List<SlotRead> reads = new ArrayList<>(indexesBySlot.size());
+
+        for (Map.Entry<Integer, List<Integer>> entry : indexesBySlot.entrySet()) {
+
+            List<K> slotKeys = new ArrayList<>(entry.getValue().size());
+            for (Integer index : entry.getValue()) {
+                slotKeys.add(keys.get(index));
+            }
+
+            reads.add(read(entry.getKey(), entry.getValue(), slotKeys));
+        }
+
+        long timeout = connection.getTimeout().toNanos();
+
+        for (SlotRead read : reads) {
+
+            List<V> slotValues = read.await(timeout);
+
+            for (int i = 0; i < read.indexes.size(); i++) {
+                values[read.indexes.get(i)] = slotValues.get(i);
+            }
+        }
+
+        return (List<V>) Arrays.asList(values);
+    }
+
+    /**
+     * Issue a {@code MGET} for keys of the same slot through the tracking node connection.
+     */
+    private SlotRead read(int slot, List<Integer> indexes, List<K> slotKeys) {
+
+        RedisClusterNode master = connection.getPartitions().getMasterBySlot(slot);
+
+        if (master == null) {
+            return new SlotRead(indexes, slotKeys, null, null, 0);
+        }
+
+        NodeTracking node = getNodeTracking(master.getNodeId());
+        long generation = node.generation;
+
+        for (K key : slotKeys) {
+            track(slot, master.getNodeId(), key);
+        }
+
+        try {
+            RedisFuture<List<KeyValue<K, V>>> future = node.enableTracking().async()
+                    .mget(DefaultRedisCache.toArray(slotKeys));
+            return new SlotRead(indexes, slotKeys, future, node, generation);
+        } catch (RuntimeException e) {
+            slotKeys.forEach(this::untrack);
+            throw e;
+        }
+    }
+
+    /**
+     * Read a value through the cluster connection without registering interest. The value is invalidated right away so it is
+     * returned to the caller but not retained in the client-side cache.
+     */
+    private V getUntracked(K key) {
+
+        V value = connection.sync().get(key);
+        invalidate(key);
+
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        connection.sync().set(key, value);
+    }
+
+    @Override
+    public void addInvalidationListener(Consumer<? super K> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void evicted(K key) {
+        untrack(key);
+    }
+
+    @Override
+    public void close() {
+
+        topologySubscription.dispose();
+        connection.removeListener(pushListener);
+
+        for (NodeTracking node : nodes.values()) {
+            node.dispose();
+        }
+
+        nodes.clear();
+        connection.close();
+    }
+
+    private NodeTracking getNodeTracking(String nodeId) {
+
+        StatefulRedisConnection<K, V> nodeConnection = connection.getConnection(nodeId);
+
+        NodeTracking node = nodes.computeIfAbsent(nodeId, it -> new NodeTracking(nodeConnection));
+
+        // node connection was closed and re-created
+        if (node.connection != nodeConnection) {
+
+            NodeTracking replacement = new NodeTracking(nodeConnection);
+
+            if (nodes.replace(nodeId, node, replacement)) {
+                node.dispose();
+                invalidateAll();
+            }
+
+            return getNodeTracking(nodeId);
+        }
+
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onPushMessage(RedisClusterNode node, PushMessage message) {
+
+        if (!message.getType().equals("invalidate")) {
+            return;
+        }
+
+        List<Object> content = message.getContent(codec::decodeKey);
+        List<K> keys = (List<K>) content.get(1);
+
+        // null indicates that the node was flushed
+        if (keys == null) {
+            invalidateNode(node.getNodeId());
+            return;
+        }
+
+        for (K key : keys) {
+            invalidate(key);
+        }
+    }
+
+    private void onTopologyChange(List<RedisClusterNode> topology) {
+
+        String[] masters = new String[SlotHash.SLOT_COUNT];
+        List<String> nodeIds = new ArrayList<>(topology.size());
+        boolean affected = false;
+
+        for (RedisClusterNode node : topology) {
+
+            nodeIds.add(node.getNodeId());
+            affected |= nodes.containsKey(node.getNodeId());
+
+            if (node.is(RedisClusterNode.NodeFlag.UPSTREAM)) {
+                node.forEachSlot(slot -> masters[slot] = node.getNodeId());
+            }
+        }
+
+        // topology of a different cluster
+        if (!affected) {
+            return;
+        }
+
+        slots.forEach((slot, trackedSlot) -> {
+
+            if (!trackedSlot.nodeId.equals(masters[slot])) {
+
+                logger.debug("Invalidating slot {} after its master has changed", slot);
+                invalidateSlot(slot, trackedSlot);
+            }
+        });
+
+        nodes.forEach((nodeId, node) -> {
+
+            if (!nodeIds.contains(nodeId) && nodes.remove(nodeId, node)) {
+                node.dispose();
+            }
+        });
+    }
+
+    private void track(int slot, String nodeId, K key) {
+
+        TrackedSlot trackedSlot = slots.get(slot);
+
+        if (trackedSlot == null || !trackedSlot.nodeId.equals(nodeId)) {
+
+            TrackedSlot created = new TrackedSlot(nodeId);
+            trackedSlot = slots.compute(slot, (it, existing) -> {
+
+                if (existing == null) {
+                    return created;
+                }
+
+                return existing.nodeId.equals(nodeId) ? existing : created;
+            });
+        }
+
+        trackedSlot.keys.put(wrap(key), key);
+    }
+
+    private void untrack(K key) {
+
+        int slot = SlotHash.getSlot(codec.encodeKey(key));
+        TrackedSlot trackedSlot = slots.get(slot);
+
+        if (trackedSlot != null) {
+            trackedSlot.keys.remove(wrap(key));
+        }
+    }
+
+    private void invalidate(K key) {
+
+        untrack(key);
+        notifyListeners(key);
+    }
+
+    private void invalidateSlot(int slot, TrackedSlot trackedSlot) {
+
+        slots.remove(slot, trackedSlot);
+
+        for (K key : trackedSlot.keys.values()) {
+            notifyListeners(key);
+        }
+    }
+
+    private void invalidateNode(String nodeId) {
+
+        slots.forEach((slot, trackedSlot) -> {
+
+            if (trackedSlot.nodeId.equals(nodeId)) {
+                invalidateSlot(slot, trackedSlot);
+            }
+        });
+    }
+
+    private void invalidateAll() {
+        slots.forEach(this::invalidateSlot);
+    }
+
+    private void notifyListeners(K key) {
+
+        for (Consumer<? super K> listener : listeners) {
+            listener.accept(key);
+        }
+    }
+
+    private static boolean isRedirection(RedisCommandExecutionException e) {
+        return e.getMessage() != null && (e.getMessage().startsWith("MOVED") || e.getMessage().startsWith("ASK"));
+    }
+
+    private static Object wrap(Object key) {
+        return key instanceof byte[] ? ByteBuffer.wrap((byte[]) key) : key;
+    }
+
+    /**
+     * In-flight {@code MGET} of keys that map to the same slot.
+     */
+    class SlotRead {
+
+        final List<Integer> indexes;
+
+        final List<K> keys;
+
+        final RedisFuture<List<KeyValue<K, V>>> future;
+
+        final NodeTracking node;
+
+        final long generation;
+
+        SlotRead(List<Integer> indexes, List<K> keys, RedisFuture<List<KeyValue<K, V>>> future, NodeTracking node,
+                long generation) {
+            this.indexes = indexes;
+            this.keys = keys;
+            this.future = future;
+            this.node = node;
+            this.generation = generation;
+        }
+
+        List<V> await(long timeout) {
+
+            if (future == null) {
+                return getUntracked();
+            }
+
+            List<KeyValue<K, V>> keyValues;
+            try {
+                keyValues = LettuceFutures.awaitOrCancel(future, timeout, TimeUnit.NANOSECONDS);
+            } catch (RedisCommandExecutionException e) {
+
+                if (isRedirection(e)) {
+                    return getUntracked();
+                }
+
+                keys.forEach(ClusterRedisCache.this::untrack);
+                throw e;
+            }
+
+            List<V> values = new ArrayList<>(keyValues.size());
+
+            for (int i = 0; i < keyValues.size(); i++) {
+
+                V value = keyValues.get(i).getValueOrElse(null);
+
+                if (value == null) {
+                    untrack(keys.get(i));
+                }
+
+                values.add(value);
+            }
+
+            if (node.generation != generation) {
+                keys.forEach(ClusterRedisCache.this::invalidate);
+            }
+
+            return values;
+        }
+
+        private List<V> getUntracked() {
+
+            List<V> values = new ArrayList<>(keys.size());
+
+            for (KeyValue<K, V> keyValue : connection.sync().mget(DefaultRedisCache.toArray(keys))) {
+                values.add(keyValue.getValueOrElse(null));
+            }
+
+            keys.forEach(ClusterRedisCache.this::invalidate);
+
+            return values;
+        }
+
+    }
+
+    /**
+     * Keys of a slot along with the master node that served the slot when the keys were read.
+     */
+    class TrackedSlot {
+
+        final String nodeId;
+
+        final Map<Object, K> keys = new ConcurrentHashMap<>();
+
+        TrackedSlot(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+    }
+
+    /**
+     * Tracking state of a node connection. The generation is incremented whenever the connection gets disconnected.
+     */
+    class NodeTracking implements RedisConnectionStateListener {
+
+        final StatefulRedisConnection<K, V> connection;
+
+        volatile boolean enabled;
+
+        volatile long generation;
+
+        NodeTracking(StatefulRedisConnection<K, V> connection) {
+
+            this.connection = connection;
+
+            if (connection instanceof RedisChannelHandler) {
+                ((RedisChannelHandler<?, ?>) connection).addListener(this);
+            }
+        }
+
+        StatefulRedisConnection<K, V> enableTracking() {
+
+            if (!enabled) {
+
+                synchronized (this) {
+
+                    if (!enabled) {
+                        connection.sync().clientTracking(tracking);
+                        enabled = true;
+                    }
+                }
+            }
+
+            return connection;
+        }
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+
+            enabled = false;
+            generation++;
+
+            invalidateAll();
+        }
+
+        void dispose() {
+
+            if (connection instanceof RedisChannelHandler) {
+                ((RedisChannelHandler<?, ?>) connection).removeListener(this);
+            }
+        }
+
+    }
+
+}
@@ -15,13 +15,17 @@
  */
 package io.lettuce.core.support.caching;
 
+import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.List;
 
+import io.lettuce.core.KeyValue;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.codec.RedisCodec;
 
 /**
- * Default {@link RedisCache} implementation using {@code GET} and {@code SET} operations to map cache values to top-level keys.
+ * Default {@link RedisCache} implementation using {@code GET}, {@code MGET} and {@code SET} operations to map cache values to
+ * top-level keys.
  *
  * @param <K> Key type.
  * @param <V> Value type.
@@ -42,6 +46,22 @@ class DefaultRedisCache<K, V> implements RedisCache<K, V> {
         return connection.sync().get(key);
     }
 
+    @Override
+    public List<V> getAll(List<K> keys) {
+
+        List<V> values = new ArrayList<>(keys.size());
+
+        if (keys.isEmpty()) {
+            return values;
+        }
+
+        for (KeyValue<K, V> keyValue : connection.sync().mget(toArray(keys))) {
+            values.add(keyValue.getValueOrElse(null));
+        }
+
+        return values;
+    }
+
     @Override
     public void put(K key, V value) {
         connection.sync().set(key, value);
@@ -65,4 +85,11 @@ class DefaultRedisCache<K, V> implements RedisCache<K, V> {
         connection.close();
     }
 
+    @SuppressWarnings("unchecked")
+    static <T> T[] toArray(List<T> c) {
+        Class<T> cls = (Class<T>) c.get(0).getClass();
+        T[] array = (T[]) Array.newInstance(cls, c.size());
+        return c.toArray(array);
+    }
+
 }
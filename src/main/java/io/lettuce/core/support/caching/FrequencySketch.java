@@ -0,0 +1,152 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.caching;
+
+/**
+ * Count-Min sketch with 4-bit counters to estimate the popularity of keys (TinyLFU). Counters are halved periodically so that
+ * the sketch adapts to changes in the access pattern. Not thread-safe, callers must synchronize access.
+ * <p>
+ * The implementation is derived from {@code com.github.benmanes.caffeine.cache.FrequencySketch} of
+ * <a href="https://github.com/ben-manes/caffeine">Caffeine</a>, licensed under the Apache License, Version 2.0.
+ *
+ * @author Ben Manes
+ * @since 7.0
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private long[] table = new long[0];
+
+    private int tableMask;
+
+    private int sampleSize;
+
+    private int additions;
+
+    /**
+     * Ensure the sketch can estimate frequencies of {@code maximumSize} distinct keys. Growing the sketch discards collected
+     * frequencies.
+     *
+     * @param maximumSize the expected number of distinct keys.
+     */
+    void ensureCapacity(long maximumSize) {
+
+        int maximum = (int) Math.min(Math.max(maximumSize, 16), 1 << 26);
+
+        if (table.length >= maximum) {
+            return;
+        }
+
+        table = new long[ceilingPowerOfTwo(maximum)];
+        tableMask = table.length - 1;
+        sampleSize = 10 * maximum;
+        additions = 0;
+    }
+
+    /**
+     * @param hashCode hash code of the key.
+     * @return the estimated number of occurrences of the key, at most {@code 15}.
+     */
+    int frequency(int hashCode) {
+
+        if (table.length == 0) {
+            return 0;
+        }
+
+        int hash = spread(hashCode);
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Increment the popularity of the key if it does not exceed the maximum ({@code 15}).
+     *
+     * @param hashCode hash code of the key.
+     */
+    void increment(int hashCode) {
+
+        if (table.length == 0) {
+            return;
+        }
+
+        int hash = spread(hashCode);
+        int start = (hash & 3) << 2;
+        boolean added = false;
+
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Halve all counters to age the sketch.
+     */
+    void reset() {
+
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        additions = additions >>> 1;
+    }
+
+    private int indexOf(int item, int i) {
+
+        long hash = (item + SEEDS[i]) * SEEDS[i];
+        hash += hash >>> 32;
+        return ((int) hash) & tableMask;
+    }
+
+    private static int spread(int x) {
+
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+
+}
@@ -0,0 +1,658 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.caching;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.internal.LettuceAssert;
+
+/**
+ * Bounded, size-aware {@link CacheAccessor} to be used as client-side cache with {@link ClientSideCaching}. The capacity is
+ * expressed as maximum weight in bytes. The weight of an entry is the size of its key and value encoded by the
+ * {@link RedisCodec}.
+ * <p>
+ * Eviction follows the W-TinyLFU policy: new entries are admitted to a small LRU window. Entries leaving the window compete
+ * with the least recently used entry of the main space for admission, the entry with the higher estimated access frequency
+ * is retained. The main space is split into a probation and a protected segment so that entries accessed repeatedly are
+ * protected from eviction by a burst of one-time accesses. Frequencies are estimated using a Count-Min sketch that is aged
+ * periodically.
+ * <p>
+ * Lookups do not block: the access order is updated on a best-effort basis and skipped if another thread updates the cache
+ * at the same time. Values can optionally be stored off-heap in their encoded form to reduce heap usage at the cost of
+ * decoding on each lookup.
+ *
+ * <pre class="code">
+ * NearCache&lt;String, String&gt; nearCache = NearCache.builder(StringCodec.UTF8).maximumWeight(64 * 1024 * 1024).build();
+ *
+ * CacheFrontend&lt;String, String&gt; frontend = ClientSideCaching.enable(nearCache, connection, TrackingArgs.Builder.enabled());
+ * </pre>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 7.0
+ */
+public class NearCache<K, V> implements CacheAccessor<K, V> {
+
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64 * 1024 * 1024;
+
+    public static final boolean DEFAULT_OFF_HEAP = false;
+
+    /**
+     * Share of the maximum weight used for the admission window.
+     */
+    static final double WINDOW_PERCENTAGE = 0.01;
+
+    /**
+     * Share of the main space used for the protected segment.
+     */
+    static final double PROTECTED_PERCENTAGE = 0.80;
+
+    /**
+     * Assumed average entry weight to size the frequency sketch initially.
+     */
+    private static final int ESTIMATED_ENTRY_WEIGHT = 256;
+
+    private static final int WINDOW = 0;
+
+    private static final int PROBATION = 1;
+
+    private static final int PROTECTED = 2;
+
+    private static final int REMOVED = 3;
+
+    private final RedisCodec<K, V> codec;
+
+    private final boolean offHeap;
+
+    private final long maximumWeight;
+
+    private final long maximumWindowWeight;
+
+    private final long maximumProtectedWeight;
+
+    private final Map<Object, Node> data = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final FrequencySketch sketch = new FrequencySketch();
+
+    private final AccessOrderDeque window = new AccessOrderDeque();
+
+    private final AccessOrderDeque probation = new AccessOrderDeque();
+
+    private final AccessOrderDeque protectedSegment = new AccessOrderDeque();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder evictionWeight = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private final List<java.util.function.Consumer<? super K>> evictionListeners = new CopyOnWriteArrayList<>();
+
+    private long sketchCapacity;
+
+    private long windowWeight;
+
+    private long protectedWeight;
+
+    private long totalWeight;
+
+    private NearCache(Builder<K, V> builder) {
+
+        this.codec = builder.codec;
+        this.offHeap = builder.offHeap;
+        this.maximumWeight = builder.maximumWeight;
+        this.maximumWindowWeight = Math.max(1, (long) (maximumWeight * WINDOW_PERCENTAGE));
+        this.maximumProtectedWeight = (long) ((maximumWeight - maximumWindowWeight) * PROTECTED_PERCENTAGE);
+        this.sketchCapacity = Math.min(Math.max(maximumWeight / ESTIMATED_ENTRY_WEIGHT, 16), 1 << 16);
+        this.sketch.ensureCapacity(sketchCapacity);
+    }
+
+    /**
+     * Returns a new {@link NearCache.Builder} to construct a {@link NearCache}.
+     *
+     * @param codec the codec to determine the weight of entries, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new {@link NearCache.Builder}.
+     */
+    public static <K, V> Builder<K, V> builder(RedisCodec<K, V> codec) {
+
+        LettuceAssert.notNull(codec, "RedisCodec must not be null");
+
+        return new Builder<>(codec);
+    }
+
+    /**
+     * Create a new {@link NearCache} using default settings.
+     *
+     * @param codec the codec to determine the weight of entries, must not be {@code null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return a new {@link NearCache}.
+     */
+    public static <K, V> NearCache<K, V> create(RedisCodec<K, V> codec) {
+        return builder(codec).build();
+    }
+
+    /**
+     * Builder for {@link NearCache}.
+     */
+    public static class Builder<K, V> {
+
+        private final RedisCodec<K, V> codec;
+
+        private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+        private boolean offHeap = DEFAULT_OFF_HEAP;
+
+        private Builder(RedisCodec<K, V> codec) {
+            this.codec = codec;
+        }
+
+        /**
+         * Set the maximum weight of the cache in bytes. Defaults to {@code 64 MiB}. See {@link #DEFAULT_MAXIMUM_WEIGHT}.
+         *
+         * @param maximumWeight the maximum weight, must be greater zero.
+         * @return {@code this}
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight) {
+
+            LettuceAssert.isTrue(maximumWeight > 0, "Maximum weight must be greater zero");
+
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Store values off-heap in their encoded form. Values are decoded on each lookup. Defaults to {@code false}. See
+         * {@link #DEFAULT_OFF_HEAP}.
+         * <p>
+         * Each stored value allocates a direct {@link ByteBuffer} that is not released explicitly when the entry is evicted or
+         * replaced because lookups may still decode it concurrently. Its memory is reclaimed once the buffer is garbage
+         * collected, so direct memory in use can temporarily exceed {@link #maximumWeight(long) the maximum weight}. Size
+         * {@code -XX:MaxDirectMemorySize} accordingly.
+         *
+         * @param offHeap {@code true} to store values off-heap.
+         * @return {@code this}
+         */
+        public Builder<K, V> offHeap(boolean offHeap) {
+            this.offHeap = offHeap;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link NearCache}.
+         *
+         * @return new instance of {@link NearCache}.
+         */
+        public NearCache<K, V> build() {
+            return new NearCache<>(this);
+        }
+
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+
+        Object cacheKey = cacheKey(key);
+        Node node = data.get(cacheKey);
+
+        if (node == null) {
+            misses.increment();
+            recordAccess(cacheKey.hashCode(), null);
+            return null;
+        }
+
+        Object value = node.value;
+        hits.increment();
+        recordAccess(node.hash, node);
+
+        return offHeap ? codec.decodeValue(((ByteBuffer) value).duplicate()) : (V) value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+
+        if (value == null) {
+            evict(key);
+            return;
+        }
+
+        Object cacheKey = cacheKey(key);
+        ByteBuffer encodedValue = codec.encodeValue(value);
+        long weight = (long) codec.encodeKey(key).remaining() + encodedValue.remaining();
+        Object stored = offHeap ? copyDirect(encodedValue) : value;
+
+        lock.lock();
+        try {
+
+            int hash = cacheKey.hashCode();
+            sketch.increment(hash);
+
+            Node existing = data.get(cacheKey);
+
+            if (weight > maximumWeight) {
+
+                if (existing != null) {
+                    removeNode(existing);
+                }
+
+                evictions.increment();
+                evictionWeight.add(weight);
+                notifyEvicted(key);
+                return;
+            }
+
+            if (existing != null) {
+
+                long delta = weight - existing.weight;
+
+                existing.value = stored;
+                existing.weight = weight;
+                totalWeight += delta;
+
+                if (existing.queue == WINDOW) {
+                    windowWeight += delta;
+                } else if (existing.queue == PROTECTED) {
+                    protectedWeight += delta;
+                }
+
+                onAccess(existing);
+            } else {
+
+                Node node = new Node(key, cacheKey, hash, stored, weight);
+                data.put(cacheKey, node);
+                window.addLast(node);
+                windowWeight += weight;
+                totalWeight += weight;
+
+                if (data.size() > sketchCapacity) {
+                    sketchCapacity = sketchCapacity * 2;
+                    sketch.ensureCapacity(sketchCapacity);
+                }
+            }
+
+            evictEntries();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void evict(K key) {
+
+        lock.lock();
+        try {
+
+            Node node = data.get(cacheKey(key));
+
+            if (node != null) {
+                removeNode(node);
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Listeners are notified about entries removed to stay within the {@link Builder#maximumWeight(long) maximum weight} and
+     * about entries removed by {@link #clear()}. Listeners are called while the cache is locked and must not call back into
+     * the cache.
+     */
+    @Override
+    public void addEvictionListener(java.util.function.Consumer<? super K> listener) {
+
+        LettuceAssert.notNull(listener, "Eviction listener must not be null");
+
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Remove all entries from the cache.
+     */
+    public void clear() {
+
+        lock.lock();
+        try {
+
+            for (Node node : data.values()) {
+                node.queue = REMOVED;
+                notifyEvicted(node.key);
+            }
+
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+            windowWeight = 0;
+            protectedWeight = 0;
+            totalWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the maximum weight of the cache in bytes.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return a snapshot of the cache statistics.
+     */
+    public CacheStatistics getStatistics() {
+
+        long size;
+        long weightedSize;
+
+        lock.lock();
+        try {
+            size = data.size();
+            weightedSize = totalWeight;
+        } finally {
+            lock.unlock();
+        }
+
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), evictionWeight.sum(), invalidations.sum(), size,
+                weightedSize);
+    }
+
+    private void recordAccess(int hash, Node node) {
+
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+
+            sketch.increment(hash);
+
+            if (node != null && node.queue != REMOVED) {
+                onAccess(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onAccess(Node node) {
+
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToBack(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedSegment.addLast(node);
+                protectedWeight += node.weight;
+                demoteFromProtected();
+                break;
+            case PROTECTED:
+                protectedSegment.moveToBack(node);
+                break;
+        }
+    }
+
+    private void demoteFromProtected() {
+
+        while (protectedWeight > maximumProtectedWeight) {
+
+            Node demoted = protectedSegment.pollFirst();
+
+            if (demoted == null) {
+                return;
+            }
+
+            protectedWeight -= demoted.weight;
+            demoted.queue = PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private void evictEntries() {
+
+        int candidates = 0;
+
+        // entries leaving the window are appended to probation and compete with its least recently used entries
+        while (windowWeight > maximumWindowWeight) {
+
+            Node node = window.pollFirst();
+
+            if (node == null) {
+                break;
+            }
+
+            windowWeight -= node.weight;
+            node.queue = PROBATION;
+            probation.addLast(node);
+            candidates++;
+        }
+
+        while (totalWeight > maximumWeight) {
+
+            Node candidate = candidates > 0 ? probation.peekLast() : null;
+            Node victim = probation.peekFirst();
+
+            if (victim == null) {
+                victim = protectedSegment.peekFirst();
+            }
+
+            if (victim == null) {
+                victim = window.peekFirst();
+            }
+
+            if (victim == null) {
+                return;
+            }
+
+            if (candidate == null || candidate == victim) {
+
+                if (candidate == victim) {
+                    candidates--;
+                }
+
+                evictNode(victim);
+                continue;
+            }
+
+            if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                evictNode(victim);
+            } else {
+                evictNode(candidate);
+                candidates--;
+            }
+        }
+    }
+
+    private void evictNode(Node node) {
+
+        removeNode(node);
+        evictions.increment();
+        evictionWeight.add(node.weight);
+        notifyEvicted(node.key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void notifyEvicted(Object key) {
+
+        for (java.util.function.Consumer<? super K> listener : evictionListeners) {
+            listener.accept((K) key);
+        }
+    }
+
+    private void removeNode(Node node) {
+
+        data.remove(node.cacheKey, node);
+
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedSegment.remove(node);
+                protectedWeight -= node.weight;
+                break;
+            default:
+                return;
+        }
+
+        totalWeight -= node.weight;
+        node.queue = REMOVED;
+    }
+
+    private static Object cacheKey(Object key) {
+        return key instanceof byte[] ? ByteBuffer.wrap((byte[]) key) : key;
+    }
+
+    private static ByteBuffer copyDirect(ByteBuffer source) {
+
+        ByteBuffer target = ByteBuffer.allocateDirect(source.remaining());
+        target.put(source.duplicate());
+        target.flip();
+        return target.asReadOnlyBuffer();
+    }
+
+    /**
+     * Cache entry linked into one of the access order queues.
+     */
+    static class Node {
+
+        final Object key;
+
+        final Object cacheKey;
+
+        final int hash;
+
+        volatile Object value;
+
+        long weight;
+
+        int queue = WINDOW;
+
+        Node previous;
+
+        Node next;
+
+        Node(Object key, Object cacheKey, int hash, Object value, long weight) {
+            this.key = key;
+            this.cacheKey = cacheKey;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+        }
+
+    }
+
+    /**
+     * Doubly-linked list of {@link Node nodes} ordered from least to most recently used.
+     */
+    static class AccessOrderDeque {
+
+        private Node first;
+
+        private Node last;
+
+        void addLast(Node node) {
+
+            node.previous = last;
+            node.next = null;
+
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+
+            last = node;
+        }
+
+        void remove(Node node) {
+
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+
+            node.previous = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node node) {
+
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        Node peekFirst() {
+            return first;
+        }
+
+        Node peekLast() {
+            return last;
+        }
+
+        Node pollFirst() {
+
+            Node node = first;
+
+            if (node != null) {
+                remove(node);
+            }
+
+            return node;
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+        }
+
+    }
+
+}
@@ -15,6 +15,9 @@
  */
 package io.lettuce.core.support.caching;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interface defining common Redis Cache operations.
  *
@@ -34,6 +37,25 @@ public interface RedisCache<K, V> {
      */
     V get(K key);
 
+    /**
+     * Retrieve {@code values} from Redis for the given cache {@code keys}.
+     *
+     * @param keys the keys whose associated values are to be returned.
+     * @return the values in the order of {@code keys}. A value is {@code null} if the Redis cache contains no mapping for its
+     *         key.
+     * @since 7.0
+     */
+    default List<V> getAll(List<K> keys) {
+
+        List<V> values = new ArrayList<>(keys.size());
+
+        for (K key : keys) {
+            values.add(get(key));
+        }
+
+        return values;
+    }
+
     /**
      * Associate the specified value with the specified key in this Redis cache.
      *
@@ -49,6 +71,16 @@ public interface RedisCache<K, V> {
      */
     void addInvalidationListener(java.util.function.Consumer<? super K> listener);
 
+    /**
+     * Notify this Redis cache that the client-side cache has evicted {@code key} so that state kept for the key can be
+     * released.
+     *
+     * @param key the evicted key.
+     * @since 7.0
+     */
+    default void evicted(K key) {
+    }
+
     /**
      * Closes this Redis cache and releases any connections associated with it. If the cache is already closed then invoking
      * this method has no effect.
@@ -63,6 +63,10 @@ public class BraveTracing implements Tracing {
 
     private final boolean includeCommandArgsInSpanTags;
 
+    private final boolean batchTracingEnabled;
+
+    private final int batchSampleSize;
+
     /**
      * Create a new {@link BraveTracing} instance.
      *
@@ -76,6 +80,8 @@ public class BraveTracing implements Tracing {
         this.tracingOptions = new BraveTracingOptions(builder.serviceName, builder.endpointCustomizer, builder.spanCustomizer);
         this.tracer = new BraveTracer(builder.tracing, this.tracingOptions, builder.includeCommandArgsInSpanTags);
         this.includeCommandArgsInSpanTags = builder.includeCommandArgsInSpanTags;
+        this.batchTracingEnabled = builder.batchTracingEnabled;
+        this.batchSampleSize = builder.batchSampleSize;
     }
 
     /**
@@ -117,6 +123,10 @@ public class BraveTracing implements Tracing {
 
         private boolean includeCommandArgsInSpanTags = true;
 
+        private boolean batchTracingEnabled = false;
+
+        private int batchSampleSize = 0;
+
         private Builder() {
         }
 
@@ -169,6 +179,23 @@ public class BraveTracing implements Tracing {
             return this;
         }
 
+        /**
+         * Enables tracing of command batches with a single {@link Span} per batch. Up to {@code sampleSize} commands of each
+         * batch are traced as child spans of the batch span. Disabled by default.
+         *
+         * @param sampleSize number of commands per batch to trace individually, must be greater or equal to {@code 0}.
+         * @return {@code this} {@link Builder}.
+         * @since 7.0
+         */
+        public Builder traceBatches(int sampleSize) {
+
+            LettuceAssert.isTrue(sampleSize >= 0, "Sample size must be greater or equal to 0");
+
+            this.batchTracingEnabled = true;
+            this.batchSampleSize = sampleSize;
+            return this;
+        }
+
         /**
          * Sets an {@link zipkin2.Endpoint} customizer to customize the {@link zipkin2.Endpoint} through its
          * {@link zipkin2.Endpoint.Builder}. The customizer is invoked before {@link zipkin2.Endpoint.Builder#build() building}
@@ -238,6 +265,16 @@ public class BraveTracing implements Tracing {
         return includeCommandArgsInSpanTags;
     }
 
+    @Override
+    public boolean isBatchTracingEnabled() {
+        return batchTracingEnabled;
+    }
+
+    @Override
+    public int getBatchSampleSize() {
+        return batchSampleSize;
+    }
+
     @Override
     public TracerProvider getTracerProvider() {
         return () -> tracer;
@@ -424,6 +461,11 @@ public class BraveTracing implements Tracing {
             span.finish();
         }
 
+        @Override
+        public TraceContext getTraceContext() {
+            return BraveTraceContext.create(span.context());
+        }
+
         public brave.Span getSpan() {
             return span;
         }
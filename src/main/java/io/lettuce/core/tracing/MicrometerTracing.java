@@ -56,6 +56,10 @@ public class MicrometerTracing implements Tracing {
 
     private final MicrometerTraceContextProvider contextProvider;
 
+    private final boolean batchTracingEnabled;
+
+    private final int batchSampleSize;
+
     /**
      * Create a new {@link MicrometerTracing} instance.
      *
@@ -89,6 +93,11 @@ public class MicrometerTracing implements Tracing {
      */
     public MicrometerTracing(ObservationRegistry observationRegistry, String serviceName,
             LettuceObservationConvention convention) {
+        this(observationRegistry, serviceName, convention, false, 0);
+    }
+
+    private MicrometerTracing(ObservationRegistry observationRegistry, String serviceName,
+            LettuceObservationConvention convention, boolean batchTracingEnabled, int batchSampleSize) {
 
         LettuceAssert.notNull(observationRegistry, "ObservationRegistry must not be null");
         LettuceAssert.notEmpty(serviceName, "Service name must not be empty");
@@ -100,6 +109,23 @@ public class MicrometerTracing implements Tracing {
         this.includeCommandArgsInSpanTags = convention.includeCommandArgsInSpanTags();
         this.tracer = new MicrometerTracer(observationRegistry);
         this.contextProvider = new MicrometerTraceContextProvider(observationRegistry);
+        this.batchTracingEnabled = batchTracingEnabled;
+        this.batchSampleSize = batchSampleSize;
+    }
+
+    /**
+     * Create a new {@link MicrometerTracing} instance that traces command batches with a single observation per batch. Up to
+     * {@code sampleSize} commands of each batch are observed as children of the batch observation.
+     *
+     * @param sampleSize number of commands per batch to observe individually, must be greater or equal to {@code 0}.
+     * @return a new {@link MicrometerTracing} instance with batch tracing enabled.
+     * @since 7.0
+     */
+    public MicrometerTracing traceBatches(int sampleSize) {
+
+        LettuceAssert.isTrue(sampleSize >= 0, "Sample size must be greater or equal to 0");
+
+        return new MicrometerTracing(observationRegistry, serviceName, observationConvention, true, sampleSize);
     }
 
     @Override
@@ -122,6 +148,16 @@ public class MicrometerTracing implements Tracing {
         return includeCommandArgsInSpanTags;
     }
 
+    @Override
+    public boolean isBatchTracingEnabled() {
+        return batchTracingEnabled;
+    }
+
+    @Override
+    public int getBatchSampleSize() {
+        return batchSampleSize;
+    }
+
     @Override
     public Endpoint createEndpoint(SocketAddress socketAddress) {
         return new SocketAddressEndpoint(socketAddress);
@@ -140,12 +176,21 @@ public class MicrometerTracing implements Tracing {
 
         @Override
         public Span nextSpan() {
+
+            if (observationRegistry.isNoop()) {
+                return NoOpTracing.NoOpSpan.INSTANCE;
+            }
+
             return new MicrometerSpan(serviceName, this::createObservation);
         }
 
         @Override
         public Span nextSpan(TraceContext traceContext) {
 
+            if (observationRegistry.isNoop()) {
+                return NoOpTracing.NoOpSpan.INSTANCE;
+            }
+
             if (traceContext instanceof MicrometerTraceContext) {
 
                 MicrometerTraceContext micrometerTraceContext = (MicrometerTraceContext) traceContext;
@@ -234,6 +279,10 @@ public class MicrometerTracing implements Tracing {
 
         @Override
         public Span tag(String key, String value) {
+            if (this.observation != null) {
+                this.observation.highCardinalityKeyValue(key, value);
+                return this;
+            }
             if (this.highCardinalityKeyValue == null) {
                 this.highCardinalityKeyValue = new HashMap<>();
             }
@@ -258,6 +307,11 @@ public class MicrometerTracing implements Tracing {
             this.observation.stop();
         }
 
+        @Override
+        public TraceContext getTraceContext() {
+            return this.observation != null ? new MicrometerTraceContext(this.observation) : TraceContext.EMPTY;
+        }
+
     }
 
     /**
@@ -122,6 +122,11 @@ enum NoOpTracing implements Tracing, TraceContextProvider, TracerProvider {
         public void finish() {
         }
 
+        @Override
+        public boolean isNoop() {
+            return true;
+        }
+
     }
 
 }
@@ -100,6 +100,28 @@ public abstract class Tracer {
          */
         public abstract void finish();
 
+        /**
+         * Returns the {@link TraceContext} of this {@link Span} to create child spans. The context is available once the span
+         * was {@link #start(RedisCommand) started}. Returns {@link TraceContext#EMPTY} by default.
+         *
+         * @return the {@link TraceContext} of this {@link Span}.
+         * @since 7.0
+         */
+        public TraceContext getTraceContext() {
+            return TraceContext.EMPTY;
+        }
+
+        /**
+         * Returns {@code true} if this {@link Span} is not recorded, e.g. because its trace is not sampled. Callers can skip
+         * collecting span details for no-op spans. Returns {@code false} by default.
+         *
+         * @return {@code true} if this {@link Span} is not recorded.
+         * @since 7.0
+         */
+        public boolean isNoop() {
+            return false;
+        }
+
     }
 
 }
@@ -58,6 +58,30 @@ public interface Tracing {
      */
     boolean includeCommandArgsInSpanTags();
 
+    /**
+     * Returns {@code true} if commands that are written together (pipelining with disabled auto-flush, bulk writes) should be
+     * traced with a single {@link Tracer.Span} per batch instead of a span per command. Batch spans carry the number of
+     * commands per command type and the number of written bytes. Returns {@code false} by default.
+     *
+     * @return {@code true} if command batches should be traced with a single {@link Tracer.Span}.
+     * @since 7.0
+     * @see #getBatchSampleSize()
+     */
+    default boolean isBatchTracingEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the number of commands per batch that are traced with their own {@link Tracer.Span} as children of the batch
+     * span. Only considered if {@link #isBatchTracingEnabled() batch tracing} is enabled. Returns {@code 0} by default.
+     *
+     * @return the number of commands per batch that are traced individually.
+     * @since 7.0
+     */
+    default int getBatchSampleSize() {
+        return 0;
+    }
+
     /**
      * Create an {@link Endpoint} given {@link SocketAddress}.
      *
@@ -43,6 +43,16 @@ interface BaseRedisCoroutinesCommands<K : Any, V : Any> {
      */
     suspend fun publish(channel: K, message: V): Long?
 
+    /**
+     * Post a message to a shard channel.
+     *
+     * @param shardChannel the shard channel type: key.
+     * @param message the message type: value.
+     * @return Long integer-reply the number of clients that received the message.
+     * @since 7.0
+     */
+    suspend fun spublish(shardChannel: K, message: V): Long?
+
     /**
      * Lists the currently *active channels*.
      *
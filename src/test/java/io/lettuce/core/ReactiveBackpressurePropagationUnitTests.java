@@ -34,6 +34,8 @@ import reactor.core.scheduler.Schedulers;
 import io.lettuce.core.api.StatefulConnection;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.metrics.CommandLatencyCollector;
+import io.lettuce.core.metrics.HotKeyRecorder;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.output.ValueListOutput;
 import io.lettuce.core.protocol.Command;
 import io.lettuce.core.protocol.CommandHandler;
@@ -73,6 +75,8 @@ class ReactiveBackpressurePropagationUnitTests {
 
         when(clientResources.commandLatencyRecorder()).thenReturn(latencyCollector);
         when(clientResources.tracing()).thenReturn(Tracing.disabled());
+        when(clientResources.hotKeyRecorder()).thenReturn(HotKeyRecorder.disabled());
+        when(clientResources.slowCommandRecorder()).thenReturn(SlowCommandRecorder.disabled());
         when(statefulConnection.dispatch(any(RedisCommand.class))).thenAnswer(invocation -> {
 
             RedisCommand command = (RedisCommand) invocation.getArguments()[0];
@@ -42,7 +42,7 @@ class ClusterClientOptionsUnitTests {
         ClusterClientOptions options = ClusterClientOptions.builder().autoReconnect(false).requestQueueSize(100)
                 .suspendReconnectOnProtocolFailure(true).maxRedirects(1234).validateClusterNodeMembership(false)
                 .readOnlyCommands(command -> command.getType() == CommandType.PING)
-                .protocolVersion(ProtocolVersion.RESP2).nodeFilter(nodeFilter).build();
+                .protocolVersion(ProtocolVersion.RESP2).nodeFilter(nodeFilter).connectionsPerNode(4).build();
 
         ClusterClientOptions copy = ClusterClientOptions.copyOf(options);
 
@@ -58,6 +58,7 @@ class ClusterClientOptionsUnitTests {
         assertThat(copy.getMaxRedirects()).isEqualTo(options.getMaxRedirects());
         assertThat(copy.getScriptCharset()).isEqualTo(StandardCharsets.UTF_8);
         assertThat(copy.getNodeFilter()).isEqualTo(nodeFilter);
+        assertThat(copy.getConnectionsPerNode()).isEqualTo(4);
         assertThat(copy.getReadOnlyCommands().isReadOnly(new Command<>(CommandType.GET, null))).isFalse();
         assertThat(copy.getReadOnlyCommands().isReadOnly(new Command<>(CommandType.PING, null))).isTrue();
     }
@@ -98,7 +99,7 @@ class ClusterClientOptionsUnitTests {
     void builderFromClusterClientOptions() {
 
         ClusterClientOptions options = ClusterClientOptions.builder().maxRedirects(1234).validateClusterNodeMembership(false)
-                .scriptCharset(StandardCharsets.US_ASCII).readOnlyCommands(command -> command.getType() == CommandType.PING)
+                .connectionsPerNode(3).scriptCharset(StandardCharsets.US_ASCII).readOnlyCommands(command -> command.getType() == CommandType.PING)
                 .build();
 
         ClusterClientOptions copy = ClusterClientOptions.builder(options).build();
@@ -113,6 +114,7 @@ class ClusterClientOptionsUnitTests {
         assertThat(copy.isSuspendReconnectOnProtocolFailure()).isEqualTo(options.isSuspendReconnectOnProtocolFailure());
         assertThat(copy.getMaxRedirects()).isEqualTo(options.getMaxRedirects());
         assertThat(copy.getScriptCharset()).isEqualTo(options.getScriptCharset());
+        assertThat(copy.getConnectionsPerNode()).isEqualTo(3);
         assertThat(copy.getReadOnlyCommands().isReadOnly(new Command<>(CommandType.GET, null))).isFalse();
         assertThat(copy.getReadOnlyCommands().isReadOnly(new Command<>(CommandType.PING, null))).isTrue();
         assertThat(options.mutate()).isNotSameAs(copy.mutate());
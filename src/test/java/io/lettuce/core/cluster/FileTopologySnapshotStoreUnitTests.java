@@ -0,0 +1,86 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.lettuce.core.cluster.models.partitions.ClusterPartitionParser;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+
+/**
+ * Unit tests for {@link FileTopologySnapshotStore}.
+ */
+class FileTopologySnapshotStoreUnitTests {
+
+    private static final String NODES = "c37ab8396be428403d4e55c0d317348be27ed973 127.0.0.1:7381 myself,master - 0 1401258245007 2 connected 0-5460 7000\n"
+            + "4213a8dabb94f92eb6a860f4d0729e6a25d43e0c 127.0.0.1:7380 slave c37ab8396be428403d4e55c0d317348be27ed973 0 1401258245007 1 connected\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReturnNullWithoutSnapshot() {
+
+        TopologySnapshotStore store = TopologySnapshotStore.file(directory.resolve("topology"));
+
+        assertThat(store.load()).isNull();
+    }
+
+    @Test
+    void shouldSaveAndLoadSnapshot() {
+
+        Partitions partitions = ClusterPartitionParser.parse(NODES);
+        partitions.getPartition(1).setReplOffset(42);
+
+        TopologySnapshotStore store = TopologySnapshotStore.file(directory.resolve("topology"));
+        store.save(partitions);
+
+        Partitions loaded = store.load();
+
+        assertThat(loaded).hasSize(2);
+
+        RedisClusterNode upstream = loaded.getPartitionBySlot(7000);
+        assertThat(upstream.getNodeId()).isEqualTo("c37ab8396be428403d4e55c0d317348be27ed973");
+        assertThat(upstream.getUri().getPort()).isEqualTo(7381);
+        assertThat(upstream.getSlots()).hasSize(5462);
+        assertThat(upstream.is(RedisClusterNode.NodeFlag.UPSTREAM)).isTrue();
+        assertThat(upstream.getConfigEpoch()).isEqualTo(2);
+
+        RedisClusterNode replica = loaded.getPartitionByNodeId("4213a8dabb94f92eb6a860f4d0729e6a25d43e0c");
+        assertThat(replica.is(RedisClusterNode.NodeFlag.REPLICA)).isTrue();
+        assertThat(replica.getSlaveOf()).isEqualTo(upstream.getNodeId());
+        assertThat(replica.getReplOffset()).isEqualTo(42);
+    }
+
+    @Test
+    void shouldReturnNullForCorruptSnapshot() throws IOException {
+
+        Path file = directory.resolve("topology");
+        Files.write(file, "foo bar".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(TopologySnapshotStore.file(file).load()).isNull();
+    }
+
+}
@@ -245,6 +245,69 @@ class PooledClusterConnectionProviderUnitTests {
         assertThat(readCandidates).contains(nodeConnectionMock2).doesNotContain(nodeConnectionMock);
     }
 
+    @Test
+    void shouldRouteSlotsAcrossConnectionsPerNode() {
+
+        StatefulRedisConnection<String, String> nodeConnectionMock2 = mock(StatefulRedisConnection.class);
+
+        when(clientMock.getClusterClientOptions()).thenReturn(ClusterClientOptions.builder().connectionsPerNode(2).build());
+        when(clientMock.connectToNodeAsync(eq(StringCodec.UTF8), eq("localhost:1"), any(), any())).thenReturn(
+                ConnectionFuture.from(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock)),
+                ConnectionFuture.from(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock2)));
+
+        sut = new PooledClusterConnectionProvider<>(clientMock, writerMock, StringCodec.UTF8, clusterEventListener);
+        sut.setPartitions(partitions);
+
+        StatefulRedisConnection<String, String> slot0 = sut.getConnection(ConnectionIntent.WRITE, 0);
+        StatefulRedisConnection<String, String> slot1 = sut.getConnection(ConnectionIntent.WRITE, 1);
+
+        assertThat(slot0).isNotSameAs(slot1);
+        assertThat(sut.getConnection(ConnectionIntent.WRITE, 2)).isSameAs(slot0);
+        assertThat(sut.getConnection(ConnectionIntent.WRITE, 3)).isSameAs(slot1);
+
+        verify(clientMock, times(2)).connectToNodeAsync(eq(StringCodec.UTF8), eq("localhost:1"), any(), any());
+    }
+
+    @Test
+    void shouldWarmupUpstreamConnections() {
+
+        ClusterConnectionWarmupOptions warmupOptions = ClusterConnectionWarmupOptions.builder().warmupUpstreams(true)
+                .readinessPolicy(ClusterConnectionWarmupOptions.ReadinessPolicy.UPSTREAMS).build();
+
+        when(clientMock.getClusterClientOptions())
+                .thenReturn(ClusterClientOptions.builder().connectionWarmupOptions(warmupOptions).build());
+        when(clientMock.connectToNodeAsync(eq(StringCodec.UTF8), eq("localhost:1"), any(), any()))
+                .thenReturn(ConnectionFuture.from(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock)));
+
+        sut = new PooledClusterConnectionProvider<>(clientMock, writerMock, StringCodec.UTF8, clusterEventListener);
+        sut.setPartitions(partitions);
+
+        sut.warmupConnections().join();
+
+        assertThat(sut.getConnectionCount()).isEqualTo(1);
+        verify(clientMock).connectToNodeAsync(eq(StringCodec.UTF8), eq("localhost:1"), any(), any());
+        verify(clientMock, never()).connectToNodeAsync(eq(StringCodec.UTF8), eq("localhost:2"), any(), any());
+    }
+
+    @Test
+    void warmupShouldNotFailOnConnectionFailure() {
+
+        CompletableFuture<StatefulRedisConnection<String, String>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+
+        when(clientMock.getClusterClientOptions()).thenReturn(ClusterClientOptions.builder()
+                .connectionWarmupOptions(ClusterConnectionWarmupOptions.builder().warmupUpstreams(true)
+                        .readinessPolicy(ClusterConnectionWarmupOptions.ReadinessPolicy.ALL).build())
+                .build());
+        when(clientMock.connectToNodeAsync(eq(StringCodec.UTF8), eq("localhost:1"), any(), any()))
+                .thenReturn(ConnectionFuture.from(socketAddressMock, failed));
+
+        sut = new PooledClusterConnectionProvider<>(clientMock, writerMock, StringCodec.UTF8, clusterEventListener);
+        sut.setPartitions(partitions);
+
+        assertThat(sut.warmupConnections()).isCompleted();
+    }
+
     @Test
     void shouldCloseConnectionOnConnectFailure() {
 
@@ -28,6 +28,7 @@ import java.util.regex.Pattern;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.lettuce.core.OrderingReadFromAccessor;
 import io.lettuce.core.ReadFrom;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.cluster.models.partitions.Partitions;
@@ -95,6 +96,28 @@ class ReadFromUnitTests {
         assertThat(result).hasSize(2).containsExactly(nearest, replica);
     }
 
+    @Test
+    void leastOutstanding() {
+
+        List<RedisNodeDescription> result = ReadFrom.LEAST_OUTSTANDING.select(getNodes());
+
+        assertThat(result).hasSize(3).containsExactly(nearest, master, replica);
+        assertThat(OrderingReadFromAccessor.isLeastOutstanding(ReadFrom.LEAST_OUTSTANDING)).isTrue();
+        assertThat(OrderingReadFromAccessor.isPowerOfTwoChoices(ReadFrom.LEAST_OUTSTANDING)).isFalse();
+        assertThat(OrderingReadFromAccessor.isOrderSensitive(ReadFrom.LEAST_OUTSTANDING)).isFalse();
+    }
+
+    @Test
+    void leastOutstandingReplicasWithPowerOfTwoChoices() {
+
+        ReadFrom sut = ReadFrom.leastOutstanding(ReadFrom.ANY_REPLICA, true);
+
+        assertThat(sut.select(getNodes())).hasSize(2).containsExactly(nearest, replica);
+        assertThat(OrderingReadFromAccessor.isLeastOutstanding(sut)).isTrue();
+        assertThat(OrderingReadFromAccessor.isPowerOfTwoChoices(sut)).isTrue();
+        assertThat(OrderingReadFromAccessor.isLeastOutstanding(ReadFrom.ANY_REPLICA)).isFalse();
+    }
+
     @Test
     void subnetIpv4RuleIpv6NodeGiven() {
         ReadFrom sut = ReadFrom.subnet("0.0.0.0/0");
@@ -243,6 +266,11 @@ class ReadFromUnitTests {
         assertThat(ReadFrom.valueOf("anyReplica")).isEqualTo(ReadFrom.ANY_REPLICA);
     }
 
+    @Test
+    void valueOfLeastOutstanding() {
+        assertThat(ReadFrom.valueOf("leastOutstanding")).isEqualTo(ReadFrom.LEAST_OUTSTANDING);
+    }
+
     @Test
     void valueOfSubnet() {
         assertThatThrownBy(() -> ReadFrom.valueOf("subnet")).isInstanceOf(IllegalArgumentException.class);
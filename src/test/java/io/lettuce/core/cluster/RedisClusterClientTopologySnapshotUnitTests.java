@@ -0,0 +1,153 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.cluster.models.partitions.ClusterPartitionParser;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.topology.ClusterTopologyRefresh;
+import io.lettuce.test.Wait;
+import io.lettuce.test.resource.FastShutdown;
+import io.lettuce.test.resource.TestClientResources;
+
+/**
+ * Unit tests for {@link RedisClusterClient} using a {@link TopologySnapshotStore}.
+ */
+class RedisClusterClientTopologySnapshotUnitTests {
+
+    private static final String STALE_NODES = "c37ab8396be428403d4e55c0d317348be27ed973 10.0.0.1:7000 myself,master - 0 1401258245007 2 connected 0-16383\n";
+
+    private static final String SEED_NODES = "4213a8dabb94f92eb6a860f4d0729e6a25d43e0c 127.0.0.1:7379 myself,master - 0 1401258245007 1 connected 0-16383\n";
+
+    private static final String REPLICA_NODE = "3d005a179da7d8dc1adae6409d47b39c369e992b 127.0.0.1:7380 slave 4213a8dabb94f92eb6a860f4d0729e6a25d43e0c 0 1401258245007 1 connected\n";
+
+    private static final RedisURI SEED = RedisURI.create("127.0.0.1", 7379);
+
+    private final List<Iterable<RedisURI>> requestedSources = new ArrayList<>();
+
+    private final List<Partitions> savedSnapshots = Collections.synchronizedList(new ArrayList<>());
+
+    private SnapshotClusterClient client;
+
+    @AfterEach
+    void tearDown() {
+
+        if (client != null) {
+            FastShutdown.shutdown(client);
+        }
+    }
+
+    @Test
+    void shouldReplaceStaleSnapshotWithSeedTopology() {
+
+        client = new SnapshotClusterClient(CompletableFuture.completedFuture(createViews(SEED_NODES)));
+
+        Partitions partitions = client.getPartitions();
+
+        assertThat(requestedSources).containsOnly(Collections.singletonList(SEED));
+        assertThat(partitions).hasSize(1);
+        assertThat(partitions.getPartition(0).getUri().getHost()).isEqualTo("127.0.0.1");
+        assertThat(partitions.getPartition(0).getUri().getPort()).isEqualTo(7379);
+    }
+
+    @Test
+    void shouldRetainSnapshotIfSeedsAreUnavailable() {
+
+        CompletableFuture<Map<RedisURI, Partitions>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RedisConnectionException("Unable to connect"));
+
+        client = new SnapshotClusterClient(failed);
+
+        Partitions partitions = client.getPartitions();
+
+        assertThat(requestedSources).containsOnly(Collections.singletonList(SEED));
+        assertThat(partitions).hasSize(1);
+        assertThat(partitions.getPartition(0).getUri().getHost()).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    void shouldSaveSnapshotOnlyIfTopologyChanged() {
+
+        client = new SnapshotClusterClient(CompletableFuture.completedFuture(createViews(SEED_NODES)));
+        client.getPartitions();
+
+        Wait.untilEquals(1, savedSnapshots::size).waitOrTimeout();
+
+        client.refreshPartitions();
+        client.views = CompletableFuture.completedFuture(createViews(SEED_NODES + REPLICA_NODE));
+        client.refreshPartitions();
+
+        Wait.untilTrue(() -> savedSnapshots.get(savedSnapshots.size() - 1).size() == 2).waitOrTimeout();
+
+        assertThat(savedSnapshots).hasSize(2);
+    }
+
+    private static Map<RedisURI, Partitions> createViews(String nodes) {
+
+        Map<RedisURI, Partitions> views = new LinkedHashMap<>();
+        views.put(SEED, ClusterPartitionParser.parse(nodes));
+        return views;
+    }
+
+    class SnapshotClusterClient extends RedisClusterClient {
+
+        volatile CompletableFuture<Map<RedisURI, Partitions>> views;
+
+        SnapshotClusterClient(CompletableFuture<Map<RedisURI, Partitions>> views) {
+
+            super(TestClientResources.get(), Collections.singletonList(SEED));
+
+            this.views = views;
+
+            setOptions(ClusterClientOptions.builder().topologySnapshotStore(new TopologySnapshotStore() {
+
+                @Override
+                public Partitions load() {
+                    return ClusterPartitionParser.parse(STALE_NODES);
+                }
+
+                @Override
+                public void save(Partitions partitions) {
+                    savedSnapshots.add(partitions);
+                }
+
+            }).build());
+        }
+
+        @Override
+        protected ClusterTopologyRefresh createTopologyRefresh() {
+            return (seed, connectTimeout, discovery) -> {
+                requestedSources.add(seed);
+                return views;
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.cluster.models.partitions.ClusterPartitionParser;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.pubsub.api.async.RedisPubSubAsyncCommands;
+import io.lettuce.core.resource.Delay;
+
+/**
+ * Unit tests for {@link ShardChannelSubscriptions}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ShardChannelSubscriptionsUnitTests {
+
+    private static final String NODE_1 = "c37ab8396be428403d4e55c0d317348be27ed973";
+
+    private static final String NODE_2 = "3d005a179da7d8dc1adae6409d47b39c369e992b";
+
+    // slot of "foo" is 12182, slot of "bar" is 5061
+    private static final Partitions TWO_UPSTREAMS = ClusterPartitionParser
+            .parse(NODE_1 + " 127.0.0.1:7381 master - 0 1401258245007 2 connected 0-8191\n" + NODE_2
+                    + " 127.0.0.1:7382 master - 0 1401258245007 3 connected 8192-16383\n");
+
+    private static final Partitions SINGLE_OWNER = ClusterPartitionParser
+            .parse(NODE_1 + " 127.0.0.1:7381 master - 0 1401258245007 4 connected 0-16383\n" + NODE_2
+                    + " 127.0.0.1:7382 master - 0 1401258245007 3 connected\n");
+
+    @Mock
+    StatefulRedisPubSubConnection<String, String> connection1;
+
+    @Mock
+    StatefulRedisPubSubConnection<String, String> connection2;
+
+    @Mock
+    RedisPubSubAsyncCommands<String, String> async1;
+
+    @Mock
+    RedisPubSubAsyncCommands<String, String> async2;
+
+    @Mock
+    ScheduledExecutorService retryExecutor;
+
+    private ShardChannelSubscriptions<String, String> sut;
+
+    @BeforeEach
+    void before() {
+
+        when(connection1.async()).thenReturn(async1);
+        when(connection2.async()).thenReturn(async2);
+
+        when(async1.ssubscribe(any())).thenReturn(completed());
+        when(async2.ssubscribe(any())).thenReturn(completed());
+        when(async1.sunsubscribe(any())).thenReturn(completed());
+        when(async2.sunsubscribe(any())).thenReturn(completed());
+
+        sut = new ShardChannelSubscriptions<>(StringCodec.UTF8,
+                nodeId -> CompletableFuture.completedFuture(nodeId.equals(NODE_1) ? connection1 : connection2), retryExecutor,
+                Delay.constant(Duration.ofMillis(100)));
+    }
+
+    @Test
+    void shouldSubscribeOnSlotOwner() {
+
+        sut.subscribe(TWO_UPSTREAMS, new String[] { "foo", "bar" }).join();
+
+        verify(async1).ssubscribe("bar");
+        verify(async2).ssubscribe("foo");
+
+        assertThat(sut.getNodeId("foo")).isEqualTo(NODE_2);
+        assertThat(sut.getNodeId("bar")).isEqualTo(NODE_1);
+    }
+
+    @Test
+    void shouldFailWithoutSlotOwner() {
+
+        assertThatThrownBy(() -> sut.subscribe(new Partitions(), new String[] { "foo" }).join())
+                .hasCauseInstanceOf(RedisException.class);
+    }
+
+    @Test
+    void shouldNotSubscribeIfAnySlotHasNoOwner() {
+
+        Partitions partial = ClusterPartitionParser
+                .parse(NODE_1 + " 127.0.0.1:7381 master - 0 1401258245007 2 connected 0-8191\n");
+
+        assertThatThrownBy(() -> sut.subscribe(partial, new String[] { "bar", "foo" }).join())
+                .hasCauseInstanceOf(RedisException.class);
+
+        verify(async1, never()).ssubscribe(any());
+        assertThat(sut.getShardChannels()).isEmpty();
+        assertThat(sut.getNodeId("bar")).isNull();
+    }
+
+    @Test
+    void shouldUnsubscribeAllShardChannels() {
+
+        sut.subscribe(TWO_UPSTREAMS, new String[] { "foo", "bar" }).join();
+        sut.unsubscribe(new String[0]).join();
+
+        verify(async1).sunsubscribe("bar");
+        verify(async2).sunsubscribe("foo");
+        assertThat(sut.getShardChannels()).isEmpty();
+    }
+
+    @Test
+    void shouldMoveSubscriptionsToNewSlotOwner() {
+
+        sut.subscribe(TWO_UPSTREAMS, new String[] { "foo", "bar" }).join();
+        sut.reconcile(SINGLE_OWNER);
+
+        verify(async2).sunsubscribe("foo");
+        verify(async1).ssubscribe("foo");
+        verify(async1, never()).sunsubscribe(any());
+
+        assertThat(sut.getNodeId("foo")).isEqualTo(NODE_1);
+    }
+
+    @Test
+    void shouldRetainPreviousOwnerAndRetryIfMoveFails() {
+
+        sut.subscribe(TWO_UPSTREAMS, new String[] { "foo", "bar" }).join();
+
+        when(async1.ssubscribe(any())).thenReturn(failed()).thenReturn(completed());
+        sut.reconcile(SINGLE_OWNER);
+
+        assertThat(sut.getNodeId("foo")).isEqualTo(NODE_2);
+        verify(async2, never()).sunsubscribe(any());
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(retryExecutor).schedule(retry.capture(), eq(TimeUnit.MILLISECONDS.toNanos(100)), eq(TimeUnit.NANOSECONDS));
+
+        retry.getValue().run();
+
+        verify(async1, times(2)).ssubscribe("foo");
+        verify(async2).sunsubscribe("foo");
+        assertThat(sut.getNodeId("foo")).isEqualTo(NODE_1);
+    }
+
+    @Test
+    void shouldNotRetryAfterClose() {
+
+        sut.subscribe(TWO_UPSTREAMS, new String[] { "foo", "bar" }).join();
+        sut.close();
+
+        when(async1.ssubscribe(any())).thenReturn(failed());
+        sut.reconcile(SINGLE_OWNER);
+
+        verifyNoInteractions(retryExecutor);
+    }
+
+    private static PipelinedRedisFuture<Void> failed() {
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new RedisCommandExecutionException("ERR"));
+        return new PipelinedRedisFuture<>(future);
+    }
+
+    private static PipelinedRedisFuture<Void> completed() {
+        return new PipelinedRedisFuture<>(CompletableFuture.completedFuture(null));
+    }
+
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.cluster.topology;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.cluster.models.partitions.ClusterPartitionParser;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+
+/**
+ * Unit tests for {@link SharedClusterTopologyRefresh}.
+ */
+class SharedClusterTopologyRefreshUnitTests {
+
+    private static final String NODES = "c37ab8396be428403d4e55c0d317348be27ed973 127.0.0.1:7381 master - 0 1401258245007 2 connected 0-16383\n";
+
+    private static final List<RedisURI> SEED = Collections.singletonList(RedisURI.create("127.0.0.1", 7381));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CompletableFuture<Map<RedisURI, Partitions>> result = new CompletableFuture<>();
+
+    private final ClusterTopologyRefresh delegate = (seed, connectTimeout, discovery) -> {
+        loads.incrementAndGet();
+        return result;
+    };
+
+    @Test
+    void disabledShouldNotBeEnabled() {
+        assertThat(SharedClusterTopologyRefresh.disabled().isEnabled()).isFalse();
+        assertThat(SharedClusterTopologyRefresh.create().isEnabled()).isTrue();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentRefreshes() {
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+
+        TestSubscriber first = new TestSubscriber(null);
+        TestSubscriber second = new TestSubscriber(null);
+
+        CompletionStage<Map<RedisURI, Partitions>> firstRefresh = attach(shared, SEED, first).refresh(SEED);
+        CompletionStage<Map<RedisURI, Partitions>> secondRefresh = attach(shared, SEED, second).refresh(SEED);
+
+        result.complete(createViews());
+
+        assertThat(loads).hasValue(1);
+        assertThat(shared.getTopologyCount()).isEqualTo(1);
+        assertThat(firstRefresh.toCompletableFuture().join()).hasSize(1);
+        assertThat(secondRefresh.toCompletableFuture().join()).isSameAs(firstRefresh.toCompletableFuture().join());
+    }
+
+    @Test
+    void shouldPublishImmutableSnapshotToAllSubscribers() {
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+        result.complete(createViews());
+
+        TestSubscriber first = new TestSubscriber(null);
+        TestSubscriber second = new TestSubscriber(null);
+
+        attach(shared, SEED, first).refresh(SEED).toCompletableFuture().join();
+        attach(shared, SEED, second);
+
+        assertThat(first.topologies).hasSize(1);
+        assertThat(second.topologies).isEmpty();
+
+        Map<RedisURI, Partitions> views = first.topologies.get(0);
+        Partitions view = views.values().iterator().next();
+
+        assertThat(view).hasSize(1);
+        assertThatThrownBy(views::clear).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(view::clear).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.getPartitions().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.reload(new ArrayList<>())).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(view.getPartitionBySlot(0)).isNotNull();
+    }
+
+    @Test
+    void shouldNotShareTopologyAcrossIdentities() {
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+        result.complete(createViews());
+
+        RedisURI authenticated = RedisURI.Builder.redis("127.0.0.1", 7381).withPassword("secret".toCharArray()).build();
+        RedisURI ssl = RedisURI.Builder.redis("127.0.0.1", 7381).withSsl(true).build();
+
+        attach(shared, SEED, new TestSubscriber(null)).refresh(SEED).toCompletableFuture().join();
+        attach(shared, Collections.singletonList(authenticated), new TestSubscriber(null))
+                .refresh(Collections.singletonList(authenticated)).toCompletableFuture().join();
+        attach(shared, Collections.singletonList(ssl), new TestSubscriber(null)).refresh(Collections.singletonList(ssl))
+                .toCompletableFuture().join();
+
+        assertThat(loads).hasValue(3);
+        assertThat(shared.getTopologyCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldShareTopologyForEqualCredentials() {
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+
+        RedisURI first = RedisURI.Builder.redis("127.0.0.1", 7381).withPassword("secret".toCharArray()).build();
+        RedisURI second = RedisURI.Builder.redis("127.0.0.1", 7381).withPassword("secret".toCharArray()).build();
+
+        attach(shared, Collections.singletonList(first), new TestSubscriber(null));
+        attach(shared, Collections.singletonList(second), new TestSubscriber(null));
+
+        assertThat(shared.getTopologyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRemoveTopologyAfterLastDetach() {
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+
+        SharedClusterTopologyRefresh.Subscription first = attach(shared, SEED, new TestSubscriber(null));
+        SharedClusterTopologyRefresh.Subscription second = attach(shared, SEED, new TestSubscriber(null));
+
+        first.detach();
+        assertThat(shared.getTopologyCount()).isEqualTo(1);
+
+        second.detach();
+        assertThat(shared.getTopologyCount()).isZero();
+    }
+
+    @Test
+    void shouldScheduleSinglePeriodicRefreshAtShortestPeriod() {
+
+        EventExecutorGroup executor = mock(EventExecutorGroup.class);
+        ScheduledFuture<?> scheduledFuture = mock(ScheduledFuture.class);
+        doReturn(scheduledFuture).when(executor).schedule(any(Runnable.class), anyLong(), any());
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+
+        SharedClusterTopologyRefresh.Subscription first = shared.attach(SEED, true,
+                new TestSubscriber(Duration.ofSeconds(60)), executor);
+        SharedClusterTopologyRefresh.Subscription second = shared.attach(SEED, true,
+                new TestSubscriber(Duration.ofSeconds(10)), executor);
+
+        first.activatePeriodicRefresh();
+        second.activatePeriodicRefresh();
+
+        verify(executor).schedule(any(Runnable.class), eq(Duration.ofSeconds(10).toNanos()), eq(TimeUnit.NANOSECONDS));
+
+        first.detach();
+        verify(scheduledFuture, never()).cancel(anyBoolean());
+
+        second.detach();
+        verify(scheduledFuture).cancel(false);
+    }
+
+    @Test
+    void shouldNotRetainFailedRefresh() {
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+        TestSubscriber subscriber = new TestSubscriber(null);
+        SharedClusterTopologyRefresh.Subscription subscription = attach(shared, SEED, subscriber);
+
+        result.completeExceptionally(new RedisException("foo"));
+
+        assertThatThrownBy(() -> subscription.refresh(SEED).toCompletableFuture().join())
+                .hasRootCauseInstanceOf(RedisException.class);
+        assertThat(subscription.isRefreshInProgress()).isFalse();
+        assertThat(subscriber.topologies).isEmpty();
+
+        result = CompletableFuture.completedFuture(createViews());
+
+        assertThat(subscription.refresh(SEED).toCompletableFuture().join()).hasSize(1);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldFailRefreshWithoutViews() {
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+        TestSubscriber subscriber = new TestSubscriber(null);
+
+        result.complete(Collections.emptyMap());
+
+        assertThatThrownBy(() -> attach(shared, SEED, subscriber).refresh(SEED).toCompletableFuture().join())
+                .hasRootCauseInstanceOf(RedisException.class);
+        assertThat(subscriber.topologies).isEmpty();
+    }
+
+    @Test
+    void copyShouldBeIndependentOfSnapshot() {
+
+        SharedClusterTopologyRefresh shared = SharedClusterTopologyRefresh.create();
+        result.complete(createViews());
+
+        Partitions view = attach(shared, SEED, new TestSubscriber(null)).refresh(SEED).toCompletableFuture().join().values()
+                .iterator().next();
+
+        Partitions copy = SharedClusterTopologyRefresh.copy(view);
+        RedisClusterNode node = copy.getPartition(0);
+
+        node.getUri().setPassword("secret".toCharArray());
+        copy.clear();
+
+        assertThat(view).hasSize(1);
+        assertThat(view.getPartition(0).getUri().getPassword()).isNull();
+    }
+
+    private SharedClusterTopologyRefresh.Subscription attach(SharedClusterTopologyRefresh shared, List<RedisURI> seed,
+            TestSubscriber subscriber) {
+        return shared.attach(seed, true, subscriber, ImmediateEventExecutor.INSTANCE);
+    }
+
+    private static Map<RedisURI, Partitions> createViews() {
+
+        Map<RedisURI, Partitions> views = new TreeMap<>(TopologyComparators.RedisURIComparator.INSTANCE);
+        views.put(SEED.get(0), ClusterPartitionParser.parse(NODES));
+        return views;
+    }
+
+    private class TestSubscriber implements SharedClusterTopologyRefresh.Subscriber {
+
+        private final Duration refreshPeriod;
+
+        private final List<Map<RedisURI, Partitions>> topologies = new ArrayList<>();
+
+        TestSubscriber(Duration refreshPeriod) {
+            this.refreshPeriod = refreshPeriod;
+        }
+
+        @Override
+        public ClusterTopologyRefresh getTopologyRefresh() {
+            return delegate;
+        }
+
+        @Override
+        public Iterable<RedisURI> getTopologyRefreshSource() {
+            return SEED;
+        }
+
+        @Override
+        public Duration getConnectTimeout() {
+            return Duration.ofSeconds(1);
+        }
+
+        @Override
+        public Duration getRefreshPeriod() {
+            return refreshPeriod;
+        }
+
+        @Override
+        public void onTopology(Map<RedisURI, Partitions> views) {
+            topologies.add(views);
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.event.jfr;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.protocol.CommandType;
+
+/**
+ * Unit tests for {@link JfrCommandEventRecorder}.
+ */
+class JfrCommandEventRecorderUnitTests {
+
+    private final JfrCommandEventRecorder sut = new JfrCommandEventRecorder(1);
+
+    @Test
+    void shouldNotStartEventsWhenDisabled() {
+        assertThat(sut.start()).isNull();
+    }
+
+    @Test
+    void shouldRecordEventsExceedingThreshold() throws Exception {
+
+        Path file = Files.createTempFile("lettuce-commands", ".jfr");
+
+        try (Recording recording = new Recording()) {
+
+            recording.enable("io.lettuce.Command").withThreshold(Duration.ofMillis(5));
+            recording.start();
+
+            sut.start().record(InetSocketAddress.createUnresolved("localhost", 6379), CommandType.GET, 1, 2, 3, 4, 5);
+
+            CommandEventRecorder.RecordableCommandEvent slow = sut.start();
+            Thread.sleep(10);
+            slow.record(InetSocketAddress.createUnresolved("localhost", 6379), CommandType.SET, 1, 2, 3, 4, 5);
+
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).getString("commandType")).isEqualTo("SET");
+            assertThat(events.get(0).getLong("replySize")).isEqualTo(5);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -18,6 +18,8 @@ package io.lettuce.core.metrics;
 import static java.util.concurrent.TimeUnit.*;
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -139,6 +141,102 @@ class DefaultCommandLatencyCollectorUnitTests {
         sut.shutdown();
     }
 
+    @Test
+    void verifyStripedMetrics() {
+
+        sut = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        setupData();
+        sut.recordCommandLatency(LocalAddress.ANY, LocalAddress.ANY, CommandType.GET, MILLISECONDS.toNanos(1),
+                MILLISECONDS.toNanos(2));
+
+        Map<CommandLatencyId, CommandMetrics> latencies = sut.retrieveMetrics();
+        assertThat(latencies).hasSize(2);
+
+        CommandMetrics metrics = latencies.get(CommandLatencyId.create(LocalAddress.ANY, LocalAddress.ANY, CommandType.BGSAVE));
+
+        assertThat(metrics.getCount()).isEqualTo(3);
+        assertThat(metrics.getFirstResponse().getMin()).isBetween(99000L, 101000L);
+        assertThat(metrics.getFirstResponse().getMax()).isBetween(299000L, 301000L);
+        assertThat(metrics.getCompletion().getMin()).isBetween(990000L, 1010000L);
+
+        assertThat(sut.retrieveMetrics()).isEmpty();
+
+        sut.shutdown();
+    }
+
+    @Test
+    void verifySizeMetrics() {
+
+        sut = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        sut.recordCommandSize(LocalAddress.ANY, LocalAddress.ANY, CommandType.HGETALL, 30, 1024);
+        sut.recordCommandSize(LocalAddress.ANY, LocalAddress.ANY, CommandType.HGETALL, 30, 4 * 1024 * 1024);
+        sut.recordCommandSize(LocalAddress.ANY, LocalAddress.ANY, CommandType.GET, 20, 10);
+
+        Map<CommandLatencyId, CommandSizeMetrics> sizes = sut.retrieveSizeMetrics();
+        assertThat(sizes).hasSize(2);
+
+        CommandSizeMetrics metrics = sizes.get(CommandLatencyId.create(LocalAddress.ANY, LocalAddress.ANY, CommandType.HGETALL));
+
+        assertThat(metrics.getCount()).isEqualTo(2);
+        assertThat(metrics.getRequest().getMax()).isEqualTo(30);
+        assertThat(metrics.getReply().getMin()).isEqualTo(1024);
+        assertThat(metrics.getReply().getMax()).isBetween(4100000L, 4250000L);
+
+        assertThat(sut.retrieveSizeMetrics()).isEmpty();
+        assertThat(sut.retrieveMetrics()).isEmpty();
+
+        sut.shutdown();
+    }
+
+    @Test
+    void verifyCummulativeCompletionMetrics() {
+
+        sut = new DefaultCommandLatencyCollector(
+                DefaultCommandLatencyCollectorOptions.builder().resetLatenciesAfterEvent(false).build());
+
+        setupData();
+        sut.retrieveMetrics();
+        setupData();
+
+        CommandMetrics metrics = sut.retrieveMetrics().values().iterator().next();
+
+        assertThat(metrics.getCount()).isEqualTo(6);
+        assertThat(metrics.getCompletion().getMin()).isBetween(990000L, 1010000L);
+
+        sut.shutdown();
+    }
+
+    @Test
+    void shouldNotifyHistogramListenersWithIntervalHistograms() {
+
+        sut = new DefaultCommandLatencyCollector(
+                DefaultCommandLatencyCollectorOptions.builder().resetLatenciesAfterEvent(false).build());
+
+        List<Long> counts = new ArrayList<>();
+        CommandLatencyHistogramListener listener = (id, firstResponse, completion) -> {
+
+            assertThat(id.commandType()).isEqualTo(CommandType.BGSAVE);
+            counts.add(completion.getTotalCount());
+        };
+        sut.addHistogramListener(listener);
+
+        setupData();
+        sut.retrieveMetrics();
+        setupData();
+        sut.retrieveMetrics();
+        sut.retrieveMetrics();
+
+        sut.removeHistogramListener(listener);
+        setupData();
+        sut.retrieveMetrics();
+
+        assertThat(counts).containsExactly(3L, 3L);
+
+        sut.shutdown();
+    }
+
     private void setupData() {
         sut.recordCommandLatency(LocalAddress.ANY, LocalAddress.ANY, CommandType.BGSAVE, MILLISECONDS.toNanos(100),
                 MILLISECONDS.toNanos(1000));
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.metrics.HotKey.Category;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+
+/**
+ * Unit tests for {@link DefaultHotKeyCollector}.
+ */
+class DefaultHotKeyCollectorUnitTests {
+
+    private static final SocketAddress REMOTE = InetSocketAddress.createUnresolved("localhost", 6379);
+
+    @Test
+    void shouldReportHeavyHittersPerCategory() {
+
+        DefaultHotKeyCollector sut = new DefaultHotKeyCollector(HotKeyOptions.builder().sampleInterval(1).capacity(4).build());
+
+        for (int i = 0; i < 100; i++) {
+            sut.recordCommand(REMOTE, command(CommandType.GET, "hot"));
+            sut.recordCommand(REMOTE, command(CommandType.GET, "cold-" + i));
+        }
+        sut.recordCommand(REMOTE, command(CommandType.SET, "hot"));
+
+        Map<SocketAddress, List<HotKey>> hotKeys = sut.retrieveMetrics();
+
+        assertThat(hotKeys).containsOnlyKeys(REMOTE);
+
+        HotKey first = hotKeys.get(REMOTE).get(0);
+        assertThat(first.getCategory()).isEqualTo(Category.READ);
+        assertThat(StringCodec.UTF8.decodeKey(first.getKey())).isEqualTo("hot");
+        assertThat(first.getCount()).isEqualTo(100);
+        assertThat(first.getError()).isZero();
+
+        assertThat(hotKeys.get(REMOTE)).hasSizeLessThanOrEqualTo(5).anySatisfy(it -> {
+            assertThat(it.getCategory()).isEqualTo(Category.WRITE);
+            assertThat(it.getCount()).isEqualTo(1);
+        });
+
+        assertThat(sut.retrieveMetrics()).isEmpty();
+    }
+
+    @Test
+    void shouldTruncateKeys() {
+
+        DefaultHotKeyCollector sut = new DefaultHotKeyCollector(
+                HotKeyOptions.builder().sampleInterval(1).maxKeyLength(4).build());
+
+        sut.recordCommand(REMOTE, command(CommandType.GET, "user:1"));
+        sut.recordCommand(REMOTE, command(CommandType.GET, "user:2"));
+
+        HotKey hotKey = sut.retrieveMetrics().get(REMOTE).get(0);
+
+        assertThat(StringCodec.UTF8.decodeKey(hotKey.getKey())).isEqualTo("user");
+        assertThat(hotKey.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldIgnoreCommandsWithoutKey() {
+
+        DefaultHotKeyCollector sut = new DefaultHotKeyCollector(HotKeyOptions.builder().sampleInterval(1).build());
+
+        sut.recordCommand(REMOTE, new Command<>(CommandType.PING, new StatusOutput<>(StringCodec.UTF8)));
+
+        assertThat(sut.retrieveMetrics()).isEmpty();
+    }
+
+    @Test
+    void shouldNotRecordAfterShutdown() {
+
+        DefaultHotKeyCollector sut = new DefaultHotKeyCollector(HotKeyOptions.builder().sampleInterval(1).build());
+
+        sut.shutdown();
+        sut.recordCommand(REMOTE, command(CommandType.GET, "key"));
+
+        assertThat(sut.isEnabled()).isFalse();
+        assertThat(sut.retrieveMetrics()).isEmpty();
+    }
+
+    private static Command<String, String, String> command(CommandType type, String key) {
+        return new Command<>(type, new StatusOutput<>(StringCodec.UTF8), new CommandArgs<>(StringCodec.UTF8).addKey(key));
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+
+/**
+ * Unit tests for {@link DefaultSlowCommandLog}.
+ */
+class DefaultSlowCommandLogUnitTests {
+
+    private static final SocketAddress REMOTE = InetSocketAddress.createUnresolved("localhost", 6379);
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void shouldDiscardFastCommands() {
+
+        DefaultSlowCommandLog sut = create(SlowCommandLogOptions.builder().threshold(Duration.ofMillis(10)));
+
+        sut.recordCommand(REMOTE, command("key"), 0, MILLIS, 9 * MILLIS, 10, 5);
+
+        assertThat(sut.getEntries()).isEmpty();
+    }
+
+    @Test
+    void shouldCaptureSlowCommands() {
+
+        DefaultSlowCommandLog sut = create(SlowCommandLogOptions.builder().threshold(Duration.ofMillis(10)));
+
+        sut.recordCommand(REMOTE, command("key"), MILLIS, 2 * MILLIS, 10 * MILLIS, 10, 5);
+
+        assertThat(sut.getEntries()).hasSize(1);
+
+        SlowCommand slowCommand = sut.getEntries().get(0);
+
+        assertThat(slowCommand.getRemote()).isEqualTo(REMOTE);
+        assertThat(slowCommand.getCommandType()).isEqualTo(CommandType.GET);
+        assertThat(slowCommand.getArguments()).isEqualTo("key<key>");
+        assertThat(slowCommand.getQueueTime()).isEqualTo(MILLIS);
+        assertThat(slowCommand.getFirstResponseLatency()).isEqualTo(2 * MILLIS);
+        assertThat(slowCommand.getCompletionLatency()).isEqualTo(10 * MILLIS);
+        assertThat(slowCommand.getRequestSize()).isEqualTo(10);
+        assertThat(slowCommand.getReplySize()).isEqualTo(5);
+        assertThat(slowCommand.getTimestamp()).isPositive();
+    }
+
+    @Test
+    void shouldTruncateArguments() {
+
+        DefaultSlowCommandLog sut = create(SlowCommandLogOptions.builder().threshold(Duration.ZERO).maxArgumentLength(4));
+
+        sut.recordCommand(REMOTE, command("key"), 0, 0, 0, 0, 0);
+
+        assertThat(sut.getEntries().get(0).getArguments()).isEqualTo("key<...");
+    }
+
+    @Test
+    void shouldOverwriteOldestEntries() {
+
+        DefaultSlowCommandLog sut = create(SlowCommandLogOptions.builder().threshold(Duration.ZERO).capacity(2));
+
+        sut.recordCommand(REMOTE, command("a"), 0, 0, 3, 0, 0);
+        sut.recordCommand(REMOTE, command("b"), 0, 0, 1, 0, 0);
+        sut.recordCommand(REMOTE, command("c"), 0, 0, 2, 0, 0);
+
+        assertThat(sut.getEntries()).extracting(SlowCommand::getArguments).containsExactly("key<c>", "key<b>");
+        assertThat(sut.getSlowest(1)).extracting(SlowCommand::getArguments).containsExactly("key<c>");
+
+        sut.clear();
+
+        assertThat(sut.getEntries()).isEmpty();
+    }
+
+    @Test
+    void shouldCaptureSlowestCommandsPerInterval() {
+
+        AtomicLong clock = new AtomicLong();
+        DefaultSlowCommandLog sut = new DefaultSlowCommandLog(SlowCommandLogOptions.builder().threshold(Duration.ZERO)
+                .topN(2, Duration.ofSeconds(1)).recordEvents(false).build(), clock::get);
+
+        sut.recordCommand(REMOTE, command("a"), 0, 0, 3, 0, 0);
+        sut.recordCommand(REMOTE, command("b"), 0, 0, 1, 0, 0);
+        sut.recordCommand(REMOTE, command("c"), 0, 0, 2, 0, 0);
+        sut.recordCommand(REMOTE, command("d"), 0, 0, 1, 0, 0);
+
+        assertThat(sut.getEntries()).isEmpty();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(sut.getEntries()).extracting(SlowCommand::getArguments).containsExactlyInAnyOrder("key<a>", "key<c>");
+
+        sut.recordCommand(REMOTE, command("e"), 0, 0, 1, 0, 0);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(sut.getEntries()).extracting(SlowCommand::getArguments).hasSize(3).contains("key<e>");
+    }
+
+    private static DefaultSlowCommandLog create(SlowCommandLogOptions.Builder builder) {
+        return new DefaultSlowCommandLog(builder.recordEvents(false).build());
+    }
+
+    private static Command<String, String, String> command(String key) {
+        return new Command<>(CommandType.GET, new StatusOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).addKey(key));
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.resource.DefaultEventLoopGroupProvider;
+import io.lettuce.test.TestFutures;
+import io.netty.channel.nio.NioEventLoopGroup;
+
+/**
+ * Unit tests for {@link EventLoopProbe}.
+ */
+class EventLoopProbeUnitTests {
+
+    private final DefaultEventLoopGroupProvider provider = new DefaultEventLoopGroupProvider(2);
+
+    @AfterEach
+    void tearDown() {
+        TestFutures.awaitOrTimeout(provider.shutdown(0, 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldNotReportWithoutEventLoops() {
+        assertThat(TestFutures.getOrTimeout(new EventLoopProbe(provider).probe())).isEmpty();
+    }
+
+    @Test
+    void shouldProbeEachEventLoop() {
+
+        provider.allocate(NioEventLoopGroup.class);
+        EventLoopProbe sut = new EventLoopProbe(provider);
+
+        List<EventLoopHealth> health = TestFutures.getOrTimeout(sut.probe());
+
+        assertThat(health).hasSize(2).allSatisfy(it -> {
+            assertThat(it.getEventLoop()).isNotEmpty();
+            assertThat(it.getSchedulingDelay()).isNotNegative();
+            assertThat(it.getPendingTasks()).isNotNegative();
+            assertThat(it.getBusyRatio()).isEqualTo(-1);
+            assertThat(it.getRegisteredChannels()).isZero();
+            assertThat(it.getRemoteAddresses()).isEmpty();
+        });
+    }
+
+    @Test
+    void shouldReportSchedulingDelayOfBusyEventLoop() {
+
+        NioEventLoopGroup eventLoopGroup = provider.allocate(NioEventLoopGroup.class);
+        EventLoopProbe sut = new EventLoopProbe(provider);
+
+        TestFutures.getOrTimeout(sut.probe());
+
+        eventLoopGroup.next().execute(() -> {
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50)) {
+                // busy spin
+            }
+        });
+
+        List<EventLoopHealth> health = TestFutures.getOrTimeout(sut.probe());
+
+        assertThat(health).anySatisfy(
+                it -> assertThat(it.getSchedulingDelay()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10)));
+        assertThat(health).allSatisfy(it -> assertThat(it.getBusyRatio()).isBetween(-1d, 1d));
+    }
+
+}
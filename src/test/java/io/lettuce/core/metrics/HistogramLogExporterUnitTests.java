@@ -0,0 +1,148 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import static java.util.concurrent.TimeUnit.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.lettuce.core.protocol.CommandType;
+import io.netty.channel.local.LocalAddress;
+
+/**
+ * Unit tests for {@link HistogramLogExporter}.
+ */
+class HistogramLogExporterUnitTests {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong(1_600_000_000_000L);
+
+    private DefaultCommandLatencyCollector collector;
+
+    @BeforeEach
+    void before() {
+        collector = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+    }
+
+    @AfterEach
+    void after() {
+        collector.shutdown();
+    }
+
+    @Test
+    void shouldWriteTaggedIntervalHistograms() throws Exception {
+
+        HistogramLogExporter exporter = createExporter(HistogramLogExporterOptions.builder().directory(directory).build());
+
+        collector.recordCommandLatency(LocalAddress.ANY, LocalAddress.ANY, CommandType.GET, MILLISECONDS.toNanos(1),
+                MILLISECONDS.toNanos(2));
+        collector.recordCommandLatency(LocalAddress.ANY, LocalAddress.ANY, CommandType.SET, MILLISECONDS.toNanos(3),
+                MILLISECONDS.toNanos(5));
+        collector.retrieveMetrics();
+        exporter.close();
+
+        List<Path> files = listFiles();
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).getFileName().toString()).startsWith("lettuce-latency.").endsWith(".hlog");
+
+        List<EncodableHistogram> histograms = readHistograms(files.get(0));
+        assertThat(histograms).extracting(EncodableHistogram::getTag).containsExactly("local:any|local:any|GET|firstResponse",
+                "local:any|local:any|GET|completion", "local:any|local:any|SET|firstResponse",
+                "local:any|local:any|SET|completion");
+        assertThat(((Histogram) histograms.get(3)).getMaxValue()).isCloseTo(MILLISECONDS.toNanos(5), withinPercentage(1));
+    }
+
+    @Test
+    void shouldRotateFilesAndRetainMaxFiles() throws Exception {
+
+        HistogramLogExporter exporter = createExporter(HistogramLogExporterOptions.builder().directory(directory)
+                .rotationInterval(Duration.ofMinutes(1)).maxFiles(2).build());
+
+        for (int i = 0; i < 3; i++) {
+
+            collector.recordCommandLatency(LocalAddress.ANY, LocalAddress.ANY, CommandType.GET, MILLISECONDS.toNanos(1),
+                    MILLISECONDS.toNanos(2));
+            collector.retrieveMetrics();
+            clock.addAndGet(Duration.ofMinutes(1).toMillis());
+        }
+
+        exporter.close();
+
+        assertThat(listFiles()).extracting(it -> it.getFileName().toString())
+                .containsExactly("lettuce-latency.20200913-122740.hlog", "lettuce-latency.20200913-122840.hlog");
+    }
+
+    @Test
+    void closeShouldUnregisterExporter() throws Exception {
+
+        HistogramLogExporter exporter = createExporter(HistogramLogExporterOptions.builder().directory(directory).build());
+        exporter.close();
+
+        collector.recordCommandLatency(LocalAddress.ANY, LocalAddress.ANY, CommandType.GET, MILLISECONDS.toNanos(1),
+                MILLISECONDS.toNanos(2));
+        collector.retrieveMetrics();
+
+        assertThat(listFiles()).isEmpty();
+    }
+
+    private HistogramLogExporter createExporter(HistogramLogExporterOptions options) {
+
+        HistogramLogExporter exporter = new HistogramLogExporter(collector, options, clock::get);
+        collector.addHistogramListener(exporter);
+        return exporter;
+    }
+
+    private List<Path> listFiles() throws IOException {
+
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static List<EncodableHistogram> readHistograms(Path file) throws FileNotFoundException {
+
+        HistogramLogReader reader = new HistogramLogReader(file.toFile());
+        List<EncodableHistogram> histograms = new ArrayList<>();
+
+        EncodableHistogram histogram;
+        while ((histogram = reader.nextIntervalHistogram()) != null) {
+            histograms.add(histogram);
+        }
+
+        return histograms;
+    }
+
+}
@@ -19,6 +19,7 @@ import static io.lettuce.core.metrics.MicrometerCommandLatencyRecorder.*;
 import static org.assertj.core.api.Assertions.*;
 
 import java.net.SocketAddress;
+import java.time.Duration;
 import java.util.Arrays;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -29,9 +30,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.lettuce.core.protocol.Command;
 import io.lettuce.core.protocol.CommandType;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -75,6 +78,32 @@ class MicrometerCommandLatencyRecorderUnitTests {
                 .hasFieldOrPropertyWithValue("total", 3000.0);
     }
 
+    @Test
+    void verifyCommandSizes() {
+
+        MicrometerOptions options = MicrometerOptions.builder().commandSizes(true).build();
+        MicrometerCommandLatencyRecorder commandLatencyRecorder = new MicrometerCommandLatencyRecorder(meterRegistry, options);
+
+        commandLatencyRecorder.recordCommandSize(LOCAL_ADDRESS, REMOTE_ADDRESS, CommandType.HGETALL, 30, 1024);
+        commandLatencyRecorder.recordCommandSize(LOCAL_ADDRESS, REMOTE_ADDRESS, CommandType.HGETALL, 30, 2048);
+
+        assertThat(meterRegistry.find(METRIC_REQUEST_SIZE).tag(LABEL_COMMAND, CommandType.HGETALL.name()).summary())
+                .extracting(DistributionSummary::totalAmount).isEqualTo(60.0);
+        assertThat(meterRegistry.find(METRIC_REPLY_SIZE).tag(LABEL_COMMAND, CommandType.HGETALL.name()).summary())
+                .extracting(DistributionSummary::max).isEqualTo(2048.0);
+    }
+
+    @Test
+    void shouldNotRecordCommandSizesByDefault() {
+
+        MicrometerCommandLatencyRecorder commandLatencyRecorder = new MicrometerCommandLatencyRecorder(meterRegistry,
+                MicrometerOptions.create());
+
+        commandLatencyRecorder.recordCommandSize(LOCAL_ADDRESS, REMOTE_ADDRESS, CommandType.HGETALL, 30, 1024);
+
+        assertThat(meterRegistry.find(METRIC_REPLY_SIZE).summaries()).isEmpty();
+    }
+
     @Test
     void disabled() {
 
@@ -185,4 +214,47 @@ class MicrometerCommandLatencyRecorderUnitTests {
         assertThat(meterRegistry.find(METRIC_FIRST_RESPONSE).tag(LABEL_COMMAND, CommandType.CLUSTER.name()).timers()).hasSize(1);
     }
 
+    @Test
+    void boundRecorderSharesTimers() {
+
+        MicrometerOptions options = MicrometerOptions.builder().bindMeters(true).build();
+        MicrometerCommandLatencyRecorder commandLatencyRecorder = new MicrometerCommandLatencyRecorder(meterRegistry, options);
+
+        CommandLatencyRecorder bound = commandLatencyRecorder.bind(LOCAL_ADDRESS, REMOTE_ADDRESS);
+
+        assertThat(bound).isNotSameAs(commandLatencyRecorder);
+
+        bound.recordCommandLatency(LOCAL_ADDRESS, REMOTE_ADDRESS, new Command<>(CommandType.GET, null), 100, 500);
+        bound.recordCommandLatency(LOCAL_ADDRESS, REMOTE_ADDRESS, new Command<>(CommandType.GET, null), 200, 1000);
+        commandLatencyRecorder.recordCommandLatency(LOCAL_ADDRESS, REMOTE_ADDRESS, CommandType.GET, 300, 1500);
+
+        assertThat(meterRegistry.find(METRIC_COMPLETION).timers()).hasSize(1).element(0).extracting(Timer::takeSnapshot)
+                .hasFieldOrPropertyWithValue("count", 3L).hasFieldOrPropertyWithValue("total", 3000.0);
+        assertThat(meterRegistry.find(METRIC_FIRST_RESPONSE).timers()).hasSize(1);
+    }
+
+    @Test
+    void bindReturnsSelfIfNotEnabled() {
+
+        MicrometerCommandLatencyRecorder commandLatencyRecorder = new MicrometerCommandLatencyRecorder(meterRegistry,
+                MicrometerOptions.create());
+
+        assertThat(commandLatencyRecorder.bind(LOCAL_ADDRESS, REMOTE_ADDRESS)).isSameAs(commandLatencyRecorder);
+    }
+
+    @Test
+    void serviceLevelObjectives() {
+
+        MicrometerOptions options = MicrometerOptions.builder()
+                .serviceLevelObjectives(Duration.ofMillis(1), Duration.ofMillis(10)).build();
+        MicrometerCommandLatencyRecorder commandLatencyRecorder = new MicrometerCommandLatencyRecorder(meterRegistry, options);
+
+        commandLatencyRecorder.recordCommandLatency(LOCAL_ADDRESS, REMOTE_ADDRESS, CommandType.GET, 100,
+                Duration.ofMillis(5).toNanos());
+
+        assertThat(meterRegistry.find(METRIC_COMPLETION).timers()).hasSize(1).element(0).extracting(Timer::takeSnapshot)
+                .extracting(HistogramSnapshot::histogramCounts, InstanceOfAssertFactories.array(CountAtBucket[].class))
+                .hasSize(2);
+    }
+
 }
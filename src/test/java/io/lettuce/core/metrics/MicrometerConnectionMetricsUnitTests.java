@@ -0,0 +1,85 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import static io.lettuce.core.metrics.MicrometerConnectionMetrics.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link MicrometerConnectionMetrics}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MicrometerConnectionMetricsUnitTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ConnectionMetrics metrics;
+
+    @Test
+    void shouldRegisterGauges() {
+
+        when(metrics.getBufferedCommands()).thenReturn(1);
+        when(metrics.getDisconnectedBufferedCommands()).thenReturn(2);
+        when(metrics.getPendingWrites()).thenReturn(3);
+        when(metrics.getPendingReplies()).thenReturn(4);
+        when(metrics.getPendingOutboundBytes()).thenReturn(1024L);
+
+        new MicrometerConnectionMetrics(metrics, Tags.of("connection", "foo")).bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get(METRIC_BUFFERED).tag("connection", "foo").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get(METRIC_DISCONNECTED_BUFFERED).gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get(METRIC_PENDING_WRITES).gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get(METRIC_PENDING_REPLIES).gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get(METRIC_PENDING_OUTBOUND).gauge().value()).isEqualTo(1024);
+    }
+
+    @Test
+    void shouldRegisterFunctionTimers() {
+
+        when(metrics.getWrittenCommands()).thenReturn(2L);
+        when(metrics.getTotalQueueTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(10));
+        when(metrics.getRepliedCommands()).thenReturn(4L);
+        when(metrics.getTotalReplyTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(40));
+
+        new MicrometerConnectionMetrics(metrics, Tags.empty()).bindTo(meterRegistry);
+
+        FunctionTimer queue = meterRegistry.get(METRIC_QUEUE).functionTimer();
+        assertThat(queue.count()).isEqualTo(2);
+        assertThat(queue.mean(TimeUnit.MILLISECONDS)).isEqualTo(5);
+
+        FunctionTimer reply = meterRegistry.get(METRIC_REPLY).functionTimer();
+        assertThat(reply.count()).isEqualTo(4);
+        assertThat(reply.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.metrics;
+
+import static io.lettuce.core.metrics.MicrometerEventLoopMetrics.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.event.DefaultEventBus;
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.event.metrics.EventLoopHealthEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Unit tests for {@link MicrometerEventLoopMetrics}.
+ */
+class MicrometerEventLoopMetricsUnitTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EventBus eventBus = new DefaultEventBus(Schedulers.immediate());
+
+    @Test
+    void shouldRegisterMetersPerEventLoop() {
+
+        MicrometerEventLoopMetrics sut = new MicrometerEventLoopMetrics(eventBus, Tags.of("app", "foo"));
+        sut.bindTo(meterRegistry);
+
+        eventBus.publish(new EventLoopHealthEvent(
+                Arrays.asList(health("loop-1", 1000, 2, 0.5, 3), health("loop-2", 2000, 4, 0.25, 1))));
+        eventBus.publish(new EventLoopHealthEvent(Collections.singletonList(health("loop-1", 3000, 5, 0.75, 6))));
+
+        Timer schedulingDelay = meterRegistry.get(METRIC_SCHEDULING_DELAY).tags("app", "foo", LABEL_EVENT_LOOP, "loop-1")
+                .timer();
+        assertThat(schedulingDelay.count()).isEqualTo(2);
+
+        assertThat(meterRegistry.get(METRIC_PENDING_TASKS).tag(LABEL_EVENT_LOOP, "loop-1").gauge().value()).isEqualTo(5);
+        assertThat(meterRegistry.get(METRIC_BUSY_RATIO).tag(LABEL_EVENT_LOOP, "loop-1").gauge().value()).isEqualTo(0.75);
+        assertThat(meterRegistry.get(METRIC_CHANNELS).tag(LABEL_EVENT_LOOP, "loop-2").gauge().value()).isEqualTo(1);
+
+        sut.close();
+    }
+
+    @Test
+    void shouldStopRecordingAfterClose() {
+
+        MicrometerEventLoopMetrics sut = new MicrometerEventLoopMetrics(eventBus, Tags.empty());
+        sut.bindTo(meterRegistry);
+        sut.close();
+
+        eventBus.publish(new EventLoopHealthEvent(Collections.singletonList(health("loop-1", 1000, 2, 0.5, 3))));
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private static EventLoopHealth health(String eventLoop, long schedulingDelay, int pendingTasks, double busyRatio,
+            int registeredChannels) {
+        return new EventLoopHealth(eventLoop, schedulingDelay, pendingTasks, busyRatio, registeredChannels,
+                Collections.emptyList());
+    }
+
+}
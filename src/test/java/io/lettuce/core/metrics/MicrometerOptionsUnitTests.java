@@ -40,6 +40,8 @@ class MicrometerOptionsUnitTests {
 
         MicrometerOptions options = MicrometerOptions.create();
 
+        assertThat(options.isBindMeters()).isEqualTo(DEFAULT_BIND_METERS);
+        assertThat(options.isCommandSizes()).isEqualTo(DEFAULT_COMMAND_SIZES);
         assertThat(options.isEnabled()).isEqualTo(DEFAULT_ENABLED);
         assertThat(options.isHistogram()).isEqualTo(DEFAULT_HISTOGRAM);
         assertThat(options.localDistinction()).isEqualTo(DEFAULT_LOCAL_DISTINCTION);
@@ -47,6 +49,31 @@ class MicrometerOptionsUnitTests {
         assertThat(options.minLatency()).isEqualTo(DEFAULT_MIN_LATENCY);
         assertThat(options.tags()).isEqualTo(Tags.empty());
         assertThat(options.targetPercentiles()).isEqualTo(DEFAULT_TARGET_PERCENTILES);
+        assertThat(options.serviceLevelObjectives()).isEmpty();
+    }
+
+    @Test
+    void bindMeters() {
+
+        MicrometerOptions options = MicrometerOptions.builder().bindMeters(true).build();
+
+        assertThat(options.isBindMeters()).isTrue();
+    }
+
+    @Test
+    void commandSizes() {
+
+        MicrometerOptions options = MicrometerOptions.builder().commandSizes(true).build();
+
+        assertThat(options.isCommandSizes()).isTrue();
+    }
+
+    @Test
+    void serviceLevelObjectives() {
+
+        MicrometerOptions options = MicrometerOptions.builder().serviceLevelObjectives(Duration.ofMillis(1)).build();
+
+        assertThat(options.serviceLevelObjectives()).containsExactly(Duration.ofMillis(1));
     }
 
     @Test
@@ -196,4 +196,22 @@ class CommandArgsUnitTests {
 
         assertThat(buffer.toString(StandardCharsets.US_ASCII)).isEqualTo(expected.toString(StandardCharsets.US_ASCII));
     }
+
+    @Test
+    void toCommandStringShouldStopAtMaxLength() {
+
+        CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8).addKey("mykey").add(2.0).addValue("myvalue")
+                .add(CommandKeyword.LIMIT).add("one".getBytes()).add("str").add(42);
+
+        String commandString = args.toCommandString();
+
+        assertThat(args.toCommandString(Integer.MAX_VALUE)).isEqualTo(commandString);
+        assertThat(args.toCommandString(commandString.length())).isEqualTo(commandString);
+        assertThat(args.toCommandString(0)).isEqualTo("...");
+
+        for (int i = 1; i < commandString.length(); i++) {
+            assertThat(args.toCommandString(i)).isEqualTo(commandString.substring(0, i) + "...");
+        }
+    }
+
 }
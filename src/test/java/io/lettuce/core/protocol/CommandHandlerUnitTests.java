@@ -56,10 +56,14 @@ import io.lettuce.core.api.push.PushListener;
 import io.lettuce.core.api.push.PushMessage;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.metrics.CommandLatencyCollector;
+import io.lettuce.core.metrics.HotKeyRecorder;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.output.KeyValueListOutput;
 import io.lettuce.core.output.StatusOutput;
 import io.lettuce.core.output.ValueListOutput;
 import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.tracing.TraceContext;
+import io.lettuce.core.tracing.Tracer;
 import io.lettuce.core.tracing.Tracing;
 import io.lettuce.test.Delay;
 import io.lettuce.test.ReflectionTestUtils;
@@ -159,6 +163,8 @@ class CommandHandlerUnitTests {
         when(latencyCollector.isEnabled()).thenReturn(true);
         when(clientResources.commandLatencyRecorder()).thenReturn(latencyCollector);
         when(clientResources.tracing()).thenReturn(Tracing.disabled());
+        when(clientResources.hotKeyRecorder()).thenReturn(HotKeyRecorder.disabled());
+        when(clientResources.slowCommandRecorder()).thenReturn(SlowCommandRecorder.disabled());
         when(endpoint.getPushListeners()).thenReturn(Collections.singleton(listener));
 
         sut = new CommandHandler(ClientOptions.create(), clientResources, endpoint);
@@ -359,8 +365,9 @@ class CommandHandlerUnitTests {
 
         sut.write(context, command, promise);
 
-        verify(context).write(command, promise);
-        assertThat(stack).hasSize(1).allMatch(o -> o instanceof LatencyMeteredCommand);
+        verify(context).write(stack.peek(), promise);
+        assertThat(stack).hasSize(1).allMatch(o -> o instanceof LatencyMeteredCommand)
+                .allMatch(o -> CommandWrapper.unwrap((RedisCommand) o) == command);
     }
 
     @Test
@@ -380,8 +387,9 @@ class CommandHandlerUnitTests {
         sut.write(context, command1, promise);
         assertThatThrownBy(() -> sut.write(context, command2, promise)).isInstanceOf(RedisException.class);
 
-        verify(context).write(command1, promise);
-        verify(context, never()).write(command2, promise);
+        assertThat(stack).hasSize(1).allMatch(o -> CommandWrapper.unwrap((RedisCommand) o) == command1);
+        verify(context).write(stack.peek(), promise);
+        verify(context, times(1)).write(any(), any(ChannelPromise.class));
     }
 
     @Test
@@ -402,8 +410,10 @@ class CommandHandlerUnitTests {
         sut.write(context, command1, promise);
         sut.write(context, command2, promise);
 
-        verify(context).write(command1, promise);
-        verify(context).write(command2, promise);
+        assertThat(stack).hasSize(2);
+        for (RedisCommand<String, String, ?> stacked : stack) {
+            verify(context).write(stacked, promise);
+        }
     }
 
     @Test
@@ -423,7 +433,7 @@ class CommandHandlerUnitTests {
         when(promise.isVoid()).thenReturn(true);
         sut.write(context, commands, promise);
 
-        verify(context).write(command, promise);
+        verify(context).write(stack.peek(), promise);
         assertThat(stack).hasSize(1);
     }
 
@@ -455,11 +465,117 @@ class CommandHandlerUnitTests {
         ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
         verify(context).write(captor.capture(), any());
 
-        assertThat(captor.getValue()).containsOnly(command2);
+        assertThat(captor.getValue()).containsOnly(stack.peek());
         assertThat(stack).hasSize(1).allMatch(o -> o instanceof LatencyMeteredCommand)
                 .allMatch(o -> CommandWrapper.unwrap((RedisCommand) o) == command2);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldTraceBatchWithSingleSpan() throws Exception {
+
+        Tracer.Span batchSpan = mock(Tracer.Span.class);
+        Tracer.Span childSpan = mock(Tracer.Span.class);
+        when(batchSpan.getTraceContext()).thenReturn(TraceContext.EMPTY);
+        enableBatchTracing(batchSpan, childSpan);
+
+        List<AsyncCommand<String, String, String>> commands = Arrays.asList(
+                new AsyncCommand<>(new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8), null)),
+                new AsyncCommand<>(new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8), null)),
+                new AsyncCommand<>(new Command<>(CommandType.GET, new StatusOutput<>(StringCodec.UTF8), null)));
+        when(promise.isVoid()).thenReturn(true);
+
+        sut.write(context, commands, promise);
+
+        ArgumentCaptor<RedisCommand> batchCommand = ArgumentCaptor.forClass(RedisCommand.class);
+        verify(batchSpan).start(batchCommand.capture());
+        verify(batchSpan).tag(TracedBatch.TAG_SIZE, "3");
+        verify(batchSpan).tag(TracedBatch.TAG_COMMANDS, "APPEND=2,GET=1");
+        verify(childSpan).start(commands.get(0));
+        verify(childSpan, times(1)).start(any());
+
+        ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(context).write(captor.capture(), any());
+        assertThat(captor.getValue()).isInstanceOf(TracedBatch.class).hasSize(3);
+        assertThat((Collection<RedisCommand>) captor.getValue()).extracting(CommandWrapper::unwrap)
+                .containsExactlyElementsOf(commands);
+
+        ((TracedBatch) captor.getValue()).requestSize(42);
+        commands.get(0).complete();
+        commands.get(1).completeExceptionally(new RedisException("boom"));
+        assertThat(batchCommand.getValue().isDone()).isFalse();
+
+        commands.get(2).complete();
+
+        assertThat(batchCommand.getValue().isDone()).isTrue();
+        verify(batchSpan).tag(TracedBatch.TAG_BYTES, "42");
+        verify(batchSpan).tag(TracedBatch.TAG_ERRORS, "1");
+
+        ByteBuf buffer = Unpooled.buffer();
+        batchCommand.getValue().encode(buffer);
+        batchCommand.getValue().setOutput(null);
+        assertThat(buffer.readableBytes()).isZero();
+        buffer.release();
+    }
+
+    @Test
+    void shouldNotTraceUnsampledBatch() throws Exception {
+
+        Tracer.Span batchSpan = mock(Tracer.Span.class);
+        when(batchSpan.isNoop()).thenReturn(true);
+        enableBatchTracing(batchSpan, batchSpan);
+
+        Command<String, String, String> anotherCommand = new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8),
+                null);
+        when(promise.isVoid()).thenReturn(true);
+
+        sut.write(context, Arrays.asList(new AsyncCommand<>(command), new AsyncCommand<>(anotherCommand)), promise);
+
+        verify(batchSpan, never()).start(any());
+        verify(context).write(any(Set.class), eq(promise));
+        assertThat(stack).hasSize(2);
+    }
+
+    private static RedisCommand<?, ?, ?> commandOfType(CommandType type) {
+        return argThat(command -> command.getType() == type);
+    }
+
+    /**
+     * Pass written messages through a {@link CommandEncoder} to record request sizes like the channel pipeline does.
+     */
+    private void encodeWrites() {
+
+        CommandEncoder encoder = new CommandEncoder();
+        when(context.write(any(), any(ChannelPromise.class))).thenAnswer(invocation -> {
+
+            ByteBuf buffer = Unpooled.buffer();
+            try {
+                encoder.encode(context, invocation.getArgument(0), buffer);
+            } finally {
+                buffer.release();
+            }
+
+            return invocation.getArgument(1);
+        });
+    }
+
+    private void enableBatchTracing(Tracer.Span batchSpan, Tracer.Span childSpan) {
+
+        Tracing tracing = mock(Tracing.class);
+        Tracer tracer = mock(Tracer.class);
+
+        when(tracing.isEnabled()).thenReturn(true);
+        when(tracing.isBatchTracingEnabled()).thenReturn(true);
+        when(tracing.getBatchSampleSize()).thenReturn(1);
+        when(tracing.initialTraceContextProvider()).thenReturn(() -> TraceContext.EMPTY);
+        when(tracing.getTracerProvider()).thenReturn(() -> tracer);
+        when(tracer.nextSpan(any())).thenReturn(batchSpan, childSpan);
+        when(clientResources.tracing()).thenReturn(tracing);
+
+        sut = new CommandHandler(ClientOptions.create(), clientResources, endpoint);
+        stack = (Queue) ReflectionTestUtils.getField(sut, "stack");
+    }
+
     @Test
     void shouldRecordCorrectFirstResponseLatency() throws Exception {
 
@@ -479,6 +595,80 @@ class CommandHandlerUnitTests {
         sut.channelUnregistered(context);
     }
 
+    @Test
+    void shouldTrackPendingReplies() throws Exception {
+
+        ChannelPromise channelPromise = new DefaultChannelPromise(channel, ImmediateEventExecutor.INSTANCE);
+        channelPromise.setSuccess();
+
+        sut.channelRegistered(context);
+        sut.channelActive(context);
+
+        sut.write(context, command, channelPromise);
+        assertThat(sut.getPendingReplies()).isEqualTo(1);
+
+        sut.channelRead(context, Unpooled.wrappedBuffer("*1\r\n+OK\r\n".getBytes()));
+        assertThat(sut.getPendingReplies()).isZero();
+
+        sut.channelUnregistered(context);
+    }
+
+    @Test
+    void shouldRecordRequestSizesOfEncodedCommands() throws Exception {
+
+        encodeWrites();
+
+        ChannelPromise channelPromise = new DefaultChannelPromise(channel, ImmediateEventExecutor.INSTANCE);
+        channelPromise.setSuccess();
+
+        sut.channelRegistered(context);
+        sut.channelActive(context);
+
+        Command<String, String, String> get = new Command<>(CommandType.GET, new StatusOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).addKey("key"));
+        Command<String, String, String> set = new Command<>(CommandType.SET, new StatusOutput<>(StringCodec.UTF8), null);
+
+        sut.write(context, command, channelPromise);
+        sut.write(context, Arrays.asList(get, set), channelPromise);
+
+        sut.channelRead(context, Unpooled.wrappedBuffer("+OK\r\n+OK\r\n+OK\r\n".getBytes()));
+
+        verify(latencyCollector).recordCommandSize(any(), any(), commandOfType(CommandType.APPEND), eq(16L), eq(5L));
+        verify(latencyCollector).recordCommandSize(any(), any(), commandOfType(CommandType.GET), eq(22L), eq(5L));
+        verify(latencyCollector).recordCommandSize(any(), any(), commandOfType(CommandType.SET), eq(13L), eq(5L));
+
+        sut.channelUnregistered(context);
+    }
+
+    @Test
+    void shouldRecordSlowCommandsWithoutLatencyMetrics() throws Exception {
+
+        SlowCommandRecorder slowCommandRecorder = mock(SlowCommandRecorder.class);
+        when(slowCommandRecorder.isEnabled()).thenReturn(true);
+        when(clientResources.slowCommandRecorder()).thenReturn(slowCommandRecorder);
+        when(latencyCollector.isEnabled()).thenReturn(false);
+
+        sut = new CommandHandler(ClientOptions.create(), clientResources, endpoint);
+        encodeWrites();
+
+        ChannelPromise channelPromise = new DefaultChannelPromise(channel, ImmediateEventExecutor.INSTANCE);
+        channelPromise.setSuccess();
+
+        sut.channelRegistered(context);
+        sut.channelActive(context);
+
+        sut.write(context, command, channelPromise);
+        assertThat(stack).containsExactly(command);
+        Delay.delay(Duration.ofMillis(10));
+
+        sut.channelRead(context, Unpooled.wrappedBuffer("*1\r\n+OK\r\n".getBytes()));
+
+        verify(slowCommandRecorder).recordCommand(any(), same(command), geq(0L), gt(0L), gt(0L), eq(16L), gt(0L));
+        verify(latencyCollector, never()).recordCommandLatency(any(), any(), any(RedisCommand.class), anyLong(), anyLong());
+
+        sut.channelUnregistered(context);
+    }
+
     @Test
     void shouldIgnoreNonReadableBuffers() throws Exception {
 
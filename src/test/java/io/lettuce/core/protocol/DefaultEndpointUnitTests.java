@@ -50,6 +50,8 @@ import io.lettuce.core.ClientOptions;
 import io.lettuce.core.RedisException;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.internal.LettuceFactories;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.output.StatusOutput;
 import io.lettuce.core.resource.ClientResources;
 import io.lettuce.test.ConnectionTestUtil;
@@ -158,6 +160,82 @@ class DefaultEndpointUnitTests {
         verify(channel, never()).writeAndFlush(any());
     }
 
+    @Test
+    void shouldReportConnectionMetrics() throws InterruptedException {
+
+        CommandLatencyRecorder latencyRecorder = mock(CommandLatencyRecorder.class);
+        when(latencyRecorder.isEnabled()).thenReturn(true);
+        when(clientResources.commandLatencyRecorder()).thenReturn(latencyRecorder);
+        sut = new DefaultEndpoint(ClientOptions.create(), clientResources);
+        sut.setConnectionFacade(connectionFacade);
+
+        promise = new DefaultChannelPromise(channel, ImmediateEventExecutor.INSTANCE);
+        when(channel.isActive()).thenReturn(true);
+
+        Command<String, String, String> buffered = new Command<>(CommandType.APPEND,
+                new StatusOutput<>(StringCodec.UTF8), null);
+
+        sut.write(buffered);
+        assertThat(sut.getDisconnectedBufferedCommands()).isEqualTo(1);
+        assertThat(buffered.getQueued()).isNotEqualTo(-1);
+
+        Thread.sleep(10);
+
+        sut.notifyChannelActive(channel);
+        sut.write(command);
+
+        assertThat(sut.getDisconnectedBufferedCommands()).isZero();
+        assertThat(sut.getPendingWrites()).isEqualTo(2);
+        assertThat(sut.getWrittenCommands()).isZero();
+
+        promise.setSuccess();
+
+        assertThat(sut.getPendingWrites()).isZero();
+        assertThat(sut.getWrittenCommands()).isEqualTo(2);
+        assertThat(sut.getTotalQueueTime()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test
+    void shouldRecordQueueTimeWithSlowCommandLog() {
+
+        SlowCommandRecorder slowCommandRecorder = mock(SlowCommandRecorder.class);
+        when(slowCommandRecorder.isEnabled()).thenReturn(true);
+        when(clientResources.commandLatencyRecorder()).thenReturn(CommandLatencyRecorder.disabled());
+        when(clientResources.slowCommandRecorder()).thenReturn(slowCommandRecorder);
+        sut = new DefaultEndpoint(ClientOptions.create(), clientResources);
+        sut.setConnectionFacade(connectionFacade);
+
+        promise = new DefaultChannelPromise(channel, ImmediateEventExecutor.INSTANCE);
+        when(channel.isActive()).thenReturn(true);
+
+        sut.notifyChannelActive(channel);
+        sut.write(command);
+        promise.setSuccess();
+
+        assertThat(command.getQueued()).isNotEqualTo(-1);
+        assertThat(sut.getWrittenCommands()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRecordQueueTimeWithoutLatencyMetrics() {
+
+        when(clientResources.commandLatencyRecorder()).thenReturn(CommandLatencyRecorder.disabled());
+        sut = new DefaultEndpoint(ClientOptions.create(), clientResources);
+        sut.setConnectionFacade(connectionFacade);
+
+        promise = new DefaultChannelPromise(channel, ImmediateEventExecutor.INSTANCE);
+        when(channel.isActive()).thenReturn(true);
+
+        sut.notifyChannelActive(channel);
+        sut.write(command);
+        promise.setSuccess();
+
+        assertThat(sut.getPendingWrites()).isZero();
+        assertThat(sut.getWrittenCommands()).isZero();
+        assertThat(sut.getTotalQueueTime()).isZero();
+        assertThat(command.getQueued()).isEqualTo(-1);
+    }
+
     @Test
     void notifyChannelActiveActivatesFacade() {
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PatternIndex}.
+ */
+class PatternIndexUnitTests {
+
+    private final PatternIndex<String> sut = new PatternIndex<>();
+
+    @Test
+    void shouldMatchLiteral() {
+
+        add("news");
+
+        assertThat(match("news")).containsExactly("news");
+        assertThat(match("new")).isEmpty();
+        assertThat(match("newsletter")).isEmpty();
+    }
+
+    @Test
+    void shouldMatchStar() {
+
+        add("news.*");
+        add("*");
+        add("n*s*");
+
+        assertThat(match("news.tech")).containsOnly("news.*", "*", "n*s*");
+        assertThat(match("news.")).containsOnly("news.*", "*", "n*s*");
+        assertThat(match("sport")).containsOnly("*");
+        assertThat(match("")).containsOnly("*");
+    }
+
+    @Test
+    void shouldMatchQuestionMark() {
+
+        add("h?llo");
+
+        assertThat(match("hello")).containsExactly("h?llo");
+        assertThat(match("hallo")).containsExactly("h?llo");
+        assertThat(match("hllo")).isEmpty();
+    }
+
+    @Test
+    void shouldMatchCharacterClasses() {
+
+        add("h[ae]llo");
+        add("h[^e]llo");
+        add("h[a-b]llo");
+        add("h[b-a]y");
+
+        assertThat(match("hello")).containsOnly("h[ae]llo");
+        assertThat(match("hallo")).containsOnly("h[ae]llo", "h[^e]llo", "h[a-b]llo");
+        assertThat(match("hbllo")).containsOnly("h[^e]llo", "h[a-b]llo");
+        assertThat(match("hay")).containsOnly("h[b-a]y");
+    }
+
+    @Test
+    void shouldMatchEscapedCharacters() {
+
+        add("news\\*");
+        add("[\\]]");
+
+        assertThat(match("news*")).containsExactly("news\\*");
+        assertThat(match("news.tech")).isEmpty();
+        assertThat(match("]")).containsExactly("[\\]]");
+    }
+
+    @Test
+    void shouldReportValuesOncePerPattern() {
+
+        sut.add("a*".getBytes(), "first");
+        sut.add("a*".getBytes(), "second");
+        sut.add("*".getBytes(), "first");
+
+        assertThat(match("abc")).containsExactlyInAnyOrder("first", "second", "first");
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRemovePatterns() {
+
+        add("news.*");
+        assertThat(match("news.tech")).hasSize(1);
+
+        assertThat(sut.remove("news.*".getBytes(), "news.*")).isTrue();
+        assertThat(sut.remove("news.*".getBytes(), "news.*")).isFalse();
+
+        assertThat(match("news.tech")).isEmpty();
+        assertThat(sut.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldMatchManyPatterns() {
+
+        for (int i = 0; i < 10_000; i++) {
+            sut.add(("service." + i + ".*").getBytes(), "" + i);
+        }
+
+        assertThat(match("service.4711.events")).containsExactly("4711");
+        assertThat(match("service.4711")).isEmpty();
+        assertThat(match("other.4711.events")).isEmpty();
+    }
+
+    private void add(String pattern) {
+        sut.add(pattern.getBytes(), pattern);
+    }
+
+    private List<String> match(String channel) {
+        return sut.match(channel.getBytes());
+    }
+
+}
@@ -35,6 +35,8 @@ import io.lettuce.core.ClientOptions;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.metrics.DefaultCommandLatencyCollector;
 import io.lettuce.core.metrics.DefaultCommandLatencyCollectorOptions;
+import io.lettuce.core.metrics.HotKeyRecorder;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.output.StatusOutput;
 import io.lettuce.core.protocol.Command;
 import io.lettuce.core.protocol.CommandType;
@@ -105,6 +107,8 @@ class PubSubCommandHandlerUnitTests {
         when(clientResources.commandLatencyRecorder())
                 .thenReturn(new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create()));
         when(clientResources.tracing()).thenReturn(Tracing.disabled());
+        when(clientResources.hotKeyRecorder()).thenReturn(HotKeyRecorder.disabled());
+        when(clientResources.slowCommandRecorder()).thenReturn(SlowCommandRecorder.disabled());
 
         sut = new PubSubCommandHandler<>(ClientOptions.create(), clientResources, StringCodec.UTF8, endpoint);
         stack = (Queue) ReflectionTestUtils.getField(sut, "stack");
@@ -171,6 +175,32 @@ class PubSubCommandHandlerUnitTests {
         verify(endpoint).notifyMessage(any());
     }
 
+    @Test
+    void shouldPropagateInterleavedShardedPubSubResponseToOutput() throws Exception {
+
+        Command<String, String, String> command1 = new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8),
+                null);
+        Command<String, String, String> command2 = new Command<>(CommandType.APPEND, new StatusOutput<>(StringCodec.UTF8),
+                null);
+
+        sut.channelRegistered(context);
+        sut.channelActive(context);
+        stack.add(command1);
+        stack.add(command2);
+
+        sut.channelRead(context, responseBytes("+OK\r\n*3\r\n$8\r\nsmessage\r\n$3\r\nfoo\r\n$3\r\nbar\r\n+YEAH\r\n"));
+
+        assertThat(command1.get()).isEqualTo("OK");
+        assertThat(command2.get()).isEqualTo("YEAH");
+
+        ArgumentCaptor<PubSubOutput> captor = ArgumentCaptor.forClass(PubSubOutput.class);
+        verify(endpoint).notifyMessage(captor.capture());
+
+        assertThat(captor.getValue().type()).isEqualTo(PubSubOutput.Type.smessage);
+        assertThat(captor.getValue().channel()).isEqualTo("foo");
+        assertThat(captor.getValue().get()).isEqualTo("bar");
+    }
+
     @Test
     void shouldPropagateInterleavedPubSubResponseToOutput() throws Exception {
 
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.PubSubDispatchOptions.OverflowPolicy;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Unit tests for {@link PubSubDispatcher}.
+ */
+class PubSubDispatcherUnitTests {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private final List<String> received = new ArrayList<>();
+
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+
+    @Test
+    void shouldRetainOrderPerChannel() {
+
+        PubSubDispatcher<String, String> sut = create(OverflowPolicy.REJECT, 4, 10);
+
+        for (int i = 0; i < 5; i++) {
+            sut.dispatch(message("channel", "" + i));
+        }
+
+        assertThat(sut.getQueueDepth()).isEqualTo(5);
+        assertThat(received).isEmpty();
+
+        runAll();
+
+        assertThat(received).containsExactly("0", "1", "2", "3", "4");
+        assertThat(sut.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void shouldDropOldest() {
+
+        PubSubDispatcher<String, String> sut = create(OverflowPolicy.DROP_OLDEST, 1, 2);
+
+        sut.dispatch(message("channel", "1"));
+        sut.dispatch(message("channel", "2"));
+        sut.dispatch(message("channel", "3"));
+
+        runAll();
+
+        assertThat(received).containsExactly("2", "3");
+        assertThat(sut.getDroppedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReject() {
+
+        PubSubDispatcher<String, String> sut = create(OverflowPolicy.REJECT, 1, 2);
+
+        sut.dispatch(message("channel", "1"));
+        sut.dispatch(message("channel", "2"));
+        sut.dispatch(message("channel", "3"));
+
+        runAll();
+
+        assertThat(received).containsExactly("1", "2");
+        assertThat(sut.getRejectedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPauseAndResumeReads() {
+
+        PubSubDispatcher<String, String> sut = create(OverflowPolicy.PAUSE_READS, 1, 2);
+
+        sut.dispatch(message("channel", "1"));
+        sut.dispatch(message("channel", "2"));
+        sut.dispatch(message("channel", "3"));
+
+        assertThat(channel.config().isAutoRead()).isFalse();
+        assertThat(sut.getReadPauses()).isEqualTo(1);
+
+        runAll();
+
+        assertThat(received).containsExactly("1", "2", "3");
+        assertThat(channel.config().isAutoRead()).isTrue();
+    }
+
+    private PubSubDispatcher<String, String> create(OverflowPolicy policy, int lanes, int capacity) {
+
+        PubSubDispatchOptions options = PubSubDispatchOptions.builder().asyncDispatch(true).lanes(lanes)
+                .queueCapacity(capacity).overflowPolicy(policy).build();
+
+        return new PubSubDispatcher<>(options, tasks::add, it -> received.add(it.body()), () -> channel);
+    }
+
+    private void runAll() {
+
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static PubSubOutput<String, String> message(String channel, String body) {
+
+        PubSubOutput<String, String> output = new PubSubOutput<>(StringCodec.UTF8);
+
+        output.set(ByteBuffer.wrap("message".getBytes()));
+        output.set(ByteBuffer.wrap(channel.getBytes()));
+        output.set(ByteBuffer.wrap(body.getBytes()));
+
+        return output;
+    }
+
+}
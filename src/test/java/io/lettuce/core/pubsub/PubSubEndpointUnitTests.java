@@ -87,6 +87,46 @@ class PubSubEndpointUnitTests {
         assertThat(sut.getChannels()).isEmpty();
     }
 
+    @Test
+    void addsAndRemovesShardChannels() {
+
+        PubSubEndpoint<String, String> sut = new PubSubEndpoint<>(ClientOptions.create(), TestClientResources.get());
+
+        sut.notifyMessage(createMessage("ssubscribe", "channel1", StringCodec.UTF8));
+        sut.notifyMessage(createMessage("ssubscribe", "channel2", StringCodec.UTF8));
+
+        assertThat(sut.getShardChannels()).containsOnly("channel1", "channel2");
+        assertThat(sut.getChannels()).isEmpty();
+
+        sut.notifyMessage(createMessage("sunsubscribe", "channel1", StringCodec.UTF8));
+
+        assertThat(sut.getShardChannels()).containsOnly("channel2");
+    }
+
+    @Test
+    void shouldNotifyShardMessage() {
+
+        PubSubEndpoint<String, String> sut = new PubSubEndpoint<>(ClientOptions.create(), TestClientResources.get());
+
+        AtomicInteger notified = new AtomicInteger();
+
+        sut.addListener(new RedisPubSubAdapter<String, String>() {
+
+            @Override
+            public void smessage(String shardChannel, String message) {
+                notified.incrementAndGet();
+            }
+
+        });
+
+        PubSubOutput<String, String> message = createMessage("smessage", "channel1", StringCodec.UTF8);
+        message.set(ByteBuffer.wrap("body".getBytes()));
+
+        sut.notifyMessage(message);
+
+        assertThat(notified).hasValue(1);
+    }
+
     @Test
     void listenerNotificationShouldFailGracefully() {
 
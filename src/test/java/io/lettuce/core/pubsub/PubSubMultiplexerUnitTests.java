@@ -0,0 +1,195 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import reactor.core.Disposable;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.pubsub.api.async.RedisPubSubAsyncCommands;
+import io.lettuce.core.pubsub.api.reactive.ChannelMessage;
+
+/**
+ * Unit tests for {@link PubSubMultiplexer}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PubSubMultiplexerUnitTests {
+
+    @Mock
+    StatefulRedisPubSubConnection<String, String> connection;
+
+    @Mock
+    RedisPubSubAsyncCommands<String, String> async;
+
+    private RedisPubSubListener<String, String> listener;
+
+    private PubSubMultiplexer<String, String> sut;
+
+    @BeforeEach
+    void before() {
+
+        when(connection.async()).thenReturn(async);
+        when(async.subscribe(any())).thenAnswer(it -> completed());
+        when(async.unsubscribe(any())).thenAnswer(it -> completed());
+        when(async.psubscribe(any())).thenAnswer(it -> completed());
+        when(async.punsubscribe(any())).thenAnswer(it -> completed());
+
+        sut = PubSubMultiplexer.create(connection);
+
+        ArgumentCaptor<RedisPubSubListener> captor = ArgumentCaptor.forClass(RedisPubSubListener.class);
+        verify(connection).addListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    @Test
+    void shouldSubscribeOnFirstAndUnsubscribeOnLastInterest() {
+
+        PubSubMultiplexer.Subscription first = sut.subscribe("channel", it -> {
+        });
+        PubSubMultiplexer.Subscription second = sut.subscribe("channel", it -> {
+        });
+
+        verify(async, times(1)).subscribe("channel");
+        assertThat(sut.getSubscriberCount("channel")).isEqualTo(2);
+
+        first.unsubscribe();
+        first.unsubscribe();
+        verify(async, never()).unsubscribe(any());
+
+        second.unsubscribe();
+        verify(async).unsubscribe("channel");
+        assertThat(sut.getSubscriberCount("channel")).isZero();
+    }
+
+    @Test
+    void shouldRetrySubscribeAfterFailure() {
+
+        when(async.subscribe(any())).thenAnswer(it -> failed()).thenAnswer(it -> completed());
+
+        PubSubMultiplexer.Subscription first = sut.subscribe("channel", it -> {
+        });
+
+        assertThat(first.subscribed().toCompletableFuture()).isCompletedExceptionally();
+        assertThat(sut.getSubscriberCount("channel")).isZero();
+
+        PubSubMultiplexer.Subscription second = sut.subscribe("channel", it -> {
+        });
+
+        verify(async, times(2)).subscribe("channel");
+        assertThat(second.subscribed().toCompletableFuture()).isCompleted();
+        assertThat(sut.getSubscriberCount("channel")).isEqualTo(1);
+
+        first.unsubscribe();
+        verify(async, never()).unsubscribe(any());
+    }
+
+    @Test
+    void shouldFanOutMessages() {
+
+        List<ChannelMessage<String, String>> first = new ArrayList<>();
+        List<ChannelMessage<String, String>> second = new ArrayList<>();
+
+        sut.subscribe("channel", first::add);
+        sut.subscribe("channel", second::add);
+        sut.subscribe("other", it -> {
+            throw new IllegalStateException();
+        });
+
+        listener.message("channel", "message");
+        listener.message("other", "message");
+
+        assertThat(first).hasSize(1);
+        assertThat(second).hasSize(1);
+        assertThat(first.get(0)).isSameAs(second.get(0));
+    }
+
+    @Test
+    void shouldDispatchPatternMessages() {
+
+        List<String> messages = new ArrayList<>();
+
+        sut.psubscribe("ch*", it -> messages.add(it.getChannel()));
+
+        listener.message("ch*", "channel", "message");
+        listener.message("channel", "message");
+
+        verify(async).psubscribe("ch*");
+        assertThat(messages).containsOnly("channel");
+    }
+
+    @Test
+    void fluxShouldReleaseInterestOnCancel() {
+
+        List<ChannelMessage<String, String>> messages = new ArrayList<>();
+
+        Disposable disposable = sut.observeChannel("channel").subscribe(messages::add);
+
+        listener.message("channel", "message");
+        disposable.dispose();
+
+        assertThat(messages).hasSize(1);
+        verify(async).unsubscribe("channel");
+    }
+
+    @Test
+    void closeShouldUnsubscribeAll() {
+
+        sut.subscribe("channel", it -> {
+        });
+        sut.psubscribe("ch*", it -> {
+        });
+
+        sut.close();
+
+        verify(connection).removeListener(listener);
+        verify(async).unsubscribe("channel");
+        verify(async).punsubscribe("ch*");
+    }
+
+    private static RedisFuture<Void> failed() {
+
+        AsyncCommand<String, String, Void> command = new AsyncCommand<>(new Command<>(CommandType.SUBSCRIBE, null));
+        command.completeExceptionally(new RedisCommandExecutionException("ERR"));
+        return command;
+    }
+
+    private static RedisFuture<Void> completed() {
+
+        AsyncCommand<String, String, Void> command = new AsyncCommand<>(new Command<>(CommandType.SUBSCRIBE, null));
+        command.complete();
+        return command;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.api.reactive.PatternMessage;
+
+/**
+ * Unit tests for {@link PubSubPatternRouter}.
+ */
+class PubSubPatternRouterUnitTests {
+
+    private final PubSubPatternRouter<String, String> sut = new PubSubPatternRouter<>(StringCodec.UTF8);
+
+    private final List<PatternMessage<String, String>> received = new ArrayList<>();
+
+    @Test
+    void shouldRouteToMatchingPatternsOnly() {
+
+        sut.addRoute("news.*", received::add);
+        sut.addRoute("sport.*", received::add);
+
+        sut.message("*", "news.tech", "hello");
+
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getPattern()).isEqualTo("news.*");
+        assertThat(received.get(0).getChannel()).isEqualTo("news.tech");
+        assertThat(received.get(0).getMessage()).isEqualTo("hello");
+    }
+
+    @Test
+    void shouldRouteChannelAndShardMessages() {
+
+        sut.addRoute("orders.?", received::add);
+
+        sut.message("orders.1", "a");
+        sut.smessage("orders.2", "b");
+        sut.message("orders.10", "c");
+
+        assertThat(received).extracting(PatternMessage::getMessage).containsExactly("a", "b");
+    }
+
+    @Test
+    void shouldRemoveRoute() {
+
+        Consumer<PatternMessage<String, String>> consumer = received::add;
+
+        sut.addRoute("news.*", consumer);
+        assertThat(sut.removeRoute("news.*", consumer)).isTrue();
+
+        sut.message("news.tech", "hello");
+
+        assertThat(received).isEmpty();
+        assertThat(sut.getPatternCount()).isZero();
+    }
+
+    @Test
+    void shouldIsolateFailingRoutes() {
+
+        sut.addRoute("news.*", it -> {
+            throw new IllegalStateException();
+        });
+        sut.addRoute("news.*", received::add);
+
+        sut.message("news.tech", "hello");
+
+        assertThat(received).hasSize(1);
+    }
+
+}
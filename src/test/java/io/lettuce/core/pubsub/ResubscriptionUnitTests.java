@@ -0,0 +1,164 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.pubsub;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.event.Event;
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.event.pubsub.ResubscribeCompletedEvent;
+import io.lettuce.core.event.pubsub.ResubscribeProgressEvent;
+import io.lettuce.core.event.pubsub.ResubscribeStartedEvent;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+
+/**
+ * Unit tests for {@link Resubscription}.
+ */
+class ResubscriptionUnitTests {
+
+    private final List<Event> events = new ArrayList<>();
+
+    private final EventBus eventBus = new EventBus() {
+
+        @Override
+        public Flux<Event> get() {
+            return Flux.empty();
+        }
+
+        @Override
+        public void publish(Event event) {
+            events.add(event);
+        }
+
+    };
+
+    private final List<String[]> sent = new ArrayList<>();
+
+    private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+    @Test
+    void shouldSplitIntoBatches() {
+
+        Resubscription sut = create(2, 10).channels(names("a", "b", "c", "d", "e"), this::subscribe)
+                .patterns(names("p*"), this::subscribe).build();
+
+        assertThat(sut.getTotalBatches()).isEqualTo(4);
+
+        sut.start(ImmediateEventExecutor.INSTANCE);
+
+        assertThat(sent).extracting(Arrays::asList).containsExactly(Arrays.asList("a", "b"), Arrays.asList("c", "d"),
+                Arrays.asList("e"), Arrays.asList("p*"));
+
+        ResubscribeStartedEvent started = (ResubscribeStartedEvent) events.get(0);
+        assertThat(started.getChannels()).isEqualTo(5);
+        assertThat(started.getPatterns()).isEqualTo(1);
+        assertThat(started.getTotalBatches()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldLimitInFlightBatches() {
+
+        Resubscription sut = create(1, 2).channels(names("a", "b", "c", "d"), this::subscribe).build();
+        CompletionStage<Void> result = sut.start(ImmediateEventExecutor.INSTANCE);
+
+        assertThat(sent).hasSize(2);
+
+        pending.get(0).complete(null);
+        assertThat(sent).hasSize(3);
+        assertThat(events).hasAtLeastOneElementOfType(ResubscribeProgressEvent.class);
+
+        pending.get(1).complete(null);
+        pending.get(2).complete(null);
+        assertThat(sent).hasSize(4);
+        assertThat(result.toCompletableFuture()).isNotDone();
+
+        pending.get(3).complete(null);
+        assertThat(result.toCompletableFuture()).isCompleted();
+        assertThat(events.get(events.size() - 1)).isInstanceOf(ResubscribeCompletedEvent.class);
+    }
+
+    @Test
+    void shouldContinueAfterFailedBatch() {
+
+        Resubscription sut = create(1, 1).channels(names("a", "b"), this::subscribe).build();
+        CompletionStage<Void> result = sut.start(ImmediateEventExecutor.INSTANCE);
+
+        pending.get(0).completeExceptionally(new RedisCommandExecutionException("ERR"));
+        pending.get(1).complete(null);
+
+        assertThat(result.toCompletableFuture()).isCompleted();
+
+        ResubscribeCompletedEvent completed = (ResubscribeCompletedEvent) events.get(events.size() - 1);
+        assertThat(completed.getFailedBatches()).isEqualTo(1);
+        assertThat(completed.getTotalBatches()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotSendFurtherBatchesWhenCancelled() {
+
+        Resubscription sut = create(1, 1).channels(names("a", "b"), this::subscribe).build();
+        sut.start(ImmediateEventExecutor.INSTANCE);
+
+        sut.cancel();
+        pending.get(0).complete(null);
+
+        assertThat(sent).hasSize(1);
+        assertThat(events).noneMatch(ResubscribeCompletedEvent.class::isInstance);
+    }
+
+    @Test
+    void shouldCompleteSynchronousBatches() {
+
+        Resubscription sut = create(1, 1).channels(names("a", "b", "c"), it -> {
+            sent.add(it);
+            return CompletableFuture.completedFuture(null);
+        }).build();
+
+        assertThat(sut.start(ImmediateEventExecutor.INSTANCE).toCompletableFuture()).isCompleted();
+        assertThat(sent).hasSize(3);
+    }
+
+    private Resubscription.Builder create(int batchSize, int maxInFlight) {
+
+        ResubscribeOptions options = ResubscribeOptions.builder().batchSize(batchSize).maxInFlightBatches(maxInFlight).build();
+        return Resubscription.builder(options, eventBus, "0x1");
+    }
+
+    private CompletionStage<?> subscribe(String[] names) {
+
+        sent.add(names);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pending.add(future);
+        return future;
+    }
+
+    private static Set<String> names(String... names) {
+        return new LinkedHashSet<>(Arrays.asList(names));
+    }
+
+}
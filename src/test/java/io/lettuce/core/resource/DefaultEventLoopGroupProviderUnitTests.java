@@ -15,6 +15,7 @@
  */
 package io.lettuce.core.resource;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.concurrent.TimeUnit;
@@ -51,4 +52,18 @@ class DefaultEventLoopGroupProviderUnitTests {
         TestFutures.awaitOrTimeout(sut.shutdown(10, 10, TimeUnit.MILLISECONDS));
         assertThatThrownBy(() -> sut.allocate(NioEventLoopGroup.class)).isInstanceOf(IllegalStateException.class);
     }
+
+    @Test
+    void shouldReturnAllocatedEventLoopGroups() {
+
+        DefaultEventLoopGroupProvider sut = new DefaultEventLoopGroupProvider(1);
+
+        assertThat(sut.getEventLoopGroups()).isEmpty();
+
+        NioEventLoopGroup eventLoopGroup = sut.allocate(NioEventLoopGroup.class);
+
+        assertThat(sut.getEventLoopGroups()).containsOnly(eventLoopGroup);
+
+        TestFutures.awaitOrTimeout(sut.shutdown(10, 10, TimeUnit.MILLISECONDS));
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.scripting;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.cluster.PipelinedRedisFuture;
+import io.lettuce.core.cluster.StatefulRedisClusterConnectionImpl;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import io.lettuce.core.cluster.models.partitions.ClusterPartitionParser;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.codec.StringCodec;
+
+/**
+ * Unit tests for {@link ScriptExecutor}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScriptExecutorUnitTests {
+
+    private static final RedisScript SCRIPT = RedisScript.of("return redis.call('get', KEYS[1])");
+
+    private static final RedisFunctionLibrary LIBRARY = RedisFunctionLibrary
+            .of("#!lua name=mylib\nredis.register_function('myfunc', function(keys, args) return args[1] end)");
+
+    private static final String NODE_1 = "c37ab8396be428403d4e55c0d317348be27ed973";
+
+    private static final String NODE_2 = "3d005a179da7d8dc1adae6409d47b39c369e992b";
+
+    // slot of "key" is 12539
+    private static final Partitions PARTITIONS = ClusterPartitionParser
+            .parse(NODE_1 + " 127.0.0.1:7381 master - 0 1401258245007 2 connected 0-8191\n" + NODE_2
+                    + " 127.0.0.1:7382 master - 0 1401258245007 3 connected 8192-16383\n");
+
+    private final String[] keys = { "key" };
+
+    @Mock
+    private StatefulRedisConnection<String, String> connection;
+
+    @Mock
+    private RedisAsyncCommands<String, String> commands;
+
+    @Mock
+    private StatefulRedisClusterConnectionImpl<String, String> clusterConnection;
+
+    @Mock
+    private RedisAdvancedClusterAsyncCommands<String, String> clusterCommands;
+
+    @Mock
+    private StatefulRedisConnection<String, String> node1;
+
+    @Mock
+    private StatefulRedisConnection<String, String> node2;
+
+    @Mock
+    private RedisAsyncCommands<String, String> node1Commands;
+
+    @Mock
+    private RedisAsyncCommands<String, String> node2Commands;
+
+    private ScriptExecutor<String, String> sut;
+
+    @BeforeEach
+    void before() {
+
+        when(connection.async()).thenReturn(commands);
+        sut = ScriptExecutor.create(connection);
+    }
+
+    @Test
+    void shouldComputeDigestOnce() {
+
+        assertThat(SCRIPT.getDigest()).isEqualTo("4e6d8fc8bb01276962cce5371fa795a7763657ae");
+        assertThat(LIBRARY.getName()).isEqualTo("mylib");
+    }
+
+    @Test
+    void shouldInvokeEvalsha() {
+
+        when(commands.<String> evalsha(SCRIPT.getDigest(), ScriptOutputType.VALUE, keys, "value")).thenReturn(completed("ok"));
+
+        RedisFuture<String> result = sut.eval(SCRIPT, ScriptOutputType.VALUE, keys, "value");
+
+        assertThat(result.toCompletableFuture()).isCompletedWithValue("ok");
+        verify(commands, never()).scriptLoad(any(byte[].class));
+    }
+
+    @Test
+    void shouldLoadScriptAndRetryOnNoScript() {
+
+        when(commands.<String> evalsha(SCRIPT.getDigest(), ScriptOutputType.VALUE, keys, "value"))
+                .thenReturn(failed(new RedisNoScriptException("NOSCRIPT No matching script.")), completed("ok"));
+        when(commands.scriptLoad(SCRIPT.getScript())).thenReturn(completed(SCRIPT.getDigest()));
+
+        RedisFuture<String> result = sut.eval(SCRIPT, ScriptOutputType.VALUE, keys, "value");
+
+        assertThat(result.toCompletableFuture()).isCompletedWithValue("ok");
+        verify(connection, atLeastOnce()).flushCommands();
+    }
+
+    @Test
+    void shouldLoadScriptOnceForConcurrentInvocations() {
+
+        CompletableFuture<String> load = new CompletableFuture<>();
+
+        when(commands.<String> evalsha(SCRIPT.getDigest(), ScriptOutputType.VALUE, keys, "value")).thenReturn(
+                failed(new RedisNoScriptException("NOSCRIPT")), failed(new RedisNoScriptException("NOSCRIPT")),
+                completed("first"), completed("second"));
+        when(commands.scriptLoad(SCRIPT.getScript())).thenReturn(new PipelinedRedisFuture<>(load));
+
+        RedisFuture<String> first = sut.eval(SCRIPT, ScriptOutputType.VALUE, keys, "value");
+        RedisFuture<String> second = sut.eval(SCRIPT, ScriptOutputType.VALUE, keys, "value");
+
+        assertThat(first.toCompletableFuture()).isNotDone();
+
+        load.complete(SCRIPT.getDigest());
+
+        assertThat(first.toCompletableFuture()).isCompleted();
+        assertThat(second.toCompletableFuture()).isCompleted();
+        verify(commands, times(1)).scriptLoad(SCRIPT.getScript());
+    }
+
+    @Test
+    void shouldPropagateOtherErrors() {
+
+        when(commands.<String> evalsha(SCRIPT.getDigest(), ScriptOutputType.VALUE, keys, "value"))
+                .thenReturn(failed(new RedisCommandExecutionException("ERR something")));
+
+        RedisFuture<String> result = sut.eval(SCRIPT, ScriptOutputType.VALUE, keys, "value");
+
+        assertThat(result.toCompletableFuture()).isCompletedExceptionally();
+        verify(commands, never()).scriptLoad(any(byte[].class));
+    }
+
+    @Test
+    void shouldLoadLibraryAndRetryOnMissingFunction() {
+
+        when(commands.<String> fcall("myfunc", ScriptOutputType.VALUE, keys, "value")).thenReturn(
+                failed(new RedisCommandExecutionException("ERR Function not found")), completed("value"));
+        when(commands.functionLoad(LIBRARY.getCode(), true)).thenReturn(completed("mylib"));
+
+        RedisFuture<String> result = sut.fcall(LIBRARY, "myfunc", ScriptOutputType.VALUE, keys, "value");
+
+        assertThat(result.toCompletableFuture()).isCompletedWithValue("value");
+    }
+
+    @Test
+    void shouldLoadScriptOnClusterNodeReportingNoScript() {
+
+        ScriptExecutor<String, String> sut = createClusterExecutor();
+
+        when(node2Commands.<String> evalsha(SCRIPT.getDigest(), ScriptOutputType.VALUE, keys, "value"))
+                .thenReturn(failed(new RedisNoScriptException("NOSCRIPT No matching script.")), completed("ok"));
+        when(node2Commands.scriptLoad(SCRIPT.getScript())).thenReturn(completed(SCRIPT.getDigest()));
+
+        RedisFuture<String> result = sut.eval(SCRIPT, ScriptOutputType.VALUE, keys, "value");
+
+        assertThat(result.toCompletableFuture()).isCompletedWithValue("ok");
+        verify(node2Commands).scriptLoad(SCRIPT.getScript());
+        verifyNoInteractions(node1Commands);
+        verify(clusterCommands, never()).scriptLoad(any(byte[].class));
+    }
+
+    @Test
+    void shouldFollowRedirectAndLoadScriptOnAllClusterNodes() {
+
+        ScriptExecutor<String, String> sut = createClusterExecutor();
+
+        when(node2Commands.<String> evalsha(SCRIPT.getDigest(), ScriptOutputType.VALUE, keys, "value"))
+                .thenReturn(failed(new RedisCommandExecutionException("MOVED 12539 127.0.0.1:7381")));
+        when(clusterCommands.<String> evalsha(SCRIPT.getDigest(), ScriptOutputType.VALUE, keys, "value"))
+                .thenReturn(failed(new RedisNoScriptException("NOSCRIPT No matching script.")), completed("ok"));
+        when(clusterCommands.scriptLoad(SCRIPT.getScript())).thenReturn(completed(SCRIPT.getDigest()));
+
+        RedisFuture<String> result = sut.eval(SCRIPT, ScriptOutputType.VALUE, keys, "value");
+
+        assertThat(result.toCompletableFuture()).isCompletedWithValue("ok");
+        verify(clusterCommands).scriptLoad(SCRIPT.getScript());
+        verify(node2Commands, never()).scriptLoad(any(byte[].class));
+    }
+
+    @Test
+    void shouldLoadLibraryOnAllUpstreamNodesForKeylessFunctions() {
+
+        ScriptExecutor<String, String> sut = createClusterExecutor();
+        String[] noKeys = new String[0];
+
+        when(clusterCommands.<String> fcall("myfunc", ScriptOutputType.VALUE, noKeys, "value")).thenReturn(
+                failed(new RedisCommandExecutionException("ERR Function not found")), completed("value"));
+        when(node1Commands.functionLoad(LIBRARY.getCode(), true)).thenReturn(completed("mylib"));
+        when(node2Commands.functionLoad(LIBRARY.getCode(), true)).thenReturn(completed("mylib"));
+
+        RedisFuture<String> result = sut.fcall(LIBRARY, "myfunc", ScriptOutputType.VALUE, noKeys, "value");
+
+        assertThat(result.toCompletableFuture()).isCompletedWithValue("value");
+        verify(node1Commands).functionLoad(LIBRARY.getCode(), true);
+        verify(node2Commands).functionLoad(LIBRARY.getCode(), true);
+        verify(clusterCommands, never()).functionLoad(anyString(), anyBoolean());
+    }
+
+    @Test
+    void shouldFlushInvocationOnConnectingClusterNode() {
+
+        ScriptExecutor<String, String> sut = createClusterExecutor();
+        CompletableFuture<StatefulRedisConnection<String, String>> connecting = new CompletableFuture<>();
+
+        when(clusterConnection.getConnectionAsync(NODE_2)).thenReturn(connecting);
+        when(node2Commands.<String> evalsha(SCRIPT.getDigest(), ScriptOutputType.VALUE, keys, "value"))
+                .thenReturn(completed("ok"));
+
+        RedisFuture<String> result = sut.eval(SCRIPT, ScriptOutputType.VALUE, keys, "value");
+
+        verify(clusterConnection, never()).flushCommands();
+
+        connecting.complete(node2);
+
+        assertThat(result.toCompletableFuture()).isCompletedWithValue("ok");
+        verify(clusterConnection).flushCommands();
+    }
+
+    private ScriptExecutor<String, String> createClusterExecutor() {
+
+        lenient().when(clusterConnection.getCodec()).thenReturn(StringCodec.UTF8);
+        lenient().when(clusterConnection.getPartitions()).thenReturn(PARTITIONS);
+        lenient().when(clusterConnection.async()).thenReturn(clusterCommands);
+        lenient().when(clusterConnection.getConnectionAsync(NODE_1)).thenReturn(CompletableFuture.completedFuture(node1));
+        lenient().when(clusterConnection.getConnectionAsync(NODE_2)).thenReturn(CompletableFuture.completedFuture(node2));
+        lenient().when(node1.async()).thenReturn(node1Commands);
+        lenient().when(node2.async()).thenReturn(node2Commands);
+
+        return ScriptExecutor.create(clusterConnection);
+    }
+
+    private static <T> RedisFuture<T> completed(T value) {
+        return new PipelinedRedisFuture<>(CompletableFuture.completedFuture(value));
+    }
+
+    private static <T> RedisFuture<T> failed(Throwable throwable) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return new PipelinedRedisFuture<>(future);
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.caching;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ClientSideCaching}.
+ */
+class ClientSideCachingUnitTests {
+
+    private final Map<String, String> clientCache = new ConcurrentHashMap<>();
+
+    private final StubRedisCache redisCache = new StubRedisCache();
+
+    private final CacheFrontend<String, String> sut = ClientSideCaching.create(CacheAccessor.forMap(clientCache), redisCache);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMisses() throws Exception {
+
+        redisCache.values.put("key", "value");
+        redisCache.block = new CountDownLatch(1);
+
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> sut.get("key")));
+        }
+
+        assertThat(redisCache.started.await(1, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        redisCache.block.countDown();
+
+        for (Future<String> future : futures) {
+            assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+
+        assertThat(redisCache.gets).hasValue(1);
+        assertThat(clientCache).containsEntry("key", "value");
+    }
+
+    @Test
+    void shouldInvokeValueLoaderOnce() throws Exception {
+
+        AtomicInteger loaderCalls = new AtomicInteger();
+        redisCache.block = new CountDownLatch(1);
+
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> sut.get("key", () -> {
+                loaderCalls.incrementAndGet();
+                return "loaded";
+            })));
+        }
+
+        assertThat(redisCache.started.await(1, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        redisCache.block.countDown();
+
+        for (Future<String> future : futures) {
+            assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo("loaded");
+        }
+
+        assertThat(loaderCalls).hasValue(1);
+    }
+
+    @Test
+    void shouldNotCacheValueInvalidatedDuringLoad() {
+
+        redisCache.values.put("key", "stale");
+        redisCache.onGet = () -> redisCache.invalidate("key");
+
+        assertThat(sut.get("key")).isEqualTo("stale");
+        assertThat(clientCache).doesNotContainKey("key");
+    }
+
+    @Test
+    void shouldPropagateLoaderFailure() {
+
+        assertThatExceptionOfType(CacheFrontend.ValueRetrievalException.class).isThrownBy(() -> sut.get("key", () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertThat(sut.get("key", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    void shouldResolveHitsLocallyAndLoadMissesInBulk() {
+
+        clientCache.put("a", "cached");
+        redisCache.values.put("b", "remote");
+
+        Map<String, String> values = sut.getAll(Arrays.asList("a", "b", "c"));
+
+        assertThat(values).containsExactly(entry("a", "cached"), entry("b", "remote"));
+        assertThat(redisCache.bulkGets).containsExactly(Arrays.asList("b", "c"));
+        assertThat(redisCache.gets).hasValue(0);
+        assertThat(clientCache).containsEntry("b", "remote").doesNotContainKey("c");
+    }
+
+    @Test
+    void shouldNotCacheBulkValuesInvalidatedDuringLoad() {
+
+        redisCache.values.put("a", "stale");
+        redisCache.values.put("b", "value");
+        redisCache.onGet = () -> redisCache.invalidate("a");
+
+        Map<String, String> values = sut.getAll(Arrays.asList("a", "b"));
+
+        assertThat(values).containsEntry("a", "stale").containsEntry("b", "value");
+        assertThat(clientCache).doesNotContainKey("a").containsEntry("b", "value");
+    }
+
+    @Test
+    void shouldNotCacheValuesLoadedDuringFlush() {
+
+        Map<String, String> clientCache = Collections.synchronizedMap(new HashMap<>());
+        CacheFrontend<String, String> sut = ClientSideCaching.create(CacheAccessor.forMap(clientCache), redisCache);
+
+        redisCache.values.put("a", "stale");
+        redisCache.values.put("b", "stale");
+        redisCache.onGet = () -> redisCache.invalidate(null);
+
+        Map<String, String> values = sut.getAll(Arrays.asList("a", "b"));
+
+        assertThat(values).containsEntry("a", "stale").containsEntry("b", "stale");
+        assertThat(clientCache).isEmpty();
+    }
+
+    static class StubRedisCache implements RedisCache<String, String> {
+
+        final Map<String, String> values = new ConcurrentHashMap<>();
+
+        final AtomicInteger gets = new AtomicInteger();
+
+        final CountDownLatch started = new CountDownLatch(1);
+
+        final List<Consumer<? super String>> listeners = new ArrayList<>();
+
+        volatile CountDownLatch block;
+
+        volatile Runnable onGet;
+
+        final List<List<String>> bulkGets = new ArrayList<>();
+
+        @Override
+        public List<String> getAll(List<String> keys) {
+
+            bulkGets.add(new ArrayList<>(keys));
+
+            if (onGet != null) {
+                onGet.run();
+            }
+
+            List<String> result = new ArrayList<>();
+            for (String key : keys) {
+                result.add(values.get(key));
+            }
+
+            return result;
+        }
+
+        @Override
+        public String get(String key) {
+
+            gets.incrementAndGet();
+            started.countDown();
+
+            try {
+                if (block != null) {
+                    block.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (onGet != null) {
+                onGet.run();
+            }
+
+            return values.get(key);
+        }
+
+        @Override
+        public void put(String key, String value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void addInvalidationListener(Consumer<? super String> listener) {
+            listeners.add(listener);
+        }
+
+        void invalidate(String key) {
+            listeners.forEach(it -> it.accept(key));
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
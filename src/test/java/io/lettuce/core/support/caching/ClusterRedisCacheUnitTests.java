@@ -0,0 +1,229 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.caching;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.StatefulRedisConnectionImpl;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.push.RedisClusterPushListener;
+import io.lettuce.core.cluster.event.ClusterTopologyChangedEvent;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.event.DefaultEventBus;
+import io.lettuce.core.event.EventBus;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.resource.ClientResources;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Unit tests for {@link ClusterRedisCache}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ClusterRedisCacheUnitTests {
+
+    private final TrackingArgs tracking = TrackingArgs.Builder.enabled().bcast().prefixes("user:");
+
+    private final EventBus eventBus = new DefaultEventBus(Schedulers.immediate());
+
+    private final Partitions partitions = new Partitions();
+
+    private final List<String> invalidations = new ArrayList<>();
+
+    @Mock
+    private StatefulRedisClusterConnection<String, String> connection;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> nodeConnection;
+
+    @Mock
+    private RedisCommands<String, String> nodeCommands;
+
+    @Mock
+    private RedisAsyncCommands<String, String> nodeAsyncCommands;
+
+    @Mock
+    private ClientResources clientResources;
+
+    private RedisClusterNode node1;
+
+    private RedisClusterNode node2;
+
+    private ClusterRedisCache<String, String> sut;
+
+    @BeforeEach
+    void before() {
+
+        node1 = new RedisClusterNode(RedisURI.create("localhost", 1), "node1", true, null, 0, 0, 0, slots(),
+                new HashSet<>(Collections.singletonList(RedisClusterNode.NodeFlag.UPSTREAM)));
+        node2 = new RedisClusterNode(RedisURI.create("localhost", 2), "node2", true, null, 0, 0, 0, new ArrayList<>(),
+                new HashSet<>(Collections.singletonList(RedisClusterNode.NodeFlag.UPSTREAM)));
+
+        partitions.addPartition(node1);
+        partitions.addPartition(node2);
+        partitions.updateCache();
+
+        when(clientResources.eventBus()).thenReturn(eventBus);
+        when(connection.getResources()).thenReturn(clientResources);
+        when(connection.getPartitions()).thenReturn(partitions);
+        when(connection.getConnection("node1")).thenReturn(nodeConnection);
+        when(nodeConnection.sync()).thenReturn(nodeCommands);
+        when(nodeCommands.get("user:1")).thenReturn("walter");
+
+        sut = new ClusterRedisCache<>(connection, StringCodec.UTF8, tracking);
+        sut.addInvalidationListener(invalidations::add);
+    }
+
+    @Test
+    void shouldEnableTrackingOnNodeConnectionOnce() {
+
+        assertThat(sut.get("user:1")).isEqualTo("walter");
+        assertThat(sut.get("user:1")).isEqualTo("walter");
+
+        verify(nodeCommands).clientTracking(tracking);
+        verify(nodeCommands, times(2)).get("user:1");
+        assertThat(invalidations).isEmpty();
+    }
+
+    @Test
+    void shouldReadKeysOfSameSlotWithSingleMget() {
+
+        AsyncCommand<String, String, List<KeyValue<String, String>>> mget = new AsyncCommand<>(
+                new Command<>(CommandType.MGET, null));
+        mget.complete(Arrays.asList(KeyValue.just("{user}:1", "walter"), KeyValue.empty("{user}:2")));
+
+        when(nodeConnection.async()).thenReturn(nodeAsyncCommands);
+        when(nodeAsyncCommands.mget("{user}:1", "{user}:2")).thenReturn(mget);
+        when(connection.getTimeout()).thenReturn(Duration.ofSeconds(1));
+
+        assertThat(sut.getAll(Arrays.asList("{user}:1", "{user}:2"))).containsExactly("walter", null);
+
+        verify(nodeCommands).clientTracking(tracking);
+        verify(nodeAsyncCommands).mget("{user}:1", "{user}:2");
+    }
+
+    @Test
+    void shouldInvalidateKeysFromPushMessage() {
+
+        ArgumentCaptor<RedisClusterPushListener> captor = ArgumentCaptor.forClass(RedisClusterPushListener.class);
+        verify(connection).addListener(captor.capture());
+
+        sut.get("user:1");
+
+        PushMessage message = mock(PushMessage.class);
+        when(message.getType()).thenReturn("invalidate");
+        when(message.getContent(any())).thenReturn(Arrays.asList("invalidate", Collections.singletonList("user:1")));
+
+        captor.getValue().onPushMessage(node1, message);
+
+        assertThat(invalidations).containsOnly("user:1");
+    }
+
+    @Test
+    void shouldInvalidateSlotsWithChangedMaster() {
+
+        sut.get("user:1");
+
+        RedisClusterNode failedOver = new RedisClusterNode(node2);
+        failedOver.setSlots(slots());
+        RedisClusterNode replica = new RedisClusterNode(node1);
+        replica.setSlots(new ArrayList<>());
+
+        eventBus.publish(new ClusterTopologyChangedEvent(Arrays.asList(node1, node2), Arrays.asList(replica, failedOver)));
+
+        assertThat(invalidations).containsOnly("user:1");
+    }
+
+    @Test
+    void shouldNotIndexKeysEvictedFromClientSideCache() {
+
+        sut.get("user:1");
+        sut.evicted("user:1");
+
+        RedisClusterNode failedOver = new RedisClusterNode(node2);
+        failedOver.setSlots(slots());
+        RedisClusterNode replica = new RedisClusterNode(node1);
+        replica.setSlots(new ArrayList<>());
+
+        eventBus.publish(new ClusterTopologyChangedEvent(Arrays.asList(node1, node2), Arrays.asList(replica, failedOver)));
+
+        assertThat(invalidations).isEmpty();
+    }
+
+    @Test
+    void shouldRetainSlotsWithSameMaster() {
+
+        sut.get("user:1");
+
+        eventBus.publish(new ClusterTopologyChangedEvent(Arrays.asList(node1, node2), Arrays.asList(node1, node2)));
+
+        assertThat(invalidations).isEmpty();
+    }
+
+    @Test
+    void shouldInvalidateAllAndReEnableTrackingAfterDisconnect() {
+
+        sut.get("user:1");
+
+        ArgumentCaptor<RedisConnectionStateListener> captor = ArgumentCaptor.forClass(RedisConnectionStateListener.class);
+        verify(nodeConnection).addListener(captor.capture());
+
+        captor.getValue().onRedisDisconnected(nodeConnection);
+
+        assertThat(invalidations).containsOnly("user:1");
+
+        sut.get("user:1");
+
+        verify(nodeCommands, times(2)).clientTracking(tracking);
+    }
+
+    private static List<Integer> slots() {
+        return IntStream.range(0, SlotHash.SLOT_COUNT).boxed().collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2011-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.lettuce.core.support.caching;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.StringCodec;
+
+/**
+ * Unit tests for {@link NearCache}.
+ */
+class NearCacheUnitTests {
+
+    @Test
+    void shouldCacheValues() {
+
+        NearCache<String, String> sut = NearCache.create(StringCodec.UTF8);
+
+        sut.put("key", "value");
+
+        assertThat(sut.get("key")).isEqualTo("value");
+        assertThat(sut.get("absent")).isNull();
+
+        CacheStatistics statistics = sut.getStatistics();
+        assertThat(statistics.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getMissCount()).isEqualTo(1);
+        assertThat(statistics.getSize()).isEqualTo(1);
+        assertThat(statistics.getWeightedSize()).isEqualTo("key".length() + "value".length());
+    }
+
+    @Test
+    void shouldEvictOnInvalidation() {
+
+        NearCache<String, String> sut = NearCache.create(StringCodec.UTF8);
+
+        sut.put("key", "value");
+        sut.evict("key");
+
+        assertThat(sut.get("key")).isNull();
+        assertThat(sut.getStatistics().getInvalidationCount()).isEqualTo(1);
+        assertThat(sut.getStatistics().getWeightedSize()).isZero();
+    }
+
+    @Test
+    void shouldRespectMaximumWeight() {
+
+        NearCache<String, String> sut = NearCache.builder(StringCodec.UTF8).maximumWeight(1000).build();
+
+        for (int i = 0; i < 1000; i++) {
+            sut.put("key-" + i, "value-" + i);
+        }
+
+        CacheStatistics statistics = sut.getStatistics();
+        assertThat(statistics.getWeightedSize()).isLessThanOrEqualTo(1000);
+        assertThat(statistics.getEvictionCount()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldNotifyEvictionListener() {
+
+        NearCache<String, String> sut = NearCache.builder(StringCodec.UTF8).maximumWeight(1000).build();
+        List<String> evicted = new ArrayList<>();
+        sut.addEvictionListener(evicted::add);
+
+        for (int i = 0; i < 1000; i++) {
+            sut.put("key-" + i, "value-" + i);
+        }
+
+        assertThat(evicted).hasSize((int) sut.getStatistics().getEvictionCount());
+        assertThat(evicted).allSatisfy(key -> assertThat(sut.get(key)).isNull());
+
+        evicted.clear();
+        sut.put("key", "value");
+        sut.evict("key");
+
+        assertThat(evicted).doesNotContain("key");
+    }
+
+    @Test
+    void shouldRejectEntriesExceedingMaximumWeight() {
+
+        NearCache<String, String> sut = NearCache.builder(StringCodec.UTF8).maximumWeight(10).build();
+
+        sut.put("key", "a value exceeding the maximum weight");
+
+        assertThat(sut.get("key")).isNull();
+        assertThat(sut.getStatistics().getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetainFrequentlyUsedEntries() {
+
+        NearCache<String, String> sut = NearCache.builder(StringCodec.UTF8).maximumWeight(2000).build();
+
+        sut.put("hot", "value");
+        for (int i = 0; i < 20; i++) {
+            sut.get("hot");
+        }
+
+        for (int i = 0; i < 1000; i++) {
+
+            sut.put("scan-" + i, "value");
+
+            if (i % 10 == 0) {
+                sut.get("hot");
+            }
+        }
+
+        assertThat(sut.get("hot")).isEqualTo("value");
+    }
+
+    @Test
+    void shouldStoreValuesOffHeap() {
+
+        NearCache<String, String> sut = NearCache.builder(StringCodec.UTF8).offHeap(true).build();
+
+        sut.put("key", "value");
+
+        assertThat(sut.get("key")).isEqualTo("value");
+        assertThat(sut.get("key")).isEqualTo("value");
+    }
+
+    @Test
+    void shouldUseBinaryKeyEquality() {
+
+        NearCache<byte[], byte[]> sut = NearCache.create(ByteArrayCodec.INSTANCE);
+
+        sut.put("key".getBytes(), "value".getBytes());
+
+        assertThat(sut.get("key".getBytes())).isEqualTo("value".getBytes());
+
+        sut.evict("key".getBytes());
+        assertThat(sut.get("key".getBytes())).isNull();
+    }
+
+}
@@ -19,6 +19,7 @@ import java.net.SocketAddress;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import io.lettuce.core.cluster.topology.SharedClusterTopologyRefresh;
 import io.lettuce.core.event.DefaultEventPublisherOptions;
 import io.lettuce.core.event.EventBus;
 import io.lettuce.core.event.EventPublisherOptions;
@@ -26,6 +27,8 @@ import io.lettuce.core.metrics.CommandLatencyCollector;
 import io.lettuce.core.metrics.CommandLatencyId;
 import io.lettuce.core.metrics.CommandLatencyRecorder;
 import io.lettuce.core.metrics.CommandMetrics;
+import io.lettuce.core.metrics.HotKeyRecorder;
+import io.lettuce.core.metrics.SlowCommandRecorder;
 import io.lettuce.core.resource.*;
 import io.lettuce.core.tracing.Tracing;
 import io.netty.resolver.AddressResolverGroup;
@@ -65,11 +68,26 @@ public class EmptyClientResources implements ClientResources {
         return null;
     }
 
+    @Override
+    public EventPublisherOptions eventLoopHealthPublisherOptions() {
+        return PUBLISHER_OPTIONS;
+    }
+
     @Override
     public EventExecutorGroup eventExecutorGroup() {
         return null;
     }
 
+    @Override
+    public EventPublisherOptions hotKeyPublisherOptions() {
+        return PUBLISHER_OPTIONS;
+    }
+
+    @Override
+    public HotKeyRecorder hotKeyRecorder() {
+        return HotKeyRecorder.disabled();
+    }
+
     @Override
     public int ioThreadPoolSize() {
         return 0;
@@ -125,6 +143,16 @@ public class EmptyClientResources implements ClientResources {
         return Tracing.disabled();
     }
 
+    @Override
+    public SharedClusterTopologyRefresh sharedClusterTopologyRefresh() {
+        return SharedClusterTopologyRefresh.disabled();
+    }
+
+    @Override
+    public SlowCommandRecorder slowCommandRecorder() {
+        return SlowCommandRecorder.disabled();
+    }
+
     @Override
     public AddressResolverGroup<?> addressResolverGroup() {
         return null;